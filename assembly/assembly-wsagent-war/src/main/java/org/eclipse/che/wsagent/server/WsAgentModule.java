@@ -23,6 +23,8 @@ import org.eclipse.che.api.auth.oauth.OAuthTokenProvider;
 import org.eclipse.che.api.core.notification.WSocketEventBusClient;
 import org.eclipse.che.api.core.rest.ApiInfoService;
 import org.eclipse.che.api.core.rest.CoreRestModule;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.PooledHttpJsonRequestFactory;
 import org.eclipse.che.api.core.util.FileCleaner.FileCleanerModule;
 import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.GitUserResolver;
@@ -61,6 +63,8 @@ public class WsAgentModule extends AbstractModule {
                 .to(org.eclipse.che.plugin.ssh.key.script.SshKeyProviderImpl.class);
 
         install(new CoreRestModule());
+        // agent makes a lot of requests to the master, reuse connections
+        bind(HttpJsonRequestFactory.class).to(PooledHttpJsonRequestFactory.class);
         install(new FileCleanerModule());
         install(new ProjectApiModule());
         install(new org.eclipse.che.swagger.deploy.DocsModule());
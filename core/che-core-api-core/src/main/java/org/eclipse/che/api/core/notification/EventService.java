@@ -13,20 +13,33 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,6 +53,19 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * By default subscribers are called synchronously in thread that publishes event. In asynchronous dispatch mode each
+ * subscriber has own bounded queue of events and events are delivered to subscriber by thread from pool of service. Events are
+ * delivered to each subscriber in order they are published, but there is no order between different subscribers. If queue of
+ * subscriber is full, event is handled according to {@link OverflowPolicy}. Dispatch mode is configured with properties:
+ * <ul>
+ * <li>{@code notification.event_service.async} - enables asynchronous dispatch mode, {@code false} by default</li>
+ * <li>{@code notification.event_service.queue_capacity} - capacity of queue of each subscriber</li>
+ * <li>{@code notification.event_service.overflow_policy} - name of {@link OverflowPolicy}, {@code BLOCK} by default</li>
+ * <li>{@code notification.event_service.slow_subscriber_threshold_ms} - if subscriber processes event longer, warning is
+ * logged and event is counted in {@link EventSubscriberMetrics#getSlowEvents()}</li>
+ * </ul>
+ * Statistics of delivering events are collected in asynchronous dispatch mode only, synchronous dispatch calls subscribers
+ * directly.
  *
  * @author andrew00x
  */
@@ -51,12 +77,43 @@ public class EventService {
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
-    private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    static final int  DEFAULT_QUEUE_CAPACITY               = 1000;
+    static final long DEFAULT_SLOW_SUBSCRIBER_THRESHOLD_MS = 1000;
+    /** Max number of events that are delivered to one subscriber before thread is given to other subscribers. */
+    private static final int MAX_DISPATCH_BATCH = 64;
+
+    /** Subscriber which events are delivered by current thread in asynchronous dispatch mode. */
+    private static final ThreadLocal<SubscriberDispatcher> CURRENT_DISPATCHER = new ThreadLocal<>();
+
+    /** Defines what happens with published event if queue of subscriber is full in asynchronous dispatch mode. */
+    public enum OverflowPolicy {
+        /**
+         * Publisher waits until there is space in queue. Events published from subscribers in thread of service are dropped
+         * instead to avoid deadlocks.
+         */
+        BLOCK,
+        /** Published event is dropped. */
+        DROP_NEWEST,
+        /** The oldest event in queue is dropped. */
+        DROP_OLDEST
+    }
+
+    private final LoadingCache<Class<?>, Set<Class<?>>>[]                  typeCache;
+    /** Dispatchers of subscribers by event type, publishing iterates over them without any other lookup. */
+    private final ConcurrentMap<Class<?>, Set<SubscriberDispatcher>>       dispatchersByEventType;
+    /** Registrations of subscribers, changes of {@link #dispatchersByEventType} are made atomically under key of subscriber. */
+    private final ConcurrentMap<EventSubscriber<?>, SubscriberDispatcher> dispatchers;
+
+    private volatile boolean         asyncDispatch;
+    private volatile ExecutorService dispatchExecutor;
+    private          int             queueCapacity                = DEFAULT_QUEUE_CAPACITY;
+    private          OverflowPolicy  overflowPolicy               = OverflowPolicy.BLOCK;
+    private          long            slowSubscriberThresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_SUBSCRIBER_THRESHOLD_MS);
 
     @SuppressWarnings("unchecked")
     public EventService() {
-        subscribersByEventType = new ConcurrentHashMap<>();
+        dispatchersByEventType = new ConcurrentHashMap<>();
+        dispatchers = new ConcurrentHashMap<>();
         typeCache = new LoadingCache[CACHE_NUM];
         for (int i = 0; i < CACHE_NUM; i++) {
             typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
@@ -84,28 +141,73 @@ public class EventService {
         }
     }
 
+    /** Enables or disables asynchronous dispatch mode. Events that are already in queues of subscribers are delivered anyway. */
+    @Inject(optional = true)
+    public void setAsyncDispatch(@Named("notification.event_service.async") boolean asyncDispatch) {
+        if (asyncDispatch && dispatchExecutor == null) {
+            synchronized (this) {
+                if (dispatchExecutor == null) {
+                    dispatchExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("EventServiceDispatcher-%d")
+                                                                                               .setDaemon(true)
+                                                                                               .build());
+                }
+            }
+        }
+        this.asyncDispatch = asyncDispatch;
+    }
+
+    /** Sets capacity of queue of each subscriber in asynchronous dispatch mode. Must be called before subscribing. */
+    @Inject(optional = true)
+    public void setQueueCapacity(@Named("notification.event_service.queue_capacity") int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive.");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Inject(optional = true)
+    public void setOverflowPolicy(@Named("notification.event_service.overflow_policy") String overflowPolicy) {
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.toUpperCase());
+    }
+
+    @Inject(optional = true)
+    public void setSlowSubscriberThresholdMs(@Named("notification.event_service.slow_subscriber_threshold_ms") long thresholdMs) {
+        this.slowSubscriberThresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    /** Returns statistics of delivering events for each subscriber. */
+    public List<EventSubscriberMetrics> getSubscriberMetrics() {
+        final List<EventSubscriberMetrics> metrics = new ArrayList<>(dispatchers.size());
+        for (SubscriberDispatcher dispatcher : dispatchers.values()) {
+            metrics.add(dispatcher.getMetrics());
+        }
+        return metrics;
+    }
+
+    @PreDestroy
+    void stop() {
+        final ExecutorService executor = dispatchExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Publish event {@code event}.
      *
      * @param event
      *         event
      */
-    @SuppressWarnings("unchecked")
     public void publish(Object event) {
         if (event == null) {
             throw new IllegalArgumentException("Null event.");
         }
         final Class<?> eventClass = event.getClass();
         for (Class<?> clazz : typeCache[eventClass.hashCode() & CACHE_MASK].getUnchecked(eventClass)) {
-            final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
-            if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
-                for (EventSubscriber eventSubscriber : eventSubscribers) {
-                    try {
-                        LOG.debug("Publish event {} for {}", event, eventSubscriber);
-                        eventSubscriber.onEvent(event);
-                    } catch (RuntimeException e) {
-                        LOG.error(e.getMessage(), e);
-                    }
+            final Set<SubscriberDispatcher> eventDispatchers = dispatchersByEventType.get(clazz);
+            if (eventDispatchers != null) {
+                for (SubscriberDispatcher dispatcher : eventDispatchers) {
+                    dispatcher.dispatch(event);
                 }
             }
         }
@@ -135,15 +237,17 @@ public class EventService {
     }
 
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
-        Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
-        if (entries == null) {
-            Set<EventSubscriber> newEntries = new CopyOnWriteArraySet<>();
-            entries = subscribersByEventType.putIfAbsent(eventType, newEntries);
-            if (entries == null) {
-                entries = newEntries;
+        dispatchers.compute(subscriber, (key, dispatcher) -> {
+            final SubscriberDispatcher result = dispatcher == null ? new SubscriberDispatcher(key) : dispatcher;
+            if (result.eventTypes.add(eventType)) {
+                dispatchersByEventType.compute(eventType, (type, entries) -> {
+                    final Set<SubscriberDispatcher> newEntries = entries == null ? new CopyOnWriteArraySet<>() : entries;
+                    newEntries.add(result);
+                    return newEntries;
+                });
             }
-        }
-        entries.add(subscriber);
+            return result;
+        });
     }
 
     /**
@@ -154,15 +258,19 @@ public class EventService {
      */
     public void unsubscribe(EventSubscriber<?> subscriber) {
         final Class<?> eventType = getEventType(subscriber);
-        final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
-        if (entries != null && !entries.isEmpty()) {
-            boolean changed = entries.remove(subscriber);
-            if (changed) {
-                if (entries.isEmpty()) {
-                    subscribersByEventType.remove(eventType);
-                }
+        dispatchers.computeIfPresent(subscriber, (key, dispatcher) -> {
+            if (dispatcher.eventTypes.remove(eventType)) {
+                dispatchersByEventType.computeIfPresent(eventType, (type, entries) -> {
+                    entries.remove(dispatcher);
+                    return entries.isEmpty() ? null : entries;
+                });
             }
-        }
+            if (dispatcher.eventTypes.isEmpty()) {
+                dispatcher.close();
+                return null;
+            }
+            return dispatcher;
+        });
     }
 
     private Class<?> getEventType(EventSubscriber<?> subscriber) {
@@ -190,4 +298,134 @@ public class EventService {
         }
         return eventType;
     }
+
+    private static class QueuedEvent {
+        final Object event;
+        final long   publishTime;
+
+        QueuedEvent(Object event, long publishTime) {
+            this.event = event;
+            this.publishTime = publishTime;
+        }
+    }
+
+    /** Delivers events to one subscriber and collects statistics. Only one thread delivers events of subscriber at a time. */
+    private final class SubscriberDispatcher implements Runnable {
+        final EventSubscriber            subscriber;
+        /** Types of events subscriber is subscribed to, guarded by registration of subscriber in {@link #dispatchers}. */
+        final Set<Class<?>>              eventTypes       = new HashSet<>();
+        final BlockingQueue<QueuedEvent> queue;
+        final AtomicBoolean              scheduled        = new AtomicBoolean();
+        final AtomicLong                 dispatchedEvents = new AtomicLong();
+        final AtomicLong                 droppedEvents    = new AtomicLong();
+        final AtomicLong                 slowEvents       = new AtomicLong();
+        final AtomicLong                 totalLatency     = new AtomicLong();
+        final AtomicLong                 maxLatency       = new AtomicLong();
+        volatile boolean closed;
+
+        SubscriberDispatcher(EventSubscriber<?> subscriber) {
+            this.subscriber = subscriber;
+            this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        }
+
+        @SuppressWarnings("unchecked")
+        void dispatch(Object event) {
+            if (!asyncDispatch) {
+                try {
+                    LOG.debug("Publish event {} for {}", event, subscriber);
+                    subscriber.onEvent(event);
+                } catch (RuntimeException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+                return;
+            }
+            final QueuedEvent queuedEvent = new QueuedEvent(event, System.nanoTime());
+            if (!queue.offer(queuedEvent)) {
+                if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                    do {
+                        if (queue.poll() != null) {
+                            droppedEvents.incrementAndGet();
+                        }
+                    } while (!queue.offer(queuedEvent));
+                } else if (overflowPolicy == OverflowPolicy.BLOCK && CURRENT_DISPATCHER.get() == null) {
+                    try {
+                        queue.put(queuedEvent);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        droppedEvents.incrementAndGet();
+                        return;
+                    }
+                } else {
+                    droppedEvents.incrementAndGet();
+                    LOG.warn("Queue of subscriber {} is full, event {} is dropped", subscriber, event);
+                    return;
+                }
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                dispatchExecutor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            CURRENT_DISPATCHER.set(this);
+            try {
+                QueuedEvent queuedEvent;
+                for (int i = 0; i < MAX_DISPATCH_BATCH && !closed && (queuedEvent = queue.poll()) != null; i++) {
+                    deliver(queuedEvent.event, queuedEvent.publishTime);
+                }
+            } finally {
+                CURRENT_DISPATCHER.remove();
+                scheduled.set(false);
+            }
+            // Events may be added after the last poll but before resetting of flag.
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void deliver(Object event, long publishTime) {
+            final long startTime = System.nanoTime();
+            try {
+                LOG.debug("Publish event {} for {}", event, subscriber);
+                subscriber.onEvent(event);
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+            final long endTime = System.nanoTime();
+            if (endTime - startTime > slowSubscriberThresholdNanos) {
+                slowEvents.incrementAndGet();
+                LOG.warn("Subscriber {} processed event {} in {} ms",
+                         subscriber, event, TimeUnit.NANOSECONDS.toMillis(endTime - startTime));
+            }
+            final long latency = endTime - publishTime;
+            totalLatency.addAndGet(latency);
+            long max;
+            while ((max = maxLatency.get()) < latency && !maxLatency.compareAndSet(max, latency)) {
+                // retry
+            }
+            dispatchedEvents.incrementAndGet();
+        }
+
+        void close() {
+            closed = true;
+            queue.clear();
+        }
+
+        EventSubscriberMetrics getMetrics() {
+            final long dispatched = dispatchedEvents.get();
+            return new EventSubscriberMetrics(subscriber,
+                                              queue.size(),
+                                              dispatched,
+                                              droppedEvents.get(),
+                                              slowEvents.get(),
+                                              dispatched == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatency.get() / dispatched),
+                                              TimeUnit.NANOSECONDS.toMillis(maxLatency.get()));
+        }
+    }
 }
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Snapshot of statistics of delivering events to one subscriber of {@link EventService}.
+ *
+ * @see EventService#getSubscriberMetrics()
+ */
+public class EventSubscriberMetrics {
+    private final EventSubscriber<?> subscriber;
+    private final int                queueDepth;
+    private final long               dispatchedEvents;
+    private final long               droppedEvents;
+    private final long               slowEvents;
+    private final long               averageLatencyMillis;
+    private final long               maxLatencyMillis;
+
+    EventSubscriberMetrics(EventSubscriber<?> subscriber,
+                           int queueDepth,
+                           long dispatchedEvents,
+                           long droppedEvents,
+                           long slowEvents,
+                           long averageLatencyMillis,
+                           long maxLatencyMillis) {
+        this.subscriber = subscriber;
+        this.queueDepth = queueDepth;
+        this.dispatchedEvents = dispatchedEvents;
+        this.droppedEvents = droppedEvents;
+        this.slowEvents = slowEvents;
+        this.averageLatencyMillis = averageLatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+    }
+
+    public EventSubscriber<?> getSubscriber() {
+        return subscriber;
+    }
+
+    /** Number of events that are waiting for delivering to subscriber. Always {@code 0} in synchronous dispatch mode. */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /** Number of events that are delivered to subscriber. */
+    public long getDispatchedEvents() {
+        return dispatchedEvents;
+    }
+
+    /** Number of events that are dropped because queue of subscriber is full. */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /** Number of events which processing by subscriber took more time than allowed for subscriber. */
+    public long getSlowEvents() {
+        return slowEvents;
+    }
+
+    /** Average time between publishing of event and the end of its processing by subscriber. */
+    public long getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+
+    /** Max time between publishing of event and the end of its processing by subscriber. */
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    /** Returns {@code true} if at least one event was processed by subscriber too long. */
+    public boolean isSlow() {
+        return slowEvents > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "EventSubscriberMetrics{" +
+               "subscriber=" + subscriber +
+               ", queueDepth=" + queueDepth +
+               ", dispatchedEvents=" + dispatchedEvents +
+               ", droppedEvents=" + droppedEvents +
+               ", slowEvents=" + slowEvents +
+               ", averageLatencyMillis=" + averageLatencyMillis +
+               ", maxLatencyMillis=" + maxLatencyMillis +
+               '}';
+    }
+}
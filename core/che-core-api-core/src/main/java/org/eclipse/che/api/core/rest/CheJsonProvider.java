@@ -28,19 +28,23 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.nio.charset.Charset;
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * Implementation of {@link MessageBodyReader} and {@link MessageBodyWriter} needed for binding JSON content to and from Java Objects.
  *
@@ -80,14 +84,27 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
         // Add Cache-Control before start write body.
         httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, "public, no-cache, no-store, no-transform");
         if (t instanceof JsonSerializable) {
-            try (Writer w = new OutputStreamWriter(entityStream, Charset.forName("UTF-8"))) {
-                w.write(((JsonSerializable)t).toJson());
+            // write JSON directly to the response stream without creating whole JSON string in memory
+            try (Writer w = new BufferedWriter(new OutputStreamWriter(entityStream, UTF_8))) {
+                DtoFactory.getInstance().toJson(t, w);
+            }
+        } else if (t instanceof Collection && isDtoCollection(genericType)) {
+            try (Writer w = new BufferedWriter(new OutputStreamWriter(entityStream, UTF_8))) {
+                DtoFactory.getInstance().toJsonArray((Collection<?>)t, w);
             }
         } else {
             delegate.writeTo(t, type, genericType, annotations, mediaType, httpHeaders, entityStream);
         }
     }
 
+    private static boolean isDtoCollection(Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            final Type elementType = ((ParameterizedType)genericType).getActualTypeArguments()[0];
+            return elementType instanceof Class && ((Class)elementType).isAnnotationPresent(DTO.class);
+        }
+        return false;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
@@ -100,14 +117,14 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
     public T readFrom(Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType,
                       MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException, WebApplicationException {
         if (type.isAnnotationPresent(DTO.class)) {
-            return DtoFactory.getInstance().createDtoFromJson(entityStream, type);
+            return DtoFactory.getInstance().createDtoFromJson(new InputStreamReader(entityStream, UTF_8), type);
         } else if (type.isAssignableFrom(List.class) && genericType instanceof ParameterizedType) {
             ParameterizedType parameterizedType = (ParameterizedType)genericType;
             Type elementType = parameterizedType.getActualTypeArguments()[0];
             if (elementType instanceof Class) {
                 Class elementClass = (Class)elementType;
                 if (elementClass.isAnnotationPresent(DTO.class)) {
-                    return (T)DtoFactory.getInstance().createListDtoFromJson(entityStream, elementClass);
+                    return (T)DtoFactory.getInstance().createListDtoFromJson(new InputStreamReader(entityStream, UTF_8), elementClass);
                 }
             }
         }
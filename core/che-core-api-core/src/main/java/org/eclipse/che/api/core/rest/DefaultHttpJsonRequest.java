@@ -65,6 +65,9 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     private static final int      DEFAULT_QUERY_PARAMS_LIST_SIZE = 5;
     private static final Object[] EMPTY_ARRAY                    = new Object[0];
 
+    /** Connect and read timeout which is used when timeout isn't set for the request. */
+    static final int DEFAULT_TIMEOUT = 60000;
+
     private final String url;
 
     private int                   timeout;
@@ -217,8 +220,9 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
             url = ub.build().toString();
         }
         final HttpURLConnection conn = (HttpURLConnection)new URL(url).openConnection();
-        conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
-        conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+        conn.setConnectTimeout(timeout > 0 ? timeout : DEFAULT_TIMEOUT);
+        conn.setReadTimeout(timeout > 0 ? timeout : DEFAULT_TIMEOUT);
+        boolean responseRead = false;
         try {
             conn.setRequestMethod(method);
             //drop a hint for server side that we want to receive application/json
@@ -252,6 +256,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                 try (Reader reader = new InputStreamReader(in)) {
                     str = CharStreams.toString(reader);
                 }
+                responseRead = true;
                 final String contentType = conn.getContentType();
                 if (contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON)) {
                     final ServiceError serviceError = DtoFactory.getInstance().createDtoFromJson(str, ServiceError.class);
@@ -281,14 +286,31 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                 throw new IOException(conn.getResponseMessage());
             }
 
+            final DefaultHttpJsonResponse response;
             try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-                return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
+                response = new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
             }
+            responseRead = true;
+            return response;
         } finally {
-            conn.disconnect();
+            if (responseRead) {
+                releaseConnection(conn);
+            } else {
+                conn.disconnect();
+            }
         }
     }
 
+    /**
+     * Releases connection after response is completely read.
+     *
+     * <p>This implementation closes the connection. Implementations which reuse connections
+     * may leave it open, then JDK keeps it in the keep-alive cache for the next request to the same host.
+     */
+    protected void releaseConnection(HttpURLConnection conn) {
+        conn.disconnect();
+    }
+
     private String getAuthenticationToken() {
         final Subject subject = EnvironmentContext.getCurrent().getSubject();
         if (subject != null) {
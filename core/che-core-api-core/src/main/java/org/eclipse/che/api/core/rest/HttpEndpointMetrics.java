@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+/**
+ * Snapshot of statistics of requests made to one endpoint by {@link PooledHttpJsonRequestFactory}.
+ *
+ * @see PooledHttpJsonRequestFactory#getMetrics()
+ */
+public class HttpEndpointMetrics {
+    private final String endpoint;
+    private final long   requests;
+    private final long   failures;
+    private final long   averageLatencyMillis;
+    private final long   maxLatencyMillis;
+    private final double requestsPerSecond;
+
+    HttpEndpointMetrics(String endpoint,
+                        long requests,
+                        long failures,
+                        long averageLatencyMillis,
+                        long maxLatencyMillis,
+                        double requestsPerSecond) {
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.failures = failures;
+        this.averageLatencyMillis = averageLatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    /** Request method and url without query, e.g. "GET http://localhost:8080/api/workspace/workspace123". */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /** Number of completed requests, including failed ones. */
+    public long getRequests() {
+        return requests;
+    }
+
+    /** Number of requests which failed because of either io error or error response code. */
+    public long getFailures() {
+        return failures;
+    }
+
+    /** Average time of request, including time of waiting for free connection. */
+    public long getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+
+    /** Max time of request, including time of waiting for free connection. */
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    /** Average number of requests per second since the first request to the endpoint. */
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpEndpointMetrics{" +
+               "endpoint='" + endpoint + '\'' +
+               ", requests=" + requests +
+               ", failures=" + failures +
+               ", averageLatencyMillis=" + averageLatencyMillis +
+               ", maxLatencyMillis=" + maxLatencyMillis +
+               ", requestsPerSecond=" + requestsPerSecond +
+               '}';
+    }
+}
@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Defines simple set of methods for requesting json objects.
@@ -177,6 +178,24 @@ public interface HttpJsonRequest {
                                       ConflictException,
                                       BadRequestException;
 
+    /**
+     * Makes the same request as {@link #request()} does, but returns future of the response.
+     *
+     * <p>Default implementation makes the request in the calling thread and returns already completed future,
+     * implementations may make the request asynchronously.
+     *
+     * @return future which is completed with response or with one of exceptions thrown by {@link #request()}
+     */
+    default CompletableFuture<HttpJsonResponse> asyncRequest() {
+        final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+        try {
+            future.complete(request());
+        } catch (Exception x) {
+            future.completeExceptionally(x);
+        }
+        return future;
+    }
+
     /**
      * Uses {@link HttpMethod#GET} as a request method.
      *
@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Creates requests which reuse connections and limit number of concurrent requests to the same host.
+ *
+ * <p>Connections are not closed after the response is read, so JDK keeps them in its keep-alive cache
+ * and next request to the same host doesn't need to establish new connection.
+ * Number of concurrent requests to each host is limited by {@link #setMaxConnectionsPerHost(int)},
+ * requests which exceed the limit wait for free connection not longer than request timeout.
+ *
+ * <p>Requests created by this factory support {@link HttpJsonRequest#asyncRequest() asynchronous execution},
+ * asynchronous requests are made in the thread pool of factory with the context of the caller thread.
+ *
+ * <p>Statistics of requests is collected for each endpoint, see {@link #getMetrics()}.
+ *
+ * @see DefaultHttpJsonRequestFactory
+ */
+@Singleton
+public class PooledHttpJsonRequestFactory implements HttpJsonRequestFactory {
+
+    static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 20;
+
+    /** Max number of endpoints which statistics is collected separately, e.g. urls may contain ids of entities. */
+    private static final int    MAX_ENDPOINTS   = 500;
+    private static final String OTHER_ENDPOINTS = "OTHER";
+
+    private final ConcurrentMap<String, Semaphore>          hostPermits;
+    private final ConcurrentMap<String, EndpointStatistics> statistics;
+    private final ExecutorService                           executor;
+
+    private int maxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+
+    public PooledHttpJsonRequestFactory() {
+        hostPermits = new ConcurrentHashMap<>();
+        statistics = new ConcurrentHashMap<>();
+        executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("HttpJsonRequest-%d")
+                                                                           .setDaemon(true)
+                                                                           .build());
+    }
+
+    /** Sets max number of concurrent requests to the same host. Must be called before making requests. */
+    @Inject(optional = true)
+    public void setMaxConnectionsPerHost(@Named("che.http.client.max_connections_per_host") int maxConnectionsPerHost) {
+        if (maxConnectionsPerHost < 1) {
+            throw new IllegalArgumentException("Max number of connections per host must be positive.");
+        }
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    @Override
+    public HttpJsonRequest fromUrl(@NotNull String url) {
+        return new PooledHttpJsonRequest(this, url);
+    }
+
+    @Override
+    public HttpJsonRequest fromLink(@NotNull Link link) {
+        return new PooledHttpJsonRequest(this, link);
+    }
+
+    /**
+     * Makes all the given requests asynchronously.
+     *
+     * @param requests
+     *         requests to make
+     * @return future which is completed with responses in the order of requests when all requests are completed,
+     * or exceptionally when at least one of requests fails
+     */
+    public CompletableFuture<List<HttpJsonResponse>> requestAll(@NotNull Collection<? extends HttpJsonRequest> requests) {
+        final List<CompletableFuture<HttpJsonResponse>> futures = requests.stream()
+                                                                          .map(HttpJsonRequest::asyncRequest)
+                                                                          .collect(toList());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]))
+                                .thenApply(ignored -> futures.stream()
+                                                             .map(CompletableFuture::join)
+                                                             .collect(toList()));
+    }
+
+    /** Returns statistics of requests for each endpoint. */
+    public List<HttpEndpointMetrics> getMetrics() {
+        final List<HttpEndpointMetrics> metrics = new ArrayList<>(statistics.size());
+        for (EndpointStatistics endpointStatistics : statistics.values()) {
+            metrics.add(endpointStatistics.getMetrics());
+        }
+        return metrics;
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    CompletableFuture<HttpJsonResponse> submit(Callable<HttpJsonResponse> request) {
+        final Callable<HttpJsonResponse> task = ThreadLocalPropagateContext.wrap(request);
+        final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Exception x) {
+                    future.completeExceptionally(x);
+                }
+            });
+        } catch (RejectedExecutionException x) {
+            future.completeExceptionally(x);
+        }
+        return future;
+    }
+
+    Semaphore getPermits(String url) throws MalformedURLException {
+        final String authority = new URL(url).getAuthority();
+        return hostPermits.computeIfAbsent(authority == null ? "" : authority, host -> new Semaphore(maxConnectionsPerHost, true));
+    }
+
+    void record(String method, String url, long nanos, boolean failed) {
+        final int queryStart = url.indexOf('?');
+        final String endpoint = method + ' ' + (queryStart == -1 ? url : url.substring(0, queryStart));
+        EndpointStatistics endpointStatistics = statistics.get(endpoint);
+        if (endpointStatistics == null) {
+            endpointStatistics = statistics.computeIfAbsent(statistics.size() < MAX_ENDPOINTS ? endpoint : OTHER_ENDPOINTS,
+                                                            EndpointStatistics::new);
+        }
+        endpointStatistics.record(nanos, failed);
+    }
+
+    /** Request which uses connection of the pool and is executed in the thread pool of factory. */
+    static class PooledHttpJsonRequest extends DefaultHttpJsonRequest {
+        private final PooledHttpJsonRequestFactory factory;
+
+        PooledHttpJsonRequest(PooledHttpJsonRequestFactory factory, String url) {
+            super(url);
+            this.factory = factory;
+        }
+
+        PooledHttpJsonRequest(PooledHttpJsonRequestFactory factory, Link link) {
+            super(link);
+            this.factory = factory;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>The request must not be modified until returned future is completed.
+         */
+        @Override
+        public CompletableFuture<HttpJsonResponse> asyncRequest() {
+            return factory.submit(this::request);
+        }
+
+        @Override
+        DefaultHttpJsonResponse doRequest(int timeout,
+                                          String url,
+                                          String method,
+                                          Object body,
+                                          List<Pair<String, ?>> parameters,
+                                          String authorizationHeaderValue) throws IOException,
+                                                                                  ServerException,
+                                                                                  ForbiddenException,
+                                                                                  NotFoundException,
+                                                                                  UnauthorizedException,
+                                                                                  ConflictException,
+                                                                                  BadRequestException {
+            final long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                final Semaphore permits = factory.getPermits(url);
+                try {
+                    if (!permits.tryAcquire(timeout > 0 ? timeout : DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                        throw new IOException(String.format("Timeout of waiting for free connection, method: %s, url: %s",
+                                                            method, url));
+                    }
+                } catch (InterruptedException x) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for free connection", x);
+                }
+                try {
+                    final DefaultHttpJsonResponse response = super.doRequest(timeout,
+                                                                             url,
+                                                                             method,
+                                                                             body,
+                                                                             parameters,
+                                                                             authorizationHeaderValue);
+                    failed = false;
+                    return response;
+                } finally {
+                    permits.release();
+                }
+            } finally {
+                factory.record(method, url, System.nanoTime() - start, failed);
+            }
+        }
+
+        @Override
+        protected void releaseConnection(HttpURLConnection conn) {
+            // response is read and connection is left open, so it is returned to the keep-alive cache
+        }
+    }
+
+    private static class EndpointStatistics {
+        private final String     endpoint;
+        private final LongAdder  requests;
+        private final LongAdder  failures;
+        private final LongAdder  totalNanos;
+        private final AtomicLong maxNanos;
+        private final long       createdNanos;
+
+        EndpointStatistics(String endpoint) {
+            this.endpoint = endpoint;
+            this.requests = new LongAdder();
+            this.failures = new LongAdder();
+            this.totalNanos = new LongAdder();
+            this.maxNanos = new AtomicLong();
+            this.createdNanos = System.nanoTime();
+        }
+
+        void record(long nanos, boolean failed) {
+            requests.increment();
+            if (failed) {
+                failures.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        HttpEndpointMetrics getMetrics() {
+            final long count = requests.sum();
+            final long elapsedNanos = System.nanoTime() - createdNanos;
+            return new HttpEndpointMetrics(endpoint,
+                                           count,
+                                           failures.sum(),
+                                           count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / count),
+                                           TimeUnit.NANOSECONDS.toMillis(maxNanos.get()),
+                                           elapsedNanos == 0 ? 0 : count * (double)TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        }
+    }
+}
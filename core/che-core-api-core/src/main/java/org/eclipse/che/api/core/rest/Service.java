@@ -38,6 +38,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
@@ -50,6 +51,7 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.SortedSet;
 
@@ -79,6 +81,18 @@ public abstract class Service {
         return DtoFactory.getInstance().createDto(ServiceDescriptor.class);
     }
 
+    /**
+     * Creates entity tag from modification stamp of entity, so request with matched {@code If-None-Match} header may be
+     * answered without building of entity. Links of entity are created with base URI of request, so it is a part of tag too.
+     *
+     * @param modificationStamp
+     *         modification stamp of entity
+     * @see org.eclipse.che.api.core.util.ModificationStamps
+     */
+    protected EntityTag createEntityTag(String modificationStamp) {
+        return new EntityTag(modificationStamp + '-' + Integer.toHexString(Objects.hashCode(uriInfo.getBaseUri())));
+    }
+
     /**
      * Generates link header value based on given {@code page}
      * and uri returned by {@code uriInfo.getRequestUri()}.
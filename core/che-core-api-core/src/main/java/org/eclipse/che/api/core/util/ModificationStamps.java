@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.eclipse.che.commons.lang.NameGenerator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps modification stamps of entities, e.g. to use them as entity tags instead of hashing of entities. Stamp of entity is
+ * changed each time when {@link #update(String)} is called for it, so it must be called after each change of entity including
+ * its removal.
+ * <p/>
+ * Stamps are kept in memory. Entities which were not changed since this instance is created share the initial stamp, all the
+ * stamps contain random identifier of this instance, so stamps issued before restart never match the new ones.
+ */
+public class ModificationStamps {
+    private final String                      instanceId;
+    private final AtomicLong                  counter;
+    private final ConcurrentMap<String, Long> stamps;
+
+    public ModificationStamps() {
+        this.instanceId = NameGenerator.generate(null, 8);
+        this.counter = new AtomicLong();
+        this.stamps = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets current modification stamp of entity. Stamp must be got before reading of entity, otherwise change which happens
+     * in between may be missed.
+     *
+     * @param id
+     *         identifier of entity
+     */
+    public String get(String id) {
+        return instanceId + '-' + stamps.getOrDefault(id, 0L);
+    }
+
+    /**
+     * Changes modification stamp of entity.
+     *
+     * @param id
+     *         identifier of changed or removed entity
+     */
+    public void update(String id) {
+        stamps.put(id, counter.incrementAndGet());
+    }
+}
@@ -13,20 +13,46 @@ package org.eclipse.che.everrest;
 import static org.eclipse.che.everrest.ServerContainerInitializeListener.ENVIRONMENT_CONTEXT;
 
 import org.everrest.websockets.WSConnectionImpl;
+import org.everrest.websockets.message.OutputMessage;
 
+import javax.websocket.EncodeException;
 import javax.websocket.EndpointConfig;
 import javax.websocket.Session;
+import java.io.IOException;
 import java.util.Map;
 
 /**
  * @author Sergii Kabashniuk
  */
 public class CheWSConnection extends WSConnectionImpl {
+    /** Not {@code null} if client negotiated compact format of broadcast messages. */
+    private volatile CompactMessageCodec.ConnectionState compactState;
+
     @Override
     public void onOpen(Session session, EndpointConfig config) {
         final Map<String, Object> userProperties = config.getUserProperties();
         setAttribute(ENVIRONMENT_CONTEXT, userProperties.get(ENVIRONMENT_CONTEXT));
+        if (CompactMessageCodec.SUBPROTOCOL.equals(session.getNegotiatedSubprotocol())) {
+            compactState = new CompactMessageCodec.ConnectionState();
+        }
         super.onOpen(session, config);
 
     }
+
+    @Override
+    public void sendMessage(OutputMessage output) throws EncodeException, IOException {
+        final CompactMessageCodec.ConnectionState state = compactState;
+        if (state != null) {
+            final CompactMessageCodec.EncodedMessage encoded = CompactMessageCodec.getInstance().encode(output);
+            if (encoded != null) {
+                // frames must be queued in the same order as shape definitions are added to them
+                synchronized (state) {
+                    super.sendMessage(new CompactMessageCodec.CompactOutputMessage(CompactMessageCodec.getInstance()
+                                                                                                     .toFrame(encoded, state)));
+                }
+                return;
+            }
+        }
+        super.sendMessage(output);
+    }
 }
@@ -0,0 +1,440 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Receives JSON copied from body of message and builds template of compact message, see {@link CompactMessageCodec}.
+ * Template is rendered for each connection separately since each connection has own ids of shapes, objects which may be
+ * replaced with shapes are kept as {@link ShapedObject}, everything else is kept as text.
+ * <p/>
+ * Writer keeps whole message in memory, output is available with {@link #getResult()} after the top-level value is written.
+ */
+class CompactJsonWriter extends JsonWriter {
+    /** Objects with more keys are usually maps, don't remember their keys. */
+    private static final int MAX_SHAPE_SIZE = 64;
+
+    private static final Writer UNUSED_WRITER = new Writer() {
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private final LinkedList<Container> stack;
+
+    private Node result;
+
+    CompactJsonWriter() {
+        super(UNUSED_WRITER);
+        stack = new LinkedList<>();
+        setLenient(true);
+        setHtmlSafe(false);
+    }
+
+    /** Returns written value or {@code null} if it isn't written yet. */
+    Node getResult() {
+        return result;
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        stack.push(new Container(false));
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        final Container array = pop(false);
+        array.parts.append(']');
+        addValue(array.parts.toNode());
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        stack.push(new Container(true));
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        final Container object = pop(true);
+        if (object.name != null) {
+            throw new IllegalStateException("Value expected for " + object.name);
+        }
+        addValue(object.toObjectNode());
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(String name) throws IOException {
+        if (name == null) {
+            throw new NullPointerException("name == null");
+        }
+        final Container object = stack.peek();
+        if (object == null || !object.isObject || object.name != null) {
+            throw new IllegalStateException("Unexpected name " + name);
+        }
+        object.name = quote(name);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        return text(quote(value));
+    }
+
+    @Override
+    public JsonWriter jsonValue(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        return text(value);
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        final Container object = stack.peek();
+        if (object != null && object.isObject && object.name != null && !getSerializeNulls()) {
+            // skip the name as well, the same as JsonWriter does
+            object.name = null;
+            return this;
+        }
+        return text("null");
+    }
+
+    @Override
+    public JsonWriter value(boolean value) throws IOException {
+        return text(value ? "true" : "false");
+    }
+
+    @Override
+    public JsonWriter value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        return text(Double.toString(value));
+    }
+
+    @Override
+    public JsonWriter value(long value) throws IOException {
+        return text(Long.toString(value));
+    }
+
+    @Override
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        final String string = value.toString();
+        if (!isLenient() && (string.equals("-Infinity") || string.equals("Infinity") || string.equals("NaN"))) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        return text(string);
+    }
+
+    /** Writes number as is, it is used for numbers which are copied from JSON text. */
+    JsonWriter numberValue(String value) throws IOException {
+        return text(value);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private JsonWriter text(String value) throws IOException {
+        beforeValue();
+        addValue(new Text(value));
+        return this;
+    }
+
+    private void beforeValue() {
+        if (result != null) {
+            throw new IllegalStateException("JSON must have only one top-level value");
+        }
+        final Container container = stack.peek();
+        if (container != null && container.isObject && container.name == null) {
+            throw new IllegalStateException("Name expected");
+        }
+    }
+
+    private Container pop(boolean isObject) {
+        final Container container = stack.peek();
+        if (container == null || container.isObject != isObject) {
+            throw new IllegalStateException("Nesting problem");
+        }
+        return stack.pop();
+    }
+
+    private void addValue(Node value) {
+        final Container container = stack.peek();
+        if (container == null) {
+            result = value;
+        } else if (container.isObject) {
+            container.names.add(container.name);
+            container.values.add(value);
+            container.name = null;
+        } else {
+            if (container.size++ > 0) {
+                container.parts.append(',');
+            }
+            container.parts.append(value);
+        }
+    }
+
+    /**
+     * Quotes string in the same way as {@link JsonWriter} does it when HTML safe mode is disabled.
+     */
+    static String quote(String value) {
+        final StringBuilder quoted = new StringBuilder(value.length() + 2);
+        quoted.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                case '\b':
+                    quoted.append("\\b");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\f':
+                    quoted.append("\\f");
+                    break;
+                case '\u2028':
+                    quoted.append("\\u2028");
+                    break;
+                case '\u2029':
+                    quoted.append("\\u2029");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int)c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /** Part of message template. */
+    interface Node {
+        /** Renders this part of message for the connection. */
+        void render(StringBuilder out, CompactMessageCodec.ConnectionState state);
+    }
+
+    private static final class Text implements Node {
+        private final String text;
+
+        private Text(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void render(StringBuilder out, CompactMessageCodec.ConnectionState state) {
+            out.append(text);
+        }
+    }
+
+    private static final class Sequence implements Node {
+        private final Node[] nodes;
+
+        private Sequence(Node[] nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public void render(StringBuilder out, CompactMessageCodec.ConnectionState state) {
+            for (Node node : nodes) {
+                node.render(out, state);
+            }
+        }
+    }
+
+    /**
+     * Object which is written as {@code {"#id":[value1, value2, ...]}} if connection has id for its shape, otherwise it is
+     * written as is.
+     */
+    private static final class ShapedObject implements Node {
+        private final List<String> shape;
+        private final Node[]       values;
+
+        private ShapedObject(List<String> shape, Node[] values) {
+            this.shape = shape;
+            this.values = values;
+        }
+
+        @Override
+        public void render(StringBuilder out, CompactMessageCodec.ConnectionState state) {
+            final int id = state.getShapeId(shape);
+            if (id >= 0) {
+                out.append("{\"#").append(id).append("\":[");
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        out.append(',');
+                    }
+                    values[i].render(out, state);
+                }
+                out.append("]}");
+            } else {
+                out.append('{');
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        out.append(',');
+                    }
+                    out.append(shape.get(i)).append(':');
+                    values[i].render(out, state);
+                }
+                out.append('}');
+            }
+        }
+    }
+
+    /** Collects parts of message, adjacent text parts are merged. */
+    private static final class Parts {
+        private final List<Node>    nodes = new ArrayList<>();
+        private final StringBuilder text  = new StringBuilder();
+
+        Parts append(char c) {
+            text.append(c);
+            return this;
+        }
+
+        Parts append(String s) {
+            text.append(s);
+            return this;
+        }
+
+        Parts append(Node node) {
+            if (node instanceof Text) {
+                text.append(((Text)node).text);
+            } else {
+                flushText();
+                nodes.add(node);
+            }
+            return this;
+        }
+
+        Node toNode() {
+            flushText();
+            if (nodes.size() == 1) {
+                return nodes.get(0);
+            }
+            return new Sequence(nodes.toArray(new Node[nodes.size()]));
+        }
+
+        private void flushText() {
+            if (text.length() > 0) {
+                nodes.add(new Text(text.toString()));
+                text.setLength(0);
+            }
+        }
+    }
+
+    /** Array or object that is being written. */
+    private static final class Container {
+        private final boolean      isObject;
+        private final Parts        parts;
+        private final List<String> names;
+        private final List<Node>   values;
+
+        /** Quoted name of object's member which value is expected. */
+        private String name;
+        private int    size;
+
+        private Container(boolean isObject) {
+            this.isObject = isObject;
+            if (isObject) {
+                parts = null;
+                names = new ArrayList<>();
+                values = new ArrayList<>();
+            } else {
+                parts = new Parts().append('[');
+                names = null;
+                values = null;
+            }
+        }
+
+        Node toObjectNode() {
+            if (isShape()) {
+                return new ShapedObject(Collections.unmodifiableList(names), values.toArray(new Node[values.size()]));
+            }
+            // object that has single key which starts with '#' is wrapped to distinguish it from shaped object
+            final boolean escape = names.size() == 1 && names.get(0).startsWith("\"#");
+            final Parts object = new Parts();
+            if (escape) {
+                object.append("{\"#\":");
+            }
+            object.append('{');
+            for (int i = 0; i < names.size(); i++) {
+                if (i > 0) {
+                    object.append(',');
+                }
+                object.append(names.get(i)).append(':').append(values.get(i));
+            }
+            object.append('}');
+            if (escape) {
+                object.append('}');
+            }
+            return object.toNode();
+        }
+
+        /** Checks whether keys take more space than reference to shape, i.e. {@code "#id":[]} */
+        private boolean isShape() {
+            if (names.isEmpty() || names.size() > MAX_SHAPE_SIZE || (names.size() == 1 && names.get(0).startsWith("\"#"))) {
+                return false;
+            }
+            int size = 0;
+            for (String name : names) {
+                size += name.length() + 1;
+            }
+            return size > 10;
+        }
+    }
+}
@@ -0,0 +1,422 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.everrest.websockets.message.OutputMessage;
+import org.everrest.websockets.message.Pair;
+import org.everrest.websockets.message.RestOutputMessage;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encodes channel broadcast messages in compact form for websocket connections which negotiated sub-protocol
+ * {@link #SUBPROTOCOL}. Other connections get messages in the usual everrest format.
+ * <p/>
+ * Compact frame is a JSON array:
+ * <pre>
+ *     [channel, flags, body]
+ *     [channel, flags, body, {"id":[key1, key2, ...], ...}]
+ * </pre>
+ * Flags: {@link #ERROR_FLAG} marks messages of type {@link ChannelBroadcastMessage.Type#ERROR}, {@link #RAW_BODY_FLAG} marks
+ * body which isn't valid JSON, such body is sent as JSON string. Body isn't escaped as in everrest message but embedded as is,
+ * except objects. JSON object which ordered set of keys (shape) has id in the connection is replaced with
+ * {@code {"#id":[value1, value2, ...]}}. Object that has single key which starts with '#' is wrapped as {@code {"#":object}}.
+ * <p/>
+ * Ids of shapes are assigned by each connection separately, see {@link ConnectionState}. Shape gets id when it is seen by the
+ * connection second time, so keys of maps which are usually unique don't take place of shapes of DTOs, which are written with
+ * the same order of fields all the time. Definitions of ids are sent in the last element of the frame which uses them for the
+ * first time, the definitions must be applied before the body of such frame is restored. Id of shape which wasn't used for a
+ * long time may be given to another shape.
+ * <p/>
+ * Message is encoded once for all compact connections to template where only ids of shapes are left to be filled for each
+ * connection. Body is copied token by token from its JSON text to the template without building JSON tree. Publishers don't
+ * need to know about compact format, messages are encoded when everrest sends them to connections, see
+ * {@link CheWSConnection}.
+ *
+ * @see Decoder
+ */
+public class CompactMessageCodec {
+    public static final String SUBPROTOCOL = "che-compact-json";
+
+    public static final int ERROR_FLAG    = 1;
+    public static final int RAW_BODY_FLAG = 2;
+
+    static final String CHANNEL_HEADER = "x-everrest-websocket-channel";
+    static final String TYPE_HEADER    = "x-everrest-websocket-message-type";
+
+    private static final CompactMessageCodec INSTANCE = new CompactMessageCodec();
+
+    public static CompactMessageCodec getInstance() {
+        return INSTANCE;
+    }
+
+    /** Broadcast message is sent to all connections from the same thread, remember the last encoded message. */
+    private final ThreadLocal<EncodedMessage> lastEncoded;
+
+    CompactMessageCodec() {
+        lastEncoded = new ThreadLocal<>();
+    }
+
+    /**
+     * Encodes broadcast message. Returns {@code null} if message isn't broadcast message, e.g. it's response to the request that
+     * was sent over websocket.
+     */
+    public EncodedMessage encode(OutputMessage message) {
+        final EncodedMessage last = lastEncoded.get();
+        if (last != null && last.message.get() == message) {
+            return last;
+        }
+        if (!(message instanceof RestOutputMessage) || ((RestOutputMessage)message).getHeaders() == null) {
+            return null;
+        }
+        String channel = null;
+        String type = null;
+        for (Pair header : ((RestOutputMessage)message).getHeaders()) {
+            if (CHANNEL_HEADER.equals(header.getName())) {
+                channel = header.getValue();
+            } else if (TYPE_HEADER.equals(header.getName())) {
+                type = header.getValue();
+            }
+        }
+        if (channel == null) {
+            return null;
+        }
+        final boolean error = ChannelBroadcastMessage.Type.ERROR.toString().equals(type);
+        final EncodedMessage encoded = encode(channel, error, message.getBody());
+        encoded.message = new WeakReference<Object>(message);
+        lastEncoded.set(encoded);
+        return encoded;
+    }
+
+    /** Encodes message with JSON body for the specified channel. */
+    public EncodedMessage encode(String channel, boolean error, String body) {
+        final CompactJsonWriter.Node json = body == null ? null : copy(body);
+        if (json == null) {
+            return new EncodedMessage(channel, (error ? ERROR_FLAG : 0) | RAW_BODY_FLAG, body == null ? null : quote(body));
+        }
+        return new EncodedMessage(channel, error ? ERROR_FLAG : 0, json);
+    }
+
+    /**
+     * Creates frame for connection. Ids of shapes and definitions of the new ones are added by the connection. Caller must not
+     * send frames to the same connection concurrently to keep definitions in front of their usages.
+     */
+    public String toFrame(EncodedMessage encoded, ConnectionState state) {
+        final StringBuilder frame = new StringBuilder(encoded.prefix.length() + 256);
+        frame.append(encoded.prefix);
+        if (encoded.rawBody != null) {
+            frame.append(encoded.rawBody);
+        } else {
+            encoded.body.render(frame, state);
+        }
+        state.endFrame(frame);
+        return frame.append(']').toString();
+    }
+
+    private static String quote(String body) {
+        return CompactJsonWriter.quote(body);
+    }
+
+    /**
+     * Copies body which is read in strict mode. Lenient reader accepts text like {@code hello} as string, in this case the body
+     * would be changed. Body is wrapped in array since strict reader accepts only object or array on the top level.
+     *
+     * @return copied body or {@code null} if body isn't valid JSON
+     */
+    private static CompactJsonWriter.Node copy(String body) {
+        final JsonReader reader = new JsonReader(new StringReader('[' + body + ']'));
+        final CompactJsonWriter writer = new CompactJsonWriter();
+        writer.setSerializeNulls(true);
+        try {
+            reader.beginArray();
+            if (!reader.hasNext()) {
+                return null;
+            }
+            copy(reader, writer);
+            if (reader.peek() != JsonToken.END_ARRAY) {
+                return null;
+            }
+            reader.endArray();
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                return null;
+            }
+            return writer.getResult();
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void copy(JsonReader in, CompactJsonWriter out) throws IOException {
+        switch (in.peek()) {
+            case BEGIN_ARRAY:
+                in.beginArray();
+                out.beginArray();
+                while (in.hasNext()) {
+                    copy(in, out);
+                }
+                in.endArray();
+                out.endArray();
+                break;
+            case BEGIN_OBJECT:
+                in.beginObject();
+                out.beginObject();
+                while (in.hasNext()) {
+                    out.name(in.nextName());
+                    copy(in, out);
+                }
+                in.endObject();
+                out.endObject();
+                break;
+            case STRING:
+                out.value(in.nextString());
+                break;
+            case NUMBER:
+                // keep number as it's written in body
+                out.numberValue(in.nextString());
+                break;
+            case BOOLEAN:
+                out.value(in.nextBoolean());
+                break;
+            case NULL:
+                in.nextNull();
+                out.nullValue();
+                break;
+            default:
+                throw new IllegalStateException("Unexpected token " + in.peek());
+        }
+    }
+
+    /** Message encoded for all connections. Beginning of JSON array and template of body. */
+    public static final class EncodedMessage {
+        private final String                 prefix;
+        private final CompactJsonWriter.Node body;
+        private final String                 rawBody;
+
+        private WeakReference<Object> message;
+
+        private EncodedMessage(String channel, int flags, CompactJsonWriter.Node body) {
+            this.prefix = createPrefix(channel, flags);
+            this.body = body;
+            this.rawBody = null;
+        }
+
+        private EncodedMessage(String channel, int flags, String rawBody) {
+            this.prefix = createPrefix(channel, flags);
+            this.body = null;
+            this.rawBody = rawBody == null ? "null" : rawBody;
+        }
+
+        private static String createPrefix(String channel, int flags) {
+            return '[' + quote(channel) + ',' + flags + ',';
+        }
+    }
+
+    /**
+     * Shapes which have ids in the connection. Number of shapes is limited, id of shape which wasn't used for the longest time
+     * is given to the new shape. Shape gets id only when it's seen second time, shapes which were seen once are remembered in
+     * the same limited way.
+     * <p/>
+     * State isn't thread safe, frames for the same connection must be created one by one.
+     */
+    public static final class ConnectionState {
+        private static final int DEFAULT_MAX_SHAPES = 512;
+
+        private final int                                  maxShapes;
+        private final LinkedHashMap<List<String>, Integer> ids;
+        private final LinkedHashMap<List<String>, Boolean> seenOnce;
+        /** Shapes which are used by the frame that is being created, their ids must not be given to other shapes. */
+        private final Set<List<String>>                    frameShapes;
+        private final StringBuilder                        definitions;
+
+        public ConnectionState() {
+            this(DEFAULT_MAX_SHAPES);
+        }
+
+        ConnectionState(int maxShapes) {
+            this.maxShapes = maxShapes;
+            this.ids = new LinkedHashMap<>(16, 0.75f, true);
+            this.seenOnce = new LinkedHashMap<List<String>, Boolean>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<String>, Boolean> eldest) {
+                    return size() > ConnectionState.this.maxShapes;
+                }
+            };
+            this.frameShapes = new HashSet<>();
+            this.definitions = new StringBuilder();
+        }
+
+        /**
+         * Returns id of shape or -1 if object must be written as is.
+         *
+         * @param shape
+         *         quoted keys of object
+         */
+        int getShapeId(List<String> shape) {
+            Integer id = ids.get(shape);
+            if (id == null) {
+                if (seenOnce.remove(shape) == null) {
+                    seenOnce.put(shape, Boolean.TRUE);
+                    return -1;
+                }
+                id = ids.size() < maxShapes ? ids.size() : evict();
+                if (id < 0) {
+                    return -1;
+                }
+                ids.put(shape, id);
+                define(id, shape);
+            }
+            frameShapes.add(shape);
+            return id;
+        }
+
+        /** Removes shape which wasn't used for the longest time and returns its id or -1 if all shapes are used by frame. */
+        private int evict() {
+            for (Iterator<Map.Entry<List<String>, Integer>> it = ids.entrySet().iterator(); it.hasNext(); ) {
+                final Map.Entry<List<String>, Integer> eldest = it.next();
+                if (!frameShapes.contains(eldest.getKey())) {
+                    it.remove();
+                    return eldest.getValue();
+                }
+            }
+            return -1;
+        }
+
+        private void define(int id, List<String> shape) {
+            definitions.append(definitions.length() == 0 ? "" : ",").append('"').append(id).append("\":[");
+            for (int i = 0; i < shape.size(); i++) {
+                if (i > 0) {
+                    definitions.append(',');
+                }
+                definitions.append(shape.get(i));
+            }
+            definitions.append(']');
+        }
+
+        /** Adds definitions of the new shapes to the frame. */
+        private void endFrame(StringBuilder frame) {
+            if (definitions.length() > 0) {
+                frame.append(",{").append(definitions).append('}');
+                definitions.setLength(0);
+            }
+            frameShapes.clear();
+        }
+    }
+
+    /** Message that is sent to the websocket as is. */
+    public static final class CompactOutputMessage extends OutputMessage {
+        public CompactOutputMessage(String frame) {
+            setBody(frame);
+        }
+    }
+
+    /** Restores messages encoded with {@link CompactMessageCodec}. Instance of decoder should be used for single connection. */
+    public static final class Decoder {
+        private final Map<String, List<String>> shapes = new HashMap<>();
+
+        /**
+         * Decodes frame to broadcast message.
+         *
+         * @throws IllegalArgumentException
+         *         if frame isn't valid compact message
+         */
+        public ChannelBroadcastMessage decode(String frame) {
+            final JsonArray array;
+            try {
+                array = new JsonParser().parse(frame).getAsJsonArray();
+            } catch (JsonParseException | IllegalStateException e) {
+                throw new IllegalArgumentException("Invalid compact message: " + frame, e);
+            }
+            if (array.size() < 3) {
+                throw new IllegalArgumentException("Invalid compact message: " + frame);
+            }
+            if (array.size() > 3) {
+                for (Map.Entry<String, JsonElement> definition : array.get(3).getAsJsonObject().entrySet()) {
+                    final List<String> keys = new ArrayList<>();
+                    for (JsonElement key : definition.getValue().getAsJsonArray()) {
+                        keys.add(key.getAsString());
+                    }
+                    shapes.put(definition.getKey(), keys);
+                }
+            }
+            final int flags = array.get(1).getAsInt();
+            final JsonElement body = array.get(2);
+            final ChannelBroadcastMessage message = new ChannelBroadcastMessage();
+            message.setChannel(array.get(0).getAsString());
+            message.setType((flags & ERROR_FLAG) != 0 ? ChannelBroadcastMessage.Type.ERROR : ChannelBroadcastMessage.Type.NONE);
+            if ((flags & RAW_BODY_FLAG) != 0) {
+                message.setBody(body.isJsonNull() ? null : body.getAsString());
+            } else {
+                message.setBody(restore(body).toString());
+            }
+            return message;
+        }
+
+        private JsonElement restore(JsonElement json) {
+            if (json.isJsonArray()) {
+                final JsonArray result = new JsonArray();
+                for (JsonElement element : json.getAsJsonArray()) {
+                    result.add(restore(element));
+                }
+                return result;
+            }
+            if (!json.isJsonObject()) {
+                return json;
+            }
+            final JsonObject object = json.getAsJsonObject();
+            if (object.entrySet().size() == 1) {
+                final Map.Entry<String, JsonElement> single = object.entrySet().iterator().next();
+                if ("#".equals(single.getKey())) {
+                    return restoreMembers(single.getValue().getAsJsonObject());
+                }
+                if (single.getKey().startsWith("#")) {
+                    final List<String> keys = shapes.get(single.getKey().substring(1));
+                    if (keys == null) {
+                        throw new IllegalArgumentException("Unknown shape " + single.getKey());
+                    }
+                    final JsonArray values = single.getValue().getAsJsonArray();
+                    final JsonObject result = new JsonObject();
+                    for (int i = 0; i < keys.size(); i++) {
+                        result.add(keys.get(i), restore(values.get(i)));
+                    }
+                    return result;
+                }
+            }
+            return restoreMembers(object);
+        }
+
+        private JsonObject restoreMembers(JsonObject object) {
+            final JsonObject result = new JsonObject();
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                result.add(entry.getKey(), restore(entry.getValue()));
+            }
+            return result;
+        }
+    }
+}
@@ -10,11 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.everrest;
 
-import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 
+import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.Filter;
@@ -24,11 +24,13 @@ import org.everrest.core.impl.ApplicationContextImpl;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
-import java.nio.charset.Charset;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.JSON_SERIALIZABLE;
@@ -39,12 +41,19 @@ import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.UNKNOWN;
  * Filter implementing {@link org.everrest.core.ResponseFilter} in order to generate ETag for clients that want to use conditional
  * requests.
  * It is applying on GET method and JSON content type only.
+ * <p/>
+ * If resource method sets ETag header, e.g. it is calculated from version or modification stamp of entity, then it is used for
+ * checking preconditions as is and entity isn't serialized at all. Otherwise ETag is calculated as hash of JSON representation
+ * of entity, JSON is streamed directly to the hasher.
  *
  * @author Florent Benoit
  */
 @Filter
 public class ETagResponseFilter implements ResponseFilter {
 
+    /** Entity tag doesn't need cryptographic hash, use the fast one. */
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
     public enum EntityType {
         JSON_SERIALIZABLE,
         STRING,
@@ -81,32 +90,14 @@ public class ETagResponseFilter implements ResponseFilter {
             return;
         }
 
-        // calculate hash with MD5
-        HashFunction hashFunction = Hashing.md5();
-        Hasher hasher = hashFunction.newHasher();
-        boolean hashingSuccess = true;
-
-        // Manage a list
-        if (entity instanceof List) {
-            List<?> entities = (List)entity;
-            for (Object simpleEntity : entities) {
-                hashingSuccess = addHash(simpleEntity, hasher);
-                if (!hashingSuccess) {
-                    break;
-                }
-            }
-        } else {
-            hashingSuccess = addHash(entity, hasher);
+        // resource may set entity tag itself, e.g. from version of entity, then there is no need to hash entity
+        EntityTag entityTag = getEntityTag(containerResponse);
+        if (entityTag == null) {
+            entityTag = hash(entity);
         }
 
         // if we're able to handle the hash
-        if (hashingSuccess) {
-
-            // get result of the hash
-            HashCode hashCode = hasher.hash();
-
-            // Create the entity tag
-            EntityTag entityTag = new EntityTag(hashCode.toString());
+        if (entityTag != null) {
 
             // Check the etag
             Response.ResponseBuilder builder = request.evaluatePreconditions(entityTag);
@@ -123,6 +114,49 @@ public class ETagResponseFilter implements ResponseFilter {
 
     }
 
+    /**
+     * Gets entity tag that was set by resource method.
+     *
+     * @return entity tag or {@code null} if resource method doesn't set it
+     */
+    protected EntityTag getEntityTag(GenericContainerResponse containerResponse) {
+        final Object tag = containerResponse.getHttpHeaders().getFirst(HttpHeaders.ETAG);
+        if (tag == null) {
+            return null;
+        }
+        if (tag instanceof EntityTag) {
+            return (EntityTag)tag;
+        }
+        final String value = tag.toString();
+        // ResponseBuilder#tag(String) keeps value as is, without quotes
+        if (value.startsWith("\"") || value.startsWith("W/\"")) {
+            return EntityTag.valueOf(value);
+        }
+        return new EntityTag(value);
+    }
+
+    /**
+     * Calculates entity tag as hash of JSON representation of entity. Entity isn't serialized to string, JSON is written
+     * directly to hasher.
+     *
+     * @return entity tag or {@code null} if entity can't be hashed
+     */
+    protected EntityTag hash(Object entity) {
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        // Manage a list
+        if (entity instanceof List) {
+            List<?> entities = (List)entity;
+            for (Object simpleEntity : entities) {
+                if (!addHash(simpleEntity, hasher)) {
+                    return null;
+                }
+            }
+        } else if (!addHash(entity, hasher)) {
+            return null;
+        }
+        return new EntityTag(hasher.hash().toString());
+    }
+
     /**
      * Helper method to add entity to hash. If there is an invalid entity type it will return false
      *
@@ -142,8 +176,12 @@ public class ETagResponseFilter implements ResponseFilter {
         }
         // add hash if all is OK
         try {
-            hasher.putString(getJson(entity, entityType), Charset.defaultCharset());
-        } catch (RuntimeException e) {
+            if (entityType == JSON_SERIALIZABLE) {
+                ((JsonSerializable)entity).toJson(DtoFactory.newJsonWriter(new HashingWriter(hasher)));
+            } else {
+                hasher.putUnencodedChars(getJson(entity, entityType));
+            }
+        } catch (IOException | RuntimeException e) {
             return false;
         }
         return true;
@@ -188,5 +226,41 @@ public class ETagResponseFilter implements ResponseFilter {
         return UNKNOWN;
 
     }
+
+    /** Writes characters directly to the hasher. */
+    private static class HashingWriter extends Writer {
+        private final Hasher hasher;
+
+        HashingWriter(Hasher hasher) {
+            this.hasher = hasher;
+        }
+
+        @Override
+        public void write(int c) {
+            hasher.putChar((char)c);
+        }
+
+        @Override
+        public void write(char[] chars, int off, int len) {
+            for (int i = off, end = off + len; i < end; i++) {
+                hasher.putChar(chars[i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            for (int i = off, end = off + len; i < end; i++) {
+                hasher.putChar(str.charAt(i));
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
 
@@ -43,6 +43,7 @@ import javax.websocket.server.ServerContainer;
 import javax.websocket.server.ServerEndpointConfig;
 import javax.ws.rs.core.SecurityContext;
 import java.security.Principal;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -66,6 +67,9 @@ public class ServerContainerInitializeListener implements ServletContextListener
     public static final String EXECUTOR_ATTRIBUTE           = "everrest.Executor";
     public static final String SECURITY_CONTEXT             = SecurityContext.class.getName();
 
+    /** Clients that don't request any of these sub-protocols get messages in default format. */
+    private static final List<String> SUBPROTOCOLS = Collections.singletonList(CompactMessageCodec.SUBPROTOCOL);
+
     private static final AtomicLong sequence = new AtomicLong(1);
 
     private WebApplicationDeclaredRoles webApplicationDeclaredRoles;
@@ -120,7 +124,7 @@ public class ServerContainerInitializeListener implements ServletContextListener
         encoders.add(OutputMessageEncoder.class);
         decoders.add(InputMessageDecoder.class);
         final ServerEndpointConfig endpointConfig = create(CheWSConnection.class, websocketContext + websocketEndPoint)
-                .configurator(createConfigurator()).encoders(encoders).decoders(decoders).build();
+                .configurator(createConfigurator()).encoders(encoders).decoders(decoders).subprotocols(SUBPROTOCOLS).build();
         endpointConfig.getUserProperties().put(EVERREST_PROCESSOR_ATTRIBUTE, getEverrestProcessor(servletContext));
         endpointConfig.getUserProperties().put(EVERREST_CONFIG_ATTRIBUTE, getEverrestConfiguration(servletContext));
         endpointConfig.getUserProperties().put(EXECUTOR_ATTRIBUTE, createExecutor(servletContext));
@@ -133,7 +137,7 @@ public class ServerContainerInitializeListener implements ServletContextListener
         encoders.add(OutputMessageEncoder.class);
         decoders.add(InputMessageDecoder.class);
         final ServerEndpointConfig endpointConfig = create(CheWSConnection.class, websocketContext + eventBusEndPoint)
-                .configurator(createConfigurator()).encoders(encoders).decoders(decoders).build();
+                .configurator(createConfigurator()).encoders(encoders).decoders(decoders).subprotocols(SUBPROTOCOLS).build();
         endpointConfig.getUserProperties().put(EVERREST_PROCESSOR_ATTRIBUTE, getEverrestProcessor(servletContext));
         endpointConfig.getUserProperties().put(EVERREST_CONFIG_ATTRIBUTE, getEverrestConfiguration(servletContext));
         endpointConfig.getUserProperties().put(EXECUTOR_ATTRIBUTE, createExecutor(servletContext));
@@ -241,6 +245,9 @@ public class ServerContainerInitializeListener implements ServletContextListener
 
         @Override
         public String encode(OutputMessage output) throws EncodeException {
+            if (output instanceof CompactMessageCodec.CompactOutputMessage) {
+                return output.getBody();
+            }
             try {
                 return jsonMessageConverter.toString(output);
             } catch (JsonException e) {
@@ -11,12 +11,17 @@
 package org.eclipse.che.api.core.notification;
 
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author andrew00x
@@ -29,6 +34,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.stop();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -157,4 +167,163 @@ public class EventServiceTest {
         bus.publish(new Event());
         Assert.assertEquals(events.size(), 0);
     }
+
+    @Test
+    public void testAsyncDispatchPreservesOrderOfEventsForSubscriber() throws Exception {
+        bus.setAsyncDispatch(true);
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch delivered = new CountDownLatch(500);
+        bus.subscribe(new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                events.add(event.data);
+                delivered.countDown();
+            }
+        });
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            expected.add(String.valueOf(i));
+            bus.publish(new Event(String.valueOf(i)));
+        }
+
+        Assert.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(events, expected);
+    }
+
+    @Test
+    public void testAsyncDispatchDoesNotBlockPublisherBySlowSubscriber() throws Exception {
+        bus.setAsyncDispatch(true);
+        bus.setQueueCapacity(2);
+        bus.setOverflowPolicy("drop_newest");
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        EventSubscriber<Event> slow = new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                events.add(event.data);
+            }
+        };
+        bus.subscribe(slow);
+
+        bus.publish(new Event("0"));
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i < 10; i++) {
+            bus.publish(new Event(String.valueOf(i)));
+        }
+        EventSubscriberMetrics metrics = getMetrics(slow);
+        Assert.assertEquals(metrics.getQueueDepth(), 2);
+        Assert.assertEquals(metrics.getDroppedEvents(), 7);
+
+        release.countDown();
+        waitForDispatching(slow, 3);
+        Assert.assertEquals(events, Arrays.asList("0", "1", "2"));
+    }
+
+    @Test
+    public void testAsyncDispatchDropsOldestEvents() throws Exception {
+        bus.setAsyncDispatch(true);
+        bus.setQueueCapacity(2);
+        bus.setOverflowPolicy("DROP_OLDEST");
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        EventSubscriber<Event> slow = new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                events.add(event.data);
+            }
+        };
+        bus.subscribe(slow);
+
+        bus.publish(new Event("0"));
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i < 10; i++) {
+            bus.publish(new Event(String.valueOf(i)));
+        }
+        release.countDown();
+        waitForDispatching(slow, 3);
+        Assert.assertEquals(events, Arrays.asList("0", "8", "9"));
+        Assert.assertEquals(getMetrics(slow).getDroppedEvents(), 7);
+    }
+
+    @Test
+    public void testUnsubscribeKeepsOtherSubscriptionsOfSubscriber() {
+        final List<String> events = new ArrayList<>();
+        EventSubscriber<Event> l = new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                events.add(event.data);
+            }
+        };
+        bus.subscribe(l);
+        bus.subscribe(l, Object.class);
+        bus.unsubscribe(l);
+
+        bus.publish(new Event());
+
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(bus.getSubscriberMetrics().size(), 1);
+    }
+
+    @Test
+    public void testDetectsSlowSubscriber() throws Exception {
+        bus.setAsyncDispatch(true);
+        bus.setSlowSubscriberThresholdMs(10);
+        EventSubscriber<Event> slow = new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        EventSubscriber<Event> fast = new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+            }
+        };
+        bus.subscribe(slow);
+        bus.subscribe(fast);
+
+        bus.publish(new Event());
+        waitForDispatching(slow, 1);
+        waitForDispatching(fast, 1);
+
+        Assert.assertTrue(getMetrics(slow).isSlow());
+        Assert.assertTrue(getMetrics(slow).getMaxLatencyMillis() >= 50);
+        Assert.assertFalse(getMetrics(fast).isSlow());
+        Assert.assertEquals(getMetrics(fast).getDispatchedEvents(), 1);
+    }
+
+    private EventSubscriberMetrics getMetrics(EventSubscriber<?> subscriber) {
+        for (EventSubscriberMetrics metrics : bus.getSubscriberMetrics()) {
+            if (metrics.getSubscriber() == subscriber) {
+                return metrics;
+            }
+        }
+        throw new AssertionError("No metrics for " + subscriber);
+    }
+
+    private void waitForDispatching(EventSubscriber<?> subscriber, long events) throws InterruptedException {
+        final long endTime = System.currentTimeMillis() + 10000;
+        while (getMetrics(subscriber).getDispatchedEvents() < events && System.currentTimeMillis() < endTime) {
+            Thread.sleep(10);
+        }
+    }
 }
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.everrest.assured.EverrestJetty;
+import org.everrest.core.Filter;
+import org.everrest.core.GenericContainerRequest;
+import org.everrest.core.RequestFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests of {@link PooledHttpJsonRequestFactory}.
+ */
+@Listeners(EverrestJetty.class)
+public class PooledHttpJsonRequestFactoryTest {
+    private static final Logger LOG = LoggerFactory.getLogger(PooledHttpJsonRequestFactoryTest.class);
+
+    @SuppressWarnings("unused") // used by EverrestJetty
+    private static final EnvironmentFilter  FILTER           = new EnvironmentFilter();
+    @SuppressWarnings("unused") // used by EverrestJetty
+    private static final ApiExceptionMapper EXCEPTION_MAPPER = new ApiExceptionMapper();
+    @SuppressWarnings("unused") // used by EverrestJetty
+    private static final TestService        TEST_SERVICE     = new TestService();
+    private static final Subject            TEST_SUBJECT     = new SubjectImpl("name", "id", "token", null, false);
+
+    private PooledHttpJsonRequestFactory factory;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        factory = new PooledHttpJsonRequestFactory();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        factory.stop();
+        EnvironmentContext.reset();
+    }
+
+    @Test
+    public void shouldMakeRequest(ITestContext ctx) throws Exception {
+        final HttpJsonResponse response = factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request();
+
+        assertEquals(response.asString(), TestService.JSON_OBJECT);
+    }
+
+    @Test
+    public void shouldMakeAsyncRequestWithContextOfCallerThread(ITestContext ctx) throws Exception {
+        final EnvironmentContext context = new EnvironmentContext();
+        context.setSubject(TEST_SUBJECT);
+        EnvironmentContext.setCurrent(context);
+
+        final HttpJsonResponse response = factory.fromUrl(getUrl(ctx) + "/token")
+                                                 .usePostMethod()
+                                                 .asyncRequest()
+                                                 .get(10, TimeUnit.SECONDS);
+
+        assertEquals(response.getResponseCode(), 204);
+    }
+
+    @Test
+    public void shouldCompleteFutureExceptionallyWhenRequestFails(ITestContext ctx) throws Exception {
+        final CompletableFuture<HttpJsonResponse> future = factory.fromUrl(getUrl(ctx) + "/404/response-code-test")
+                                                                  .useGetMethod()
+                                                                  .asyncRequest();
+
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Request must fail");
+        } catch (ExecutionException x) {
+            assertTrue(x.getCause() instanceof NotFoundException);
+        }
+    }
+
+    @Test
+    public void shouldMakeAllRequestsAndKeepTheirOrder(ITestContext ctx) throws Exception {
+        factory.setMaxConnectionsPerHost(2);
+        final List<HttpJsonRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(factory.fromUrl(getUrl(ctx) + "/decode").useGetMethod().addQueryParam("query", i));
+        }
+
+        final List<HttpJsonResponse> responses = factory.requestAll(requests).get(10, TimeUnit.SECONDS);
+
+        assertEquals(responses.size(), 10);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(responses.get(i).asString().endsWith("query=" + i), responses.get(i).asString());
+        }
+    }
+
+    @Test
+    public void shouldCollectMetricsOfEndpoints(ITestContext ctx) throws Exception {
+        final String url = getUrl(ctx) + "/application-json";
+        factory.fromUrl(url).useGetMethod().request();
+        factory.fromUrl(url).useGetMethod().addQueryParam("param", "value").request();
+        try {
+            factory.fromUrl(getUrl(ctx) + "/404/response-code-test").useGetMethod().request();
+        } catch (NotFoundException ignored) {
+        }
+
+        final List<HttpEndpointMetrics> metrics = factory.getMetrics();
+
+        assertEquals(metrics.size(), 2);
+        for (HttpEndpointMetrics endpointMetrics : metrics) {
+            if (endpointMetrics.getEndpoint().equals("GET " + url)) {
+                assertEquals(endpointMetrics.getRequests(), 2);
+                assertEquals(endpointMetrics.getFailures(), 0);
+            } else {
+                assertEquals(endpointMetrics.getEndpoint(), "GET " + getUrl(ctx) + "/404/response-code-test");
+                assertEquals(endpointMetrics.getRequests(), 1);
+                assertEquals(endpointMetrics.getFailures(), 1);
+            }
+            assertTrue(endpointMetrics.getMaxLatencyMillis() >= endpointMetrics.getAverageLatencyMillis());
+        }
+    }
+
+    /**
+     * Compares time of sequential requests made by {@link DefaultHttpJsonRequestFactory}, which opens new connection for each request,
+     * time of the same requests made by {@link PooledHttpJsonRequestFactory} and time of the same requests made asynchronously.
+     */
+    @Test(groups = "benchmark")
+    public void comparesDefaultAndPooledRequests(ITestContext ctx) throws Exception {
+        final String url = getUrl(ctx) + "/application-json";
+        final int requests = 500;
+        final HttpJsonRequestFactory defaultFactory = new DefaultHttpJsonRequestFactory();
+        long defaultTime = 0;
+        long pooledTime = 0;
+        long asyncTime = 0;
+        // first round warms up JIT and server
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                defaultFactory.fromUrl(url).useGetMethod().request();
+            }
+            defaultTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                factory.fromUrl(url).useGetMethod().request();
+            }
+            pooledTime = System.nanoTime() - start;
+
+            final List<HttpJsonRequest> batch = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                batch.add(factory.fromUrl(url).useGetMethod());
+            }
+            start = System.nanoTime();
+            factory.requestAll(batch).get(1, TimeUnit.MINUTES);
+            asyncTime = System.nanoTime() - start;
+        }
+
+        LOG.debug("default: {} ms, pooled: {} ms, pooled async: {} ms ({} requests)",
+                  TimeUnit.NANOSECONDS.toMillis(defaultTime),
+                  TimeUnit.NANOSECONDS.toMillis(pooledTime),
+                  TimeUnit.NANOSECONDS.toMillis(asyncTime),
+                  requests);
+        assertEquals(asList(factory.getMetrics().get(0).getRequests(), factory.getMetrics().get(0).getFailures()),
+                     asList(4L * requests, 0L));
+    }
+
+    @Filter
+    public static class EnvironmentFilter implements RequestFilter {
+
+        public void doFilter(GenericContainerRequest request) {
+            EnvironmentContext.getCurrent().setSubject(TEST_SUBJECT);
+        }
+
+    }
+
+    private String getUrl(ITestContext ctx) {
+        return "http://localhost:" + ctx.getAttribute(EverrestJetty.JETTY_PORT) + "/rest/test";
+    }
+}
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.everrest.CompactMessageCodec.ConnectionState;
+import org.eclipse.che.everrest.CompactMessageCodec.Decoder;
+import org.eclipse.che.everrest.CompactMessageCodec.EncodedMessage;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.everrest.websockets.message.JsonMessageConverter;
+import org.everrest.websockets.message.Pair;
+import org.everrest.websockets.message.RestOutputMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link CompactMessageCodec}.
+ */
+public class CompactMessageCodecTest {
+    private static final Logger LOG = LoggerFactory.getLogger(CompactMessageCodecTest.class);
+
+    private static final String VFS_EVENT = "{\"path\":\"/project/src/main/java/org/example/Foo%d.java\",\"file\":true,\"type\":\"MODIFIED\"}";
+
+    private CompactMessageCodec codec;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        codec = new CompactMessageCodec();
+    }
+
+    @Test
+    public void shouldRestoreMessages() throws Exception {
+        final String[] bodies = {String.format(VFS_EVENT, 1),
+                                 "\"[INFO] Building project <1.0> \\u2028\"",
+                                 "not a json",
+                                 "[1, 2.50, {\"path\":\"/a\",\"value\":null}, [], {}]",
+                                 "{\"#1\":[\"not a shape\"]}",
+                                 "{\"nested\":{\"path\":\"/a\",\"file\":false,\"type\":\"CREATED\"},\"list\":[{\"path\":\"/b\"," +
+                                 "\"file\":true,\"type\":\"DELETED\"}]}",
+                                 "",
+                                 null};
+        final ConnectionState state = new ConnectionState();
+        final Decoder decoder = new Decoder();
+
+        for (String body : bodies) {
+            final ChannelBroadcastMessage message = decoder.decode(codec.toFrame(codec.encode("channel", false, body), state));
+
+            assertEquals(message.getChannel(), "channel");
+            assertEquals(message.getType(), ChannelBroadcastMessage.Type.NONE);
+            if (body == null || body.isEmpty() || body.equals("not a json")) {
+                assertEquals(message.getBody(), body);
+            } else {
+                assertEquals(new JsonParser().parse(message.getBody()), new JsonParser().parse(body));
+            }
+        }
+    }
+
+    @Test
+    public void shouldKeepTypeOfMessage() throws Exception {
+        final String frame = codec.toFrame(codec.encode("channel", true, "\"failed\""), new ConnectionState());
+
+        final ChannelBroadcastMessage message = new Decoder().decode(frame);
+
+        assertEquals(message.getType(), ChannelBroadcastMessage.Type.ERROR);
+        assertEquals(message.getBody(), "\"failed\"");
+    }
+
+    @Test
+    public void shouldDefineShapeWhenItIsSeenSecondTime() throws Exception {
+        final ConnectionState state = new ConnectionState();
+
+        assertEquals(codec.toFrame(codec.encode("vfs", false, String.format(VFS_EVENT, 1)), state),
+                     "[\"vfs\",0,{\"path\":\"/project/src/main/java/org/example/Foo1.java\",\"file\":true,\"type\":\"MODIFIED\"}]");
+        assertEquals(codec.toFrame(codec.encode("vfs", false, String.format(VFS_EVENT, 2)), state),
+                     "[\"vfs\",0,{\"#0\":[\"/project/src/main/java/org/example/Foo2.java\",true,\"MODIFIED\"]}," +
+                     "{\"0\":[\"path\",\"file\",\"type\"]}]");
+        assertEquals(codec.toFrame(codec.encode("vfs", false, String.format(VFS_EVENT, 3)), state),
+                     "[\"vfs\",0,{\"#0\":[\"/project/src/main/java/org/example/Foo3.java\",true,\"MODIFIED\"]}]");
+    }
+
+    @Test
+    public void shouldKeepShapesOfEachConnectionSeparately() throws Exception {
+        final ConnectionState first = new ConnectionState();
+        final ConnectionState second = new ConnectionState();
+        final EncodedMessage encoded = codec.encode("vfs", false, String.format(VFS_EVENT, 1));
+        codec.toFrame(encoded, first);
+        codec.toFrame(encoded, first);
+
+        assertEquals(codec.toFrame(encoded, second),
+                     "[\"vfs\",0,{\"path\":\"/project/src/main/java/org/example/Foo1.java\",\"file\":true,\"type\":\"MODIFIED\"}]");
+        assertTrue(codec.toFrame(encoded, first).startsWith("[\"vfs\",0,{\"#0\":["));
+    }
+
+    @Test
+    public void shouldGiveIdOfShapeWhichWasNotUsedForLongestTimeToNewShape() throws Exception {
+        final Decoder decoder = new Decoder();
+        final ConnectionState state = new ConnectionState(2);
+        final String first = "{\"first_key\":1,\"second_key\":2}";
+        final String second = "{\"third_key\":3,\"fourth_key\":4}";
+        final String third = "{\"fifth_key\":5,\"sixth_key\":6}";
+        for (String body : new String[] {first, first, second, second, first, third}) {
+            decoder.decode(codec.toFrame(codec.encode("channel", false, body), state));
+        }
+
+        final String frame = codec.toFrame(codec.encode("channel", false, third), state);
+
+        assertEquals(frame, "[\"channel\",0,{\"#1\":[5,6]},{\"1\":[\"fifth_key\",\"sixth_key\"]}]");
+        assertEquals(decoder.decode(frame).getBody(), third);
+        assertEquals(codec.toFrame(codec.encode("channel", false, first), state), "[\"channel\",0,{\"#0\":[1,2]}]");
+        assertEquals(codec.toFrame(codec.encode("channel", false, second), state), "[\"channel\",0," + second + "]");
+    }
+
+    @Test
+    public void shouldWriteObjectsAsIsWhenAllShapesAreUsedByMessage() throws Exception {
+        final Decoder decoder = new Decoder();
+        final ConnectionState state = new ConnectionState(1);
+        final String first = "{\"first_key\":1,\"second_key\":2}";
+        final String second = "{\"third_key\":3,\"fourth_key\":4}";
+        for (String body : new String[] {first, first, second}) {
+            decoder.decode(codec.toFrame(codec.encode("channel", false, body), state));
+        }
+
+        final String frame = codec.toFrame(codec.encode("channel", false, '[' + first + ',' + second + ']'), state);
+
+        assertEquals(frame, "[\"channel\",0,[{\"#0\":[1,2]}," + second + "]]");
+        assertEquals(decoder.decode(frame).getBody(), '[' + first + ',' + second + ']');
+    }
+
+    @Test
+    public void shouldEncodeBroadcastMessageOnceForAllConnections() throws Exception {
+        final RestOutputMessage message = broadcastMessage("vfs", String.format(VFS_EVENT, 1));
+
+        final EncodedMessage encoded = codec.encode(message);
+
+        assertNotNull(encoded);
+        assertSame(codec.encode(message), encoded);
+        assertNull(codec.encode(new RestOutputMessage()));
+    }
+
+    /**
+     * Compares size and encoding time of everrest messages and compact messages for the stream of VFS events and output lines
+     * which are broadcast to several connections.
+     */
+    @Test(groups = "benchmark")
+    public void comparesEverrestAndCompactMessages() throws Exception {
+        final JsonMessageConverter converter = new JsonMessageConverter();
+        final int connections = 3;
+        final RestOutputMessage[] messages = new RestOutputMessage[20000];
+        for (int i = 0; i < messages.length; i += 2) {
+            messages[i] = broadcastMessage("vfs", String.format(VFS_EVENT, i));
+            messages[i + 1] = broadcastMessage("output", "\"[INFO] Compiling " + i + " source files\"");
+        }
+        long everrestBytes = 0;
+        long compactBytes = 0;
+        long everrestTime = 0;
+        long compactTime = 0;
+        // first round warms up JIT
+        for (int round = 0; round < 2; round++) {
+            codec = new CompactMessageCodec();
+            final ConnectionState[] states = new ConnectionState[connections];
+            for (int i = 0; i < connections; i++) {
+                states[i] = new ConnectionState();
+            }
+            everrestBytes = 0;
+            compactBytes = 0;
+            long start = System.nanoTime();
+            for (RestOutputMessage message : messages) {
+                for (int i = 0; i < connections; i++) {
+                    everrestBytes += converter.toString(message).length();
+                }
+            }
+            everrestTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (RestOutputMessage message : messages) {
+                for (ConnectionState state : states) {
+                    compactBytes += codec.toFrame(codec.encode(message), state).length();
+                }
+            }
+            compactTime = System.nanoTime() - start;
+        }
+
+        LOG.debug("everrest: {} KB, {} ms; compact: {} KB, {} ms ({} messages, {} connections)",
+                  everrestBytes / 1024, everrestTime / 1000000, compactBytes / 1024, compactTime / 1000000,
+                  messages.length, connections);
+        assertTrue(everrestBytes > compactBytes * 3);
+    }
+
+    private static RestOutputMessage broadcastMessage(String channel, String body) {
+        final RestOutputMessage message = new RestOutputMessage();
+        message.setHeaders(new Pair[]{Pair.of(CompactMessageCodec.CHANNEL_HEADER, channel),
+                                      Pair.of(CompactMessageCodec.TYPE_HEADER, ChannelBroadcastMessage.Type.NONE.toString())});
+        message.setBody(body);
+        return message;
+    }
+}
@@ -10,7 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.everrest;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.everrest.core.impl.ApplicationContextImpl;
 import org.everrest.core.impl.ApplicationProviderBinder;
 import org.everrest.core.impl.ContainerRequest;
@@ -91,7 +95,39 @@ public class ETagResponseFilterTest {
                            .build();
         }
 
+        @GET
+        @Path("/versioned")
+        @Produces(APPLICATION_JSON)
+        public Response getVersioned() {
+            return Response.ok(new HelloDto()).tag("v-1").build();
+        }
+
+        @GET
+        @Path("/dto")
+        @Produces(APPLICATION_JSON)
+        public HelloDto getDto() {
+            return new HelloDto();
+        }
+
+    }
+
+    /**
+     * Serializable entity which counts serializations
+     */
+    public static class HelloDto implements JsonSerializable {
+        static int serializations;
+
+        @Override
+        public String toJson() {
+            serializations++;
+            return "\"hello\"";
+        }
 
+        @Override
+        public JsonElement toJsonElement() {
+            serializations++;
+            return new JsonPrimitive("hello");
+        }
     }
 
     /**
@@ -123,6 +159,7 @@ public class ETagResponseFilterTest {
                                                                   new EverrestConfiguration(),
                                                                   null);
         resourceLauncher = new ResourceLauncher(processor);
+        HelloDto.serializations = 0;
     }
 
 
@@ -140,7 +177,7 @@ public class ETagResponseFilterTest {
         List<Object> headerTags = response.getHttpHeaders().get("ETag");
         Assert.assertNotNull(headerTags);
         Assert.assertEquals(headerTags.size(), 1);
-        Assert.assertEquals(headerTags.get(0), new EntityTag("900150983cd24fb0d6963f7d28e17f72"));
+        Assert.assertEquals(headerTags.get(0), new EntityTag("e34d9eb074a1250c2be09e39dd667177"));
     }
 
     /**
@@ -167,7 +204,7 @@ public class ETagResponseFilterTest {
         // Check etag
         List<Object> headerTags = response.getHttpHeaders().get("ETag");
         Assert.assertNotNull(headerTags);
-        Assert.assertEquals(headerTags.get(0), new EntityTag("77e671575d94cfd400ed26c5ef08e0fd"));
+        Assert.assertEquals(headerTags.get(0), new EntityTag("33616931162f16bbce4f417ccc93273b"));
     }
 
     /**
@@ -184,7 +221,7 @@ public class ETagResponseFilterTest {
         List<Object> headerTags = response.getHttpHeaders().get("ETag");
         Assert.assertNotNull(headerTags);
         Assert.assertEquals(headerTags.size(), 1);
-        Assert.assertEquals(headerTags.get(0), new EntityTag("5d41402abc4b2a76b9719d911017c592"));
+        Assert.assertEquals(headerTags.get(0), new EntityTag("87d3bfe18fe12eeec436c3d86272927b"));
     }
 
 
@@ -196,7 +233,7 @@ public class ETagResponseFilterTest {
     public void filterListEntityTestWithEtag() throws Exception {
 
         Map<String, List<String>> headers = new HashMap<>();
-        headers.put("If-None-Match", Collections.singletonList(new EntityTag("900150983cd24fb0d6963f7d28e17f72").toString()));
+        headers.put("If-None-Match", Collections.singletonList(new EntityTag("e34d9eb074a1250c2be09e39dd667177").toString()));
 
 
         final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/list", BASE_URI, headers, null, null);
@@ -212,7 +249,7 @@ public class ETagResponseFilterTest {
     public void filterSingleEntityTestWithEtag() throws Exception {
 
         Map<String, List<String>> headers = new HashMap<>();
-        headers.put("If-None-Match", Collections.singletonList(new EntityTag("5d41402abc4b2a76b9719d911017c592").toString()));
+        headers.put("If-None-Match", Collections.singletonList(new EntityTag("87d3bfe18fe12eeec436c3d86272927b").toString()));
 
 
         final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/single", BASE_URI, headers, null, null);
@@ -221,4 +258,50 @@ public class ETagResponseFilterTest {
         Assert.assertNull(response.getEntity());
     }
 
+    /**
+     * Check if ETag of serializable entity is the same as ETag of its JSON
+     */
+    @Test
+    public void filterSerializableEntityTest() throws Exception {
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/dto", BASE_URI, null, null, null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        // Check etag
+        List<Object> headerTags = response.getHttpHeaders().get("ETag");
+        Assert.assertNotNull(headerTags);
+        Assert.assertEquals(headerTags.size(), 1);
+        Assert.assertEquals(headerTags.get(0), new EntityTag("e1eab1dc80335bbd6108affd2e63c8aa"));
+    }
+
+    /**
+     * Check if ETag set by resource is used as is and entity isn't serialized
+     */
+    @Test
+    public void useEntityTagOfResource() throws Exception {
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned", BASE_URI, null, null, null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        // Check etag
+        List<Object> headerTags = response.getHttpHeaders().get("ETag");
+        Assert.assertNotNull(headerTags);
+        Assert.assertEquals(headerTags.size(), 1);
+        Assert.assertEquals(headerTags.get(0), new EntityTag("v-1"));
+        Assert.assertEquals(HelloDto.serializations, 0);
+    }
+
+    /**
+     * Check if ETag set by resource is redirecting to NOT_MODIFIED
+     */
+    @Test
+    public void filterVersionedEntityTestWithEtag() throws Exception {
+
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", Collections.singletonList(new EntityTag("v-1").toString()));
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned", BASE_URI, headers, null, null);
+        assertEquals(response.getStatus(), NOT_MODIFIED.getStatusCode());
+        // check null body
+        Assert.assertNull(response.getEntity());
+        Assert.assertEquals(HelloDto.serializations, 0);
+    }
 }
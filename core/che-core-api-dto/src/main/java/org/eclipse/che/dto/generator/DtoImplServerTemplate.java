@@ -70,7 +70,9 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamingSerializer(methods, builder);
         emitDeserializer(methods, builder);
+        emitStreamingDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
@@ -301,8 +303,19 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
-        // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
-        builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        if (isCompactJson()) {
+            // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
+            builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        } else {
+            // Write JSON directly without building tree of JsonElements
+            builder.append("      java.io.StringWriter json = new java.io.StringWriter();\n");
+            builder.append("      try {\n");
+            builder.append("        toJson(org.eclipse.che.dto.server.DtoFactory.newJsonWriter(json));\n");
+            builder.append("      } catch (java.io.IOException e) {\n");
+            builder.append("        throw new IllegalStateException(e.getMessage(), e);\n");
+            builder.append("      }\n");
+            builder.append("      return json.toString();\n");
+        }
         builder.append("    }\n");
         builder.append("\n");
         builder.append("    @Override\n");
@@ -451,6 +464,239 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
 
+    /**
+     * Generates method that writes DTO to JsonWriter without creating of JsonElements. DTOs with compact JSON format use
+     * default implementation from JsonSerializable.
+     */
+    private void emitStreamingSerializer(List<Method> getters, StringBuilder builder) {
+        if (isCompactJson()) {
+            return;
+        }
+        builder.append("    @Override\n");
+        builder.append("    public void toJson(JsonWriter out) throws java.io.IOException {\n");
+        builder.append("      out.beginObject();\n");
+        for (Method getter : getters) {
+            builder.append("      out.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+            emitStreamingSerializerImpl(expandType(getter.getGenericReturnType()), 0, builder, getJavaFieldName(getter.getName()),
+                                        "      ");
+        }
+        builder.append("      out.endObject();\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to write the value of the given variable to JsonWriter 'out'.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java variable that will be the input for serialization
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamingSerializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final String in = depth == 0 ? "this." + inVar : inVar;
+        final String childInVar = inVar + "_";
+        if (isList(rawClass) || isMap(rawClass)) {
+            if (depth == 0) {
+                builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+            }
+            final String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            builder.append(i).append("if (").append(in).append(" == null) {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            if (isList(rawClass)) {
+                builder.append(i).append("  out.beginArray();\n");
+                builder.append(i).append("  for (").append(childInTypeName).append(" ").append(childInVar).append(" : ").append(in)
+                       .append(") {\n");
+            } else {
+                final String entryVar = "entry" + depth;
+                builder.append(i).append("  out.beginObject();\n");
+                builder.append(i).append("  for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ").append(entryVar)
+                       .append(" : ").append(in).append(".entrySet()) {\n");
+                builder.append(i).append("    out.name(").append(entryVar).append(".getKey());\n");
+                builder.append(i).append("    ").append(childInTypeName).append(" ").append(childInVar).append(" = ").append(entryVar)
+                       .append(".getValue();\n");
+            }
+            emitStreamingSerializerImpl(expandedTypes, depth + 1, builder, childInVar, i + "    ");
+            builder.append(i).append("  }\n");
+            builder.append(i).append(isList(rawClass) ? "  out.endArray();\n" : "  out.endObject();\n");
+            builder.append(i).append("}\n");
+        } else if (rawClass.isEnum()) {
+            builder.append(i).append("if (").append(in).append(" == null) {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  out.value(").append(in).append(".name());\n");
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append("if (").append(in).append(" == null) {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ((").append(getImplNameForDto(rawClass)).append(")").append(in).append(").toJson(out);\n");
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().getDtoImplementation(rawClass) != null) {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            builder.append(i).append("if (").append(in).append(" == null) {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  gson.toJson(((").append(dtoImplementation.getCanonicalName()).append(")").append(in)
+                   .append(").toJsonElementInt(false), out);\n");
+            builder.append(i).append("}\n");
+        } else if (rawClass == String.class
+                   || rawClass == boolean.class
+                   || rawClass == int.class
+                   || rawClass == long.class
+                   || rawClass == double.class
+                   || rawClass == short.class
+                   || rawClass == byte.class) {
+            builder.append(i).append("out.value(").append(in).append(");\n");
+        } else if (rawClass == float.class) {
+            // Float is written as Number to get the same output as JsonPrimitive gives
+            builder.append(i).append("out.value(Float.valueOf(").append(in).append("));\n");
+        } else if (rawClass == Boolean.class) {
+            builder.append(i).append("if (").append(in).append(" == null) {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  out.value(").append(in).append(".booleanValue());\n");
+            builder.append(i).append("}\n");
+        } else if (rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            builder.append(i).append("out.value((Number)").append(in).append(");\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("if (").append(in).append(" instanceof JsonElement) {\n");
+            builder.append(i).append("  gson.toJson((JsonElement)").append(in).append(", out);\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("}\n");
+        } else {
+            throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                               getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                               " is not allowed to use in DTO interface.");
+        }
+    }
+
+    /**
+     * Generates a static factory method that creates a new instance based on JSON that is read from JsonReader without creating
+     * of JsonElements. DTOs with compact JSON format are read to JsonElement.
+     */
+    private void emitStreamingDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName()).append(" fromJson(JsonReader in) throws java.io.IOException {\n");
+        if (isCompactJson()) {
+            builder.append("      return fromJsonElement(new JsonParser().parse(in), false);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      if (in.peek() == JsonToken.NULL) {\n");
+        builder.append("        in.nextNull();\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      in.beginObject();\n");
+        builder.append("      while (in.hasNext()) {\n");
+        builder.append("        switch (in.nextName()) {\n");
+        for (Method getter : getters) {
+            final String fieldName = getFieldNameFromGetterName(getter.getName());
+            final String fieldNameOut = fieldName + "Out";
+            builder.append("          case ").append(quoteStringLiteral(getJsonFieldName(getter))).append(": {\n");
+            emitStreamingDeserializerImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameOut, "            ");
+            builder.append("            dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+            builder.append("            break;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            in.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      in.endObject();\n");
+        builder.append("      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to read value of the given type from JsonReader 'in'.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the java variable that will be the output of deserialization
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamingDeserializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final String childOutVar = outVar + "_";
+        if (isList(rawClass) || isMap(rawClass)) {
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (in.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  in.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            if (isList(rawClass)) {
+                builder.append(i).append("  in.beginArray();\n");
+                builder.append(i).append("  while (in.hasNext()) {\n");
+                emitStreamingDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  in.endArray();\n");
+            } else {
+                final String keyVar = "key" + depth;
+                builder.append(i).append("  in.beginObject();\n");
+                builder.append(i).append("  while (in.hasNext()) {\n");
+                builder.append(i).append("    String ").append(keyVar).append(" = in.nextName();\n");
+                emitStreamingDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  in.endObject();\n");
+            }
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(".fromJson(in);\n");
+        } else if (rawClass.isPrimitive()) {
+            final String primitiveName = rawClass.getSimpleName();
+            builder.append(i).append(primitiveName).append(" ").append(outVar).append(" = ");
+            if (rawClass == boolean.class) {
+                builder.append("in.nextBoolean();\n");
+            } else if (rawClass == long.class) {
+                builder.append("in.nextLong();\n");
+            } else if (rawClass == double.class) {
+                builder.append("in.nextDouble();\n");
+            } else if (rawClass == float.class) {
+                builder.append("(float)in.nextDouble();\n");
+            } else if (rawClass == int.class) {
+                builder.append("in.nextInt();\n");
+            } else {
+                builder.append("(").append(primitiveName).append(")in.nextInt();\n");
+            }
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("JsonElement ").append(outVar).append(" = new JsonParser().parse(in);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            final String className = getImplName(rawClass, false);
+            if (dtoImplementation != null) {
+                builder.append(i).append(className).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(".fromJsonElement(new JsonParser().parse(in), false);\n");
+            } else {
+                // Use gson to handle all other types.
+                final String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.getAdapter(").append(rawClassName)
+                       .append(".class).read(in);\n");
+            }
+        }
+    }
+
     /** Generates a static factory method that creates a new instance based on a JsonElement. */
     private void emitDeserializer(List<Method> getters, StringBuilder builder) {
         // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any' properties
@@ -484,8 +730,25 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("      if (jsonString == null) {\n");
         builder.append("        return null;\n");
         builder.append("      }\n\n");
-        // The default fromJsonElement(json) creates its own JSON thus keeping parts of its as value is OK
-        builder.append("      return fromJsonElement(new JsonParser().parse(jsonString), false);\n");
+        if (isCompactJson()) {
+            // The default fromJsonElement(json) creates its own JSON thus keeping parts of its as value is OK
+            builder.append("      return fromJsonElement(new JsonParser().parse(jsonString), false);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      JsonReader in = org.eclipse.che.dto.server.DtoFactory.newJsonReader(new java.io.StringReader(jsonString));\n");
+        builder.append("      try {\n");
+        builder.append("        if (org.eclipse.che.dto.server.DtoFactory.isEmptyDocument(in)) {\n");
+        builder.append("          return null;\n");
+        builder.append("        }\n");
+        builder.append("        ").append(getImplClassName()).append(" dto = fromJson(in);\n");
+        builder.append("        if (in.peek() != JsonToken.END_DOCUMENT) {\n");
+        builder.append("          throw new com.google.gson.JsonSyntaxException(\"Did not consume the entire document.\");\n");
+        builder.append("        }\n");
+        builder.append("        return dto;\n");
+        builder.append("      } catch (java.io.IOException e) {\n");
+        builder.append("        throw new com.google.gson.JsonSyntaxException(e);\n");
+        builder.append("      }\n");
         builder.append("    }\n\n");
     }
 
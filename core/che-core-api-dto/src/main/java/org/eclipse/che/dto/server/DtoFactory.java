@@ -16,18 +16,24 @@ import com.google.common.cache.LoadingCache;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import org.eclipse.che.commons.lang.reflect.ParameterizedTypeImpl;
 import org.eclipse.che.dto.shared.DTO;
 import org.eclipse.che.dto.shared.JsonArray;
 import org.eclipse.che.dto.shared.JsonStringMap;
 
-import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -45,6 +51,9 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class DtoFactory {
     private static final Gson gson = new GsonBuilder().serializeNulls().create();
 
+    /** Writes JSON of DTOs that don't provide streaming serialization, has the same settings as gson in generated DTOs. */
+    private static final Gson dtoGson = new GsonBuilder().disableHtmlEscaping().create();
+
     private static final LoadingCache<Type, ParameterizedType> listTypeCache = CacheBuilder.newBuilder().concurrencyLevel(16).build(
             new CacheLoader<Type, ParameterizedType>() {
                 @Override
@@ -143,6 +152,56 @@ public final class DtoFactory {
         throw new IllegalArgumentException("JsonSerializable instance required. ");
     }
 
+    /**
+     * Writes JSON representation of DTO to the specified writer. Writer isn't flushed or closed after that.
+     *
+     * @param dto
+     *         DTO object
+     * @param writer
+     *         writer to write JSON to
+     * @throws IllegalArgumentException
+     *         if {@code dto} isn't instance of {@link JsonSerializable}
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> void toJson(T dto, Writer writer) throws IOException {
+        if (dto instanceof JsonSerializable) {
+            final JsonWriter jsonWriter = newJsonWriter(writer);
+            ((JsonSerializable)dto).toJson(jsonWriter);
+            jsonWriter.flush();
+            return;
+        }
+        throw new IllegalArgumentException("JsonSerializable instance required. ");
+    }
+
+    /**
+     * Writes JSON array of DTOs to the specified writer. Writer isn't flushed or closed after that.
+     *
+     * @param dtos
+     *         DTO objects
+     * @param writer
+     *         writer to write JSON to
+     * @throws IllegalArgumentException
+     *         if any of {@code dtos} isn't instance of {@link JsonSerializable}
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public void toJsonArray(Iterable<?> dtos, Writer writer) throws IOException {
+        final JsonWriter jsonWriter = newJsonWriter(writer);
+        jsonWriter.beginArray();
+        for (Object dto : dtos) {
+            if (dto == null) {
+                jsonWriter.nullValue();
+            } else if (dto instanceof JsonSerializable) {
+                ((JsonSerializable)dto).toJson(jsonWriter);
+            } else {
+                throw new IllegalArgumentException("JsonSerializable instance required. ");
+            }
+        }
+        jsonWriter.endArray();
+        jsonWriter.flush();
+    }
+
     public <T> JsonElement toJsonElement(T dto) {
         if (dto instanceof JsonSerializable) {
             return ((JsonSerializable)dto).toJsonElement();
@@ -193,14 +252,20 @@ public final class DtoFactory {
      *         if an i/o error occurs
      */
     public <T> T createDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
-        DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        StringBuilder sb = new StringBuilder();
-        BufferedReader br = new BufferedReader(json);
-        String line;
-        while ((line = br.readLine()) != null) {
-            sb.append(line);
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        final JsonReader reader = newJsonReader(json);
+        if (isEmptyDocument(reader)) {
+            return null;
+        }
+        try {
+            final T dto = dtoProvider.fromJson(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+            return dto;
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
         }
-        return dtoProvider.fromJson(sb.toString());
     }
 
     /**
@@ -257,19 +322,19 @@ public final class DtoFactory {
      */
     public <T> JsonArray<T> createListDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final List<JsonElement> list;
+        final JsonReader reader = newJsonReader(json);
+        if (isEmptyDocument(reader) || reader.peek() == JsonToken.NULL) {
+            return null;
+        }
+        final List<T> result = new ArrayList<>();
         try {
-            list = gson.fromJson(json, listTypeCache.getUnchecked(JsonElement.class));
-        } catch (JsonSyntaxException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof IOException) {
-                throw (IOException)cause;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                result.add(dtoProvider.fromJson(reader));
             }
-            throw e;
-        }
-        final List<T> result = new ArrayList<>(list.size());
-        for (JsonElement e : list) {
-            result.add(dtoProvider.fromJson(e));
+            reader.endArray();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
         }
         return new JsonArrayImpl<>(result);
     }
@@ -328,22 +393,21 @@ public final class DtoFactory {
      * @throws IOException
      *         if an i/o error occurs
      */
-    @SuppressWarnings("unchecked")
     public <T> JsonStringMap<T> createMapDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final Map<String, JsonElement> map;
+        final JsonReader reader = newJsonReader(json);
+        if (isEmptyDocument(reader) || reader.peek() == JsonToken.NULL) {
+            return null;
+        }
+        final Map<String, T> result = new LinkedHashMap<>();
         try {
-            map = gson.fromJson(json, mapTypeCache.getUnchecked(JsonElement.class));
-        } catch (JsonSyntaxException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof IOException) {
-                throw (IOException)cause;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                result.put(reader.nextName(), dtoProvider.fromJson(reader));
             }
-            throw e;
-        }
-        final Map<String, T> result = new LinkedHashMap<>(map.size());
-        for (Map.Entry<String, JsonElement> e : map.entrySet()) {
-            result.put(e.getKey(), dtoProvider.fromJson(e.getValue()));
+            reader.endObject();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
         }
         return new JsonStringMapImpl<>(result);
     }
@@ -367,6 +431,54 @@ public final class DtoFactory {
 
     //
 
+    /**
+     * Creates JsonWriter which is used for streaming serialization of DTOs. Null values of DTO's fields are omitted, that is
+     * consistent with serialization through JsonElement.
+     */
+    public static JsonWriter newJsonWriter(Writer writer) {
+        final JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setSerializeNulls(false);
+        jsonWriter.setHtmlSafe(false);
+        jsonWriter.setLenient(true);
+        return jsonWriter;
+    }
+
+    /** Creates JsonReader which is used for streaming deserialization of DTOs. */
+    public static JsonReader newJsonReader(Reader reader) {
+        final JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.setLenient(true);
+        return jsonReader;
+    }
+
+    /**
+     * Checks whether JSON document that is read by the specified reader has no content at all. Such document is treated as
+     * {@code null} value as {@link JsonParser} does it.
+     *
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public static boolean isEmptyDocument(JsonReader reader) throws IOException {
+        try {
+            reader.peek();
+            return false;
+        } catch (EOFException e) {
+            return true;
+        }
+    }
+
+    /** Writes JSON of DTO that doesn't provide own streaming serialization. */
+    static void writeJsonElement(JsonElement json, JsonWriter writer) throws IOException {
+        try {
+            dtoGson.toJson(json, writer);
+        } catch (JsonIOException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+            throw e;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private <T> DtoProvider<T> getDtoProvider(Class<T> dtoInterface) {
         DtoProvider<?> dtoProvider = dtoInterface2Providers.get(dtoInterface);
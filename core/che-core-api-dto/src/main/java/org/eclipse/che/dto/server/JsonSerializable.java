@@ -13,9 +13,11 @@
 // limitations under the License.
 package org.eclipse.che.dto.server;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 
 /** An entity that may serialize itself to JSON. */
 public interface JsonSerializable extends Serializable {
@@ -25,4 +27,12 @@ public interface JsonSerializable extends Serializable {
 
     /** Serializes DTO to JSON object. */
     JsonElement toJsonElement();
+
+    /**
+     * Writes DTO to JSON writer. Default implementation creates JSON object first, generated DTOs override it and write JSON
+     * directly.
+     */
+    default void toJson(JsonWriter writer) throws IOException {
+        DtoFactory.writeJsonElement(toJsonElement(), writer);
+    }
 }
\ No newline at end of file
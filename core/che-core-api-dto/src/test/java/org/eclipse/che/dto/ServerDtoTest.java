@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.dto;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -26,9 +28,14 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -36,6 +43,7 @@ import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -45,6 +53,7 @@ import static org.testng.Assert.assertTrue;
  * @author Artem Zatsarynnyi
  */
 public class ServerDtoTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ServerDtoTest.class);
 
     protected final static DtoFactory dtoFactory = DtoFactory.getInstance();
 
@@ -325,6 +334,130 @@ public class ServerDtoTest {
         assertEquals(complicatedDto.getArrayOfArrayOfEnum().get(0).get(2), ComplicatedDto.SimpleEnum.THREE);
     }
 
+    @Test
+    public void streamingSerializerShouldProduceTheSameJsonAsJsonElement() throws Exception {
+        final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+        final ComplicatedDto dto = createComplicatedDto("<name> & 'quotes' \"\u2028\n");
+        final DtoWithAny dtoWithAny = dtoFactory.createDto(DtoWithAny.class)
+                                                .withStuff(createTestValueForAny())
+                                                .withObjects(createListTestValueForAny());
+        final SimpleDto dtoWithNulls = dtoFactory.createDto(SimpleDto.class).withId(1);
+
+        assertEquals(dtoFactory.toJson(dto), gson.toJson(((JsonSerializable)dto).toJsonElement()));
+        assertEquals(dtoFactory.toJson(dtoWithAny), gson.toJson(((JsonSerializable)dtoWithAny).toJsonElement()));
+        assertEquals(dtoFactory.toJson(dtoWithNulls), gson.toJson(((JsonSerializable)dtoWithNulls).toJsonElement()));
+    }
+
+    @Test
+    public void shouldWriteAndReadDtoThroughStreams() throws Exception {
+        final ComplicatedDto dto = createComplicatedDto("Something\nmultiline");
+        final StringWriter writer = new StringWriter();
+
+        dtoFactory.toJson(dto, writer);
+
+        assertEquals(writer.toString(), dtoFactory.toJson(dto));
+        assertEquals(dtoFactory.createDtoFromJson(new StringReader(writer.toString()), ComplicatedDto.class), dto);
+    }
+
+    @Test
+    public void shouldWriteAndReadListAndMapOfDtosThroughStreams() throws Exception {
+        final SimpleDto dto1 = dtoFactory.createDto(SimpleDto.class).withId(1).withName("first");
+        final SimpleDto dto2 = dtoFactory.createDto(SimpleDto.class).withId(2).withName("second");
+        final StringWriter writer = new StringWriter();
+
+        dtoFactory.toJsonArray(asList(dto1, dto2), writer);
+
+        assertEquals(dtoFactory.createListDtoFromJson(new StringReader(writer.toString()), SimpleDto.class),
+                     asList(dto1, dto2));
+        final Map<String, SimpleDto> map = dtoFactory.createMapDtoFromJson(new StringReader("{\"a\":" + dtoFactory.toJson(dto1) +
+                                                                                            ",\"b\":" + dtoFactory.toJson(dto2) +
+                                                                                            "}"),
+                                                                           SimpleDto.class);
+        assertEquals(map.get("a"), dto1);
+        assertEquals(map.get("b"), dto2);
+    }
+
+    @Test
+    public void streamingDeserializerShouldSkipUnknownFieldsAndAcceptNulls() throws Exception {
+        final String json = "{\"unknown\":{\"a\":[1,2,{\"b\":null}]},\"name\":null,\"id\":5,\"default\":\"x\"}";
+
+        final SimpleDto dto = dtoFactory.createDtoFromJson(new StringReader(json), SimpleDto.class);
+
+        checkSimpleDto(dto, null, 5, "x");
+        assertNull(dtoFactory.createDtoFromJson(new StringReader(""), SimpleDto.class));
+        assertNull(dtoFactory.createDtoFromJson("", SimpleDto.class));
+    }
+
+    /**
+     * Compares serialization through tree of JsonElements with streaming serialization. This isn't a precise benchmark, it
+     * shows the order of the difference in time and in allocated memory.
+     */
+    @Test
+    public void comparesTreeAndStreamingSerialization() throws Exception {
+        final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+        final List<SimpleDto> simpleDtos = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            simpleDtos.add(dtoFactory.createDto(SimpleDto.class).withId(i).withName("name" + i).withDefault("default" + i));
+        }
+        final ComplicatedDto dto = createComplicatedDto("Something").withSimpleDtos(simpleDtos);
+        final String json = dtoFactory.toJson(dto);
+        final int iterations = 2000;
+
+        long treeTime = 0;
+        long streamTime = 0;
+        long treeBytes = 0;
+        long streamBytes = 0;
+        // first round warms up JIT
+        for (int round = 0; round < 2; round++) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                final StringWriter writer = new StringWriter();
+                gson.toJson(((JsonSerializable)dto).toJsonElement(), writer);
+                ComplicatedDto copy = DtoServerImpls.ComplicatedDtoImpl.fromJsonElement(new JsonParser().parse(json), false);
+                assertEquals(copy.getSimpleDtos().size(), simpleDtos.size());
+            }
+            treeTime = System.nanoTime() - start;
+            treeBytes = allocatedBytes() - bytes;
+
+            bytes = allocatedBytes();
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                final StringWriter writer = new StringWriter();
+                dtoFactory.toJson(dto, writer);
+                ComplicatedDto copy = dtoFactory.createDtoFromJson(new StringReader(json), ComplicatedDto.class);
+                assertEquals(copy.getSimpleDtos().size(), simpleDtos.size());
+            }
+            streamTime = System.nanoTime() - start;
+            streamBytes = allocatedBytes() - bytes;
+        }
+
+        LOG.debug("JsonElement: {} ms, {} KB allocated; streaming: {} ms, {} KB allocated ({} iterations)",
+                  treeTime / 1000000, treeBytes / 1024, streamTime / 1000000, streamBytes / 1024, iterations);
+    }
+
+    private static long allocatedBytes() {
+        final java.lang.management.ThreadMXBean threadMXBean = java.lang.management.ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean)threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private ComplicatedDto createComplicatedDto(String name) {
+        final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName(name).withId(1).withDefault("default");
+        final Map<String, SimpleDto> map = new HashMap<>();
+        map.put(name, simpleDto);
+        final List<SimpleDto> list = new ArrayList<>();
+        list.add(simpleDto);
+        return dtoFactory.createDto(ComplicatedDto.class)
+                         .withStrings(asList(name, "Something 2"))
+                         .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                         .withMap(map)
+                         .withSimpleDtos(list)
+                         .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE, ComplicatedDto.SimpleEnum.THREE)));
+    }
+
     private void checkSimpleDto(SimpleDto dto, String expectedName, int expectedId, String expectedDefault) {
         assertEquals(dto.getName(), expectedName);
         assertEquals(dto.getId(), expectedId);
@@ -64,9 +64,11 @@ abstract class AbstractMessageBus implements MessageBus {
     private       AsyncCallback                            reconnectionCallback;
 
     /** Counter of attempts to reconnect. */
-    private int        reconnectionAttemptsCounter;
-    private WebSocket  ws;
-    private WsListener wsListener;
+    private int                   reconnectionAttemptsCounter;
+    private WebSocket             ws;
+    private WsListener            wsListener;
+    /** Decoder of broadcast messages which are sent in compact format, created for each connection. */
+    private CompactMessageDecoder compactDecoder;
 
     public AbstractMessageBus(String wsConnectionUrl) {
         this.wsConnectionUrl = wsConnectionUrl;
@@ -123,7 +125,8 @@ abstract class AbstractMessageBus implements MessageBus {
     }
 
     private void initialize() {
-        ws = WebSocket.create(wsConnectionUrl);
+        ws = WebSocket.create(wsConnectionUrl, CompactMessageDecoder.SUBPROTOCOL);
+        compactDecoder = new CompactMessageDecoder();
         wsListener = new WsListener();
         ws.setOnMessageHandler(this);
         ws.setOnOpenHandler(wsListener);
@@ -249,6 +252,9 @@ abstract class AbstractMessageBus implements MessageBus {
      * @return {@link Message}
      */
     private Message parseMessage(String message) {
+        if (CompactMessageDecoder.isCompactFrame(message)) {
+            return compactDecoder.decode(message);
+        }
         return Message.deserialize(message);
     }
 
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.websocket;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+import org.eclipse.che.ide.collections.Jso;
+import org.eclipse.che.ide.collections.js.JsoArray;
+import org.eclipse.che.ide.websocket.rest.Pair;
+
+/**
+ * Restores broadcast messages which server sends in compact format to connections that negotiated sub-protocol
+ * {@link #SUBPROTOCOL}. Compact frame is JSON array {@code [channel, flags, body(, definitions of shapes)]}, see
+ * {@code org.eclipse.che.everrest.CompactMessageCodec} for details.
+ * <p/>
+ * Ids of shapes are assigned by server for each connection separately, so instance of decoder must be used for single
+ * connection and frames must be decoded in the order they are received.
+ */
+class CompactMessageDecoder {
+    static final String SUBPROTOCOL = "che-compact-json";
+
+    private static final int    ERROR_FLAG          = 1;
+    private static final int    RAW_BODY_FLAG       = 2;
+    private static final String CHANNEL_HEADER_NAME = "x-everrest-websocket-channel";
+    private static final String TYPE_HEADER_NAME    = "x-everrest-websocket-message-type";
+
+    /** Keys of objects by ids of their shapes. */
+    private final JavaScriptObject shapes = JavaScriptObject.createObject();
+
+    /** Checks whether text message is compact frame, messages in everrest format are JSON objects. */
+    static boolean isCompactFrame(String message) {
+        return message.startsWith("[");
+    }
+
+    /**
+     * Decodes compact frame to the same {@link Message} as server sends for broadcast messages in everrest format.
+     *
+     * @param frame
+     *         text of compact frame
+     * @return restored message
+     * @throws com.google.gwt.core.client.JavaScriptException
+     *         if frame isn't valid compact message
+     */
+    Message decode(String frame) {
+        final Jso decoded = decode(frame, shapes, RAW_BODY_FLAG);
+
+        final Pair channel = Pair.create();
+        channel.setName(CHANNEL_HEADER_NAME);
+        channel.setValue(decoded.getStringField("channel"));
+        final Pair type = Pair.create();
+        type.setName(TYPE_HEADER_NAME);
+        type.setValue((decoded.getIntField("flags") & ERROR_FLAG) != 0 ? "error" : "none");
+
+        final JsoArray<Pair> headers = JsoArray.create();
+        headers.add(channel);
+        headers.add(type);
+
+        final Message message = Message.create();
+        message.setHeaders(headers);
+        message.setBody(decoded.getStringField("body"));
+        return message;
+    }
+
+    private static native Jso decode(String frame, JavaScriptObject shapes, int rawBodyFlag) /*-{
+        var array = JSON.parse(frame);
+        // definitions are sent with the first frame which uses them and replace previous definitions with the same ids
+        if (array.length > 3) {
+            var definitions = array[3];
+            for (var id in definitions) {
+                if (definitions.hasOwnProperty(id)) {
+                    shapes[id] = definitions[id];
+                }
+            }
+        }
+
+        var restoreMembers = function (object) {
+            var result = {};
+            for (var key in object) {
+                if (object.hasOwnProperty(key)) {
+                    result[key] = restore(object[key]);
+                }
+            }
+            return result;
+        };
+
+        var restore = function (json) {
+            if (json === null || typeof json !== 'object') {
+                return json;
+            }
+            if (json instanceof Array) {
+                var array = [];
+                for (var i = 0; i < json.length; i++) {
+                    array.push(restore(json[i]));
+                }
+                return array;
+            }
+            var keys = Object.keys(json);
+            if (keys.length === 1) {
+                var key = keys[0];
+                if (key === '#') {
+                    // object with single key which starts with '#' is wrapped by server
+                    return restoreMembers(json[key]);
+                }
+                if (key.charAt(0) === '#') {
+                    var shape = shapes[key.substring(1)];
+                    if (!shape) {
+                        throw new Error('Unknown shape ' + key);
+                    }
+                    var values = json[key];
+                    var result = {};
+                    for (var j = 0; j < shape.length; j++) {
+                        result[shape[j]] = restore(values[j]);
+                    }
+                    return result;
+                }
+            }
+            return restoreMembers(json);
+        };
+
+        var flags = array[1];
+        return {
+            channel: array[0],
+            flags: flags,
+            body: (flags & rawBodyFlag) !== 0 ? array[2] : JSON.stringify(restore(array[2]))
+        };
+    }-*/;
+}
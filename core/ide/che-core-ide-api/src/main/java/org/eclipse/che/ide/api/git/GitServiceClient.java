@@ -565,6 +565,32 @@ public interface GitServiceClient {
      */
     void log(DevMachine devMachine, ProjectConfigDto project, List<String> fileFilter, boolean isTextFormat, AsyncRequestCallback<LogResponse> callback);
 
+    /**
+     * Get page of log of commits. The result is the list of {@link Revision}, which is returned by callback in
+     * <code>onSuccess(Revision result)</code>.
+     *
+     * @param devMachine
+     *         of current workspace
+     * @param project
+     *         project (root of GIT repository)
+     * @param fileFilter
+     *         range of files to filter revisions list
+     * @param skip
+     *         number of commits to skip
+     * @param maxCount
+     *         max number of commits to get, <code>0</code> means no limit
+     * @param isTextFormat
+     *         if <code>true</code> the loq response will be in text format
+     * @param callback
+     */
+    void log(DevMachine devMachine,
+             ProjectConfigDto project,
+             List<String> fileFilter,
+             int skip,
+             int maxCount,
+             boolean isTextFormat,
+             AsyncRequestCallback<LogResponse> callback);
+
     /**
      * Merge the pointed commit with current HEAD.
      *
@@ -441,7 +441,22 @@ public class GitServiceClientImpl implements GitServiceClient {
     @Override
     public void log(DevMachine devMachine, ProjectConfigDto project, List<String> fileFilter, boolean isTextFormat,
                     @NotNull AsyncRequestCallback<LogResponse> callback) {
-        LogRequest logRequest = dtoFactory.createDto(LogRequest.class).withFileFilter(fileFilter);
+        log(devMachine, project, fileFilter, 0, 0, isTextFormat, callback);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void log(DevMachine devMachine,
+                    ProjectConfigDto project,
+                    List<String> fileFilter,
+                    int skip,
+                    int maxCount,
+                    boolean isTextFormat,
+                    @NotNull AsyncRequestCallback<LogResponse> callback) {
+        LogRequest logRequest = dtoFactory.createDto(LogRequest.class)
+                                          .withFileFilter(fileFilter)
+                                          .withSkip(skip)
+                                          .withMaxCount(maxCount);
         String url = appContext.getDevMachine().getWsAgentBaseUrl() + LOG + "?projectPath=" + project.getPath();
         if (isTextFormat) {
             asyncRequestFactory.createPostRequest(url, logRequest).send(callback);
@@ -22,10 +22,11 @@ export class WorkspaceSelectStackCtrl {
    * Default constructor that is using resource
    * @ngInject for Dependency injection
    */
-  constructor($timeout, $scope, lodash) {
+  constructor($timeout, $scope, lodash, cheStack) {
     this.$timeout = $timeout;
     this.$scope = $scope;
     this.lodash = lodash;
+    this.cheStack = cheStack;
 
     $scope.$on('event:selectStackId', (event, data) => {
       event.stopPropagation();
@@ -62,6 +63,25 @@ export class WorkspaceSelectStackCtrl {
    * Callback when stack has been select
    */
   onStackSelect(stack) {
+    this.selectedStackId = stack ? stack.id : null;
+    if (!stack) {
+      this.updateStack(null);
+      return;
+    }
+    // stacks are listed by summaries, full stack is needed to create workspace
+    this.cheStack.fetchStack(stack.id).then((fullStack) => {
+      // ignore stack which was selected before the current one
+      if (this.selectedStackId === stack.id) {
+        this.updateStack(fullStack);
+      }
+    });
+  }
+
+  /**
+   * Sets selected stack
+   * @param stack the full stack
+   */
+  updateStack(stack) {
     this.stack = stack;
     this.$timeout(() => {
       this.onStackChange();
@@ -12,7 +12,7 @@
 
 /**
  * This class is handling the stacks retrieval
- * It sets to the array of stacks
+ * It sets to the array of stack summaries, full stack is fetched when it is selected
  * @author Florent Benoit
  */
 export class CheStack {
@@ -21,10 +21,11 @@ export class CheStack {
    * Default constructor that is using resource
    * @ngInject for Dependency injection
    */
-  constructor ($resource) {
+  constructor ($resource, $q) {
 
     // keep resource
     this.$resource = $resource;
+    this.$q = $q;
 
     // stacks per id
     this.stacksById = {};
@@ -32,25 +33,32 @@ export class CheStack {
     // stacks
     this.stacks = [];
 
+    // full stacks per id
+    this.fullStacksById = {};
+
     // remote call
     this.remoteStackAPI = this.$resource('/api/stack',{}, {
-      getStacks: {method: 'GET', url: '/api/stack', isArray: true}});
+      getStackSummaries: {method: 'GET', url: '/api/stack/summary', isArray: true},
+      getStack: {method: 'GET', url: '/api/stack/:stackId'}});
 
 
   }
 
 
   /**
-   * Fetch the stacks
+   * Fetch the stacks, summaries don't contain workspace config and source of stacks
    */
   fetchStacks() {
-    let promise = this.remoteStackAPI.getStacks().$promise;
+    let promise = this.remoteStackAPI.getStackSummaries().$promise;
     let updatedPromise = promise.then((stacks) => {
       // reset global list
       this.stacks.length = 0;
       for (var member in this.stacksById) {
         delete this.stacksById[member];
       }
+      for (var fullStackId in this.fullStacksById) {
+        delete this.fullStacksById[fullStackId];
+      }
 
       stacks.forEach((stack) => {
         // get attributes
@@ -65,6 +73,23 @@ export class CheStack {
     return updatedPromise;
   }
 
+  /**
+   * Fetch the full stack which is needed to create workspace from it
+   * @param stackId the id of the stack
+   * @returns {*} the promise resolved with the full stack
+   */
+  fetchStack(stackId) {
+    let fullStack = this.fullStacksById[stackId];
+    if (fullStack) {
+      return this.$q.when(fullStack);
+    }
+    let promise = this.remoteStackAPI.getStack({stackId: stackId}).$promise;
+    return promise.then((stack) => {
+      this.fullStacksById[stackId] = stack;
+      return stack;
+    });
+  }
+
   /**
    * Gets all stacks
    * @returns {Array}
@@ -74,7 +99,7 @@ export class CheStack {
   }
 
   /**
-   * The stacks per id
+   * The stack summaries per id
    * @returns {*}
    */
   getStackById(id) {
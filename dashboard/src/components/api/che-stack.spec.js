@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2015-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ */
+'use strict';
+
+/**
+ * Test of the CheStack
+ */
+describe('CheStack', function(){
+
+  /**
+   * Stack Factory for the test
+   */
+  var factory;
+
+  /**
+   * Backend for handling http operations
+   */
+  var httpBackend;
+
+  /**
+   * Root scope to resolve promises
+   */
+  var rootScope;
+
+  /**
+   *  setup module
+   */
+  beforeEach(angular.mock.module('userDashboard'));
+
+  /**
+   * Inject factory and http backend
+   */
+  beforeEach(inject(function(cheStack, $httpBackend, $rootScope) {
+    factory = cheStack;
+    httpBackend = $httpBackend;
+    rootScope = $rootScope;
+  }));
+
+  /**
+   * Check assertion after the test
+   */
+  afterEach(function () {
+    httpBackend.verifyNoOutstandingExpectation();
+    httpBackend.verifyNoOutstandingRequest();
+  });
+
+
+  /**
+   * Check that stacks are listed by summaries
+   */
+  it('Fetch stack summaries', function() {
+      var javaStack = {id: 'java-default', name: 'Java', tags: ['Java', 'JDK'], scope: 'general', components: []};
+      var nodeStack = {id: 'node-default', name: 'Node', tags: ['Node.js'], scope: 'advanced', components: []};
+
+      httpBackend.expectGET('/api/stack/summary').respond([javaStack, nodeStack]);
+
+      factory.fetchStacks();
+      httpBackend.flush();
+
+      var stacks = factory.getStacks();
+      expect(stacks.length).toEqual(2);
+      expect(factory.getStackById('java-default').name).toEqual('Java');
+      expect(factory.getStackById('node-default').tags).toEqual(['Node.js']);
+    }
+  );
+
+  /**
+   * Check that full stack is fetched once when it's selected
+   */
+  it('Fetch full stack', function() {
+      var fullStack = {id: 'java-default', name: 'Java', source: {type: 'image', origin: 'codenvy/ubuntu_jdk8'},
+        workspaceConfig: {name: 'default'}};
+
+      httpBackend.expectGET('/api/stack/java-default').respond(fullStack);
+
+      var fetched;
+      factory.fetchStack('java-default').then(function (stack) {
+        fetched = stack;
+      });
+      httpBackend.flush();
+
+      expect(fetched.source.origin).toEqual('codenvy/ubuntu_jdk8');
+      expect(fetched.workspaceConfig.name).toEqual('default');
+
+      var cached;
+      factory.fetchStack('java-default').then(function (stack) {
+        cached = stack;
+      });
+      // resolves promise without request
+      httpBackend.verifyNoOutstandingRequest();
+      rootScope.$digest();
+
+      expect(cached).toBe(fetched);
+    }
+  );
+
+});
@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.docker.client;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.ByteStreams;
 import com.google.common.io.CharStreams;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.reflect.TypeToken;
@@ -1646,10 +1647,12 @@ public class DockerConnector {
     @VisibleForTesting
     <T> T parseResponseStreamAndClose(InputStream inputStream, Class<T> clazz) throws IOException, JsonParseException {
         try (InputStream responseStream = inputStream) {
-            return JsonHelper.fromJson(responseStream,
-                                       clazz,
-                                       null,
-                                       FIRST_LETTER_LOWERCASE);
+            final T result = JsonHelper.fromJson(responseStream,
+                                                 clazz,
+                                                 null,
+                                                 FIRST_LETTER_LOWERCASE);
+            skipRemaining(responseStream);
+            return result;
         }
     }
 
@@ -1657,13 +1660,23 @@ public class DockerConnector {
     @SuppressWarnings("unchecked")
     <T> List<T> parseResponseStreamAsListAndClose(InputStream inputStream, Type type) throws IOException, JsonParseException {
         try (InputStream responseStream = inputStream) {
-            return (List<T>)JsonHelper.fromJson(responseStream,
-                                                List.class,
-                                                type,
-                                                FIRST_LETTER_LOWERCASE);
+            final List<T> result = (List<T>)JsonHelper.fromJson(responseStream,
+                                                                List.class,
+                                                                type,
+                                                                FIRST_LETTER_LOWERCASE);
+            skipRemaining(responseStream);
+            return result;
         }
     }
 
+    /**
+     * Reads the rest of response, e.g. trailing new line after json,
+     * connection to docker is reused only when response is read completely.
+     */
+    private void skipRemaining(InputStream responseStream) throws IOException {
+        ByteStreams.copy(responseStream, ByteStreams.nullOutputStream());
+    }
+
     protected DockerException getDockerException(DockerResponse response) throws IOException {
         try (InputStreamReader isr = new InputStreamReader(response.getInputStream())) {
             String dockerResponseContent = CharStreams.toString(isr);
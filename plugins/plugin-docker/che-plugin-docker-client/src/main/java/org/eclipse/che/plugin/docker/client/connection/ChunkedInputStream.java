@@ -34,7 +34,7 @@ public class ChunkedInputStream extends InputStream {
         if (doRead(b, 0, 1) == -1) {
             return -1;
         }
-        return b[0];
+        return b[0] & 0xFF;
     }
 
     @Override
@@ -57,7 +57,7 @@ public class ChunkedInputStream extends InputStream {
             return 0;
         }
 
-        return doRead(b, 0, len);
+        return doRead(b, off, len);
     }
 
     @Override
@@ -65,6 +65,11 @@ public class ChunkedInputStream extends InputStream {
         return (chunkSize - chunkPos);
     }
 
+    /** Checks whether the last chunk is read. */
+    synchronized boolean isEof() {
+        return eof;
+    }
+
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (eof) {
             return -1;
@@ -97,7 +102,10 @@ public class ChunkedInputStream extends InputStream {
                 eof = true;
             }
         }
-        final int n = input.read(b, 0, Math.min(len - off, chunkSize - chunkPos));
+        final int n = input.read(b, off, Math.min(len, chunkSize - chunkPos));
+        if (n == -1) {
+            throw new IOException("Unexpected end of chunk");
+        }
         chunkPos += n;
         if (chunkPos == chunkSize) {
             if ('\r' != input.read()) { // skip '\r'
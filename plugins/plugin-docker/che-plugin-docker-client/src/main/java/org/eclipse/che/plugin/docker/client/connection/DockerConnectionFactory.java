@@ -16,19 +16,34 @@ import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import java.net.URI;
 
 /**
  * Factory for connections to docker API.
  *
  * <p>Detects connection implementation by checking docker daemon URI.
+ * When keep-alive is enabled connections to docker are reused between requests:
+ * unix sockets are kept in the {@link UnixSocketPool}, TCP connections are kept
+ * by the keep-alive cache of {@link java.net.HttpURLConnection}.
+ *
+ * <p>Keep-alive of TCP connections is disabled by default, they are sent with header
+ * {@code Connection: close} to work around https://github.com/docker/docker/issues/12845,
+ * docker daemon may hang on keep-alive TCP connections. It may be enabled with
+ * {@link #TCP_KEEP_ALIVE_PROPERTY} for daemons which are known to be not affected.
  *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
-    public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "docker.connection.tcp.connection_timeout_ms";
-    public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "docker.connection.tcp.read_timeout_ms";
+    public static final String CONNECTION_TIMEOUT_MS_PROPERTY       = "docker.connection.tcp.connection_timeout_ms";
+    public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY  = "docker.connection.tcp.read_timeout_ms";
+    public static final String KEEP_ALIVE_PROPERTY                  = "docker.connection.keep_alive";
+    public static final String TCP_KEEP_ALIVE_PROPERTY              = "docker.connection.tcp.keep_alive";
+    public static final String UNIX_SOCKET_MAX_IDLE_PROPERTY        = "docker.connection.unix_socket.max_idle";
+    public static final String UNIX_SOCKET_IDLE_TIMEOUT_MS_PROPERTY = "docker.connection.unix_socket.idle_timeout_ms";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -38,8 +53,26 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
+    @Inject(optional = true)
+    @Named(KEEP_ALIVE_PROPERTY)
+    private boolean keepAlive = true;
+
+    @Inject(optional = true)
+    @Named(TCP_KEEP_ALIVE_PROPERTY)
+    private boolean tcpKeepAlive = false;
+
+    @Inject(optional = true)
+    @Named(UNIX_SOCKET_MAX_IDLE_PROPERTY)
+    private int unixSocketMaxIdle = 10;
+
+    @Inject(optional = true)
+    @Named(UNIX_SOCKET_IDLE_TIMEOUT_MS_PROPERTY)
+    private long unixSocketIdleTimeoutMs = 30000;
+
     private final DockerCertificates dockerCertificates;
 
+    private UnixSocketPool unixSocketPool;
+
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
@@ -47,9 +80,25 @@ public class DockerConnectionFactory {
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-            return new UnixSocketConnection(dockerDaemonUri.getPath());
+            return new UnixSocketConnection(dockerDaemonUri.getPath(), keepAlive ? getUnixSocketPool() : null);
         } else {
-            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs,
+                                     keepAlive && tcpKeepAlive);
+        }
+    }
+
+    /** Closes idle unix sockets. */
+    @PreDestroy
+    public synchronized void closeIdleConnections() {
+        if (unixSocketPool != null) {
+            unixSocketPool.close();
+        }
+    }
+
+    private synchronized UnixSocketPool getUnixSocketPool() {
+        if (unixSocketPool == null) {
+            unixSocketPool = new UnixSocketPool(unixSocketMaxIdle, unixSocketIdleTimeoutMs);
         }
+        return unixSocketPool;
     }
 }
@@ -24,6 +24,13 @@ import java.net.URL;
 import java.util.List;
 
 /**
+ * Connection to docker API through TCP.
+ *
+ * <p>When keep-alive is enabled, closing of the connection closes the response stream instead of disconnecting,
+ * so the underlying socket gets back to the keep-alive cache of {@link HttpURLConnection} and may be reused
+ * by the next request to the same daemon. The cache takes care of idle sockets eviction and reuses socket
+ * only if the response was read completely.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
@@ -32,10 +39,20 @@ public class TcpConnection extends DockerConnection {
     private final DockerCertificates certificates;
     private final int                connectionTimeout;
     private final int                readTimeout;
+    private final boolean            keepAlive;
 
     private HttpURLConnection connection;
+    private TcpDockerResponse response;
 
     public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
+        this(baseUri, certificates, connectionTimeoutMs, readTimeoutMs, false);
+    }
+
+    public TcpConnection(URI baseUri,
+                         DockerCertificates certificates,
+                         int connectionTimeoutMs,
+                         int readTimeoutMs,
+                         boolean keepAlive) {
         if ("https".equals(baseUri.getScheme())) {
             if (certificates == null) {
                 throw new IllegalArgumentException("Certificates are required for https connection.");
@@ -47,6 +64,7 @@ public class TcpConnection extends DockerConnection {
         this.certificates = certificates;
         this.connectionTimeout = connectionTimeoutMs;
         this.readTimeout = readTimeoutMs;
+        this.keepAlive = keepAlive;
     }
 
     @Override
@@ -62,8 +80,10 @@ public class TcpConnection extends DockerConnection {
             ((HttpsURLConnection)connection).setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
         }
         connection.setRequestMethod(method);
-        // needed to fix bug https://github.com/docker/docker/issues/12845
-        connection.setRequestProperty("Connection", "close");
+        if (!keepAlive) {
+            // needed to fix bug https://github.com/docker/docker/issues/12845
+            connection.setRequestProperty("Connection", "close");
+        }
         for (Pair<String, ?> header : headers) {
             connection.setRequestProperty(header.first, String.valueOf(header.second));
         }
@@ -73,13 +93,23 @@ public class TcpConnection extends DockerConnection {
                 entity.writeTo(output);
             }
         }
-        return new TcpDockerResponse(connection);
+        return response = new TcpDockerResponse(connection);
     }
 
     @Override
     public void close() {
         if (connection != null) {
-            connection.disconnect();
+            boolean bodyClosed = false;
+            if (keepAlive && response != null) {
+                try {
+                    bodyClosed = response.closeBody();
+                } catch (IOException ignored) {
+                }
+            }
+            if (!bodyClosed) {
+                connection.disconnect();
+            }
+            connection = null;
         }
     }
 }
@@ -22,6 +22,8 @@ import java.util.Map;
 public class TcpDockerResponse implements DockerResponse {
     private final HttpURLConnection connection;
 
+    private InputStream entityStream;
+
     TcpDockerResponse(HttpURLConnection connection) {
         this.connection = connection;
     }
@@ -55,10 +57,25 @@ public class TcpDockerResponse implements DockerResponse {
 
     @Override
     public InputStream getInputStream() throws IOException {
-        InputStream entityStream = connection.getErrorStream();
         if (entityStream == null) {
-            entityStream = connection.getInputStream();
+            entityStream = connection.getErrorStream();
+            if (entityStream == null) {
+                entityStream = connection.getInputStream();
+            }
         }
         return entityStream;
     }
+
+    /**
+     * Closes response body if it was requested.
+     *
+     * @return {@code true} if body was closed, {@code false} if it wasn't requested
+     */
+    boolean closeBody() throws IOException {
+        if (entityStream == null) {
+            return false;
+        }
+        entityStream.close();
+        return true;
+    }
 }
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.sun.jna.Native;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.EAGAIN;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_PEEK;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Connected unix socket with buffered streams, it may be used for several requests to docker API one after another.
+ */
+class UnixSocket implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String       path;
+    private final int          fd;
+    private final InputStream  input;
+    private final OutputStream output;
+
+    private long    idleSince;
+    private boolean closed;
+
+    private UnixSocket(String path, int fd) {
+        this.path = path;
+        this.fd = fd;
+        this.input = new BufferedInputStream(new UnixSocketInputStream(fd), BUFFER_SIZE);
+        this.output = new BufferedOutputStream(new UnixSocketOutputStream(fd), BUFFER_SIZE);
+    }
+
+    /** Connects to the unix socket with the given path. */
+    static UnixSocket connect(String path) throws IOException {
+        final CLibrary cLib = getCLibrary();
+        final int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        if (fd == -1) {
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", path));
+        }
+        final SockAddrUn sockAddr = new SockAddrUn(path);
+        if (cLib.connect(fd, sockAddr, sockAddr.size()) == -1) {
+            cLib.close(fd);
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", path));
+        }
+        return new UnixSocket(path, fd);
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    InputStream getInputStream() {
+        return input;
+    }
+
+    OutputStream getOutputStream() {
+        return output;
+    }
+
+    /** Returns value of {@link System#nanoTime()} at the moment the socket became idle. */
+    long getIdleSince() {
+        return idleSince;
+    }
+
+    void setIdleSince(long idleSince) {
+        this.idleSince = idleSince;
+    }
+
+    /**
+     * Checks without blocking that the idle socket may be used for the next request,
+     * i.e. it is not closed by the other side and there is no unexpected data to read.
+     */
+    boolean isAlive() {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (input.available() > 0) {
+                return false;
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        // returns 0 when socket is closed by the other side and -1 with EAGAIN when there is nothing to read
+        final int n = getCLibrary().recv(fd, new byte[1], 1, MSG_PEEK | MSG_DONTWAIT);
+        return n == -1 && Native.getLastError() == EAGAIN;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            getCLibrary().close(fd);
+        }
+    }
+}
@@ -13,96 +13,80 @@ package org.eclipse.che.plugin.docker.client.connection;
 import com.google.common.base.Strings;
 
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.CLibrary;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
-import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
-import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
-
 /**
+ * Connection to docker API through unix socket.
+ *
+ * <p>When {@link UnixSocketPool} is given, socket is taken from the pool and gets back to it
+ * after the connection is closed if response is read completely, otherwise socket is closed along with connection.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    private final String         dockerSocketPath;
+    private final UnixSocketPool socketPool;
 
-    private int fd = -1;
+    private UnixSocket               socket;
+    private UnixSocketDockerResponse response;
 
     public UnixSocketConnection(String dockerSocketPath) {
+        this(dockerSocketPath, null);
+    }
+
+    UnixSocketConnection(String dockerSocketPath, UnixSocketPool socketPool) {
         this.dockerSocketPath = dockerSocketPath;
+        this.socketPool = socketPool;
     }
 
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity entity)
             throws IOException {
-        fd = connect();
-        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
+        socket = socketPool == null ? UnixSocket.connect(dockerSocketPath) : socketPool.acquire(dockerSocketPath);
+        final OutputStream output = socket.getOutputStream();
         writeHttpHeaders(output, method, path, query, headers);
         if (entity != null) {
             entity.writeTo(output);
         }
-        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+        output.flush();
+        return response = new UnixSocketDockerResponse(socket.getInputStream());
     }
 
-
     @Override
     public void close() {
-        if (fd != -1) {
-            getCLibrary().close(fd);
-        }
-    }
-
-    private int connect() throws IOException {
-        final CLibrary cLib = getCLibrary();
-        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-        if (fd == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+        if (socket != null) {
+            if (socketPool != null && response != null && response.isReusable()) {
+                socketPool.release(socket);
+            } else {
+                socket.close();
+            }
+            socket = null;
         }
-        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-        int c = cLib.connect(fd, sockAddr, sockAddr.size());
-        if (c == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-        }
-        return fd;
     }
 
     private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
             throws IOException {
-        final Writer writer = new OutputStreamWriter(output);
-        writer.write(method);
-        writer.write(' ');
-        writer.write(path);
+        final StringBuilder head = new StringBuilder();
+        head.append(method)
+            .append(' ')
+            .append(path);
         if (!Strings.isNullOrEmpty(query)) {
-            writer.write("?");
-            writer.write(query);
+            head.append('?')
+                .append(query);
         }
-        writer.write(" HTTP/1.1\r\n");
+        head.append(" HTTP/1.1\r\n");
         for (Pair<String, ?> header : headers) {
-            writer.write(header.first);
-            writer.write(": ");
-            writer.write(String.valueOf(header.second));
-            writer.write("\r\n");
+            head.append(header.first)
+                .append(": ")
+                .append(String.valueOf(header.second))
+                .append("\r\n");
         }
-        writer.write("\r\n");
-        writer.flush();
-    }
-
-    private InputStream openInputStream(int fd) {
-        return new UnixSocketInputStream(fd);
-    }
-
-    private OutputStream openOutputStream(int fd) {
-        return new UnixSocketOutputStream(fd);
+        head.append("\r\n");
+        output.write(head.toString().getBytes(StandardCharsets.UTF_8));
     }
 }
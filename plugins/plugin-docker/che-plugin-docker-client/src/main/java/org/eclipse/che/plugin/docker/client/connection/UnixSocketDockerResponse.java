@@ -81,6 +81,10 @@ public class UnixSocketDockerResponse implements DockerResponse {
     @Override
     public String getHeader(String name) throws IOException {
         getInputStream();
+        return findHeader(name);
+    }
+
+    private String findHeader(String name) {
         final String lowerCaseName = name.toLowerCase();
         for (String field : headersFields) {
             if (field.toLowerCase().startsWith(lowerCaseName)) {
@@ -109,6 +113,27 @@ public class UnixSocketDockerResponse implements DockerResponse {
         return headers.toArray(new String[headers.size()]);
     }
 
+    /**
+     * Checks whether connection may be used for the next request, that is possible
+     * when response is read completely and docker doesn't close connection after it.
+     */
+    synchronized boolean isReusable() {
+        if (headersFields == null || !headersFields[0].startsWith("HTTP/1.1") || "close".equalsIgnoreCase(findHeader("Connection"))) {
+            return false;
+        }
+        if (data == EMPTY) {
+            return true;
+        }
+        if (data instanceof LimitedInputStream) {
+            return ((LimitedInputStream)data).isEof();
+        }
+        if (data instanceof ChunkedInputStream) {
+            return ((ChunkedInputStream)data).isEof();
+        }
+        // body ends when connection is closed
+        return false;
+    }
+
     @Override
     public synchronized InputStream getInputStream() throws IOException {
         if (this.headersFields != null) {
@@ -143,6 +168,11 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        final int status = getStatus();
+        // responses with these statuses never have body, see RFC 7230 section 3.3.3
+        if (status / 100 == 1 || status == 204 || status == 304) {
+            return data = EMPTY;
+        }
         final int contentLength = getContentLength();
         if (contentLength == 0) {
             return data = EMPTY;
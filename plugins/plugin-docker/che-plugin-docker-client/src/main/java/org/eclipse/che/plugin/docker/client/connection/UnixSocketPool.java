@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Keeps idle connected unix sockets, so requests to docker API don't pay for connection setup.
+ *
+ * <p>Socket gets back to the pool only when response to the last request is read completely,
+ * see {@link UnixSocketDockerResponse#isReusable()}. The most recently used socket is reused first,
+ * sockets which are idle longer than idle timeout are closed as well as sockets which exceed
+ * max count of idle sockets. Before reuse socket is checked for being closed by docker daemon.
+ */
+class UnixSocketPool {
+    private final int                            maxIdle;
+    private final long                           idleTimeoutNanos;
+    private final Map<String, Deque<UnixSocket>> idleSockets;
+
+    /**
+     * @param maxIdle
+     *         max count of idle sockets per socket path
+     * @param idleTimeoutMs
+     *         time after which idle socket is closed
+     */
+    UnixSocketPool(int maxIdle, long idleTimeoutMs) {
+        this.maxIdle = maxIdle;
+        this.idleTimeoutNanos = MILLISECONDS.toNanos(idleTimeoutMs);
+        this.idleSockets = new HashMap<>();
+    }
+
+    /** Returns idle socket connected to the given path or connects new one. */
+    UnixSocket acquire(String path) throws IOException {
+        for (; ; ) {
+            final UnixSocket socket;
+            synchronized (this) {
+                closeExpired(System.nanoTime());
+                final Deque<UnixSocket> sockets = idleSockets.get(path);
+                socket = sockets == null ? null : sockets.pollFirst();
+            }
+            if (socket == null) {
+                return UnixSocket.connect(path);
+            }
+            if (socket.isAlive()) {
+                return socket;
+            }
+            socket.close();
+        }
+    }
+
+    /** Returns socket to the pool, the socket is closed if there are too many idle sockets. */
+    void release(UnixSocket socket) {
+        final long now = System.nanoTime();
+        synchronized (this) {
+            closeExpired(now);
+            final Deque<UnixSocket> sockets = idleSockets.computeIfAbsent(socket.getPath(), path -> new ArrayDeque<>());
+            if (sockets.size() < maxIdle) {
+                socket.setIdleSince(now);
+                sockets.addFirst(socket);
+                return;
+            }
+        }
+        socket.close();
+    }
+
+    /** Closes all idle sockets. */
+    void close() {
+        final List<UnixSocket> sockets = new ArrayList<>();
+        synchronized (this) {
+            idleSockets.values().forEach(sockets::addAll);
+            idleSockets.clear();
+        }
+        sockets.forEach(UnixSocket::close);
+    }
+
+    /** Returns count of idle sockets connected to the given path. */
+    synchronized int getIdleCount(String path) {
+        final Deque<UnixSocket> sockets = idleSockets.get(path);
+        return sockets == null ? 0 : sockets.size();
+    }
+
+    private void closeExpired(long now) {
+        for (Iterator<Deque<UnixSocket>> it = idleSockets.values().iterator(); it.hasNext(); ) {
+            final Deque<UnixSocket> sockets = it.next();
+            // the least recently used sockets are at the end
+            while (!sockets.isEmpty() && now - sockets.peekLast().getIdleSince() >= idleTimeoutNanos) {
+                sockets.pollLast().close();
+            }
+            if (sockets.isEmpty()) {
+                it.remove();
+            }
+        }
+    }
+}
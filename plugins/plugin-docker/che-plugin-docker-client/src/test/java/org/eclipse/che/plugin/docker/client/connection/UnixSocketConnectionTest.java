@@ -0,0 +1,350 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.CharStreams;
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+import org.eclipse.che.api.core.util.SystemInfo;
+import org.eclipse.che.plugin.docker.client.CLibrary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link UnixSocketConnection} and {@link UnixSocketPool} against a stand-in docker daemon
+ * which serves HTTP/1.1 over unix socket.
+ */
+public class UnixSocketConnectionTest {
+    private static final Logger LOG = LoggerFactory.getLogger(UnixSocketConnectionTest.class);
+
+    private static final String VERSION = "{\"Version\":\"1.10.3\",\"ApiVersion\":\"1.22\"}\n";
+
+    private Path             root;
+    private String           socketPath;
+    private DockerDaemonStub daemon;
+    private UnixSocketPool   pool;
+
+    @BeforeClass(alwaysRun = true)
+    public void checkSystem() {
+        if (!SystemInfo.isLinux()) {
+            throw new SkipException("Unix sockets are supported only on linux");
+        }
+    }
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("docker-socket");
+        socketPath = root.resolve("docker.sock").toString();
+        daemon = new DockerDaemonStub(socketPath);
+        daemon.start();
+        pool = new UnixSocketPool(10, 30_000);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws Exception {
+        pool.close();
+        daemon.stop();
+        Files.walk(root).sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+    }
+
+    @Test
+    public void shouldReuseSocketForSequentialRequests() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(getVersion(pool), VERSION);
+        }
+
+        assertEquals(daemon.getAcceptedCount(), 1);
+        assertEquals(pool.getIdleCount(socketPath), 1);
+    }
+
+    @Test
+    public void shouldReuseSocketAfterChunkedResponse() throws Exception {
+        daemon.setChunked(true);
+
+        assertEquals(getVersion(pool), VERSION);
+        assertEquals(getVersion(pool), VERSION);
+
+        assertEquals(daemon.getAcceptedCount(), 1);
+    }
+
+    @Test
+    public void shouldNotReuseSocketWhenResponseIsNotReadCompletely() throws Exception {
+        try (DockerConnection connection = new UnixSocketConnection(socketPath, pool)) {
+            assertEquals(connection.method("GET").path("/version").request().getStatus(), 200);
+        }
+
+        assertEquals(pool.getIdleCount(socketPath), 0);
+        assertEquals(getVersion(pool), VERSION);
+        assertEquals(daemon.getAcceptedCount(), 2);
+    }
+
+    @Test
+    public void shouldNotReuseSocketWhenDaemonClosesConnectionAfterResponse() throws Exception {
+        daemon.setCloseAfterResponse(true);
+
+        assertEquals(getVersion(pool), VERSION);
+        assertEquals(pool.getIdleCount(socketPath), 0);
+        assertEquals(getVersion(pool), VERSION);
+        assertEquals(daemon.getAcceptedCount(), 2);
+    }
+
+    @Test
+    public void shouldConnectAgainWhenIdleSocketIsClosedByDaemon() throws Exception {
+        assertEquals(getVersion(pool), VERSION);
+        daemon.closeConnections();
+
+        assertEquals(getVersion(pool), VERSION);
+        assertEquals(daemon.getAcceptedCount(), 2);
+    }
+
+    @Test
+    public void shouldCloseSocketsIdleLongerThanTimeout() throws Exception {
+        pool = new UnixSocketPool(10, 50);
+
+        assertEquals(getVersion(pool), VERSION);
+        Thread.sleep(100);
+
+        assertEquals(getVersion(pool), VERSION);
+        assertEquals(daemon.getAcceptedCount(), 2);
+    }
+
+    @Test
+    public void shouldNotKeepMoreThanMaxIdleSockets() throws Exception {
+        pool = new UnixSocketPool(1, 30_000);
+
+        try (DockerConnection first = new UnixSocketConnection(socketPath, pool);
+             DockerConnection second = new UnixSocketConnection(socketPath, pool)) {
+            readBody(first.method("GET").path("/version").request());
+            readBody(second.method("GET").path("/version").request());
+        }
+
+        assertEquals(daemon.getAcceptedCount(), 2);
+        assertEquals(pool.getIdleCount(socketPath), 1);
+    }
+
+    @Test
+    public void shouldNotReuseSocketWithoutPool() throws Exception {
+        assertEquals(getVersion(null), VERSION);
+        assertEquals(getVersion(null), VERSION);
+
+        assertEquals(daemon.getAcceptedCount(), 2);
+    }
+
+    @Test(groups = "benchmark")
+    public void measureCallsPerSecondWithAndWithoutPool() throws Exception {
+        final int calls = 2000;
+        // warm up both paths
+        for (int i = 0; i < 200; i++) {
+            getVersion(null);
+            getVersion(pool);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            getVersion(null);
+        }
+        final long withoutPoolNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            getVersion(pool);
+        }
+        final long withPoolNanos = System.nanoTime() - start;
+
+        LOG.debug("{} calls to stand-in docker daemon: without pool {} calls/sec, with pool {} calls/sec",
+                  calls,
+                  calls * TimeUnit.SECONDS.toNanos(1) / withoutPoolNanos,
+                  calls * TimeUnit.SECONDS.toNanos(1) / withPoolNanos);
+    }
+
+    private String getVersion(UnixSocketPool pool) throws IOException {
+        try (DockerConnection connection = new UnixSocketConnection(socketPath, pool)) {
+            final DockerResponse response = connection.method("GET").path("/version").request();
+            assertEquals(response.getStatus(), 200);
+            return readBody(response);
+        }
+    }
+
+    private static String readBody(DockerResponse response) throws IOException {
+        return CharStreams.toString(new InputStreamReader(response.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    /** Native functions which are needed for listening of unix socket. */
+    public interface ServerLibrary extends Library {
+        int SHUT_RDWR = 2;
+
+        int socket(int domain, int type, int protocol);
+
+        int bind(int fd, CLibrary.SockAddrUn sockAddr, int addrLen);
+
+        int listen(int fd, int backlog);
+
+        int accept(int fd, Pointer sockAddr, Pointer addrLen);
+
+        int shutdown(int fd, int how);
+
+        int read(int fd, byte[] buf, int count);
+
+        int write(int fd, byte[] buf, int count);
+
+        int close(int fd);
+    }
+
+    /**
+     * Answers {@link #VERSION} to each request, serves requests of the same connection
+     * until client closes it, see {@link #setCloseAfterResponse(boolean)}.
+     */
+    private static class DockerDaemonStub {
+        private static final ServerLibrary LIB = (ServerLibrary)Native.loadLibrary("c", ServerLibrary.class);
+
+        private final String          path;
+        private final ExecutorService executor;
+        private final Set<Integer>    clients;
+        private final AtomicInteger   acceptedCount;
+
+        private volatile boolean chunked;
+        private volatile boolean closeAfterResponse;
+        private volatile boolean stopped;
+
+        private int serverFd;
+
+        DockerDaemonStub(String path) {
+            this.path = path;
+            this.executor = Executors.newCachedThreadPool();
+            this.clients = ConcurrentHashMap.newKeySet();
+            this.acceptedCount = new AtomicInteger();
+        }
+
+        void start() throws IOException {
+            serverFd = LIB.socket(CLibrary.AF_UNIX, CLibrary.SOCK_STREAM, 0);
+            final CLibrary.SockAddrUn sockAddr = new CLibrary.SockAddrUn(path);
+            if (serverFd == -1 || LIB.bind(serverFd, sockAddr, sockAddr.size()) == -1 || LIB.listen(serverFd, 16) == -1) {
+                throw new IOException("Unable listen to unix socket " + path);
+            }
+            executor.execute(this::acceptConnections);
+        }
+
+        void stop() throws InterruptedException {
+            stopped = true;
+            LIB.shutdown(serverFd, ServerLibrary.SHUT_RDWR);
+            LIB.close(serverFd);
+            closeConnections();
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        /** Closes connections of all the clients like docker does with idle connections. */
+        void closeConnections() {
+            clients.forEach(fd -> LIB.shutdown(fd, ServerLibrary.SHUT_RDWR));
+        }
+
+        int getAcceptedCount() {
+            return acceptedCount.get();
+        }
+
+        void setChunked(boolean chunked) {
+            this.chunked = chunked;
+        }
+
+        void setCloseAfterResponse(boolean closeAfterResponse) {
+            this.closeAfterResponse = closeAfterResponse;
+        }
+
+        private void acceptConnections() {
+            while (!stopped) {
+                final int fd = LIB.accept(serverFd, null, null);
+                if (fd == -1) {
+                    return;
+                }
+                acceptedCount.incrementAndGet();
+                clients.add(fd);
+                executor.execute(() -> serve(fd));
+            }
+        }
+
+        private void serve(int fd) {
+            try {
+                final byte[] buf = new byte[8192];
+                final StringBuilder request = new StringBuilder();
+                int n;
+                while ((n = LIB.read(fd, buf, buf.length)) > 0) {
+                    request.append(new String(buf, 0, n, StandardCharsets.ISO_8859_1));
+                    // client sends next request only after it gets the response
+                    if (request.indexOf("\r\n\r\n") != -1) {
+                        request.setLength(0);
+                        write(fd, response());
+                        if (closeAfterResponse) {
+                            return;
+                        }
+                    }
+                }
+            } finally {
+                clients.remove(fd);
+                LIB.close(fd);
+            }
+        }
+
+        private String response() {
+            final StringBuilder response = new StringBuilder("HTTP/1.1 200 OK\r\n");
+            response.append("Content-Type: application/json\r\n");
+            if (closeAfterResponse) {
+                response.append("Connection: close\r\n");
+            }
+            final int length = VERSION.getBytes(StandardCharsets.UTF_8).length;
+            if (chunked) {
+                response.append("Transfer-Encoding: chunked\r\n\r\n")
+                        .append(Integer.toHexString(length)).append("\r\n")
+                        .append(VERSION).append("\r\n")
+                        .append("0\r\n\r\n");
+            } else {
+                response.append("Content-Length: ").append(length).append("\r\n\r\n")
+                        .append(VERSION);
+            }
+            return response.toString();
+        }
+
+        private static void write(int fd, String data) {
+            final byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+            int written = 0;
+            while (written < bytes.length) {
+                final byte[] rest = written == 0 ? bytes : Arrays.copyOfRange(bytes, written, bytes.length);
+                final int n = LIB.write(fd, rest, rest.length);
+                if (n == -1) {
+                    return;
+                }
+                written += n;
+            }
+        }
+    }
+}
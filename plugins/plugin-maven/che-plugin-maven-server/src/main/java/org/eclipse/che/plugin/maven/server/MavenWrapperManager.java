@@ -12,55 +12,66 @@ package org.eclipse.che.plugin.maven.server;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 /**
  *
- * Manages and cache MavenServerWrapper instances
+ * Manages and cache MavenServerWrapper instances.
+ * Up to {@code che.maven.server.pool_size} released servers of each type are kept for reuse,
+ * so concurrent tasks of the same type don't have to create new server each time.
  *
  * @author Evgen Vidolob
  */
 @Singleton
 public class MavenWrapperManager {
+    public static final int DEFAULT_POOL_SIZE = 4;
 
+    private final MavenServerManager                          serverManager;
+    private final Map<ServerType, Deque<MavenServerWrapper>> idleServers = new EnumMap<>(ServerType.class);
+    private final Map<MavenServerWrapper, ServerType>         usedServers = new HashMap<>();
 
-    private final MavenServerManager    serverManager;
-    private final Map<ServerType, MavenServerWrapper> cache = new HashMap<>();
-    private final Set<MavenServerWrapper> usedServers = new HashSet<>();
-
+    private int poolSize = DEFAULT_POOL_SIZE;
 
     @Inject
     public MavenWrapperManager(MavenServerManager serverManager) {
         this.serverManager = serverManager;
     }
 
+    @Inject(optional = true)
+    public void setPoolSize(@Named("che.maven.server.pool_size") int poolSize) {
+        this.poolSize = Math.max(1, poolSize);
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
     public synchronized MavenServerWrapper getMavenServer(ServerType type) {
-        MavenServerWrapper wrapper = cache.get(type);
+        MavenServerWrapper wrapper = idleServers.computeIfAbsent(type, key -> new ArrayDeque<>()).poll();
         if (wrapper == null) {
             wrapper = serverManager.createMavenServer();
-            cache.put(type, wrapper);
-        }
-
-        if (usedServers.contains(wrapper)) {
-            //need to warn here
-            return serverManager.createMavenServer();
         }
-
-        usedServers.add(wrapper);
+        usedServers.put(wrapper, type);
         return wrapper;
     }
 
     public synchronized void release(MavenServerWrapper wrapper) {
-        if (usedServers.contains(wrapper)) {
-            wrapper.reset();
-            usedServers.remove(wrapper);
-        } else {
-            wrapper.dispose();
+        ServerType type = usedServers.remove(wrapper);
+        if (type != null) {
+            Deque<MavenServerWrapper> idle = idleServers.get(type);
+            if (idle.size() < poolSize) {
+                wrapper.reset();
+                idle.push(wrapper);
+                return;
+            }
         }
+        wrapper.dispose();
     }
 
     public enum ServerType {
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Resolves set of maven projects concurrently.
+ * <p/>
+ * Project is resolved only after its parent and projects it depends on if they are in the same set, independent projects
+ * are resolved at the same time by up to {@code poolSize} threads, each of them uses own maven server. Resolved projects
+ * are handed to {@code afterResolve} in batches: all projects which are resolved while previous batch is processed form
+ * the next one.
+ */
+public class MavenParallelResolveTask implements MavenProjectTask {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenParallelResolveTask.class);
+
+    private final Collection<MavenProject>     projects;
+    private final MavenProjectManager          projectManager;
+    private final MavenProgressNotifier        notifier;
+    private final int                          poolSize;
+    private final Consumer<List<MavenProject>> afterResolve;
+
+    public MavenParallelResolveTask(Collection<MavenProject> projects,
+                                    MavenProjectManager projectManager,
+                                    MavenProgressNotifier notifier,
+                                    int poolSize,
+                                    Consumer<List<MavenProject>> afterResolve) {
+        this.projects = projects;
+        this.projectManager = projectManager;
+        this.notifier = notifier;
+        this.poolSize = poolSize;
+        this.afterResolve = afterResolve;
+    }
+
+    @Override
+    public void perform() {
+        if (projects.isEmpty()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final Map<MavenProject, Set<MavenProject>> waiting = new HashMap<>();
+        final Map<MavenProject, List<MavenProject>> dependents = new HashMap<>();
+        final Deque<MavenProject> ready = new ArrayDeque<>();
+        for (MavenProject project : projects) {
+            final Set<MavenProject> dependencies = findDependencies(project);
+            if (dependencies.isEmpty()) {
+                ready.add(project);
+            } else {
+                waiting.put(project, dependencies);
+                dependencies.forEach(dependency -> dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(project));
+            }
+        }
+
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(Math.max(1, Math.min(poolSize, projects.size())),
+                                             new ThreadFactoryBuilder().setNameFormat("Maven Resolver - %d").setDaemon(true).build());
+        final CompletionService<MavenProject> completionService = new ExecutorCompletionService<>(executor);
+        final Map<Future<MavenProject>, MavenProject> running = new HashMap<>();
+        int done = 0;
+        try {
+            while (!ready.isEmpty() || !running.isEmpty() || !waiting.isEmpty()) {
+                while (!ready.isEmpty()) {
+                    final MavenProject project = ready.poll();
+                    running.put(completionService.submit(() -> resolve(project)), project);
+                }
+                if (running.isEmpty()) {
+                    // projects depend on each other, nothing to wait for
+                    ready.addAll(waiting.keySet());
+                    waiting.clear();
+                    continue;
+                }
+
+                final List<MavenProject> batch = new ArrayList<>();
+                Future<MavenProject> future = completionService.take();
+                do {
+                    final MavenProject project = running.remove(future);
+                    done++;
+                    if (getResult(future, project) != null) {
+                        batch.add(project);
+                    }
+                    // dependents are resolved even if resolution of project failed, they may still be resolved partially
+                    for (MavenProject dependent : dependents.getOrDefault(project, Collections.emptyList())) {
+                        final Set<MavenProject> dependencies = waiting.get(dependent);
+                        if (dependencies != null && dependencies.remove(project) && dependencies.isEmpty()) {
+                            waiting.remove(dependent);
+                            ready.add(dependent);
+                        }
+                    }
+                } while ((future = completionService.poll()) != null);
+
+                notifier.setPercent((double)done / (double)projects.size());
+                if (!batch.isEmpty()) {
+                    afterResolve.accept(batch);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        LOG.info("{} maven projects resolved in {} ms", done, NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private MavenProject resolve(MavenProject project) {
+        final long start = System.nanoTime();
+        projectManager.resolveMavenProject(project.getProject(), project);
+        LOG.info("Maven project {} resolved in {} ms", project.getName(), NANOSECONDS.toMillis(System.nanoTime() - start));
+        return project;
+    }
+
+    private Set<MavenProject> findDependencies(MavenProject project) {
+        final Set<MavenProject> dependencies = new HashSet<>();
+        for (MavenProject other : projects) {
+            if (other == project) {
+                continue;
+            }
+            final MavenKey key = other.getMavenKey();
+            if (key.equals(project.getParentKey())) {
+                dependencies.add(other);
+                continue;
+            }
+            for (MavenArtifact artifact : project.getDependencies()) {
+                if (Objects.equals(key.getGroupId(), artifact.getGroupId())
+                    && Objects.equals(key.getArtifactId(), artifact.getArtifactId())
+                    && Objects.equals(key.getVersion(), artifact.getVersion())) {
+                    dependencies.add(other);
+                    break;
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    /** Returns resolved project or {@code null} if resolution failed, failure is reported to the user. */
+    private MavenProject getResult(Future<MavenProject> future, MavenProject project) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            LOG.error("Can't resolve maven project " + project.getName(), e.getCause());
+            notifier.setText(String.format("Can't resolve maven project %s: %s", project.getName(), e.getCause().getMessage()));
+            return null;
+        }
+    }
+}
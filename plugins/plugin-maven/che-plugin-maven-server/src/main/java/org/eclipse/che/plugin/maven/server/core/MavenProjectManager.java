@@ -21,11 +21,14 @@ import org.eclipse.che.maven.server.MavenTerminal;
 import org.eclipse.che.plugin.maven.server.MavenServerManager;
 import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelCache;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReaderResult;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 
+import java.io.File;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -73,6 +76,8 @@ public class MavenProjectManager {
 
     private final MavenProjectListener dispatcher;
 
+    private MavenModelCache modelCache;
+
     @Inject
     public MavenProjectManager(MavenWrapperManager wrapperManager,
                                MavenServerManager serverManager,
@@ -112,13 +117,39 @@ public class MavenProjectManager {
         listeners.remove(listener);
     }
 
+    /**
+     * Sets cache of resolved models, projects which are not changed since last resolution are not resolved by maven again.
+     */
+    @Inject(optional = true)
+    public void setModelCache(MavenModelCache modelCache) {
+        this.modelCache = modelCache;
+    }
+
     public void resolveMavenProject(IProject project, MavenProject mavenProject) {
+        MavenWorkspaceCache workspaceCache = copyWorkspaceCache();
+        File pom = mavenProject.getPomFile();
+        List<String> activeProfiles = mavenProject.getActiveProfiles();
+        List<String> inactiveProfiles = mavenProject.getInactiveProfiles();
+        List<File> parentPoms = null;
+        if (modelCache != null && pom != null) {
+            parentPoms = findParentPoms(mavenProject);
+            MavenModelReaderResult cached = modelCache.get(pom, parentPoms, activeProfiles, inactiveProfiles, workspaceCache);
+            if (cached != null) {
+                dispatcher.projectResolved(mavenProject, mavenProject.setResolvedModel(cached));
+                return;
+            }
+        }
+
         MavenServerWrapper mavenServer = wrapperManager.getMavenServer(MavenWrapperManager.ServerType.RESOLVE);
         try {
 
             mavenNotifier.setText("Resolving project: " + mavenProject.getName());
-            mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
-            MavenProjectModifications modifications = mavenProject.resolve(project, mavenServer, serverManager);
+            mavenServer.customize(workspaceCache, terminal, mavenNotifier, false, true);
+            MavenModelReaderResult result = mavenProject.resolveModel(project, mavenServer, serverManager);
+            if (parentPoms != null) {
+                modelCache.put(pom, parentPoms, activeProfiles, inactiveProfiles, result);
+            }
+            MavenProjectModifications modifications = mavenProject.setResolvedModel(result);
             dispatcher.projectResolved(mavenProject, modifications);
 
         } finally {
@@ -127,6 +158,23 @@ public class MavenProjectManager {
 
     }
 
+    private List<File> findParentPoms(MavenProject mavenProject) {
+        readLock.lock();
+        try {
+            List<File> result = new ArrayList<>();
+            Set<MavenProject> visited = new HashSet<>();
+            MavenKey parentKey = mavenProject.getParentKey();
+            MavenProject parent;
+            while (parentKey != null && (parent = keyToProjectMap.get(parentKey)) != null && visited.add(parent)) {
+                result.add(parent.getPomFile());
+                parentKey = parent.getParentKey();
+            }
+            return result;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
 
     public void update(List<IProject> projects, boolean recursive) {
         if (projects.isEmpty()) {
@@ -13,6 +13,7 @@ package org.eclipse.che.plugin.maven.server.core;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
@@ -22,6 +23,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.server.ProjectDeletedEvent;
 import org.eclipse.che.api.project.server.ProjectRegistry;
+import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
 import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathHelper;
 import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
@@ -59,8 +61,10 @@ public class MavenWorkspace {
     private final Provider<ProjectRegistry> projectRegistryProvider;
     private final MavenCommunication        communication;
     private final ClasspathManager          classpathManager;
+    private final MavenProgressNotifier     notifier;
 
     private MavenTaskExecutor resolveExecutor;
+    private int               resolvePoolSize = MavenWrapperManager.DEFAULT_POOL_SIZE;
     private MavenTaskExecutor classPathExecutor;
 
     private Set<MavenProject> projectsToResolve = new CopyOnWriteArraySet<>();
@@ -79,6 +83,7 @@ public class MavenWorkspace {
         this.communication = communication;
         this.classpathManager = classpathManager;
         this.manager = manager;
+        this.notifier = notifier;
         resolveExecutor = new MavenTaskExecutor(executorService, notifier);
         eventService.subscribe(new EventSubscriber<ProjectDeletedEvent>() {
             @Override
@@ -144,19 +149,27 @@ public class MavenWorkspace {
         runResolve();
     }
 
+    /**
+     * Sets number of maven projects which may be resolved at the same time.
+     * Each of them uses own maven server, see {@link MavenWrapperManager}.
+     */
+    @Inject(optional = true)
+    public void setResolvePoolSize(@Named("che.maven.server.pool_size") int resolvePoolSize) {
+        this.resolvePoolSize = Math.max(1, resolvePoolSize);
+    }
+
     private void runResolve() {
         //TODO synchronise on projectsToResolve change
         Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
         projectsToResolve.clear();
-
-        for (MavenProject mavenProject : needResolve) {
-
-            resolveExecutor.submitTask(new MavenProjectResolveTask(mavenProject, manager, () -> {
-                addSourcesFromBuildHelperPlugin(mavenProject);
-                classpathManager.updateClasspath(mavenProject);
-            }));
+        if (needResolve.isEmpty()) {
+            return;
         }
 
+        resolveExecutor.submitTask(new MavenParallelResolveTask(needResolve, manager, notifier, resolvePoolSize, resolved -> {
+            resolved.forEach(this::addSourcesFromBuildHelperPlugin);
+            classpathManager.updateClasspath(resolved);
+        }));
     }
 
     private void updateJavaProject(MavenProject project) {
@@ -40,6 +40,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -91,19 +92,34 @@ public class ClasspathManager {
     }
 
     public void updateClasspath(MavenProject mavenProject) {
-        IJavaProject javaProject = JavaCore.create(mavenProject.getProject());
-        if (javaProject != null) {
-            IClasspathEntry[] entries = getClasspath(mavenProject);
-            MavenClasspathContainer container = new MavenClasspathContainer(entries);
-            try {
-                JavaCore.setClasspathContainer(new Path(MavenClasspathContainer.CONTAINER_ID),
-                                               new IJavaProject[]{javaProject},
-                                               new IClasspathContainer[]{container},
-                                               new NullProgressMonitor());
-            } catch (JavaModelException e) {
-                LOG.error(e.getMessage(), e);
+        updateClasspath(Collections.singletonList(mavenProject));
+    }
+
+    /**
+     * Updates maven classpath containers of all given projects at once,
+     * so java model is refreshed once for whole batch instead of once per project.
+     */
+    public void updateClasspath(List<MavenProject> mavenProjects) {
+        List<IJavaProject> javaProjects = new ArrayList<>(mavenProjects.size());
+        List<IClasspathContainer> containers = new ArrayList<>(mavenProjects.size());
+        for (MavenProject mavenProject : mavenProjects) {
+            IJavaProject javaProject = JavaCore.create(mavenProject.getProject());
+            if (javaProject != null) {
+                javaProjects.add(javaProject);
+                containers.add(new MavenClasspathContainer(getClasspath(mavenProject)));
             }
         }
+        if (javaProjects.isEmpty()) {
+            return;
+        }
+        try {
+            JavaCore.setClasspathContainer(new Path(MavenClasspathContainer.CONTAINER_ID),
+                                           javaProjects.toArray(new IJavaProject[javaProjects.size()]),
+                                           containers.toArray(new IClasspathContainer[containers.size()]),
+                                           new NullProgressMonitor());
+        } catch (JavaModelException e) {
+            LOG.error(e.getMessage(), e);
+        }
     }
 
     private IClasspathEntry[] getClasspath(MavenProject mavenProject) {
@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenConstants;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Keeps results of maven project resolution on disk, so projects which are not changed since last resolution
+ * get their models, dependencies and therefore classpath without invoking maven, e.g. after restart of agent.
+ * <p/>
+ * Result is stored per pom file and set of profiles. It is used only if content of pom, of poms of its parents from
+ * workspace and of {@code settings.xml} files is the same as at the moment of resolution, if parent and imported poms
+ * maven read from local repository and resolved artifacts have the same modification time and if none of dependencies
+ * is added to or removed from workspace.
+ * Results with problems or unresolved artifacts are never stored.
+ */
+@Singleton
+public class MavenModelCache {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenModelCache.class);
+
+    private static final int    FORMAT_VERSION = 2;
+    private static final String EXTENSION      = ".ser";
+
+    private final Path       cacheDir;
+    private final List<File> settingsFiles;
+
+    @Inject
+    public MavenModelCache(@Named("che.maven.model_cache.dir") String cacheDir) {
+        this(Paths.get(cacheDir), defaultSettingsFiles());
+    }
+
+    MavenModelCache(Path cacheDir, List<File> settingsFiles) {
+        this.cacheDir = cacheDir;
+        this.settingsFiles = settingsFiles;
+    }
+
+    /**
+     * Gets stored result of resolution of maven project.
+     *
+     * @param pom
+     *         pom file of project
+     * @param parentPoms
+     *         pom files of project parents from workspace, nearest parent goes first
+     * @param activeProfiles
+     *         explicitly activated profiles
+     * @param inactiveProfiles
+     *         explicitly deactivated profiles
+     * @param workspaceCache
+     *         maven projects of workspace
+     * @return stored result or {@code null} if there is no result or it is stale
+     */
+    public MavenModelReaderResult get(File pom,
+                                      List<File> parentPoms,
+                                      List<String> activeProfiles,
+                                      List<String> inactiveProfiles,
+                                      MavenWorkspaceCache workspaceCache) {
+        final Path file = getCacheFile(pom, activeProfiles, inactiveProfiles);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        final Entry entry;
+        try (InputStream in = Files.newInputStream(file);
+             ObjectInputStream objectIn = new ObjectInputStream(in)) {
+            entry = (Entry)objectIn.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOG.debug("Can't read cached maven model " + file, e);
+            delete(file);
+            return null;
+        }
+        try {
+            if (entry.version != FORMAT_VERSION
+                || !entry.pomPath.equals(pom.getAbsolutePath())
+                || !entry.fingerprint.equals(fingerprint(pom, parentPoms))
+                || !isUpToDate(entry, workspaceCache)) {
+                delete(file);
+                return null;
+            }
+        } catch (IOException e) {
+            LOG.debug("Can't validate cached maven model " + file, e);
+            return null;
+        }
+        return new MavenModelReaderResult(entry.result.getMavenModel(),
+                                          new ArrayList<>(entry.result.getActiveProfiles()),
+                                          new ArrayList<>(entry.result.getInactiveProfiles()),
+                                          new ArrayList<>(entry.result.getProblems()),
+                                          entry.result.getUnresolvedArtifacts(),
+                                          entry.result.getModelFiles());
+    }
+
+    /**
+     * Stores result of resolution of maven project, see {@link #get(File, List, List, List, MavenWorkspaceCache)}
+     * for description of parameters.
+     */
+    public void put(File pom,
+                    List<File> parentPoms,
+                    List<String> activeProfiles,
+                    List<String> inactiveProfiles,
+                    MavenModelReaderResult result) {
+        final Path file = getCacheFile(pom, activeProfiles, inactiveProfiles);
+        if (!result.getProblems().isEmpty() || !result.getUnresolvedArtifacts().isEmpty()) {
+            delete(file);
+            return;
+        }
+        try {
+            final Entry entry = new Entry();
+            entry.version = FORMAT_VERSION;
+            entry.pomPath = pom.getAbsolutePath();
+            entry.fingerprint = fingerprint(pom, parentPoms);
+            entry.result = result;
+            entry.modelFileStamps = new HashMap<>();
+            for (File modelFile : result.getModelFiles()) {
+                entry.modelFileStamps.put(modelFile.getAbsolutePath(), modelFile.lastModified());
+            }
+            entry.artifactStamps = new HashMap<>();
+            entry.workspaceDependencies = new HashMap<>();
+            for (MavenArtifact dependency : result.getMavenModel().getDependencies()) {
+                final File dependencyFile = dependency.getFile();
+                final boolean inWorkspace = isWorkspacePom(dependencyFile);
+                entry.workspaceDependencies.put(getKey(dependency), inWorkspace);
+                if (dependencyFile != null && !inWorkspace) {
+                    entry.artifactStamps.put(dependencyFile.getAbsolutePath(), dependencyFile.lastModified());
+                }
+            }
+
+            Files.createDirectories(cacheDir);
+            final Path tmp = Files.createTempFile(cacheDir, "model", EXTENSION + ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tmp);
+                     ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+                    objectOut.writeObject(entry);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                delete(tmp);
+            }
+        } catch (IOException e) {
+            LOG.warn("Can't store resolved maven model of " + pom + ": " + e.getMessage());
+            delete(file);
+        }
+    }
+
+    /** Removes all stored results. */
+    public void clear() {
+        try {
+            if (Files.isDirectory(cacheDir)) {
+                try (Stream<Path> files = Files.list(cacheDir)) {
+                    files.forEach(this::delete);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Can't clear maven model cache: " + e.getMessage());
+        }
+    }
+
+    private boolean isUpToDate(Entry entry, MavenWorkspaceCache workspaceCache) {
+        if (!isUpToDate(entry.modelFileStamps) || !isUpToDate(entry.artifactStamps)) {
+            return false;
+        }
+        for (Map.Entry<MavenKey, Boolean> dependency : entry.workspaceDependencies.entrySet()) {
+            // dependency which was resolved from repository may now be resolved from workspace and vice versa
+            final MavenWorkspaceCache.Entry workspaceEntry = workspaceCache.findEntry(dependency.getKey());
+            if (dependency.getValue() != (workspaceEntry != null)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUpToDate(Map<String, Long> stamps) {
+        for (Map.Entry<String, Long> stamp : stamps.entrySet()) {
+            final File file = new File(stamp.getKey());
+            if (!file.exists() || file.lastModified() != stamp.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String fingerprint(File pom, List<File> parentPoms) throws IOException {
+        final Hasher hasher = Hashing.sha1().newHasher();
+        hashFile(hasher, pom);
+        for (File parentPom : parentPoms) {
+            hashFile(hasher, parentPom);
+        }
+        for (File settings : settingsFiles) {
+            hashFile(hasher, settings);
+        }
+        return hasher.hash().toString();
+    }
+
+    private static void hashFile(Hasher hasher, File file) throws IOException {
+        hasher.putString(file.getAbsolutePath(), StandardCharsets.UTF_8);
+        if (file.isFile()) {
+            hasher.putBoolean(true);
+            hasher.putBytes(Files.readAllBytes(file.toPath()));
+        } else {
+            hasher.putBoolean(false);
+        }
+    }
+
+    private Path getCacheFile(File pom, List<String> activeProfiles, List<String> inactiveProfiles) {
+        final Hasher hasher = Hashing.sha1().newHasher().putString(pom.getAbsolutePath(), StandardCharsets.UTF_8);
+        for (String profile : sorted(activeProfiles)) {
+            hasher.putChar('+').putString(profile, StandardCharsets.UTF_8);
+        }
+        for (String profile : sorted(inactiveProfiles)) {
+            hasher.putChar('-').putString(profile, StandardCharsets.UTF_8);
+        }
+        return cacheDir.resolve(hasher.hash().toString() + EXTENSION);
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.debug("Can't delete cached maven model " + file, e);
+        }
+    }
+
+    private static List<String> sorted(List<String> list) {
+        if (list == null) {
+            return Collections.emptyList();
+        }
+        final List<String> sorted = new ArrayList<>(list);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static boolean isWorkspacePom(File file) {
+        return file != null && file.getName().equals(MavenConstants.POM_FILE_NAME);
+    }
+
+    private static MavenKey getKey(MavenArtifact artifact) {
+        return new MavenKey(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion());
+    }
+
+    private static List<File> defaultSettingsFiles() {
+        final List<File> files = new ArrayList<>();
+        files.add(new File(System.getProperty("user.home"), ".m2/settings.xml"));
+        final String mavenHome = System.getenv("M2_HOME");
+        if (mavenHome != null) {
+            files.add(new File(mavenHome, "conf/settings.xml"));
+        }
+        return files;
+    }
+
+    private static class Entry implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        int                    version;
+        String                 pomPath;
+        String                 fingerprint;
+        MavenModelReaderResult result;
+        Map<String, Long>      modelFileStamps;
+        Map<String, Long>      artifactStamps;
+        Map<MavenKey, Boolean> workspaceDependencies;
+    }
+}
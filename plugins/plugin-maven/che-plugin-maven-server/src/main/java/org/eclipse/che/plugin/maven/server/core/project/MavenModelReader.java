@@ -61,7 +61,8 @@ public class MavenModelReader {
                                                   projectInfo.getActiveProfiles(),
                                                   Collections.emptyList(),
                                                   resolveProject.getProblems(),
-                                                  resolveProject.getUnresolvedArtifacts());
+                                                  resolveProject.getUnresolvedArtifacts(),
+                                                  projectInfo.getModelFiles());
             } else {
                 MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
                 readMavenProject.getProblems().addAll(resolveProject.getProblems());
@@ -14,6 +14,9 @@ import org.eclipse.che.maven.data.MavenKey;
 import org.eclipse.che.maven.data.MavenModel;
 import org.eclipse.che.maven.data.MavenProjectProblem;
 
+import java.io.File;
+import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -22,20 +25,29 @@ import java.util.Set;
  *
  * @author Evgen Vidolob
  */
-public class MavenModelReaderResult {
+public class MavenModelReaderResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final MavenModel                mavenModel;
     private final List<String>              activeProfiles;
     private final List<String>              inactiveProfiles;
     private final List<MavenProjectProblem> problems;
     private final Set<MavenKey>             unresolvedArtifacts;
+    private final List<File>                modelFiles;
 
     public MavenModelReaderResult(MavenModel mavenModel, List<String> activeProfiles, List<String> inactiveProfiles,
                                   List<MavenProjectProblem> problems, Set<MavenKey> unresolvedArtifacts) {
+        this(mavenModel, activeProfiles, inactiveProfiles, problems, unresolvedArtifacts, Collections.emptyList());
+    }
+
+    public MavenModelReaderResult(MavenModel mavenModel, List<String> activeProfiles, List<String> inactiveProfiles,
+                                  List<MavenProjectProblem> problems, Set<MavenKey> unresolvedArtifacts, List<File> modelFiles) {
         this.mavenModel = mavenModel;
         this.activeProfiles = activeProfiles;
         this.inactiveProfiles = inactiveProfiles;
         this.problems = problems;
         this.unresolvedArtifacts = unresolvedArtifacts;
+        this.modelFiles = modelFiles;
     }
 
     public Set<MavenKey> getUnresolvedArtifacts() {
@@ -57,4 +69,9 @@ public class MavenModelReaderResult {
     public List<MavenProjectProblem> getProblems() {
         return problems;
     }
+
+    /** Returns pom files of parents and of imported poms which were read by maven to build the model. */
+    public List<File> getModelFiles() {
+        return modelFiles == null ? Collections.emptyList() : modelFiles;
+    }
 }
@@ -158,14 +158,36 @@ public class MavenProject {
      * @return the modification types that applied to this project
      */
     public MavenProjectModifications resolve(IProject project, MavenServerWrapper mavenServer, MavenServerManager serverManager) {
-        MavenModelReader reader = new MavenModelReader();
+        return setResolvedModel(resolveModel(project, mavenServer, serverManager));
+    }
 
-        MavenModelReaderResult modelReaderResult =
-                reader.resolveMavenProject(getPom(project), mavenServer, info.activeProfiles, info.inactiveProfiles, serverManager);
+    /**
+     * Invoke maven to build project model without applying it to this project.
+     *
+     * @see #setResolvedModel(MavenModelReaderResult)
+     */
+    public MavenModelReaderResult resolveModel(IProject project, MavenServerWrapper mavenServer, MavenServerManager serverManager) {
+        MavenModelReader reader = new MavenModelReader();
+        return reader.resolveMavenProject(getPom(project), mavenServer, info.activeProfiles, info.inactiveProfiles, serverManager);
+    }
 
+    /**
+     * Applies model built by maven, e.g. by {@link #resolveModel(IProject, MavenServerWrapper, MavenServerManager)}.
+     *
+     * @return the modification types that applied to this project
+     */
+    public MavenProjectModifications setResolvedModel(MavenModelReaderResult modelReaderResult) {
         return setModel(modelReaderResult, modelReaderResult.getProblems().isEmpty(), false);
     }
 
+    public List<String> getActiveProfiles() {
+        return info.activeProfiles;
+    }
+
+    public List<String> getInactiveProfiles() {
+        return info.inactiveProfiles;
+    }
+
     public MavenProjectModifications read(MavenServerManager manager) {
         return read(project, manager);
     }
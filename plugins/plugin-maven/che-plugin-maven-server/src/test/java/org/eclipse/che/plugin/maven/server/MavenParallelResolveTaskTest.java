@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.plugin.maven.server.core.MavenParallelResolveTask;
+import org.eclipse.che.plugin.maven.server.core.MavenProgressNotifier;
+import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.core.resources.IProject;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MavenParallelResolveTask}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class MavenParallelResolveTaskTest {
+    @Mock
+    private MavenProjectManager   projectManager;
+    @Mock
+    private MavenProgressNotifier notifier;
+
+    @Test
+    public void shouldResolveProjectsAfterTheirParentsAndDependencies() throws Exception {
+        MavenProject parent = project("parent", null);
+        MavenProject module = project("module", parent.getMavenKey());
+        MavenProject app = project("app", parent.getMavenKey(), module.getMavenKey());
+        List<MavenProject> resolveOrder = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> resolveOrder.add((MavenProject)invocation.getArguments()[1]))
+                .when(projectManager).resolveMavenProject(any(IProject.class), any(MavenProject.class));
+        List<MavenProject> resolved = new ArrayList<>();
+
+        new MavenParallelResolveTask(new HashSet<>(Arrays.asList(app, module, parent)), projectManager, notifier, 4,
+                                     resolved::addAll).perform();
+
+        assertEquals(resolveOrder, Arrays.asList(parent, module, app));
+        assertEquals(resolved, Arrays.asList(parent, module, app));
+    }
+
+    @Test(timeOut = 10_000)
+    public void shouldResolveIndependentProjectsConcurrently() throws Exception {
+        MavenProject first = project("first", null);
+        MavenProject second = project("second", null);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        List<Boolean> concurrent = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            concurrent.add(bothStarted.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(projectManager).resolveMavenProject(any(IProject.class), any(MavenProject.class));
+        List<MavenProject> resolved = new CopyOnWriteArrayList<>();
+
+        new MavenParallelResolveTask(Arrays.asList(first, second), projectManager, notifier, 2, resolved::addAll).perform();
+
+        assertEquals(concurrent, Arrays.asList(true, true));
+        assertEquals(new HashSet<>(resolved), new HashSet<>(Arrays.asList(first, second)));
+    }
+
+    @Test
+    public void shouldResolveDependentsOfProjectWhichFailedToResolve() throws Exception {
+        MavenProject parent = project("parent", null);
+        MavenProject module = project("module", parent.getMavenKey());
+        doThrow(new RuntimeException("resolution failed")).when(projectManager).resolveMavenProject(any(IProject.class), eq(parent));
+        List<MavenProject> resolved = new ArrayList<>();
+
+        new MavenParallelResolveTask(Arrays.asList(parent, module), projectManager, notifier, 2, resolved::addAll).perform();
+
+        assertEquals(resolved, Collections.singletonList(module));
+        verify(notifier).setText("Can't resolve maven project parent: resolution failed");
+    }
+
+    @Test
+    public void shouldResolveProjectsWhichDependOnEachOther() throws Exception {
+        MavenKey firstKey = new MavenKey("org.eclipse.che", "first", "1.0");
+        MavenKey secondKey = new MavenKey("org.eclipse.che", "second", "1.0");
+        MavenProject first = project(firstKey, null, secondKey);
+        MavenProject second = project(secondKey, null, firstKey);
+        List<MavenProject> resolved = new ArrayList<>();
+
+        new MavenParallelResolveTask(Arrays.asList(first, second), projectManager, notifier, 2, resolved::addAll).perform();
+
+        assertEquals(resolved.size(), 2);
+        assertTrue(resolved.containsAll(Arrays.asList(first, second)));
+    }
+
+    private static MavenProject project(String artifactId, MavenKey parentKey, MavenKey... dependencies) {
+        return project(new MavenKey("org.eclipse.che", artifactId, "1.0"), parentKey, dependencies);
+    }
+
+    private static MavenProject project(MavenKey key, MavenKey parentKey, MavenKey... dependencies) {
+        MavenProject project = mock(MavenProject.class);
+        when(project.getName()).thenReturn(key.getArtifactId());
+        when(project.getMavenKey()).thenReturn(key);
+        when(project.getParentKey()).thenReturn(parentKey);
+        when(project.getProject()).thenReturn(mock(IProject.class));
+        List<MavenArtifact> artifacts = new ArrayList<>();
+        for (MavenKey dependency : dependencies) {
+            artifacts.add(new MavenArtifact(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion(),
+                                            dependency.getVersion(), "jar", null, "compile", false, "jar", null, null, true, false));
+        }
+        when(project.getDependencies()).thenReturn(artifacts);
+        return project;
+    }
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenProjectProblem;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for {@link MavenModelCache}.
+ */
+public class MavenModelCacheTest {
+    private Path                root;
+    private File                pom;
+    private File                parentPom;
+    private File                settings;
+    private File                artifact;
+    private File                importedPom;
+    private MavenWorkspaceCache workspaceCache;
+    private MavenModelCache     cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("maven-model-cache");
+        parentPom = write("parent/pom.xml", "<project>parent</project>");
+        pom = write("parent/module/pom.xml", "<project>module</project>");
+        settings = write("m2/settings.xml", "<settings/>");
+        artifact = write("m2/repository/junit/junit/4.12/junit-4.12.jar", "jar");
+        importedPom = write("m2/repository/org/eclipse/che/bom/1.0/bom-1.0.pom", "<project>bom</project>");
+        workspaceCache = new MavenWorkspaceCache();
+        workspaceCache.put(new MavenKey("org.eclipse.che", "parent", "1.0"), parentPom);
+        cache = new MavenModelCache(root.resolve("cache"), singletonList(settings));
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Files.walk(root).sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+    }
+
+    @Test
+    public void shouldReturnStoredModelWhileNothingIsChanged() throws Exception {
+        cache.put(pom, singletonList(parentPom), singletonList("dev"), emptyList(), result());
+
+        MavenModelReaderResult cached = cache.get(pom, singletonList(parentPom), singletonList("dev"), emptyList(), workspaceCache);
+
+        assertNotNull(cached);
+        assertEquals(cached.getMavenModel().getMavenKey(), new MavenKey("org.eclipse.che", "module", "1.0"));
+        assertEquals(cached.getMavenModel().getDependencies().get(0).getFile(), artifact);
+        assertEquals(cached.getActiveProfiles(), singletonList("dev"));
+    }
+
+    @Test
+    public void shouldNotReturnModelWhenPomIsChanged() throws Exception {
+        cache.put(pom, singletonList(parentPom), emptyList(), emptyList(), result());
+        write("parent/module/pom.xml", "<project>changed module</project>");
+
+        assertNull(cache.get(pom, singletonList(parentPom), emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotReturnModelWhenParentPomIsChanged() throws Exception {
+        cache.put(pom, singletonList(parentPom), emptyList(), emptyList(), result());
+        write("parent/pom.xml", "<project>changed parent</project>");
+
+        assertNull(cache.get(pom, singletonList(parentPom), emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotReturnModelWhenSettingsAreChanged() throws Exception {
+        cache.put(pom, singletonList(parentPom), emptyList(), emptyList(), result());
+        write("m2/settings.xml", "<settings><offline>true</offline></settings>");
+
+        assertNull(cache.get(pom, singletonList(parentPom), emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotReturnModelWhenArtifactIsChangedInLocalRepository() throws Exception {
+        cache.put(pom, singletonList(parentPom), emptyList(), emptyList(), result());
+        artifact.setLastModified(artifact.lastModified() - 10_000);
+
+        assertNull(cache.get(pom, singletonList(parentPom), emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotReturnModelWhenImportedPomIsChangedInLocalRepository() throws Exception {
+        cache.put(pom, singletonList(parentPom), emptyList(), emptyList(), result());
+        importedPom.setLastModified(importedPom.lastModified() - 10_000);
+
+        assertNull(cache.get(pom, singletonList(parentPom), emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotReturnModelWhenImportedPomIsRemovedFromLocalRepository() throws Exception {
+        cache.put(pom, singletonList(parentPom), emptyList(), emptyList(), result());
+        Files.delete(importedPom.toPath());
+
+        assertNull(cache.get(pom, singletonList(parentPom), emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotReturnModelWhenDependencyIsAddedToWorkspace() throws Exception {
+        cache.put(pom, singletonList(parentPom), emptyList(), emptyList(), result());
+        workspaceCache.put(new MavenKey("junit", "junit", "4.12"), write("junit/pom.xml", "<project>junit</project>"));
+
+        assertNull(cache.get(pom, singletonList(parentPom), emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldKeepModelsOfDifferentProfilesSeparately() throws Exception {
+        cache.put(pom, singletonList(parentPom), singletonList("dev"), emptyList(), result());
+
+        assertNull(cache.get(pom, singletonList(parentPom), emptyList(), emptyList(), workspaceCache));
+        assertNotNull(cache.get(pom, singletonList(parentPom), singletonList("dev"), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotStoreModelWithProblems() throws Exception {
+        MavenModelReaderResult result = result();
+        result.getProblems().add(MavenProjectProblem.newStructureProblem(pom.getPath(), "Can't resolve parent"));
+        cache.put(pom, singletonList(parentPom), emptyList(), emptyList(), result);
+
+        assertNull(cache.get(pom, singletonList(parentPom), emptyList(), emptyList(), workspaceCache));
+    }
+
+    private MavenModelReaderResult result() {
+        MavenModel model = new MavenModel();
+        model.setMavenKey(new MavenKey("org.eclipse.che", "module", "1.0"));
+        List<MavenArtifact> dependencies = new ArrayList<>();
+        dependencies.add(new MavenArtifact("junit", "junit", "4.12", "4.12", "jar", null, "test", false, "jar", artifact,
+                                           root.resolve("m2/repository").toFile(), true, false));
+        model.setDependencies(dependencies);
+        return new MavenModelReaderResult(model,
+                                          singletonList("dev"),
+                                          Collections.emptyList(),
+                                          new ArrayList<>(),
+                                          new HashSet<>(),
+                                          singletonList(importedPom));
+    }
+
+    private File write(String path, String content) throws Exception {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes());
+        return file.toFile();
+    }
+}
@@ -12,12 +12,14 @@ package org.eclipse.che.maven.server;
 
 import org.eclipse.che.maven.data.MavenModel;
 
+import java.io.File;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Data class. Contains maven project model and active profiles.
+ * Data class. Contains maven project model, active profiles and pom files the model is built from.
  *
  * @author Evgen Vidolob
  */
@@ -27,11 +29,17 @@ public class MavenProjectInfo implements Serializable {
     private final MavenModel          mavenModel;
     private final Map<String, String> mavenMap;
     private final List<String>        activeProfiles;
+    private final List<File>          modelFiles;
 
     public MavenProjectInfo(MavenModel mavenModel, Map<String, String> mavenMap, List<String> activeProfiles) {
+        this(mavenModel, mavenMap, activeProfiles, Collections.emptyList());
+    }
+
+    public MavenProjectInfo(MavenModel mavenModel, Map<String, String> mavenMap, List<String> activeProfiles, List<File> modelFiles) {
         this.mavenModel = mavenModel;
         this.mavenMap = mavenMap;
         this.activeProfiles = activeProfiles;
+        this.modelFiles = modelFiles;
     }
 
     public MavenModel getMavenModel() {
@@ -45,4 +53,12 @@ public class MavenProjectInfo implements Serializable {
     public List<String> getActiveProfiles() {
         return activeProfiles;
     }
+
+    /**
+     * Returns pom files of project parents and of poms imported to its dependency management,
+     * both from workspace and from local repository, project pom is not included.
+     */
+    public List<File> getModelFiles() {
+        return modelFiles;
+    }
 }
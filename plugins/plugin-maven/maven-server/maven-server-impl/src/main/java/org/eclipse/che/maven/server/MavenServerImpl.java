@@ -34,6 +34,8 @@ import org.apache.maven.execution.MavenExecutionRequest;
 import org.apache.maven.execution.MavenExecutionRequestPopulationException;
 import org.apache.maven.execution.MavenExecutionRequestPopulator;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Profile;
 import org.apache.maven.plugin.LegacySupport;
@@ -97,13 +99,16 @@ import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
  * @author Evgen Vidolob
  */
 public class MavenServerImpl extends MavenRmiObject implements MavenServer {
-    private static final String[] CLI_METHODS = new String[] {"initialize", "cli", "logging", "properties", "container"};
+    private static final String[] CLI_METHODS      = new String[] {"initialize", "cli", "logging", "properties", "container"};
+    private static final Pattern  PROPERTY_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
 
     private final MavenServerTerminalLogger terminalLogger;
     private final File                      localRepository;
@@ -476,7 +481,7 @@ public class MavenServerImpl extends MavenRmiObject implements MavenServer {
         }
 
         List<String> activeProfiles = getActiveProfiles(project);
-        MavenProjectInfo projectInfo = new MavenProjectInfo(model, null, activeProfiles);
+        MavenProjectInfo projectInfo = new MavenProjectInfo(model, null, activeProfiles, getModelFiles(project));
 
 
         return new MavenServerResult(projectInfo, problems, unresolvedArtifacts);
@@ -497,6 +502,76 @@ public class MavenServerImpl extends MavenRmiObject implements MavenServer {
         return profiles.stream().filter(p -> p.getId() != null).map(Profile::getId).collect(Collectors.toList());
     }
 
+    /**
+     * Returns pom files of parents of the project and of poms imported to dependency management of the project or its parents.
+     * Imported poms are looked up in local repository, poms imported by them are not followed.
+     */
+    private List<File> getModelFiles(MavenProject project) {
+        Set<File> files = new LinkedHashSet<>();
+        try {
+            for (MavenProject current = project; current != null; current = current.getParent()) {
+                if (current != project && current.getFile() != null) {
+                    files.add(current.getFile());
+                }
+                DependencyManagement dependencyManagement = current.getOriginalModel().getDependencyManagement();
+                if (dependencyManagement == null) {
+                    continue;
+                }
+                for (Dependency dependency : dependencyManagement.getDependencies()) {
+                    if ("import".equals(dependency.getScope()) && "pom".equals(dependency.getType())) {
+                        File importedPom = getImportedPom(current, dependency);
+                        if (importedPom != null) {
+                            files.add(importedPom);
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            MavenServerContext.getLogger().info(e);
+        }
+        return new ArrayList<>(files);
+    }
+
+    private File getImportedPom(MavenProject project, Dependency dependency) {
+        String groupId = interpolate(project, dependency.getGroupId());
+        String artifactId = interpolate(project, dependency.getArtifactId());
+        String version = interpolate(project, dependency.getVersion());
+        if (groupId == null || artifactId == null || version == null) {
+            return null;
+        }
+        File pom = new File(localRepository,
+                            groupId.replace('.', '/') + '/' + artifactId + '/' + version + '/' + artifactId + '-' + version + ".pom");
+        return pom.isFile() ? pom : null;
+    }
+
+    /** Replaces project properties in the value, returns {@code null} if some of them can't be resolved. */
+    private static String interpolate(MavenProject project, String value) {
+        if (value == null) {
+            return null;
+        }
+        Matcher matcher = PROPERTY_PATTERN.matcher(value);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            String property = matcher.group(1);
+            String propertyValue;
+            if ("project.version".equals(property) || "pom.version".equals(property)) {
+                propertyValue = project.getVersion();
+            } else if ("project.groupId".equals(property) || "pom.groupId".equals(property)) {
+                propertyValue = project.getGroupId();
+            } else if ("project.parent.version".equals(property) && project.getParent() != null) {
+                propertyValue = project.getParent().getVersion();
+            } else {
+                propertyValue = project.getProperties().getProperty(property);
+            }
+            if (propertyValue == null) {
+                return null;
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(propertyValue));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
     private void validate(File pom, List<Exception> exceptions, List<MavenProjectProblem> problems)
             throws RemoteException {
         for (Throwable exception : exceptions) {
@@ -35,6 +35,31 @@ public interface LogRequest extends GitRequest {
     
     void setRevisionRangeSince(String revisionRangeSince);
     void setRevisionRangeUntil(String revisionRangeUntil);	
+
+    /** @return number of commits to skip before returning commits */
+    int getSkip();
+
+    void setSkip(int skip);
+
+    LogRequest withSkip(int skip);
+
+    /** @return max number of commits to return, {@code 0} means no limit */
+    int getMaxCount();
+
+    void setMaxCount(int maxCount);
+
+    LogRequest withMaxCount(int maxCount);
+
+    /**
+     * @return id of the last commit of previous page, only commits which follow it in log are returned, so pages don't shift
+     * when new commits are added. {@link #getSkip()} is counted from this commit if both are set.
+     */
+    String getAfterCommit();
+
+    void setAfterCommit(String afterCommit);
+
+    LogRequest withAfterCommit(String afterCommit);
+
     // private List<String> fileFilter;
     // private boolean noRenames = true;
     // private int renameLimit;
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.git.shared.GitUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Keeps unique committers of repository history in file {@code che-committers} inside of {@code .git} directory, so it
+ * survives restart of agent and is shared by all git implementations which work with the same repository.
+ * <p/>
+ * File contains HEAD the committers were collected for. When HEAD moves forward only new commits are read, full history is
+ * read again only if HEAD is moved to commit which doesn't contain previous one, e.g. after reset or checkout.
+ */
+public class CommittersCache {
+    private static final Logger LOG = LoggerFactory.getLogger(CommittersCache.class);
+
+    static final String FILE_NAME = "che-committers";
+
+    /** Reads history of repository for the cache. */
+    public interface History {
+        /**
+         * Gets committers of commits reachable from {@code head}, committers of the most recent commits go first.
+         *
+         * @param head
+         *         id of commit to start from
+         * @param excluded
+         *         id of commit which ancestors, including itself, must be excluded or {@code null} to read full history
+         */
+        List<GitUser> getCommitters(String head, String excluded) throws GitException;
+
+        /** Checks whether {@code commit} is an ancestor of {@code head}. */
+        boolean isAncestor(String commit, String head) throws GitException;
+    }
+
+    private final File file;
+
+    private String        head;
+    private List<GitUser> committers = Collections.emptyList();
+
+    /**
+     * @param gitDir
+     *         {@code .git} directory of repository
+     */
+    public CommittersCache(File gitDir) {
+        this.file = new File(gitDir, FILE_NAME);
+    }
+
+    /**
+     * Gets unique committers of commits reachable from specified HEAD, committers of the most recent commits go first.
+     *
+     * @param newHead
+     *         id of current HEAD of repository
+     * @param history
+     *         history of repository
+     */
+    public synchronized List<GitUser> getCommitters(String newHead, History history) throws GitException {
+        if (!newHead.equals(head)) {
+            load();
+        }
+        if (newHead.equals(head)) {
+            return committers;
+        }
+        final boolean incremental = head != null && history.isAncestor(head, newHead);
+        final Set<GitUser> result = new LinkedHashSet<>(history.getCommitters(newHead, incremental ? head : null));
+        if (incremental) {
+            result.addAll(committers);
+        }
+        head = newHead;
+        committers = Collections.unmodifiableList(new ArrayList<>(result));
+        store();
+        return committers;
+    }
+
+    /** Reads committers which were stored by any connection to this repository. */
+    private void load() {
+        if (!file.isFile()) {
+            return;
+        }
+        try {
+            final List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+            if (lines.isEmpty()) {
+                return;
+            }
+            final List<GitUser> loaded = new ArrayList<>(lines.size() - 1);
+            for (String line : lines.subList(1, lines.size())) {
+                final int separator = line.lastIndexOf('\t');
+                if (separator < 0) {
+                    LOG.warn("Ignore malformed file {}", file);
+                    return;
+                }
+                loaded.add(newDto(GitUser.class).withName(line.substring(0, separator)).withEmail(line.substring(separator + 1)));
+            }
+            head = lines.get(0);
+            committers = Collections.unmodifiableList(loaded);
+        } catch (IOException e) {
+            LOG.warn("Unable to read {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void store() {
+        final StringBuilder content = new StringBuilder(head).append('\n');
+        for (GitUser committer : committers) {
+            content.append(committer.getName()).append('\t').append(committer.getEmail()).append('\n');
+        }
+        final File tmp = new File(file.getParentFile(), FILE_NAME + ".tmp");
+        try {
+            Files.write(tmp.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Unable to store {}: {}", file, e.getMessage());
+        }
+    }
+}
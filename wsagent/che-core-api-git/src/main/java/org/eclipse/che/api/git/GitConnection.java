@@ -250,7 +250,8 @@ public interface GitConnection extends Closeable {
     boolean isInsideWorkTree() throws GitException;
 
     /**
-     * Get commit logs.
+     * Get commit logs. Only requested page of log is read if {@link LogRequest#getSkip()} or {@link LogRequest#getMaxCount()} is
+     * set. Page which follows {@link LogRequest#getAfterCommit()} is returned if it is set.
      *
      * @param request
      *         log request
@@ -430,6 +431,22 @@ public interface GitConnection extends Closeable {
      */
     Status status(StatusFormat format) throws GitException;
 
+    /**
+     * Get status of specified paths of working tree. Implementation which doesn't support filtering returns status of whole
+     * working tree.
+     *
+     * @param format
+     *         the format of the ouput
+     * @param filter
+     *         paths of files or folders relative to working tree
+     * @return status.
+     * @throws GitException
+     *         if any error occurs
+     */
+    default Status status(StatusFormat format, List<String> filter) throws GitException {
+        return status(format);
+    }
+
     /**
      * Create new tag.
      *
@@ -469,7 +486,7 @@ public interface GitConnection extends Closeable {
     /**
      * Gel list of commiters in current repository.
      *
-     * @return list of commiters
+     * @return list of unique commiters
      * @throws GitException
      */
     List<GitUser> getCommiters() throws GitException;
@@ -67,6 +67,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
 import java.net.URISyntaxException;
@@ -86,6 +87,9 @@ public class GitService {
     @Inject
     private ProjectRegistry projectRegistry;
 
+    @Inject
+    private GitStatusCache gitStatusCache;
+
     @QueryParam("projectPath")
     private String projectPath;
 
@@ -93,8 +97,11 @@ public class GitService {
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     public void add(AddRequest request) throws ApiException {
+        gitStatusCache.operationStarted(projectPath);
         try (GitConnection gitConnection = getGitConnection()) {
             gitConnection.add(request);
+        } finally {
+            gitStatusCache.operationFinished(projectPath);
         }
     }
 
@@ -102,8 +109,11 @@ public class GitService {
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     public void checkout(CheckoutRequest request) throws ApiException {
+        gitStatusCache.operationStarted(projectPath);
         try (GitConnection gitConnection = getGitConnection()) {
             gitConnection.checkout(request);
+        } finally {
+            gitStatusCache.operationFinished(projectPath);
         }
     }
 
@@ -130,8 +140,11 @@ public class GitService {
     @POST
     public void branchRename(@QueryParam("oldName") String oldName,
                              @QueryParam("newName") String newName) throws ApiException {
+        gitStatusCache.operationStarted(projectPath);
         try (GitConnection gitConnection = getGitConnection()) {
             gitConnection.branchRename(oldName, newName);
+        } finally {
+            gitStatusCache.operationFinished(projectPath);
         }
     }
 
@@ -156,6 +169,7 @@ public class GitService {
         request.setWorkingDir(getAbsoluteProjectPath(request.getWorkingDir()));
         LOG.info("Repository clone from '" + request.getRemoteUri() + "' to '" + request.getWorkingDir() + "' started");
         GitConnection gitConnection = getGitConnection();
+        gitStatusCache.operationStarted(projectPath);
         try {
             gitConnection.clone(request);
             return DtoFactory.getInstance().createDto(RepoInfo.class).withRemoteUri(request.getRemoteUri());
@@ -165,6 +179,7 @@ public class GitService {
             LOG.info("Repository clone from '" + request.getRemoteUri() + "' to '" + request.getWorkingDir()
                      + "' finished. Process took " + seconds + " seconds (" + seconds / 60 + " minutes)");
             gitConnection.close();
+            gitStatusCache.operationFinished(projectPath);
         }
     }
 
@@ -173,8 +188,11 @@ public class GitService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces({MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN})
     public Revision commit(CommitRequest request) throws ApiException {
+        gitStatusCache.operationStarted(projectPath);
         try (GitConnection gitConnection = getGitConnection()) {
             return gitConnection.commit(request);
+        } finally {
+            gitStatusCache.operationFinished(projectPath);
         }
     }
 
@@ -221,8 +239,11 @@ public class GitService {
     @Consumes(MediaType.APPLICATION_JSON)
     public void init(final InitRequest request) throws ApiException {
         request.setWorkingDir(getAbsoluteProjectPath(projectPath));
+        gitStatusCache.operationStarted(projectPath);
         try (GitConnection gitConnection = getGitConnection()) {
             gitConnection.init(request);
+        } finally {
+            gitStatusCache.operationFinished(projectPath);
         }
         projectRegistry.setProjectType(projectPath, GitProjectType.TYPE_ID, true);
     }
@@ -242,8 +263,11 @@ public class GitService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces({MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN})
     public MergeResult merge(MergeRequest request) throws ApiException {
+        gitStatusCache.operationStarted(projectPath);
         try (GitConnection gitConnection = getGitConnection()) {
             return gitConnection.merge(request);
+        } finally {
+            gitStatusCache.operationFinished(projectPath);
         }
     }
 
@@ -252,8 +276,11 @@ public class GitService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public RebaseResponse rebase(RebaseRequest request) throws ApiException {
+        gitStatusCache.operationStarted(projectPath);
         try (GitConnection gitConnection = getGitConnection()) {
             return gitConnection.rebase(request);
+        } finally {
+            gitStatusCache.operationFinished(projectPath);
         }
     }
 
@@ -261,8 +288,11 @@ public class GitService {
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     public void mv(MoveRequest request) throws ApiException {
+        gitStatusCache.operationStarted(projectPath);
         try (GitConnection gitConnection = getGitConnection()) {
             gitConnection.mv(request);
+        } finally {
+            gitStatusCache.operationFinished(projectPath);
         }
     }
 
@@ -270,8 +300,11 @@ public class GitService {
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     public PullResponse pull(PullRequest request) throws ApiException {
+        gitStatusCache.operationStarted(projectPath);
         try (GitConnection gitConnection = getGitConnection()) {
             return gitConnection.pull(request);
+        } finally {
+            gitStatusCache.operationFinished(projectPath);
         }
     }
 
@@ -325,8 +358,11 @@ public class GitService {
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     public void reset(ResetRequest request) throws ApiException {
+        gitStatusCache.operationStarted(projectPath);
         try (GitConnection gitConnection = getGitConnection()) {
             gitConnection.reset(request);
+        } finally {
+            gitStatusCache.operationFinished(projectPath);
         }
     }
 
@@ -334,18 +370,27 @@ public class GitService {
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     public void rm(RmRequest request) throws ApiException {
+        gitStatusCache.operationStarted(projectPath);
         try (GitConnection gitConnection = getGitConnection()) {
             gitConnection.rm(request);
+        } finally {
+            gitStatusCache.operationFinished(projectPath);
         }
     }
 
     @Path("status")
     @POST
     @Produces({MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN})
-    public Status status(@QueryParam("format") StatusFormat format) throws ApiException {
-        try (GitConnection gitConnection = getGitConnection()) {
-            return gitConnection.status(format);
+    public Status status(@QueryParam("format") StatusFormat format, @Context HttpHeaders headers) throws ApiException {
+        final List<MediaType> acceptableMediaTypes = headers.getAcceptableMediaTypes();
+        if (!acceptableMediaTypes.isEmpty() && acceptableMediaTypes.get(0).isCompatible(MediaType.TEXT_PLAIN_TYPE)
+            && !acceptableMediaTypes.get(0).isWildcardType()) {
+            // text is written by git itself
+            try (GitConnection gitConnection = getGitConnection()) {
+                return gitConnection.status(format);
+            }
         }
+        return gitStatusCache.getStatus(projectPath, getAbsoluteProjectPath(projectPath), format);
     }
 
     @Path("tag-create")
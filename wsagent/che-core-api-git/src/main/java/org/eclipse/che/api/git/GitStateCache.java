@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.git.shared.Remote;
+import org.eclipse.che.api.git.shared.RemoteListRequest;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.unmodifiableList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Keeps git state of project folders: whether folder is inside of work tree, current branch and URLs of remotes.
+ * <p/>
+ * State is loaded once and kept until file watcher reports changes of {@code .git/HEAD}, {@code .git/refs},
+ * {@code .git/packed-refs} or {@code .git/config} or until {@code .git} directory itself is created or removed.
+ * Name of current branch is read directly from {@code .git/HEAD}, git connection is used only if HEAD is detached.
+ */
+@Singleton
+public class GitStateCache {
+    private static final String DOT_GIT    = ".git";
+    private static final String HEAD_REF   = "ref: ";
+    private static final String BRANCH_REF = "refs/heads/";
+
+    private final GitConnectionFactory         gitConnectionFactory;
+    private final ConcurrentMap<Path, GitState> states;
+
+    @Inject
+    public GitStateCache(GitConnectionFactory gitConnectionFactory, FileWatcherNotificationHandler fileWatcherNotificationHandler) {
+        this.gitConnectionFactory = gitConnectionFactory;
+        this.states = new ConcurrentHashMap<>();
+        fileWatcherNotificationHandler.addNotificationListener(new FileWatcherNotificationListener(GitStateCache::isGitStateFile) {
+            @Override
+            public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                invalidate(virtualFile.getPath());
+            }
+        });
+    }
+
+    /** Checks whether the folder belongs to git repository. */
+    public boolean isInsideWorkTree(FolderEntry folder) throws ApiException {
+        final GitState state = getState(folder);
+        Boolean insideWorkTree = state.insideWorkTree;
+        if (insideWorkTree == null) {
+            try (GitConnection gitConnection = gitConnectionFactory.getConnection(resolveLocalPath(folder))) {
+                state.insideWorkTree = insideWorkTree = gitConnection.isInsideWorkTree();
+            }
+        }
+        return insideWorkTree;
+    }
+
+    /** Gets name of current branch of repository the folder belongs to. */
+    public String getCurrentBranch(FolderEntry folder) throws ApiException {
+        final GitState state = getState(folder);
+        String branch = state.branch;
+        if (branch == null) {
+            branch = readBranchName(folder.getVirtualFile().toIoFile());
+            if (branch == null) {
+                try (GitConnection gitConnection = gitConnectionFactory.getConnection(resolveLocalPath(folder))) {
+                    branch = gitConnection.status(StatusFormat.LONG).getBranchName();
+                }
+            }
+            state.branch = branch;
+        }
+        return branch;
+    }
+
+    /** Gets URLs of remotes of repository the folder belongs to. */
+    public List<String> getRemoteUrls(FolderEntry folder) throws ApiException {
+        final GitState state = getState(folder);
+        List<String> remoteUrls = state.remoteUrls;
+        if (remoteUrls == null) {
+            try (GitConnection gitConnection = gitConnectionFactory.getConnection(resolveLocalPath(folder))) {
+                state.remoteUrls = remoteUrls = unmodifiableList(gitConnection.remoteList(newDto(RemoteListRequest.class))
+                                                                              .stream()
+                                                                              .map(Remote::getUrl)
+                                                                              .collect(Collectors.toList()));
+            }
+        }
+        return remoteUrls;
+    }
+
+    /**
+     * Drops cached state of all folders of repository which contains specified path.
+     *
+     * @param path
+     *         path of {@code .git} directory or any file inside of it
+     */
+    public void invalidate(Path path) {
+        final Path repositoryRoot = getRepositoryRoot(path);
+        if (repositoryRoot != null) {
+            states.keySet().removeIf(folder -> folder.equals(repositoryRoot) || folder.isChild(repositoryRoot));
+        }
+    }
+
+    private GitState getState(FolderEntry folder) {
+        // state is removed from map on invalidation, so value which is being loaded concurrently isn't kept
+        return states.computeIfAbsent(folder.getPath(), path -> new GitState());
+    }
+
+    private String resolveLocalPath(FolderEntry folder) throws ApiException {
+        return folder.getVirtualFile().toIoFile().getAbsolutePath();
+    }
+
+    /**
+     * Reads name of current branch from HEAD of repository which contains specified directory.
+     *
+     * @return name of branch or {@code null} if HEAD is detached or repository can't be read directly
+     */
+    static String readBranchName(File directory) {
+        for (File dir = directory; dir != null; dir = dir.getParentFile()) {
+            final File gitDir = new File(dir, DOT_GIT);
+            if (gitDir.exists()) {
+                final File head = new File(gitDir, "HEAD");
+                if (!gitDir.isDirectory() || !head.isFile()) {
+                    return null;
+                }
+                try {
+                    final String ref = new String(Files.readAllBytes(head.toPath()), StandardCharsets.UTF_8).trim();
+                    if (ref.startsWith(HEAD_REF + BRANCH_REF)) {
+                        return ref.substring(HEAD_REF.length() + BRANCH_REF.length());
+                    }
+                } catch (IOException ignored) {
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /** Accepts {@code .git} directories and files inside them which define current branch and remotes. */
+    static boolean isGitStateFile(VirtualFile file) {
+        final Path path = file.getPath();
+        final int dotGit = indexOfDotGit(path);
+        if (dotGit < 0) {
+            return false;
+        }
+        if (dotGit == path.length() - 1) {
+            return true;
+        }
+        switch (path.element(dotGit + 1)) {
+            case "HEAD":
+            case "refs":
+            case "packed-refs":
+            case "config":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static Path getRepositoryRoot(Path path) {
+        final int dotGit = indexOfDotGit(path);
+        if (dotGit < 0) {
+            return null;
+        }
+        return dotGit == 0 ? Path.ROOT : path.subPath(0, dotGit);
+    }
+
+    private static int indexOfDotGit(Path path) {
+        for (int i = 0, length = path.length(); i < length; i++) {
+            if (DOT_GIT.equals(path.element(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static class GitState {
+        volatile Boolean      insideWorkTree;
+        volatile String       branch;
+        volatile List<String> remoteUrls;
+    }
+}
@@ -0,0 +1,396 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.project.server.ProjectDeletedEvent;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.DELETED;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Keeps last computed status of working tree of projects which are roots of git repositories.
+ * <p/>
+ * Paths which are modified through project API or reported by file watcher are marked as dirty and next request recomputes
+ * status only for them. Status of whole working tree is computed again if there are too many dirty paths, if anything in
+ * {@code .git} directory except objects and logs is changed, e.g. git command is run from terminal, or if {@code .gitignore}
+ * is changed. Concurrent requests share one computation if nothing is changed after it is started.
+ * Cached status is dropped when project or any of its parents is deleted, moved or renamed.
+ * <p/>
+ * Git commands which may change status are reported with {@link #operationStarted(String)} and
+ * {@link #operationFinished(String)}. Status computed while such command is running isn't reused, the whole working tree is
+ * scanned again after command is finished without waiting for events of file watcher.
+ */
+@Singleton
+public class GitStatusCache {
+    static final int MAX_DIRTY_PATHS = 256;
+
+    private static final String DOT_GIT    = ".git";
+    private static final String GIT_IGNORE = ".gitignore";
+
+    private final GitConnectionFactory                gitConnectionFactory;
+    private final ConcurrentMap<String, StatusEntry> entries;
+    /** Number of running git commands which may change status, by project path. */
+    private final ConcurrentMap<String, Integer>     runningOperations;
+
+    @Inject
+    public GitStatusCache(GitConnectionFactory gitConnectionFactory,
+                          FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                          EventService eventService) {
+        this.gitConnectionFactory = gitConnectionFactory;
+        this.entries = new ConcurrentHashMap<>();
+        this.runningOperations = new ConcurrentHashMap<>();
+        fileWatcherNotificationHandler.addNotificationListener(new FileWatcherNotificationListener(VirtualFileFilter.ACCEPT_ALL) {
+            @Override
+            public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                if (eventType == FileWatcherEventType.DELETED) {
+                    evict(virtualFile.getPath().toString());
+                }
+                pathChanged(virtualFile.getPath().toString());
+            }
+        });
+        // project API publishes events before response is sent, so status requested after saving of file is never stale
+        eventService.subscribe(new EventSubscriber<ProjectItemModifiedEvent>() {
+            @Override
+            public void onEvent(ProjectItemModifiedEvent event) {
+                if (event.getType() == DELETED) {
+                    evict(event.getPath());
+                }
+                pathChanged(event.getPath());
+                if (event.getOldPath() != null) {
+                    // project folder or its parent is moved or renamed
+                    evict(event.getOldPath());
+                    pathChanged(event.getOldPath());
+                }
+            }
+        });
+        eventService.subscribe(new EventSubscriber<ProjectDeletedEvent>() {
+            @Override
+            public void onEvent(ProjectDeletedEvent event) {
+                evict(event.getProjectPath());
+            }
+        });
+    }
+
+    /**
+     * Gets status of working tree of project.
+     *
+     * @param projectPath
+     *         path of project in workspace
+     * @param workDir
+     *         absolute path of project on file system
+     * @param format
+     *         the format of the output
+     */
+    public Status getStatus(String projectPath, String workDir, StatusFormat format) throws ApiException {
+        if (!new File(workDir, DOT_GIT).isDirectory()) {
+            // project is not a root of repository, paths in status are not relative to project
+            try (GitConnection gitConnection = gitConnectionFactory.getConnection(workDir)) {
+                return gitConnection.status(format);
+            }
+        }
+        final StatusEntry entry = entries.computeIfAbsent(projectPath, path -> new StatusEntry(projectPath, workDir));
+        while (true) {
+            final CompletableFuture<Status> computation;
+            boolean reusable = false;
+            boolean owner = false;
+            boolean fullScan = false;
+            Status previous = null;
+            Set<String> dirtyPaths = null;
+            synchronized (entry) {
+                if (entry.computation != null) {
+                    computation = entry.computation;
+                    reusable = !entry.isDirty();
+                } else if (entry.status != null && !entry.isDirty()) {
+                    return copy(entry.status, format);
+                } else {
+                    computation = entry.computation = new CompletableFuture<>();
+                    owner = true;
+                    previous = entry.status;
+                    fullScan = previous == null || entry.fullScan || entry.dirtyPaths.size() > MAX_DIRTY_PATHS;
+                    dirtyPaths = entry.dirtyPaths;
+                    entry.dirtyPaths = new HashSet<>();
+                    // status computed while git command is running may be outdated when command is finished
+                    entry.fullScan = runningOperations.containsKey(projectPath);
+                }
+            }
+            if (owner) {
+                compute(entry, computation, previous, fullScan, dirtyPaths);
+            }
+            final Status status = getResult(computation);
+            if (owner || reusable) {
+                return copy(status, format);
+            }
+            // paths were changed after computation had been started, so its result may be stale
+        }
+    }
+
+    /** Drops cached status of project, status of whole working tree is computed on next request. */
+    public void invalidate(String projectPath) {
+        final StatusEntry entry = entries.get(projectPath);
+        if (entry != null) {
+            synchronized (entry) {
+                entry.fullScan = true;
+            }
+        }
+    }
+
+    /** Notifies that git command which may change status of project is started. */
+    public void operationStarted(String projectPath) {
+        runningOperations.merge(projectPath, 1, Integer::sum);
+        invalidate(projectPath);
+    }
+
+    /** Notifies that git command which may change status of project is finished, status is computed again on next request. */
+    public void operationFinished(String projectPath) {
+        runningOperations.computeIfPresent(projectPath, (path, count) -> count == 1 ? null : count - 1);
+        invalidate(projectPath);
+    }
+
+    /** Removes cached statuses of projects which are on or under the given path. */
+    private void evict(String path) {
+        entries.keySet().removeIf(projectPath -> projectPath.equals(path) || projectPath.startsWith(path + '/'));
+    }
+
+    private void compute(StatusEntry entry,
+                         CompletableFuture<Status> computation,
+                         Status previous,
+                         boolean fullScan,
+                         Set<String> dirtyPaths) {
+        final Status status;
+        try {
+            status = fullScan ? computeFull(entry.workDir) : computeDirty(entry.workDir, previous, dirtyPaths);
+        } catch (ApiException | RuntimeException e) {
+            synchronized (entry) {
+                entry.fullScan = true;
+                entry.computation = null;
+            }
+            computation.completeExceptionally(e);
+            return;
+        }
+        final IndexStamp indexStamp = IndexStamp.of(entry.workDir);
+        synchronized (entry) {
+            entry.status = status;
+            entry.indexStamp = indexStamp;
+            entry.computation = null;
+        }
+        computation.complete(status);
+    }
+
+    private Status computeFull(String workDir) throws ApiException {
+        try (GitConnection gitConnection = gitConnectionFactory.getConnection(workDir)) {
+            return copy(gitConnection.status(StatusFormat.PORCELAIN), StatusFormat.PORCELAIN);
+        }
+    }
+
+    private Status computeDirty(String workDir, Status previous, Set<String> dirtyPaths) throws ApiException {
+        // untracked or removed folder may be reported instead of its files, so it is recomputed as whole
+        final Set<String> paths = new HashSet<>(dirtyPaths);
+        for (List<String> files : getFileLists(previous)) {
+            for (String file : files) {
+                if (dirtyPaths.stream().anyMatch(path -> isParent(file, path))) {
+                    paths.add(file);
+                }
+            }
+        }
+        final Status fresh;
+        try (GitConnection gitConnection = gitConnectionFactory.getConnection(workDir)) {
+            fresh = gitConnection.status(StatusFormat.PORCELAIN, new ArrayList<>(paths));
+        }
+        final Predicate<String> affected = file -> paths.stream().anyMatch(path -> file.equals(path)
+                                                                                    || isParent(path, file)
+                                                                                    || isParent(file, path));
+        final Status merged = newDto(Status.class);
+        merged.setFormat(StatusFormat.PORCELAIN);
+        merged.setBranchName(fresh.getBranchName());
+        merged.setRepositoryState(fresh.getRepositoryState());
+        merged.setAdded(merge(previous.getAdded(), fresh.getAdded(), affected));
+        merged.setChanged(merge(previous.getChanged(), fresh.getChanged(), affected));
+        merged.setRemoved(merge(previous.getRemoved(), fresh.getRemoved(), affected));
+        merged.setMissing(merge(previous.getMissing(), fresh.getMissing(), affected));
+        merged.setModified(merge(previous.getModified(), fresh.getModified(), affected));
+        merged.setUntracked(merge(previous.getUntracked(), fresh.getUntracked(), affected));
+        merged.setUntrackedFolders(merge(previous.getUntrackedFolders(), fresh.getUntrackedFolders(), affected));
+        merged.setConflicting(merge(previous.getConflicting(), fresh.getConflicting(), affected));
+        merged.setClean(getFileLists(merged).stream().allMatch(List::isEmpty));
+        return merged;
+    }
+
+    private void pathChanged(String path) {
+        for (StatusEntry entry : entries.values()) {
+            final String projectPath = entry.projectPath;
+            if (!path.startsWith(projectPath + '/')) {
+                continue;
+            }
+            final String relativePath = path.substring(projectPath.length() + 1);
+            synchronized (entry) {
+                if (relativePath.equals(DOT_GIT) || relativePath.startsWith(DOT_GIT + '/')) {
+                    if (isGitMetadataChange(entry, relativePath)) {
+                        entry.fullScan = true;
+                    }
+                } else if (relativePath.equals(GIT_IGNORE) || relativePath.endsWith('/' + GIT_IGNORE)) {
+                    entry.fullScan = true;
+                } else if (!entry.fullScan && entry.dirtyPaths.size() <= MAX_DIRTY_PATHS) {
+                    entry.dirtyPaths.add(relativePath);
+                }
+            }
+        }
+    }
+
+    /** Must be called with lock on entry. */
+    private static boolean isGitMetadataChange(StatusEntry entry, String relativePath) {
+        if (relativePath.startsWith(DOT_GIT + "/objects/") || relativePath.startsWith(DOT_GIT + "/logs/")
+            || relativePath.endsWith(".lock")) {
+            return false;
+        }
+        if (relativePath.equals(DOT_GIT + "/index")) {
+            // git may refresh index while computing status, such changes don't affect status
+            return !IndexStamp.of(entry.workDir).equals(entry.indexStamp);
+        }
+        return true;
+    }
+
+    private static List<String> merge(List<String> previous, List<String> fresh, Predicate<String> affected) {
+        final List<String> merged = previous.stream().filter(affected.negate()).collect(Collectors.toList());
+        fresh.stream().filter(affected).filter(file -> !merged.contains(file)).forEach(merged::add);
+        return merged;
+    }
+
+    private static List<List<String>> getFileLists(Status status) {
+        final List<List<String>> lists = new ArrayList<>();
+        lists.add(status.getAdded());
+        lists.add(status.getChanged());
+        lists.add(status.getRemoved());
+        lists.add(status.getMissing());
+        lists.add(status.getModified());
+        lists.add(status.getUntracked());
+        lists.add(status.getUntrackedFolders());
+        lists.add(status.getConflicting());
+        return lists;
+    }
+
+    private static boolean isParent(String parent, String path) {
+        return path.length() > parent.length() && path.startsWith(parent) && path.charAt(parent.length()) == '/';
+    }
+
+    private static Status copy(Status status, StatusFormat format) {
+        final Status copy = newDto(Status.class);
+        copy.setFormat(format);
+        copy.setClean(status.isClean());
+        copy.setBranchName(status.getBranchName());
+        copy.setRepositoryState(status.getRepositoryState());
+        copy.setAdded(copyList(status.getAdded()));
+        copy.setChanged(copyList(status.getChanged()));
+        copy.setRemoved(copyList(status.getRemoved()));
+        copy.setMissing(copyList(status.getMissing()));
+        copy.setModified(copyList(status.getModified()));
+        copy.setUntracked(copyList(status.getUntracked()));
+        copy.setUntrackedFolders(copyList(status.getUntrackedFolders()));
+        copy.setConflicting(copyList(status.getConflicting()));
+        return copy;
+    }
+
+    private static List<String> copyList(List<String> list) {
+        return list == null ? new ArrayList<>() : new ArrayList<>(list);
+    }
+
+    private static Status getResult(CompletableFuture<Status> computation) throws ApiException {
+        try {
+            return computation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GitException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ApiException) {
+                throw (ApiException)cause;
+            }
+            throw new GitException(cause.getMessage(), cause);
+        }
+    }
+
+    /** Modification time and size of git index. */
+    private static final class IndexStamp {
+        final long lastModified;
+        final long length;
+
+        IndexStamp(long lastModified, long length) {
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        static IndexStamp of(String workDir) {
+            final File index = new File(workDir, DOT_GIT + "/index");
+            return new IndexStamp(index.lastModified(), index.length());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof IndexStamp)) {
+                return false;
+            }
+            final IndexStamp other = (IndexStamp)obj;
+            return lastModified == other.lastModified && length == other.length;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(lastModified) + Long.hashCode(length);
+        }
+    }
+
+    private static final class StatusEntry {
+        final String workDir;
+        final String projectPath;
+
+        Status                    status;
+        Set<String>               dirtyPaths = new HashSet<>();
+        boolean                   fullScan;
+        IndexStamp                indexStamp;
+        CompletableFuture<Status> computation;
+
+        StatusEntry(String projectPath, String workDir) {
+            this.projectPath = projectPath;
+            this.workDir = workDir;
+        }
+
+        boolean isDirty() {
+            return fullScan || !dirtyPaths.isEmpty();
+        }
+    }
+}
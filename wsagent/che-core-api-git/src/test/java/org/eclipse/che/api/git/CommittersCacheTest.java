@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.git.shared.GitUser;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link CommittersCache}.
+ */
+public class CommittersCacheTest {
+    private static final GitUser ALICE = newDto(GitUser.class).withName("Alice Smith").withEmail("alice@example.com");
+    private static final GitUser BOB   = newDto(GitUser.class).withName("Bob").withEmail("bob@example.com");
+
+    private File                    gitDir;
+    private CommittersCache.History history;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        gitDir = Files.createTempDirectory("git-dir").toFile();
+        history = mock(CommittersCache.History.class);
+        when(history.getCommitters("c1", null)).thenReturn(Arrays.asList(ALICE, ALICE));
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Files.walk(gitDir.toPath()).sorted((a, b) -> b.compareTo(a)).map(java.nio.file.Path::toFile).forEach(File::delete);
+    }
+
+    @Test
+    public void readsOnlyNewCommitsWhenHeadMovesForward() throws Exception {
+        new CommittersCache(gitDir).getCommitters("c1", history);
+        when(history.isAncestor("c1", "c2")).thenReturn(true);
+        when(history.getCommitters("c2", "c1")).thenReturn(Collections.singletonList(BOB));
+
+        assertEquals(new CommittersCache(gitDir).getCommitters("c2", history), Arrays.asList(BOB, ALICE));
+        verify(history, never()).getCommitters("c2", null);
+    }
+
+    @Test
+    public void readsFullHistoryWhenHeadIsMovedToOtherBranch() throws Exception {
+        CommittersCache cache = new CommittersCache(gitDir);
+        cache.getCommitters("c1", history);
+        when(history.isAncestor("c1", "c2")).thenReturn(false);
+        when(history.getCommitters("c2", null)).thenReturn(Collections.singletonList(BOB));
+
+        assertEquals(cache.getCommitters("c2", history), Collections.singletonList(BOB));
+    }
+
+    @Test
+    public void sharesCommittersWithOtherInstancesForTheSameRepository() throws Exception {
+        new CommittersCache(gitDir).getCommitters("c1", history);
+        CommittersCache.History otherHistory = mock(CommittersCache.History.class);
+
+        assertEquals(new CommittersCache(gitDir).getCommitters("c1", otherHistory), Collections.singletonList(ALICE));
+        verify(otherHistory, never()).getCommitters(anyString(), anyString());
+    }
+}
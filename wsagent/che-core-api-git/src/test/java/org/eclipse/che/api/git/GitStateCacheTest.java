@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.shared.Remote;
+import org.eclipse.che.api.git.shared.RemoteListRequest;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link GitStateCache}.
+ */
+public class GitStateCacheTest {
+    private File                            workDir;
+    private GitConnectionFactory            gitConnectionFactory;
+    private GitConnection                   gitConnection;
+    private FileWatcherNotificationListener listener;
+    private GitStateCache                   cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("git-state").toFile();
+        Files.createDirectories(workDir.toPath().resolve(".git/refs/heads"));
+        writeHead("ref: refs/heads/feature/cache\n");
+
+        gitConnection = mock(GitConnection.class);
+        gitConnectionFactory = mock(GitConnectionFactory.class);
+        when(gitConnectionFactory.getConnection(any(File.class), any(LineConsumerFactory.class))).thenReturn(gitConnection);
+        when(gitConnection.isInsideWorkTree()).thenReturn(true);
+        final Remote origin = mock(Remote.class);
+        when(origin.getUrl()).thenReturn("https://github.com/eclipse/che.git");
+        when(gitConnection.remoteList(any(RemoteListRequest.class))).thenReturn(Collections.singletonList(origin));
+
+        final FileWatcherNotificationHandler notificationHandler = mock(FileWatcherNotificationHandler.class);
+        cache = new GitStateCache(gitConnectionFactory, notificationHandler);
+        final ArgumentCaptor<FileWatcherNotificationListener> captor = ArgumentCaptor.forClass(FileWatcherNotificationListener.class);
+        verify(notificationHandler).addNotificationListener(captor.capture());
+        listener = captor.getValue();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Files.walk(workDir.toPath()).sorted((a, b) -> b.compareTo(a)).map(java.nio.file.Path::toFile).forEach(File::delete);
+    }
+
+    @Test
+    public void shouldReadBranchFromHeadWithoutOpeningConnection() throws Exception {
+        assertEquals(cache.getCurrentBranch(folder("/project", workDir)), "feature/cache");
+
+        verify(gitConnectionFactory, never()).getConnection(any(File.class), any(LineConsumerFactory.class));
+    }
+
+    @Test
+    public void shouldUseConnectionWhenHeadIsDetached() throws Exception {
+        writeHead("0123456789abcdef0123456789abcdef01234567\n");
+        final Status status = mock(Status.class);
+        when(status.getBranchName()).thenReturn("(detached from 0123456)");
+        when(gitConnection.status(StatusFormat.LONG)).thenReturn(status);
+
+        assertEquals(cache.getCurrentBranch(folder("/project", workDir)), "(detached from 0123456)");
+    }
+
+    @Test
+    public void shouldKeepStateUntilGitFilesAreChanged() throws Exception {
+        final FolderEntry project = folder("/project", workDir);
+        final File src = new File(workDir, "src");
+        assertTrue(src.mkdir());
+        final FolderEntry folder = folder("/project/src", src);
+
+        assertTrue(cache.isInsideWorkTree(folder));
+        assertEquals(cache.getRemoteUrls(project), Collections.singletonList("https://github.com/eclipse/che.git"));
+        assertEquals(cache.getRemoteUrls(project), Collections.singletonList("https://github.com/eclipse/che.git"));
+        assertEquals(cache.getCurrentBranch(folder), "feature/cache");
+        verify(gitConnection).remoteList(any(RemoteListRequest.class));
+
+        writeHead("ref: refs/heads/master\n");
+        assertEquals(cache.getCurrentBranch(folder), "feature/cache");
+
+        fireEvent("/project/.git/HEAD", FileWatcherEventType.MODIFIED);
+
+        assertEquals(cache.getCurrentBranch(folder), "master");
+        assertTrue(cache.isInsideWorkTree(folder));
+        assertEquals(cache.getRemoteUrls(project), Collections.singletonList("https://github.com/eclipse/che.git"));
+        verify(gitConnection, times(2)).isInsideWorkTree();
+        verify(gitConnection, times(2)).remoteList(any(RemoteListRequest.class));
+    }
+
+    @Test
+    public void shouldNotInvalidateStateOfOtherRepositories() throws Exception {
+        final FolderEntry project = folder("/project", workDir);
+        cache.getRemoteUrls(project);
+
+        fireEvent("/project2/.git/config", FileWatcherEventType.MODIFIED);
+        cache.getRemoteUrls(project);
+
+        verify(gitConnection).remoteList(any(RemoteListRequest.class));
+    }
+
+    @DataProvider(name = "gitStateFiles")
+    public Object[][] gitStateFiles() {
+        return new Object[][]{{"/project/.git", true},
+                              {"/project/.git/HEAD", true},
+                              {"/project/.git/config", true},
+                              {"/project/.git/packed-refs", true},
+                              {"/project/.git/refs/heads/master", true},
+                              {"/project/.git/objects/ab/cdef", false},
+                              {"/project/.git/index", false},
+                              {"/project/src/HEAD", false},
+                              {"/project/.gitignore", false}};
+    }
+
+    @Test(dataProvider = "gitStateFiles")
+    public void shouldAcceptOnlyFilesWhichDefineGitState(String path, boolean accepted) throws Exception {
+        assertEquals(listener.shouldBeNotifiedFor(virtualFile(path)), accepted);
+    }
+
+    private void fireEvent(String path, FileWatcherEventType type) {
+        final VirtualFile file = virtualFile(path);
+        if (listener.shouldBeNotifiedFor(file)) {
+            listener.onFileWatcherEvent(file, type);
+        }
+    }
+
+    private void writeHead(String content) throws Exception {
+        Files.write(workDir.toPath().resolve(".git/HEAD"), content.getBytes());
+    }
+
+    private static VirtualFile virtualFile(String path) {
+        final VirtualFile file = mock(VirtualFile.class);
+        when(file.getPath()).thenReturn(Path.of(path));
+        return file;
+    }
+
+    private static FolderEntry folder(String path, File ioFile) {
+        final VirtualFile virtualFile = virtualFile(path);
+        when(virtualFile.toIoFile()).thenReturn(ioFile);
+        final FolderEntry folder = mock(FolderEntry.class);
+        when(folder.getPath()).thenReturn(Path.of(path));
+        when(folder.getVirtualFile()).thenReturn(virtualFile);
+        return folder;
+    }
+}
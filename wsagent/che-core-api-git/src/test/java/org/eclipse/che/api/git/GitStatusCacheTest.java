@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.project.server.ProjectDeletedEvent;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.RENAMED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.UPDATED;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link GitStatusCache}.
+ */
+public class GitStatusCacheTest {
+    private File                            workDir;
+    private GitConnection                   gitConnection;
+    private FileWatcherNotificationListener watcherListener;
+    private EventService                    eventService;
+    private GitStatusCache                  cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("git-status").toFile();
+        Files.createDirectories(workDir.toPath().resolve(".git"));
+
+        gitConnection = mock(GitConnection.class);
+        final GitConnectionFactory gitConnectionFactory = mock(GitConnectionFactory.class);
+        when(gitConnectionFactory.getConnection(any(File.class), any(LineConsumerFactory.class))).thenReturn(gitConnection);
+        final Status status = status("master", Arrays.asList("a.txt", "src/b.txt"));
+        when(gitConnection.status(any(StatusFormat.class))).thenReturn(status);
+
+        final FileWatcherNotificationHandler notificationHandler = mock(FileWatcherNotificationHandler.class);
+        eventService = new EventService();
+        cache = new GitStatusCache(gitConnectionFactory, notificationHandler, eventService);
+        final ArgumentCaptor<FileWatcherNotificationListener> captor = ArgumentCaptor.forClass(FileWatcherNotificationListener.class);
+        verify(notificationHandler).addNotificationListener(captor.capture());
+        watcherListener = captor.getValue();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Files.walk(workDir.toPath()).sorted((a, b) -> b.compareTo(a)).map(java.nio.file.Path::toFile).forEach(File::delete);
+    }
+
+    @Test
+    public void shouldReuseStatusWhileNothingIsChanged() throws Exception {
+        final Status first = cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+        final Status second = cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.SHORT);
+
+        assertEquals(second.getModified(), Arrays.asList("a.txt", "src/b.txt"));
+        assertEquals(second.getFormat(), StatusFormat.SHORT);
+        assertEquals(first.getModified(), second.getModified());
+        verify(gitConnection).status(any(StatusFormat.class));
+    }
+
+    @Test
+    public void shouldRecomputeStatusOfChangedFilesOnly() throws Exception {
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+        final Status fresh = status("master", Collections.emptyList());
+        when(gitConnection.status(any(StatusFormat.class), anyListOf(String.class))).thenReturn(fresh);
+
+        eventService.publish(new ProjectItemModifiedEvent(UPDATED, "workspace", "/project", "/project/src/b.txt", false));
+        final Status status = cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        assertEquals(status.getModified(), Collections.singletonList("a.txt"));
+        assertFalse(status.isClean());
+        verify(gitConnection).status(any(StatusFormat.class));
+        verify(gitConnection).status(any(StatusFormat.class), eq(Collections.singletonList("src/b.txt")));
+    }
+
+    @Test
+    public void shouldRecomputeWholeStatusWhenRepositoryIsChanged() throws Exception {
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        fireWatcherEvent("/project/.git/objects/ab/cdef");
+        fireWatcherEvent("/project/.git/index.lock");
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+        fireWatcherEvent("/project/.git/HEAD");
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        verify(gitConnection, times(2)).status(any(StatusFormat.class));
+        verify(gitConnection, never()).status(any(StatusFormat.class), anyListOf(String.class));
+    }
+
+    @Test
+    public void shouldIgnoreIndexRefreshedByStatus() throws Exception {
+        Files.write(workDir.toPath().resolve(".git/index"), "index".getBytes());
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        fireWatcherEvent("/project/.git/index");
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+        Files.write(workDir.toPath().resolve(".git/index"), "updated index".getBytes());
+        fireWatcherEvent("/project/.git/index");
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        verify(gitConnection, times(2)).status(any(StatusFormat.class));
+    }
+
+    @Test
+    public void shouldRecomputeUntrackedFolderAsWhole() throws Exception {
+        final Status withFolder = status("master", Collections.emptyList());
+        when(withFolder.getUntrackedFolders()).thenReturn(Collections.singletonList("tmp"));
+        when(gitConnection.status(any(StatusFormat.class))).thenReturn(withFolder);
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+        final Status fresh = status("master", Collections.emptyList());
+        when(gitConnection.status(any(StatusFormat.class), anyListOf(String.class))).thenReturn(fresh);
+
+        fireWatcherEvent("/project/tmp/file.txt");
+        final Status status = cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        assertTrue(status.getUntrackedFolders().isEmpty());
+        assertTrue(status.isClean());
+        final ArgumentCaptor<List> paths = ArgumentCaptor.forClass(List.class);
+        verify(gitConnection).status(any(StatusFormat.class), paths.capture());
+        assertEquals(paths.getValue().size(), 2);
+        assertTrue(paths.getValue().containsAll(Arrays.asList("tmp", "tmp/file.txt")));
+    }
+
+    @Test
+    public void shouldShareComputationBetweenConcurrentRequests() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Status clean = status("master", Collections.emptyList());
+        when(gitConnection.status(any(StatusFormat.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return clean;
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Status> first = executor.submit(() -> cache.getStatus("/project", workDir.getAbsolutePath(),
+                                                                                StatusFormat.PORCELAIN));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            final Future<Status> second = executor.submit(() -> cache.getStatus("/project", workDir.getAbsolutePath(),
+                                                                                 StatusFormat.PORCELAIN));
+            release.countDown();
+
+            assertTrue(first.get(10, TimeUnit.SECONDS).isClean());
+            assertTrue(second.get(10, TimeUnit.SECONDS).isClean());
+            verify(gitConnection).status(any(StatusFormat.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldRecomputeStatusRequestedWhileGitCommandIsRunning() throws Exception {
+        final Status committed = status("master", Collections.emptyList());
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        cache.operationStarted("/project");
+        final Status duringCommit = cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+        when(gitConnection.status(any(StatusFormat.class))).thenReturn(committed);
+        cache.operationFinished("/project");
+        final Status afterCommit = cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        assertFalse(duringCommit.isClean());
+        assertTrue(afterCommit.isClean());
+        verify(gitConnection, times(3)).status(any(StatusFormat.class));
+    }
+
+    @Test
+    public void shouldDropStatusOfDeletedProject() throws Exception {
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        eventService.publish(new ProjectDeletedEvent("/project"));
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        verify(gitConnection, times(2)).status(any(StatusFormat.class));
+    }
+
+    @Test
+    public void shouldDropStatusOfProjectWhenItsFolderIsDeleted() throws Exception {
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        fireWatcherEvent("/project", FileWatcherEventType.DELETED);
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        verify(gitConnection, times(2)).status(any(StatusFormat.class));
+    }
+
+    @Test
+    public void shouldDropStatusOfRenamedProject() throws Exception {
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        eventService.publish(new ProjectItemModifiedEvent(RENAMED, "workspace", "/renamed", "/renamed", true, "/project"));
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        verify(gitConnection, times(2)).status(any(StatusFormat.class));
+    }
+
+    @Test
+    public void shouldKeepStatusOfOtherProjects() throws Exception {
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        eventService.publish(new ProjectDeletedEvent("/project2"));
+        cache.getStatus("/project", workDir.getAbsolutePath(), StatusFormat.PORCELAIN);
+
+        verify(gitConnection).status(any(StatusFormat.class));
+    }
+
+    private void fireWatcherEvent(String path) {
+        fireWatcherEvent(path, FileWatcherEventType.MODIFIED);
+    }
+
+    private void fireWatcherEvent(String path, FileWatcherEventType eventType) {
+        final VirtualFile file = mock(VirtualFile.class);
+        when(file.getPath()).thenReturn(Path.of(path));
+        watcherListener.onFileWatcherEvent(file, eventType);
+    }
+
+    private static Status status(String branch, List<String> modified) {
+        final Status status = mock(Status.class);
+        when(status.getBranchName()).thenReturn(branch);
+        when(status.isClean()).thenReturn(modified.isEmpty());
+        when(status.getModified()).thenReturn(new ArrayList<>(modified));
+        return status;
+    }
+}
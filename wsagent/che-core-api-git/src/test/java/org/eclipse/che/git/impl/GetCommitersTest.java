@@ -67,4 +67,29 @@ public class GetCommitersTest {
         assertEquals(committers.size(), 1);
         assertEquals(committers.get(0), getTestGitUser());
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = org.eclipse.che.git.impl.GitConnectionFactoryProvider.class)
+    public void testGetUniqueCommittersWhenHistoryGrows(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+
+        //given
+        addFile(connection, "newfile", "newfile content");
+        connection.add(newDto(AddRequest.class).withFilepattern(Arrays.asList(".")));
+        connection.commit(newDto(CommitRequest.class).withMessage("first commit"));
+        addFile(connection, "newfile", "changed content");
+        connection.add(newDto(AddRequest.class).withFilepattern(Arrays.asList(".")));
+        connection.commit(newDto(CommitRequest.class).withMessage("second commit"));
+        assertEquals(connection.getCommiters().size(), 1);
+
+        addFile(connection, "otherfile", "otherfile content");
+        connection.add(newDto(AddRequest.class).withFilepattern(Arrays.asList(".")));
+        connection.commit(newDto(CommitRequest.class).withMessage("third commit"));
+
+        //when
+        List<GitUser> committers = connectionFactory.getConnection(repository).getCommiters();
+
+        //then
+        assertEquals(committers.size(), 1);
+        assertEquals(committers.get(0), getTestGitUser());
+    }
 }
@@ -114,4 +114,59 @@ public class LogTest {
         assertEquals(1, newFileCommitCount);
         assertEquals(4, allFilesCommitCount);
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogPage(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        for (int i = 1; i <= 5; i++) {
+            addFile(connection, "README.txt", "changes " + i);
+            connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of("README.txt")));
+            connection.commit(newDto(CommitRequest.class).withMessage("Commit " + i));
+        }
+
+        //when
+        List<Revision> firstPage = connection.log(newDto(LogRequest.class).withMaxCount(2)).getCommits();
+        List<Revision> secondPage = connection.log(newDto(LogRequest.class).withSkip(2).withMaxCount(2)).getCommits();
+        List<Revision> lastPage = connection.log(newDto(LogRequest.class).withSkip(4).withMaxCount(2)).getCommits();
+
+        //then
+        assertEquals(firstPage.size(), 2);
+        assertEquals(firstPage.get(0).getMessage(), "Commit 5");
+        assertEquals(firstPage.get(1).getMessage(), "Commit 4");
+        assertEquals(secondPage.size(), 2);
+        assertEquals(secondPage.get(0).getMessage(), "Commit 3");
+        assertEquals(secondPage.get(1).getMessage(), "Commit 2");
+        assertEquals(lastPage.size(), 1);
+        assertEquals(lastPage.get(0).getMessage(), "Commit 1");
+    }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogPageAfterCommit(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        for (int i = 1; i <= 4; i++) {
+            addFile(connection, "README.txt", "changes " + i);
+            connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of("README.txt")));
+            connection.commit(newDto(CommitRequest.class).withMessage("Commit " + i));
+        }
+        List<Revision> firstPage = connection.log(newDto(LogRequest.class).withMaxCount(2)).getCommits();
+        addFile(connection, "README.txt", "changes 5");
+        connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of("README.txt")));
+        connection.commit(newDto(CommitRequest.class).withMessage("Commit 5"));
+
+        //when
+        List<Revision> secondPage = connection.log(newDto(LogRequest.class).withAfterCommit(firstPage.get(1).getId())
+                                                                           .withMaxCount(2)).getCommits();
+        List<Revision> skippedPage = connection.log(newDto(LogRequest.class).withAfterCommit(firstPage.get(0).getId())
+                                                                            .withSkip(2)
+                                                                            .withMaxCount(2)).getCommits();
+
+        //then
+        assertEquals(secondPage.size(), 2);
+        assertEquals(secondPage.get(0).getMessage(), "Commit 2");
+        assertEquals(secondPage.get(1).getMessage(), "Commit 1");
+        assertEquals(skippedPage.size(), 1);
+        assertEquals(skippedPage.get(0).getMessage(), "Commit 1");
+    }
 }
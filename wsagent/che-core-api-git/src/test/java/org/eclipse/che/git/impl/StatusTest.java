@@ -137,6 +137,31 @@ public class StatusTest {
         assertTrue(status.getUntrackedFolders().isEmpty());
     }
 
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = org.eclipse.che.git.impl.GitConnectionFactoryProvider.class)
+    public void testStatusOfSpecifiedPaths(GitConnectionFactory connectionFactory) throws Exception {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "a", "a content");
+        addFile(connection, "b", "b content");
+        connection.add(newDto(AddRequest.class).withFilepattern(asList("a", "b")));
+        connection.commit(newDto(CommitRequest.class).withMessage("add 2 test files"));
+        //modify "a" and "b", create "c" and untracked folder
+        addFile(connection, "a", "new content of a");
+        addFile(connection, "b", "new content of b");
+        addFile(connection, "c", "c content");
+        addFile(connection.getWorkingDir().toPath().resolve("new_directory"), "d", "d content");
+        //when
+        final Status status = connection.status(StatusFormat.SHORT, asList("a", "c", "new_directory"));
+        //then
+        assertEquals(status.getModified(), asList("a"));
+        assertTrue(status.getUntracked().contains("c"));
+        assertEquals(status.getUntrackedFolders(), asList("new_directory"));
+        assertTrue(status.getAdded().isEmpty());
+        assertTrue(status.getChanged().isEmpty());
+        assertTrue(status.getMissing().isEmpty());
+        assertTrue(status.getRemoved().isEmpty());
+    }
+
     @Test(dataProvider = "GitConnectionFactory", dataProviderClass = org.eclipse.che.git.impl.GitConnectionFactoryProvider.class)
     public void testChanged(GitConnectionFactory connectionFactory) throws Exception {
         //given
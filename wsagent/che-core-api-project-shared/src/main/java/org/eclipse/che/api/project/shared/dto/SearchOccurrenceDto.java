@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Position of text that matches the search criteria in file.
+ */
+@DTO
+public interface SearchOccurrenceDto {
+    /** Number of line that contains matched text, starting from 1. */
+    int getLineNumber();
+
+    void setLineNumber(int lineNumber);
+
+    SearchOccurrenceDto withLineNumber(int lineNumber);
+
+    /** Position of first character of matched text in line, starting from 0. */
+    int getStartColumn();
+
+    void setStartColumn(int startColumn);
+
+    SearchOccurrenceDto withStartColumn(int startColumn);
+
+    /** Position next after last character of matched text in line. */
+    int getEndColumn();
+
+    void setEndColumn(int endColumn);
+
+    SearchOccurrenceDto withEndColumn(int endColumn);
+
+    /** Position of first character of matched text in file, starting from 0. */
+    int getStartOffset();
+
+    void setStartOffset(int startOffset);
+
+    SearchOccurrenceDto withStartOffset(int startOffset);
+
+    /** Position next after last character of matched text in file. */
+    int getEndOffset();
+
+    void setEndOffset(int endOffset);
+
+    SearchOccurrenceDto withEndOffset(int endOffset);
+
+    /** Content of line that contains matched text, content of very long line is truncated around matched text. */
+    String getLineContent();
+
+    void setLineContent(String lineContent);
+
+    SearchOccurrenceDto withLineContent(String lineContent);
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto.event;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Progress of indexing of files for search. Number of files to index isn't known until whole tree is traversed, so
+ * percentage of indexed files is final only when {@link #isDiscoveryCompleted()} returns {@code true}.
+ */
+@EventOrigin("vfs")
+@DTO
+public interface IndexingProgressEvent {
+
+    /** Number of files found and queued for indexing. */
+    int getDiscoveredFiles();
+
+    IndexingProgressEvent withDiscoveredFiles(int discoveredFiles);
+
+
+    /** Number of already indexed files. */
+    int getIndexedFiles();
+
+    IndexingProgressEvent withIndexedFiles(int indexedFiles);
+
+
+    /** Number of files that are waiting for indexing. */
+    int getQueueDepth();
+
+    IndexingProgressEvent withQueueDepth(int queueDepth);
+
+
+    /** Average indexing speed since indexing is started. */
+    double getFilesPerSecond();
+
+    IndexingProgressEvent withFilesPerSecond(double filesPerSecond);
+
+
+    boolean isDiscoveryCompleted();
+
+    IndexingProgressEvent withDiscoveryCompleted(boolean discoveryCompleted);
+
+
+    boolean isCompleted();
+
+    IndexingProgressEvent withCompleted(boolean completed);
+}
@@ -171,6 +171,16 @@ public final class ProjectManager {
         return projectRegistry.getProjects();
     }
 
+    /**
+     * @param projectPath
+     *         project path
+     * @return modification stamp of the project
+     * @see ProjectRegistry#getModificationStamp(String)
+     */
+    public String getProjectModificationStamp(String projectPath) {
+        return projectRegistry.getModificationStamp(projectPath);
+    }
+
     /**
      * @param projectPath
      * @return project
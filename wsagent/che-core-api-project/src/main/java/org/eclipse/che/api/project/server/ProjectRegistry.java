@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.util.ModificationStamps;
 import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
 import org.eclipse.che.api.project.server.handlers.ProjectInitHandler;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
@@ -54,7 +55,8 @@ public class ProjectRegistry {
     private final ProjectTypeRegistry            projectTypeRegistry;
     private final ProjectHandlerRegistry         handlers;
     private final FolderEntry                    root;
-    private final EventService eventService;
+    private final EventService                   eventService;
+    private final ModificationStamps             stamps;
 
     private boolean initialized;
 
@@ -66,6 +68,7 @@ public class ProjectRegistry {
                            EventService eventService) throws ServerException {
         this.eventService = eventService;
         this.projects = new ConcurrentHashMap<>();
+        this.stamps = new ModificationStamps();
         this.workspaceHolder = workspaceHolder;
         this.vfs = vfsProvider.getVirtualFileSystem();
         this.projectTypeRegistry = projectTypeRegistry;
@@ -124,6 +127,19 @@ public class ProjectRegistry {
         return projects.get(absolutizePath(projectPath));
     }
 
+    /**
+     * Gets modification stamp of the project. It is changed each time when the project is registered, e.g. after update of
+     * its configuration or type, and when it is removed. Stamp must be got before getting of the project, otherwise change
+     * which happens in between may be missed.
+     *
+     * @param projectPath
+     *         project path
+     * @return modification stamp of the project, it is returned for path which is not a project as well
+     */
+    public String getModificationStamp(String projectPath) {
+        return stamps.get(absolutizePath(projectPath));
+    }
+
     /**
      * @param parentPath
      *         parent path
@@ -194,6 +210,7 @@ public class ProjectRegistry {
 
         final RegisteredProject project = new RegisteredProject(folder, config, updated, detected, this.projectTypeRegistry);
         projects.put(project.getPath(), project);
+        stamps.update(project.getPath());
 
         return project;
     }
@@ -212,7 +229,10 @@ public class ProjectRegistry {
         getProjects(path).forEach(p -> Optional.ofNullable(projects.remove(p))
                                                .ifPresent(removed::add));
 
-        removed.forEach(registeredProject -> eventService.publish(new ProjectDeletedEvent(registeredProject.getPath())));
+        removed.forEach(registeredProject -> {
+            stamps.update(registeredProject.getPath());
+            eventService.publish(new ProjectDeletedEvent(registeredProject.getPath()));
+        });
     }
 
     /*  ------------------------------------------ */
@@ -334,6 +354,7 @@ public class ProjectRegistry {
         } else if (newType.equals(type)) {
             if (project.isDetected()) {
                 projects.remove(project.getPath());
+                stamps.update(project.getPath());
                 return null;
             }
 
@@ -36,10 +36,13 @@ import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.SearchOccurrenceDto;
+import org.eclipse.che.api.project.shared.dto.SearchResultDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -64,13 +67,22 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -78,6 +90,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 import static javax.ws.rs.HttpMethod.DELETE;
@@ -147,15 +161,24 @@ public class ProjectService extends Service {
     @ApiOperation(value = "Gets project by ID of workspace and project's path",
                   response = ProjectConfigDto.class)
     @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 304, message = "Project is not modified since it was requested with the same ETag"),
                    @ApiResponse(code = 404, message = "Project with specified path doesn't exist in workspace"),
                    @ApiResponse(code = 403, message = "Access to requested project is forbidden"),
                    @ApiResponse(code = 500, message = "Server error")})
-    public ProjectConfigDto getProject(@ApiParam(value = "Path to requested project", required = true)
-                                       @PathParam("path") String path) throws NotFoundException,
-                                                                              ForbiddenException,
-                                                                              ServerException,
-                                                                              ConflictException {
-        return injectProjectLinks(asDto(projectManager.getProject(path)));
+    public Response getProject(@ApiParam(value = "Path to requested project", required = true)
+                               @PathParam("path") String path,
+                               @Context Request request) throws NotFoundException,
+                                                                ForbiddenException,
+                                                                ServerException,
+                                                                ConflictException {
+        final EntityTag tag = createEntityTag(projectManager.getProjectModificationStamp(path));
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.tag(tag).build();
+        }
+        return Response.ok(injectProjectLinks(asDto(projectManager.getProject(path))))
+                       .tag(tag)
+                       .build();
     }
 
     @POST
@@ -812,7 +835,8 @@ public class ProjectService extends Service {
     @Path("/search/{path:.*}")
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Search for resources",
-                  notes = "Search for resources applying a number of search filters as query parameters",
+                  notes = "Search for resources applying a number of search filters as query parameters. If there are more " +
+                          "results, response contains 'Link' header with relation 'next' that points to the next page of results",
                   response = ItemReference.class,
                   responseContainer = "List")
     @ApiResponses({@ApiResponse(code = 200, message = "OK"),
@@ -820,52 +844,183 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 409, message = "Conflict error"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public List<ItemReference> search(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+    public Response search(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                           @PathParam("path") String path,
+                           @ApiParam(value = "Resource name")
+                           @QueryParam("name") String name,
+                           @ApiParam(value = "Search keywords")
+                           @QueryParam("text") String text,
+                           @ApiParam(value = "Text or regular expression to find in content of files")
+                           @QueryParam("pattern") String pattern,
+                           @ApiParam(value = "Whether 'pattern' is regular expression")
+                           @QueryParam("regex") boolean regex,
+                           @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
+                           @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
+                           @ApiParam(value = "Skip count")
+                           @QueryParam("skipCount") int skipCount,
+                           @ApiParam(value = "Opaque position in search result, taken from link to the next page of results")
+                           @QueryParam("cursor") String cursor) throws NotFoundException,
+                                                                       ForbiddenException,
+                                                                       ConflictException,
+                                                                       ServerException {
+        final Searcher searcher;
+        try {
+            searcher = projectManager.getSearcher();
+        } catch (NotFoundException e) {
+            LOG.warn(e.getLocalizedMessage());
+            return Response.ok(new GenericEntity<List<ItemReference>>(Collections.emptyList()) {}).build();
+        }
+
+        final SearchResult result = searcher.search(createSearchQuery(path, name, text, pattern, regex, maxItems, skipCount, cursor));
+        final List<SearchResultEntry> searchResultEntries = result.getResults();
+        final List<ItemReference> items = new ArrayList<>(searchResultEntries.size());
+        final FolderEntry root = projectManager.getProjectsRoot();
+
+        for (SearchResultEntry searchResultEntry : searchResultEntries) {
+            final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
+
+            if (child != null && child.isFile()) {
+                items.add(injectFileLinks(asDto((FileEntry)child)));
+            }
+        }
+
+        return addNextPageLink(Response.ok(new GenericEntity<List<ItemReference>>(items) {}), result).build();
+    }
+
+    @GET
+    @Path("/search-occurrences/{path:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Search for text in resources",
+                  notes = "Search for resources that contain specified text. Each found file is returned together with line " +
+                          "numbers, columns and content of lines that contain matched text. If there are more results, response " +
+                          "contains 'Link' header with relation 'next' that points to the next page of results",
+                  response = SearchResultDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+                   @ApiResponse(code = 404, message = "Not found"),
+                   @ApiResponse(code = 409, message = "Conflict error"),
+                   @ApiResponse(code = 500, message = "Internal Server Error")})
+    public Response searchOccurrences(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
                                       @PathParam("path") String path,
                                       @ApiParam(value = "Resource name")
                                       @QueryParam("name") String name,
-                                      @ApiParam(value = "Search keywords")
+                                      @ApiParam(value = "Search keywords. Required if 'pattern' is not set")
                                       @QueryParam("text") String text,
+                                      @ApiParam(value = "Text or regular expression to find in content of files. " +
+                                                        "Required if 'text' is not set")
+                                      @QueryParam("pattern") String pattern,
+                                      @ApiParam(value = "Whether 'pattern' is regular expression")
+                                      @QueryParam("regex") boolean regex,
                                       @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
                                       @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
                                       @ApiParam(value = "Skip count")
-                                      @QueryParam("skipCount") int skipCount) throws NotFoundException,
-                                                                                     ForbiddenException,
-                                                                                     ConflictException,
-                                                                                     ServerException {
+                                      @QueryParam("skipCount") int skipCount,
+                                      @ApiParam(value = "Opaque position in search result, taken from link to the next page of results")
+                                      @QueryParam("cursor") String cursor) throws NotFoundException,
+                                                                                  ForbiddenException,
+                                                                                  ConflictException,
+                                                                                  ServerException {
+        if (text == null && pattern == null) {
+            throw new ConflictException("Missed 'text' or 'pattern' parameter.");
+        }
         final Searcher searcher;
         try {
             searcher = projectManager.getSearcher();
         } catch (NotFoundException e) {
             LOG.warn(e.getLocalizedMessage());
-            return Collections.emptyList();
+            return Response.ok(new GenericEntity<List<SearchResultDto>>(Collections.emptyList()) {}).build();
+        }
+
+        final SearchResult result = searcher.search(createSearchQuery(path, name, text, pattern, regex, maxItems, skipCount, cursor)
+                                                            .setIncludePositions(true));
+        final FolderEntry root = projectManager.getProjectsRoot();
+        // Items are written one by one, so response for large number of matches is not kept in memory.
+        final StreamingOutput output = outputStream -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write('[');
+            boolean first = true;
+            for (SearchResultEntry searchResultEntry : result.getResults()) {
+                final SearchResultDto searchResultDto;
+                try {
+                    searchResultDto = asSearchResultDto(root, searchResultEntry);
+                } catch (ServerException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+                if (searchResultDto != null) {
+                    if (!first) {
+                        writer.write(',');
+                    }
+                    writer.write(DtoFactory.getInstance().toJson(searchResultDto));
+                    first = false;
+                }
+            }
+            writer.write(']');
+            writer.flush();
+        };
+        return addNextPageLink(Response.ok(output, MediaType.APPLICATION_JSON_TYPE), result).build();
+    }
+
+    private SearchResultDto asSearchResultDto(FolderEntry root, SearchResultEntry searchResultEntry) throws ServerException {
+        final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
+        if (child == null || !child.isFile()) {
+            return null;
+        }
+        final List<SearchOccurrenceDto> occurrences = new ArrayList<>(searchResultEntry.getOccurrences().size());
+        for (SearchOccurrence occurrence : searchResultEntry.getOccurrences()) {
+            occurrences.add(DtoFactory.newDto(SearchOccurrenceDto.class)
+                                      .withLineNumber(occurrence.getLineNumber())
+                                      .withStartColumn(occurrence.getStartColumn())
+                                      .withEndColumn(occurrence.getEndColumn())
+                                      .withStartOffset(occurrence.getStartOffset())
+                                      .withEndOffset(occurrence.getEndOffset())
+                                      .withLineContent(occurrence.getLineContent()));
         }
+        return DtoFactory.newDto(SearchResultDto.class)
+                         .withItemReference(injectFileLinks(asDto((FileEntry)child)))
+                         .withOccurrences(occurrences);
+    }
 
+    private QueryExpression createSearchQuery(String path,
+                                              String name,
+                                              String text,
+                                              String pattern,
+                                              boolean regex,
+                                              int maxItems,
+                                              int skipCount,
+                                              String cursor) throws ConflictException {
         if (skipCount < 0) {
             throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
         }
+        if (pattern != null && regex) {
+            try {
+                Pattern.compile(pattern);
+            } catch (PatternSyntaxException e) {
+                throw new ConflictException(String.format("Invalid 'pattern' parameter. %s", e.getDescription()));
+            }
+        }
 
-        final QueryExpression expr = new QueryExpression()
+        return new QueryExpression()
                 .setPath(path.startsWith("/") ? path : ('/' + path))
                 .setName(name)
                 .setText(text)
+                .setPattern(pattern)
+                .setRegex(regex)
                 .setMaxItems(maxItems)
-                .setSkipCount(skipCount);
-
-        final SearchResult result = searcher.search(expr);
-        final List<SearchResultEntry> searchResultEntries = result.getResults();
-        final List<ItemReference> items = new ArrayList<>(searchResultEntries.size());
-        final FolderEntry root = projectManager.getProjectsRoot();
-
-        for (SearchResultEntry searchResultEntry : searchResultEntries) {
-            final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
+                .setSkipCount(skipCount)
+                .setCursor(cursor);
+    }
 
-            if (child != null && child.isFile()) {
-                items.add(injectFileLinks(asDto((FileEntry)child)));
+    private Response.ResponseBuilder addNextPageLink(Response.ResponseBuilder response, SearchResult result) {
+        if (result.getNextPageQueryExpression().isPresent()) {
+            final QueryExpression next = result.getNextPageQueryExpression().get();
+            final UriBuilder nextPage = uriInfo.getRequestUriBuilder().replaceQueryParam("skipCount", next.getSkipCount());
+            if (next.getCursor() != null) {
+                nextPage.replaceQueryParam("cursor", next.getCursor());
             }
+            response.link(nextPage.build(), "next");
         }
-
-        return items;
+        return response;
     }
 
     private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
@@ -15,6 +15,8 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.workspace.server.WorkspaceService;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsDeltaDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 
 import javax.inject.Inject;
@@ -22,9 +24,12 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.project.server.DtoConverter.asDto;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
  * For caching and proxy-ing Workspace Configuration.
@@ -75,6 +80,43 @@ public class WorkspaceHolder extends WorkspaceProjectsSyncer {
     }
 
 
+    /**
+     * Applies all the changes of projects on WS-master side with single request.
+     *
+     * @param added
+     *         projects to add
+     * @param updated
+     *         projects to update
+     * @param removed
+     *         projects to remove
+     * @throws ServerException
+     */
+    @Override
+    protected void applyChanges(List<ProjectConfig> added,
+                                List<ProjectConfig> updated,
+                                List<ProjectConfig> removed) throws ServerException {
+        final List<ProjectConfigDto> changed = new ArrayList<>(added.size() + updated.size());
+        for (ProjectConfig project : updated) {
+            changed.add(asDto(project));
+        }
+        for (ProjectConfig project : added) {
+            changed.add(asDto(project));
+        }
+        final ProjectsDeltaDto delta = newDto(ProjectsDeltaDto.class).withUpdated(changed)
+                                                                     .withRemoved(removed.stream()
+                                                                                         .map(ProjectConfig::getPath)
+                                                                                         .collect(toList()));
+        final String href = UriBuilder.fromUri(apiEndpoint)
+                                      .path(WorkspaceService.class)
+                                      .path(WorkspaceService.class, "updateProjects")
+                                      .build(workspaceId).toString();
+        try {
+            httpJsonRequestFactory.fromUrl(href).usePutMethod().setBody(delta).request();
+        } catch (IOException | ApiException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
     /**
      * Add project on WS-master side.
      *
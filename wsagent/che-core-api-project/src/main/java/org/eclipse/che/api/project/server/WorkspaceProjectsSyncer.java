@@ -10,43 +10,99 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.server;
 
+import com.google.inject.Inject;
+
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 
+import javax.inject.Named;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Synchronizer for Project Configurations stored in Workspace Configuration with Agent's state
  *
+ * <p>Synchronizations requested concurrently are coalesced: while one thread synchronizes projects other threads wait
+ * and then one of them synchronizes all the changes made meanwhile. Changes are applied to Workspace Configuration
+ * with {@link #applyChanges(List, List, List)} at once.
+ *
  * @author gazarenkov
  */
 public abstract class WorkspaceProjectsSyncer {
 
+    private final Lock       syncLock  = new ReentrantLock();
+    private final AtomicLong requested = new AtomicLong();
+
+    /** Number of the last synchronization request which changes are synchronized. */
+    private volatile long synced;
+    private          long coalesceWindowMs;
+
+    /**
+     * Sets time which synchronization waits for other synchronization requests before it is started,
+     * so changes of all of them are synchronized at once. Synchronization is not delayed by default.
+     */
+    @Inject(optional = true)
+    public void setCoalesceWindowMs(@Named("project.sync.coalesce_window_ms") long coalesceWindowMs) {
+        this.coalesceWindowMs = coalesceWindowMs;
+    }
+
     /**
      * Synchronizes Project Config state on Agent and Master
      * @param projectRegistry project registry
      * @throws ServerException
      */
     public final void sync(ProjectRegistry projectRegistry) throws ServerException {
+        // changes of the caller are made before request, so any synchronization started after it sees them
+        final long request = requested.incrementAndGet();
+        syncLock.lock();
+        try {
+            if (synced >= request) {
+                // changes were synchronized by other thread while this one was waiting
+                return;
+            }
+            if (coalesceWindowMs > 0) {
+                try {
+                    Thread.sleep(coalesceWindowMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ServerException("Synchronization of projects was interrupted");
+                }
+            }
+            final long lastRequest = requested.get();
+            doSync(projectRegistry);
+            synced = lastRequest;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void doSync(ProjectRegistry projectRegistry) throws ServerException {
 
         List<? extends ProjectConfig> remote = getProjects();
+        Map<String, ProjectConfig> remoteByPath = new HashMap<>();
+        for (ProjectConfig r : remote) {
+            remoteByPath.put(r.getPath(), r);
+        }
 
         // check on removed
-        List <ProjectConfig> removed = new ArrayList<>();
-        for(ProjectConfig r  : remote) {
-            if(projectRegistry.getProject(r.getPath()) == null)
+        List<ProjectConfig> removed = new ArrayList<>();
+        for (ProjectConfig r : remote) {
+            if (projectRegistry.getProject(r.getPath()) == null)
                 removed.add(r);
         }
 
-        for(ProjectConfig r : removed)
-            removeProject(r);
-
-
         // update or add
-        for(RegisteredProject project : projectRegistry.getProjects()) {
+        List<ProjectConfig> added = new ArrayList<>();
+        List<ProjectConfig> updated = new ArrayList<>();
+        List<RegisteredProject> changed = new ArrayList<>();
+        for (RegisteredProject project : projectRegistry.getProjects()) {
 
-            if(!project.isSynced() && !project.isDetected()) {
+            if (!project.isSynced() && !project.isDetected()) {
 
                 final ProjectConfig config = new NewProjectConfig(project.getPath(),
                                                                   project.getType(),
@@ -56,24 +112,45 @@ public abstract class WorkspaceProjectsSyncer {
                                                                   project.getPersistableAttributes(),
                                                                   project.getSource());
 
-                boolean found = false;
-                for(ProjectConfig r  : remote) {
-                    if(r.getPath().equals(project.getPath())) {
-                        updateProject(config);
-                        found = true;
-                    }
-                }
+                if (remoteByPath.containsKey(project.getPath()))
+                    updated.add(config);
+                else
+                    added.add(config);
 
-                if(!found)
-                    addProject(config);
+                changed.add(project);
+            }
+        }
 
-                project.setSync();
+        if (!added.isEmpty() || !updated.isEmpty() || !removed.isEmpty()) {
+            applyChanges(added, updated, removed);
+        }
 
-            }
+        for (RegisteredProject project : changed)
+            project.setSync();
+    }
 
+    /**
+     * Applies changes of projects to Workspace Config.
+     *
+     * <p>This implementation adds, updates and removes projects one by one,
+     * implementations may override it to apply all the changes at once.
+     *
+     * @param added configs of projects to add
+     * @param updated configs of projects to update
+     * @param removed configs of projects to remove
+     * @throws ServerException
+     */
+    protected void applyChanges(List<ProjectConfig> added,
+                                List<ProjectConfig> updated,
+                                List<ProjectConfig> removed) throws ServerException {
+        for (ProjectConfig r : removed)
+            removeProject(r);
 
-        }
+        for (ProjectConfig config : updated)
+            updateProject(config);
 
+        for (ProjectConfig config : added)
+            addProject(config);
     }
 
     /**
@@ -10,9 +10,22 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  * <p/>
+ * Lock of path conflicts with locks of its parents and children. Not exclusive locks are compatible with each other,
+ * exclusive lock is not compatible with any lock that is held by other thread. Thread may acquire lock for path it already
+ * holds lock for, such locks are recursive.
+ * <p/>
+ * Locks are kept in tree of nodes, one node for each element of locked path. Each node has own monitor, node of locked path
+ * keeps holders of lock and each parent node keeps number of locks that are held under it (intention locks). So acquiring
+ * of lock checks only nodes of locked path and its parents and waiting threads are woken up only by changes of node they are
+ * waiting for. Nodes are removed from tree when they are not used by any lock.
+ * <p/>
  * Usage:
  * <pre>
  *      PathLockFactory lockFactory = ...
@@ -36,9 +49,8 @@ package org.eclipse.che.api.vfs;
 public final class PathLockFactory {
     private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
     /** Max number of threads allowed to access file. */
-    private final int maxThreads;
-    // Tail of the "lock table".
-    private final Node tail = new Node(null, 0, null);
+    private final int  maxThreads;
+    private final Node root = new Node();
 
     /**
      * @param maxThreads
@@ -53,142 +65,199 @@ public final class PathLockFactory {
     }
 
     public PathLock getLock(Path path, boolean exclusive) {
-        return new PathLock(path, exclusive ? maxThreads : 1);
+        return new PathLock(path, exclusive);
     }
 
-    private synchronized void acquire(Path path, int permits) {
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    /**
+     * @param timeoutMilliseconds
+     *         maximum time to wait for lock, {@code 0} means no timeout
+     */
+    private void acquire(Path path, boolean exclusive, long timeoutMilliseconds) {
+        final long endTime = timeoutMilliseconds > 0 ? System.currentTimeMillis() + timeoutMilliseconds : 0;
+        final Thread current = Thread.currentThread();
+        final Node[] nodes = retainNodes(path);
+        int intentions = 0;
+        try {
+            for (; intentions < nodes.length - 1; intentions++) {
+                nodes[intentions].enterIntention(current, exclusive, path, endTime);
+            }
+            nodes[nodes.length - 1].lock(current, exclusive, maxSharedHolders(), path, endTime);
+        } catch (RuntimeException | Error e) {
+            for (int i = intentions - 1; i >= 0; i--) {
+                nodes[i].exitIntention(current, exclusive);
             }
+            releaseNodes(path, nodes);
+            throw e;
         }
     }
 
-    private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-        final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-        long waitTime = timeoutMilliseconds;
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait(waitTime);
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
-            }
-            long now = System.currentTimeMillis();
-            if (now >= endTime) {
-                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
-            }
-            waitTime = endTime - now;
+    private void release(Path path, boolean exclusive) {
+        final Thread current = Thread.currentThread();
+        final Node[] nodes = getNodes(path);
+        nodes[nodes.length - 1].unlock(current, path);
+        for (int i = nodes.length - 2; i >= 0; i--) {
+            nodes[i].exitIntention(current, exclusive);
         }
+        releaseNodes(path, nodes);
     }
 
-    private synchronized void release(Path path, int permits) {
-        Node node = tail;
-        while (node != null) {
-            Node prev = node.prev;
-            if (prev == null) {
-                break;
-            }
-            if (prev.path.equals(path)) {
-                if (prev.threadDeep == 1) {
-                    // If last recursive lock.
-                    prev.permits += permits;
-                    if (prev.permits >= maxThreads) {
-                        // remove
-                        node.prev = prev.prev;
-                        prev.prev = null;
-                    }
-                } else {
-                    --prev.threadDeep;
+    private int maxSharedHolders() {
+        // Keep the same limit as before: exclusive lock takes all permits, not exclusive lock takes one permit and at least
+        // one permit is left.
+        return Math.max(1, maxThreads - 1);
+    }
+
+    /** Gets nodes for root and each element of path, creates missed nodes. Retained nodes are not removed from tree. */
+    private Node[] retainNodes(Path path) {
+        final Node[] nodes = new Node[path.length() + 1];
+        nodes[0] = root;
+        for (int i = 0; i < path.length(); i++) {
+            nodes[i + 1] = nodes[i].children.compute(path.element(i), (name, node) -> {
+                if (node == null) {
+                    node = new Node();
                 }
-            }
-            node = node.prev;
+                node.references++;
+                return node;
+            });
         }
-        notifyAll();
-        //System.err.printf(">>>>> release: %s : %d%n", path, permits);
+        return nodes;
     }
 
-    private boolean tryAcquire(Path path, int permits) {
-        //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-        Node node = tail.prev;
-        final Thread current = Thread.currentThread();
-        while (node != null) {
-            if (node.path.equals(path)) {
-                if (node.threadId == current.getId()) {
-                    // Current thread already has direct lock for this path
-                    if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-                        throw new Error("Max number of recursive locks exceeded. ");
-                    }
-                    ++node.threadDeep;
-                    return true;
-                }
-                if (node.permits > permits) {
-                    // Lock already exists and current thread is not owner of this lock,
-                    // but lock is not exclusive and we can "share" it for other thread.
-                    node.permits -= permits; // decrement number of allowed concurrent threads
-                    return true;
-                }
-                // Lock is exclusive or max number of allowed concurrent thread is reached.
-                return false;
-            } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-                // Found some path which already has lock that prevents us to get required permits.
-                // There is two possibilities:
-                // 1. Parent of the path we try to lock already locked
-                // 2. Child of the path we try to lock already locked
-                // Need to check is such lock obtained by current thread or not.
-                // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-                if (node.threadId != current.getId()) {
-                    return false;
-                }
+    /** Gets nodes for root and each element of path that are retained by lock of this path. */
+    private Node[] getNodes(Path path) {
+        final Node[] nodes = new Node[path.length() + 1];
+        nodes[0] = root;
+        for (int i = 0; i < path.length(); i++) {
+            nodes[i + 1] = nodes[i].children.get(path.element(i));
+            if (nodes[i + 1] == null) {
+                throw new IllegalMonitorStateException(String.format("Lock for '%s' is not held. ", path));
             }
-            node = node.prev;
         }
-        // If we are here there is no lock for path yet.
-        tail.prev = new Node(path, maxThreads - permits, tail.prev);
-        return true;
+        return nodes;
     }
 
-    public synchronized void checkClean() {
-        assert tail.prev == null;
+    private void releaseNodes(Path path, Node[] nodes) {
+        for (int i = nodes.length - 1; i > 0; i--) {
+            nodes[i - 1].children.computeIfPresent(path.element(i - 1), (name, node) -> --node.references == 0 ? null : node);
+        }
+    }
+
+    public void checkClean() {
+        assert root.children.isEmpty() && root.isFree();
     }
 
    /* =============================================== */
 
+    /**
+     * Node of lock tree. Field {@code references} is guarded by lock of entry in map of parent node, other state of node is
+     * guarded by monitor of node.
+     */
     private static class Node {
-        final Path path;
-        final long threadId = Thread.currentThread().getId();
-        int  permits;
-        int  threadDeep;
-        Node prev;
+        final ConcurrentHashMap<String, Node> children            = new ConcurrentHashMap<>();
+        /** Number of locks (acquired or being acquired) for this node or its children. */
+        int references;
+        /** Threads that hold lock for path of this node and number of recursive locks for each of them. */
+        final Map<Thread, Integer>            holders             = new HashMap<>(4);
+        boolean exclusive;
+        /** Threads that hold not exclusive locks for children of this node and number of such locks. */
+        final Map<Thread, Integer>            sharedIntentions    = new HashMap<>(4);
+        /** Threads that hold exclusive locks for children of this node and number of such locks. */
+        final Map<Thread, Integer>            exclusiveIntentions = new HashMap<>(4);
 
-        Node(Path path, int permits, Node prev) {
-            this.path = path;
-            this.permits = permits;
-            this.prev = prev;
-            threadDeep = 1;
+        synchronized void enterIntention(Thread thread, boolean exclusiveLock, Path path, long endTime) {
+            while ((exclusive && !holders.containsKey(thread)) || (exclusiveLock && hasOthers(holders, thread))) {
+                await(path, endTime);
+            }
+            increment(exclusiveLock ? exclusiveIntentions : sharedIntentions, thread);
+        }
+
+        synchronized void exitIntention(Thread thread, boolean exclusiveLock) {
+            decrement(exclusiveLock ? exclusiveIntentions : sharedIntentions, thread);
+            notifyAll();
+        }
+
+        synchronized void lock(Thread thread, boolean exclusiveLock, int maxSharedHolders, Path path, long endTime) {
+            final Integer recursiveLocks = holders.get(thread);
+            if (recursiveLocks != null) {
+                // Current thread already has direct lock for this path
+                if (recursiveLocks > MAX_RECURSIVE_LOCKS) {
+                    throw new Error("Max number of recursive locks exceeded. ");
+                }
+                holders.put(thread, recursiveLocks + 1);
+                return;
+            }
+            while (exclusive
+                   || (exclusiveLock && !holders.isEmpty())
+                   || holders.size() >= maxSharedHolders
+                   || hasOthers(exclusiveIntentions, thread)
+                   || (exclusiveLock && hasOthers(sharedIntentions, thread))) {
+                await(path, endTime);
+            }
+            holders.put(thread, 1);
+            exclusive = exclusiveLock;
+        }
+
+        synchronized void unlock(Thread thread, Path path) {
+            if (!holders.containsKey(thread)) {
+                throw new IllegalMonitorStateException(String.format("Lock for '%s' is not held by current thread. ", path));
+            }
+            decrement(holders, thread);
+            if (holders.isEmpty()) {
+                exclusive = false;
+            }
+            notifyAll();
+        }
+
+        synchronized boolean isFree() {
+            return holders.isEmpty() && sharedIntentions.isEmpty() && exclusiveIntentions.isEmpty();
+        }
+
+        private void await(Path path, long endTime) {
+            try {
+                if (endTime == 0) {
+                    wait();
+                } else {
+                    final long waitTime = endTime - System.currentTimeMillis();
+                    if (waitTime <= 0) {
+                        throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+                    }
+                    wait(waitTime);
+                }
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private static boolean hasOthers(Map<Thread, Integer> threads, Thread thread) {
+            return threads.size() > (threads.containsKey(thread) ? 1 : 0);
+        }
+
+        private static void increment(Map<Thread, Integer> counters, Thread thread) {
+            counters.merge(thread, 1, Integer::sum);
+        }
+
+        private static void decrement(Map<Thread, Integer> counters, Thread thread) {
+            counters.computeIfPresent(thread, (key, count) -> count == 1 ? null : count - 1);
         }
 
         @Override
-        public String toString() {
+        public synchronized String toString() {
             return "Node{" +
-                   "path=" + path +
-                   ", threadId=" + threadId +
-                   ", permits=" + permits +
-                   ", prev=" + prev +
+                   "holders=" + holders +
+                   ", exclusive=" + exclusive +
+                   ", sharedIntentions=" + sharedIntentions +
+                   ", exclusiveIntentions=" + exclusiveIntentions +
                    '}';
         }
     }
 
     public final class PathLock {
-        private final Path path;
-        private final int  permits;
+        private final Path    path;
+        private final boolean exclusive;
 
-        private PathLock(Path path, int permits) {
+        private PathLock(Path path, boolean exclusive) {
             this.path = path;
-            this.permits = permits;
+            this.exclusive = exclusive;
         }
 
         /**
@@ -197,7 +266,7 @@ public final class PathLockFactory {
          * @return this PathLock instance
          */
         public PathLock acquire() {
-            PathLockFactory.this.acquire(path, permits);
+            PathLockFactory.this.acquire(path, exclusive, 0);
             return this;
         }
 
@@ -212,18 +281,18 @@ public final class PathLockFactory {
          *         if waiting timeout reached
          */
         public PathLock acquire(long timeoutMilliseconds) {
-            PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+            PathLockFactory.this.acquire(path, exclusive, Math.max(1, timeoutMilliseconds));
             return this;
         }
 
         /** Release file permit. */
         public void release() {
-            PathLockFactory.this.release(path, permits);
+            PathLockFactory.this.release(path, exclusive);
         }
 
         /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
         public boolean isExclusive() {
-            return permits == PathLockFactory.this.maxThreads;
+            return exclusive;
         }
     }
 }
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import com.google.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Named;
+import java.io.IOException;
+
+/**
+ * Uses {@link InotifyFileWatcherBackend} when it is supported by system and {@link JavaNioFileWatcherBackend} otherwise.
+ * Native backend may be disabled with property {@code vfs.watcher.inotify.enabled}. Number of directories watched with
+ * inotify is limited by property {@code vfs.watcher.inotify.watch_budget}, if it isn't set limit is calculated from
+ * {@code max_user_watches}.
+ */
+public class DefaultFileWatcherBackendFactory implements FileWatcherBackendFactory {
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultFileWatcherBackendFactory.class);
+
+    private boolean inotifyEnabled = true;
+    private int     inotifyWatchBudget;
+
+    @Inject(optional = true)
+    public void setInotifyEnabled(@Named("vfs.watcher.inotify.enabled") boolean inotifyEnabled) {
+        this.inotifyEnabled = inotifyEnabled;
+    }
+
+    @Inject(optional = true)
+    public void setInotifyWatchBudget(@Named("vfs.watcher.inotify.watch_budget") int inotifyWatchBudget) {
+        this.inotifyWatchBudget = inotifyWatchBudget;
+    }
+
+    @Override
+    public FileWatcherBackend create() throws IOException {
+        if (inotifyEnabled && InotifyFileWatcherBackend.isSupported()) {
+            int watchBudget = inotifyWatchBudget > 0 ? inotifyWatchBudget : InotifyFileWatcherBackend.getDefaultWatchBudget();
+            if (watchBudget > 0) {
+                try {
+                    return new InotifyFileWatcherBackend(watchBudget);
+                } catch (IOException e) {
+                    LOG.warn("Unable use inotify, fall back to java.nio.file.WatchService. {}", e.getMessage());
+                }
+            }
+        }
+        return new JavaNioFileWatcherBackend();
+    }
+}
@@ -11,29 +11,27 @@
 package org.eclipse.che.api.vfs.impl.file;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 
 import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.DirectoryStream;
-import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
-import java.nio.file.WatchEvent;
-import java.nio.file.WatchKey;
-import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -46,14 +44,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Maps.newLinkedHashMap;
 import static com.google.common.collect.Sets.newLinkedHashSet;
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.Files.getLastModifiedTime;
 import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
-import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
@@ -63,7 +59,8 @@ import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.
 public class FileTreeWatcher {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcher.class);
 
-    private static final long EVENT_PROCESS_TIMEOUT_SEC = 2;
+    /** Default time to collect events from the same directories before re-scanning them. */
+    static final long DEFAULT_EVENT_COALESCING_WINDOW_MS = 2000;
 
     private final File                           watchRoot;
     private final Path                           watchRootPath;
@@ -72,23 +69,69 @@ public class FileTreeWatcher {
     private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
     private final ExecutorService                executor;
     private final AtomicBoolean                  running;
-    private       WatchService                   watchService;
-    private       WatchEvent.Modifier[]          watchEventModifiers;
+    private final FileWatcherBackendFactory      backendFactory;
+    private volatile long                        eventCoalescingWindowMs;
+    private       FileWatcherBackend             backend;
+    private       boolean                        watchBudgetExhausted;
 
     @Inject
     public FileTreeWatcher(@Named("che.user.workspaces.storage") File watchRoot,
                            @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
+                           FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                           FileWatcherBackendFactory backendFactory) {
+        this(watchRoot, excludePatterns, fileWatcherNotificationHandler, backendFactory, DEFAULT_EVENT_COALESCING_WINDOW_MS);
+    }
+
+    public FileTreeWatcher(File watchRoot,
+                           Set<PathMatcher> excludePatterns,
                            FileWatcherNotificationHandler fileWatcherNotificationHandler) {
-        watchEventModifiers = new WatchEvent.Modifier[0];
+        this(watchRoot, excludePatterns, fileWatcherNotificationHandler, DEFAULT_EVENT_COALESCING_WINDOW_MS);
+    }
+
+    public FileTreeWatcher(File watchRoot,
+                           Set<PathMatcher> excludePatterns,
+                           FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                           long eventCoalescingWindowMs) {
+        this(watchRoot,
+             excludePatterns,
+             fileWatcherNotificationHandler,
+             new DefaultFileWatcherBackendFactory(),
+             eventCoalescingWindowMs);
+    }
+
+    /**
+     * @param backendFactory
+     *         creates source of low level notifications about changes in watched directories
+     * @param eventCoalescingWindowMs
+     *         max time in milliseconds to collect changes of the watched directories before they are re-scanned and
+     *         events are sent to {@code fileWatcherNotificationHandler}. Each directory is re-scanned once per window
+     *         regardless to number of changes happened in it.
+     */
+    public FileTreeWatcher(File watchRoot,
+                           Set<PathMatcher> excludePatterns,
+                           FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                           FileWatcherBackendFactory backendFactory,
+                           long eventCoalescingWindowMs) {
         this.watchRoot = toCanonicalFile(watchRoot);
         this.watchRootPath = this.watchRoot.toPath();
         this.excludePatterns = newArrayList(excludePatterns);
         this.fileWatcherNotificationHandler = fileWatcherNotificationHandler;
+        this.backendFactory = backendFactory;
 
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("FileTreeWatcher-%d").build();
         executor = Executors.newSingleThreadExecutor(threadFactory);
         running = new AtomicBoolean();
         watchedDirectories = newHashMap();
+        setEventCoalescingWindow(eventCoalescingWindowMs);
+    }
+
+    /** Overrides time window to collect events for the watched root. Takes effect for events received after the call. */
+    @Inject(optional = true)
+    public void setEventCoalescingWindow(@Named("vfs.watcher.event_coalescing_window_ms") long eventCoalescingWindowMs) {
+        if (eventCoalescingWindowMs < 0) {
+            throw new IllegalArgumentException(String.format("Invalid event coalescing window: %d", eventCoalescingWindowMs));
+        }
+        this.eventCoalescingWindowMs = eventCoalescingWindowMs;
     }
 
     private static File toCanonicalFile(File file) {
@@ -100,31 +143,14 @@ public class FileTreeWatcher {
     }
 
     public void startup() throws IOException {
-        watchService = FileSystems.getDefault().newWatchService();
-        if (isPollingWatchService(watchService)) {
-            watchEventModifiers = new WatchEvent.Modifier[]{createSensitivityWatchEventModifier()};
-        }
+        backend = backendFactory.create();
+        LOG.debug("Watch {} with {}", watchRoot, backend);
         running.set(true);
         walkTreeAndSetupWatches(watchRootPath);
         executor.execute(new WatchEventTask());
         fileWatcherNotificationHandler.started(watchRoot);
     }
 
-    private boolean isPollingWatchService(WatchService watchService) {
-        return "sun.nio.fs.PollingWatchService".equals(watchService.getClass().getName());
-    }
-
-    private WatchEvent.Modifier createSensitivityWatchEventModifier() {
-        try {
-            Class<?> aModifierEnum = Class.forName("com.sun.nio.file.SensitivityWatchEventModifier");
-            Object[] sensitivityEnumConstants = aModifierEnum.getEnumConstants();
-            return (WatchEvent.Modifier)sensitivityEnumConstants[0];
-        } catch (Exception e) {
-            LOG.warn("Can't create 'com.sun.nio.file.SensitivityWatchEventModifier'", e);
-        }
-        return null;
-    }
-
     public void shutdown() {
         boolean interrupted = false;
         executor.shutdown();
@@ -140,14 +166,12 @@ public class FileTreeWatcher {
             executor.shutdownNow();
         }
 
-        try {
-            walkTreeAndRemoveWatches(watchRootPath);
-        } catch (IOException e) {
-            LOG.warn(e.getMessage());
+        for (Path directory : newArrayList(watchedDirectories.keySet())) {
+            cancelDirectoryWatcher(directory);
         }
 
         try {
-            watchService.close();
+            backend.close();
         } catch (IOException e) {
             LOG.warn(e.getMessage());
         }
@@ -165,17 +189,28 @@ public class FileTreeWatcher {
         this.excludePatterns.remove(exclude);
     }
 
+    /**
+     * Sets up watchers for all not excluded directories in tree. Tree is traversed breadth-first, so if backend can't watch
+     * all directories the top levels of the tree are watched in the first turn.
+     */
     private void walkTreeAndSetupWatches(Path root) throws IOException {
-        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                Path relativePath = watchRootPath.relativize(dir);
-                if (shouldNotify(relativePath)) {
-                    setupDirectoryWatcher(dir);
+        final Deque<Path> directories = new ArrayDeque<>();
+        directories.add(root);
+        Path directory;
+        while ((directory = directories.poll()) != null) {
+            if (shouldNotify(watchRootPath.relativize(directory))) {
+                setupDirectoryWatcher(directory);
+            }
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, this::isDirectoryNoFollowLinks)) {
+                for (Path entry : entries) {
+                    directories.add(entry);
                 }
-                return CONTINUE;
             }
-        });
+        }
+    }
+
+    private boolean isDirectoryNoFollowLinks(Path path) {
+        return Files.isDirectory(path, NOFOLLOW_LINKS);
     }
 
     private boolean shouldNotify(Path subPath) {
@@ -187,16 +222,6 @@ public class FileTreeWatcher {
         return true;
     }
 
-    private void walkTreeAndRemoveWatches(Path root) throws IOException {
-        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                cancelDirectoryWatcher(dir);
-                return CONTINUE;
-            }
-        });
-    }
-
     private void walkTreeAndFireCreatedEvents(Path root) throws IOException {
         Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
             @Override
@@ -217,10 +242,14 @@ public class FileTreeWatcher {
 
     private void setupDirectoryWatcher(Path directory) throws IOException {
         if (watchedDirectories.get(directory) == null) {
-            WatchKey watchKey = directory.register(watchService,
-                                                   new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
-                                                   watchEventModifiers);
-            WatchedDirectory watchedDirectory = new WatchedDirectory(directory, watchKey);
+            if (!backend.watch(directory)) {
+                if (!watchBudgetExhausted) {
+                    watchBudgetExhausted = true;
+                    LOG.warn("Unable watch all directories in {}, changes in some of them aren't tracked", watchRoot);
+                }
+                return;
+            }
+            WatchedDirectory watchedDirectory = new WatchedDirectory(directory);
             try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
                 for (Path entry : entries) {
                     watchedDirectory
@@ -232,33 +261,40 @@ public class FileTreeWatcher {
     }
 
     private void cancelDirectoryWatcher(Path path) {
-        WatchedDirectory watchedDirectory = watchedDirectories.remove(path);
-        if (watchedDirectory != null) {
-            watchedDirectory.getWatchKey().cancel();
+        if (watchedDirectories.remove(path) != null) {
+            backend.unwatch(path);
         }
     }
 
     private class WatchEventTask implements Runnable {
         final Set<PendingEvent> pendingEvents = newLinkedHashSet();
+        long firstPendingEventTime;
 
         @Override
         public void run() {
             while (running.get()) {
                 try {
-                    WatchKey watchKey;
+                    FileWatcherBackend.Event event;
                     if (pendingEvents.isEmpty()) {
-                        watchKey = watchService.take();
+                        event = backend.take();
+                        firstPendingEventTime = System.currentTimeMillis();
                     } else {
-                        watchKey = watchService.poll(EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
-                        if (watchKey == null) {
+                        // Window is counted from the first pending event, so permanent changes in the tree don't postpone
+                        // notifications forever.
+                        long timeout = firstPendingEventTime + eventCoalescingWindowMs - System.currentTimeMillis();
+                        event = timeout > 0 ? backend.poll(timeout, MILLISECONDS) : backend.poll();
+                        if (event == null || timeout <= 0) {
                             processPendingEvents(pendingEvents);
                             pendingEvents.clear();
+                            firstPendingEventTime = System.currentTimeMillis();
                         }
                     }
-                    if (watchKey != null) {
-                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable()));
-                        watchKey.pollEvents();
-                        watchKey.reset();
+                    if (event != null) {
+                        if (event.isOverflow()) {
+                            addOverflowedDirectories(event.getDirectory(), pendingEvents);
+                        } else {
+                            pendingEvents.add(new PendingEvent(event.getDirectory()));
+                        }
                     }
                 } catch (InterruptedException | ClosedWatchServiceException e) {
                     running.set(false);
@@ -270,10 +306,25 @@ public class FileTreeWatcher {
         }
     }
 
+    /**
+     * Some events are lost in {@code directory} and its sub-directories, so all of them must be re-scanned. Whole tree is
+     * re-scanned if {@code directory} is {@code null}.
+     */
+    private void addOverflowedDirectories(Path directory, Collection<PendingEvent> pendingEvents) {
+        for (Path watchedDirectory : watchedDirectories.keySet()) {
+            if (directory == null || watchedDirectory.startsWith(directory)) {
+                pendingEvents.add(new PendingEvent(watchedDirectory));
+            }
+        }
+    }
+
     private void processPendingEvents(Collection<PendingEvent> pendingEvents) throws IOException {
         for (PendingEvent pendingEvent : pendingEvents) {
             Path eventDirectoryPath = pendingEvent.getPath();
             WatchedDirectory watchedDirectory = watchedDirectories.get(eventDirectoryPath);
+            if (watchedDirectory == null) {
+                continue;
+            }
             if (Files.exists(eventDirectoryPath)) {
                 final int hitCounter = watchedDirectory.incrementHitCounter();
                 try (DirectoryStream<Path> entries = Files.newDirectoryStream(eventDirectoryPath)) {
@@ -287,7 +338,7 @@ public class FileTreeWatcher {
                                 fireWatchEvent(CREATED, fsItem, directoryItem.isDirectory());
                                 if (directory) {
                                     walkTreeAndFireCreatedEvents(fsItem);
-                                    setupDirectoryWatcher(fsItem);
+                                    walkTreeAndSetupWatches(fsItem);
                                 }
                             } catch (IOException ignored) {
                             }
@@ -318,7 +369,7 @@ public class FileTreeWatcher {
                 for (DirectoryItem directoryItem : watchedDirectory.getItems()) {
                     fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
                 }
-                watchedDirectories.remove(eventDirectoryPath);
+                cancelDirectoryWatcher(eventDirectoryPath);
             }
         }
     }
@@ -364,19 +415,13 @@ public class FileTreeWatcher {
     }
 
     static class WatchedDirectory {
-        final Path                path;
-        final WatchKey            watchKey;
-        final List<DirectoryItem> items;
+        final Path                     path;
+        final Map<Path, DirectoryItem> items;
         int hitCounter;
 
-        WatchedDirectory(Path path, WatchKey watchKey) {
+        WatchedDirectory(Path path) {
             this.path = path;
-            this.watchKey = watchKey;
-            items = newArrayList();
-        }
-
-        WatchKey getWatchKey() {
-            return watchKey;
+            items = newLinkedHashMap();
         }
 
         Path getPath() {
@@ -384,21 +429,16 @@ public class FileTreeWatcher {
         }
 
         DirectoryItem getItem(Path name) {
-            for (DirectoryItem item : items) {
-                if (item.getName().equals(name)) {
-                    return item;
-                }
-            }
-            return null;
+            return items.get(name);
         }
 
         void addItem(DirectoryItem item) {
             item.updateHitCounter(this.hitCounter);
-            items.add(item);
+            items.put(item.getName(), item);
         }
 
-        List<DirectoryItem> getItems() {
-            return items;
+        Collection<DirectoryItem> getItems() {
+            return items.values();
         }
 
         int incrementHitCounter() {
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Source of change notifications for {@link FileTreeWatcher}. Backend doesn't need to report what exactly changed in directory,
+ * it only reports directories which content might be changed, {@link FileTreeWatcher} re-scans them itself.
+ *
+ * @see JavaNioFileWatcherBackend
+ * @see InotifyFileWatcherBackend
+ */
+public interface FileWatcherBackend extends Closeable {
+    /**
+     * Starts watching changes in {@code directory}. Sub-directories are not watched.
+     *
+     * @return {@code true} if directory is watched and {@code false} if backend has no resources to watch one more directory
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    boolean watch(Path directory) throws IOException;
+
+    /** Stops watching changes in {@code directory}. Does nothing if directory isn't watched. */
+    void unwatch(Path directory);
+
+    /** Waits for the next event. */
+    Event take() throws InterruptedException;
+
+    /** Waits for the next event up to the specified timeout. Returns {@code null} if timeout is elapsed. */
+    Event poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /** Returns the next event without waiting or {@code null} if there is no any. */
+    Event poll();
+
+    /** Describes directory which content might be changed. */
+    final class Event {
+        /**
+         * Creates event which indicates that backend missed some events in {@code directory} and its sub-directories,
+         * {@code null} {@code directory} means that events might be missed in any watched directory.
+         */
+        public static Event overflow(Path directory) {
+            return new Event(directory, true);
+        }
+
+        /** Creates event which indicates that content of {@code directory} might be changed. */
+        public static Event changed(Path directory) {
+            return new Event(Objects.requireNonNull(directory), false);
+        }
+
+        private final Path    directory;
+        private final boolean overflow;
+
+        private Event(Path directory, boolean overflow) {
+            this.directory = directory;
+            this.overflow = overflow;
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public boolean isOverflow() {
+            return overflow;
+        }
+
+        @Override
+        public String toString() {
+            return "Event{directory=" + directory + ", overflow=" + overflow + '}';
+        }
+    }
+}
@@ -0,0 +1,23 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import com.google.inject.ImplementedBy;
+
+import java.io.IOException;
+
+/**
+ * Creates {@link FileWatcherBackend} for {@link FileTreeWatcher}. New backend is created each time when watcher is started.
+ */
+@ImplementedBy(DefaultFileWatcherBackendFactory.class)
+public interface FileWatcherBackendFactory {
+    FileWatcherBackend create() throws IOException;
+}
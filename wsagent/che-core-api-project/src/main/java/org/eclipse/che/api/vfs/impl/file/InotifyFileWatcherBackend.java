@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.jna.Native;
+
+import org.eclipse.che.api.core.util.SystemInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.ENOSPC;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.INOTIFY_EVENT_HEADER_SIZE;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_ATTRIB;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_CLOEXEC;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_CREATE;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_DELETE;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_DELETE_SELF;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_DONT_FOLLOW;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_EXCL_UNLINK;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_IGNORED;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_MODIFY;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_MOVED_FROM;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_MOVED_TO;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_MOVE_SELF;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_NONBLOCK;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_ONLYDIR;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.IN_Q_OVERFLOW;
+import static org.eclipse.che.api.vfs.impl.file.InotifyLibrary.POLLIN;
+
+/**
+ * Implementation of {@link FileWatcherBackend} which uses Linux inotify directly. Comparing to {@link JavaNioFileWatcherBackend}
+ * it delivers events as soon as they are read from inotify file descriptor and limits number of inotify watches that may be
+ * used, so large project doesn't exhaust {@code max_user_watches} that is shared by all processes of the same user.
+ */
+public class InotifyFileWatcherBackend implements FileWatcherBackend {
+    private static final Logger LOG = LoggerFactory.getLogger(InotifyFileWatcherBackend.class);
+
+    private static final int WATCH_MASK = IN_CREATE | IN_DELETE | IN_MODIFY | IN_ATTRIB | IN_MOVED_FROM | IN_MOVED_TO
+                                          | IN_DELETE_SELF | IN_MOVE_SELF | IN_ONLYDIR | IN_DONT_FOLLOW | IN_EXCL_UNLINK;
+
+    private static final int    READ_BUFFER_SIZE     = 64 * 1024;
+    private static final int    POLL_TIMEOUT_MS      = 500;
+    private static final String MAX_USER_WATCHES     = "/proc/sys/fs/inotify/max_user_watches";
+    /** Part of {@code max_user_watches} that may be used by default, rest is left for other processes. */
+    private static final double DEFAULT_BUDGET_RATIO = 0.8;
+
+    private static final InotifyLibrary INOTIFY;
+
+    static {
+        InotifyLibrary tmp = null;
+        if (SystemInfo.isLinux()) {
+            try {
+                tmp = (InotifyLibrary)Native.loadLibrary("c", InotifyLibrary.class);
+            } catch (Throwable e) {
+                LOG.warn("Cannot load native library, inotify is not available. {}", e.getMessage());
+            }
+        }
+        INOTIFY = tmp;
+    }
+
+    /** Checks whether inotify may be used on this system. */
+    public static boolean isSupported() {
+        return INOTIFY != null;
+    }
+
+    /** Returns default watch budget calculated from {@code max_user_watches} or {@code -1} if it can't be read. */
+    public static int getDefaultWatchBudget() {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(MAX_USER_WATCHES), UTF_8)) {
+            return (int)(Integer.parseInt(reader.readLine().trim()) * DEFAULT_BUDGET_RATIO);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable read {}. {}", MAX_USER_WATCHES, e.getMessage());
+            return -1;
+        }
+    }
+
+    private final int                  fd;
+    private final int                  watchBudget;
+    private final Map<Integer, Path>   watchDescriptors;
+    private final Map<Path, Integer>   watchedDirectories;
+    private final BlockingQueue<Event> events;
+    private final AtomicBoolean        closed;
+    private final ExecutorService      reader;
+
+    /**
+     * @param watchBudget
+     *         max number of directories that may be watched by this backend
+     */
+    public InotifyFileWatcherBackend(int watchBudget) throws IOException {
+        if (!isSupported()) {
+            throw new IOException("inotify is not supported on this system");
+        }
+        if (watchBudget <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid watch budget: %d", watchBudget));
+        }
+        fd = INOTIFY.inotify_init1(IN_NONBLOCK | IN_CLOEXEC);
+        if (fd < 0) {
+            throw new IOException(String.format("Unable initialize inotify: %s", lastError()));
+        }
+        this.watchBudget = watchBudget;
+        watchDescriptors = new ConcurrentHashMap<>();
+        watchedDirectories = new ConcurrentHashMap<>();
+        events = new LinkedBlockingQueue<>();
+        closed = new AtomicBoolean();
+        reader = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true)
+                                                                            .setNameFormat("InotifyReader-%d")
+                                                                            .build());
+        reader.execute(this::readEvents);
+    }
+
+    @Override
+    public synchronized boolean watch(Path directory) throws IOException {
+        checkOpen();
+        if (watchedDirectories.containsKey(directory)) {
+            return true;
+        }
+        if (watchedDirectories.size() >= watchBudget) {
+            return false;
+        }
+        int wd = INOTIFY.inotify_add_watch(fd, directory.toString(), WATCH_MASK);
+        if (wd < 0) {
+            if (Native.getLastError() == ENOSPC) {
+                return false;
+            }
+            throw new IOException(String.format("Unable watch directory '%s': %s", directory, lastError()));
+        }
+        watchDescriptors.put(wd, directory);
+        watchedDirectories.put(directory, wd);
+        return true;
+    }
+
+    @Override
+    public synchronized void unwatch(Path directory) {
+        Integer wd = watchedDirectories.remove(directory);
+        if (wd != null) {
+            watchDescriptors.remove(wd);
+            if (!closed.get()) {
+                // Fails if directory is already removed, kernel removes watch itself in this case.
+                INOTIFY.inotify_rm_watch(fd, wd);
+            }
+        }
+    }
+
+    @Override
+    public Event take() throws InterruptedException {
+        checkOpen();
+        return events.take();
+    }
+
+    @Override
+    public Event poll(long timeout, TimeUnit unit) throws InterruptedException {
+        checkOpen();
+        return events.poll(timeout, unit);
+    }
+
+    @Override
+    public Event poll() {
+        checkOpen();
+        return events.poll();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed.compareAndSet(false, true)) {
+            reader.shutdownNow();
+            try {
+                if (!reader.awaitTermination(POLL_TIMEOUT_MS * 2, TimeUnit.MILLISECONDS)) {
+                    LOG.warn("Unable terminate inotify reader");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            watchDescriptors.clear();
+            watchedDirectories.clear();
+            if (INOTIFY.close(fd) < 0) {
+                throw new IOException(String.format("Unable close inotify: %s", lastError()));
+            }
+        }
+    }
+
+    int getNumberOfWatchedDirectories() {
+        return watchedDirectories.size();
+    }
+
+    private void checkOpen() {
+        if (closed.get()) {
+            throw new ClosedWatchServiceException();
+        }
+    }
+
+    private void readEvents() {
+        final InotifyLibrary.PollFd pollFd = new InotifyLibrary.PollFd(fd, POLLIN);
+        final byte[] buffer = new byte[READ_BUFFER_SIZE];
+        while (!closed.get() && !Thread.currentThread().isInterrupted()) {
+            pollFd.revents = 0;
+            int ready = INOTIFY.poll(pollFd, 1, POLL_TIMEOUT_MS);
+            if (ready <= 0 || (pollFd.revents & POLLIN) == 0) {
+                continue;
+            }
+            int read = INOTIFY.read(fd, buffer, buffer.length);
+            if (read > 0) {
+                parseEvents(buffer, read);
+            }
+        }
+    }
+
+    private void parseEvents(byte[] buffer, int length) {
+        final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, length).order(ByteOrder.nativeOrder());
+        while (byteBuffer.remaining() >= INOTIFY_EVENT_HEADER_SIZE) {
+            int wd = byteBuffer.getInt();
+            int mask = byteBuffer.getInt();
+            byteBuffer.getInt(); // cookie
+            int nameLength = byteBuffer.getInt();
+            byteBuffer.position(byteBuffer.position() + nameLength);
+
+            if ((mask & IN_Q_OVERFLOW) != 0) {
+                events.offer(Event.overflow(null));
+                continue;
+            }
+            Path directory = watchDescriptors.get(wd);
+            if (directory == null) {
+                continue;
+            }
+            if ((mask & IN_IGNORED) != 0) {
+                // Watch is removed by kernel, e.g. directory is deleted.
+                synchronized (this) {
+                    if (watchDescriptors.remove(wd) != null) {
+                        watchedDirectories.remove(directory);
+                    }
+                }
+            }
+            events.offer(Event.changed(directory));
+        }
+    }
+
+    private String lastError() {
+        return INOTIFY.strerror(Native.getLastError());
+    }
+
+    @Override
+    public String toString() {
+        return "InotifyFileWatcherBackend{fd=" + fd + ", watchBudget=" + watchBudget + '}';
+    }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import com.sun.jna.Library;
+import com.sun.jna.Structure;
+
+import java.util.Arrays;
+import java.util.List;
+
+/** Linux inotify functions. See http://man7.org/linux/man-pages/man7/inotify.7.html */
+interface InotifyLibrary extends Library {
+    // Defined in 'sys/inotify.h'
+    int IN_MODIFY      = 0x00000002;
+    int IN_ATTRIB      = 0x00000004;
+    int IN_MOVED_FROM  = 0x00000040;
+    int IN_MOVED_TO    = 0x00000080;
+    int IN_CREATE      = 0x00000100;
+    int IN_DELETE      = 0x00000200;
+    int IN_DELETE_SELF = 0x00000400;
+    int IN_MOVE_SELF   = 0x00000800;
+    int IN_Q_OVERFLOW  = 0x00004000;
+    int IN_IGNORED     = 0x00008000;
+    int IN_ONLYDIR     = 0x01000000;
+    int IN_DONT_FOLLOW = 0x02000000;
+    int IN_EXCL_UNLINK = 0x04000000;
+
+    int IN_NONBLOCK = 0x00000800;
+    int IN_CLOEXEC  = 0x00080000;
+
+    // Defined in 'poll.h'
+    short POLLIN = 0x0001;
+
+    // Defined in 'errno.h'
+    int ENOSPC = 28;
+
+    // Size of 'struct inotify_event' without name
+    int INOTIFY_EVENT_HEADER_SIZE = 16;
+
+    // Defined in 'poll.h', see http://man7.org/linux/man-pages/man2/poll.2.html
+    class PollFd extends Structure {
+        public int   fd;
+        public short events;
+        public short revents;
+
+        public PollFd(int fd, short events) {
+            this.fd = fd;
+            this.events = events;
+        }
+
+        @Override
+        protected List getFieldOrder() {
+            return Arrays.asList("fd", "events", "revents");
+        }
+    }
+
+    int inotify_init1(int flags);
+
+    int inotify_add_watch(int fd, String path, int mask);
+
+    int inotify_rm_watch(int fd, int wd);
+
+    int poll(PollFd fds, int nfds, int timeout);
+
+    int read(int fd, byte[] buf, int count);
+
+    int close(int fd);
+
+    String strerror(int errno);
+}
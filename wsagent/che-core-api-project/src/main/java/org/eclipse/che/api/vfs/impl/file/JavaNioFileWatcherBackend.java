@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Implementation of {@link FileWatcherBackend} on top of {@link WatchService}. Works on any platform but on platforms that
+ * don't have native implementation of {@link WatchService} changes are detected by polling.
+ */
+public class JavaNioFileWatcherBackend implements FileWatcherBackend {
+    private static final Logger LOG = LoggerFactory.getLogger(JavaNioFileWatcherBackend.class);
+
+    private final WatchService          watchService;
+    private final WatchEvent.Modifier[] watchEventModifiers;
+    private final Map<Path, WatchKey>   watchKeys;
+
+    public JavaNioFileWatcherBackend() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        if (isPollingWatchService(watchService)) {
+            WatchEvent.Modifier sensitivityModifier = createSensitivityWatchEventModifier();
+            watchEventModifiers = sensitivityModifier == null ? new WatchEvent.Modifier[0]
+                                                              : new WatchEvent.Modifier[]{sensitivityModifier};
+        } else {
+            watchEventModifiers = new WatchEvent.Modifier[0];
+        }
+        watchKeys = new ConcurrentHashMap<>();
+    }
+
+    private boolean isPollingWatchService(WatchService watchService) {
+        return "sun.nio.fs.PollingWatchService".equals(watchService.getClass().getName());
+    }
+
+    private WatchEvent.Modifier createSensitivityWatchEventModifier() {
+        try {
+            Class<?> aModifierEnum = Class.forName("com.sun.nio.file.SensitivityWatchEventModifier");
+            Object[] sensitivityEnumConstants = aModifierEnum.getEnumConstants();
+            return (WatchEvent.Modifier)sensitivityEnumConstants[0];
+        } catch (Exception e) {
+            LOG.warn("Can't create 'com.sun.nio.file.SensitivityWatchEventModifier'", e);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean watch(Path directory) throws IOException {
+        if (!watchKeys.containsKey(directory)) {
+            watchKeys.put(directory, directory.register(watchService,
+                                                        new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
+                                                        watchEventModifiers));
+        }
+        return true;
+    }
+
+    @Override
+    public void unwatch(Path directory) {
+        WatchKey watchKey = watchKeys.remove(directory);
+        if (watchKey != null) {
+            watchKey.cancel();
+        }
+    }
+
+    @Override
+    public Event take() throws InterruptedException {
+        return toEvent(watchService.take());
+    }
+
+    @Override
+    public Event poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return toEvent(watchService.poll(timeout, unit));
+    }
+
+    @Override
+    public Event poll() {
+        return toEvent(watchService.poll());
+    }
+
+    private Event toEvent(WatchKey watchKey) {
+        if (watchKey == null) {
+            return null;
+        }
+        boolean overflow = false;
+        for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+            if (watchEvent.kind() == OVERFLOW) {
+                overflow = true;
+            }
+        }
+        watchKey.reset();
+        Path directory = (Path)watchKey.watchable();
+        return overflow ? Event.overflow(directory) : Event.changed(directory);
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchKeys.clear();
+        watchService.close();
+    }
+}
@@ -52,6 +52,8 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -243,35 +245,50 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
-            final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
-            Collections.sort(children);
-            return children;
+            return doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
         }
         return emptyList();
     }
 
 
+    /**
+     * Lists children of {@code parent} in order defined by {@link LocalVirtualFile#compareTo(VirtualFile)}: folders first then
+     * files, each group sorted by name. Directory is read with single {@link java.nio.file.DirectoryStream} and attributes of
+     * each entry are read only once, so sorting doesn't need to hit filesystem. Method doesn't hold any shared state and may
+     * be called concurrently.
+     */
     private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
             throws ServerException {
         if (ioFileFilter == null) {
             ioFileFilter = IoUtil.ANY_FILTER;
         }
 
-        final String[] names = parent.toIoFile().list(ioFileFilter);
-        if (names == null) {
-            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
+        final File ioParent = parent.toIoFile();
+        final List<DirectoryEntry> entries = newArrayList();
+        try (java.nio.file.DirectoryStream<java.nio.file.Path> stream = java.nio.file.Files.newDirectoryStream(ioParent.toPath())) {
+            for (java.nio.file.Path entry : stream) {
+                final String name = entry.getFileName().toString();
+                if (ioFileFilter.accept(ioParent, name)) {
+                    entries.add(new DirectoryEntry(name, isDirectory(entry)));
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            String errorMessage = String.format("Unable get children of '%s'", parent.getPath());
+            LOG.error(errorMessage + "\n" + e.getMessage(), e);
+            throw new ServerException(errorMessage);
         }
+        Collections.sort(entries);
 
         if (vfsFilter == null) {
             vfsFilter = VirtualFileFilter.ACCEPT_ALL;
         }
 
-        final List<VirtualFile> children = newArrayListWithCapacity(names.length);
-        for (String name : names) {
-            final Path childPath = parent.getPath().newPath(name);
-            final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
+        final List<VirtualFile> children = newArrayListWithCapacity(entries.size());
+        for (DirectoryEntry entry : entries) {
+            final Path childPath = parent.getPath().newPath(entry.name);
+            final LocalVirtualFile child = new LocalVirtualFile(new File(ioParent, entry.name), childPath, this);
             if (vfsFilter.accept(child)) {
                 children.add(child);
             }
@@ -281,6 +298,37 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    private boolean isDirectory(java.nio.file.Path ioPath) {
+        try {
+            // Follow links to be consistent with java.io.File#isDirectory()
+            return java.nio.file.Files.readAttributes(ioPath, BasicFileAttributes.class).isDirectory();
+        } catch (IOException e) {
+            // Item removed while we read directory or broken link.
+            return false;
+        }
+    }
+
+
+    /** Name of directory item with its type. Keeps the same order of items as {@link LocalVirtualFile#compareTo(VirtualFile)}. */
+    private static class DirectoryEntry implements Comparable<DirectoryEntry> {
+        final String  name;
+        final boolean folder;
+
+        DirectoryEntry(String name, boolean folder) {
+            this.name = name;
+            this.folder = folder;
+        }
+
+        @Override
+        public int compareTo(DirectoryEntry other) {
+            if (folder != other.folder) {
+                return folder ? -1 : 1;
+            }
+            return name.compareTo(other.name);
+        }
+    }
+
+
     LocalVirtualFile createFile(LocalVirtualFile parent, String name, InputStream content)
             throws ForbiddenException, ConflictException, ServerException {
         checkName(name);
@@ -12,11 +12,15 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher.*/
 public class QueryExpression {
-    private String name;
-    private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    private String  name;
+    private String  path;
+    private String  text;
+    private String  pattern;
+    private boolean regex;
+    private int     skipCount;
+    private int     maxItems;
+    private String  cursor;
+    private boolean includePositions;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -48,6 +52,29 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Optional substring or regular expression (if {@link #isRegex()} is {@code true}) that content of file must contain.
+     * Unlike {@link #getText()} pattern is matched against exact content of file, not against indexed words.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    public QueryExpression setPattern(String pattern) {
+        this.pattern = pattern;
+        return this;
+    }
+
+    /** If {@code true} then {@link #getPattern()} is regular expression, otherwise it is plain substring. */
+    public boolean isRegex() {
+        return regex;
+    }
+
+    public QueryExpression setRegex(boolean regex) {
+        this.regex = regex;
+        return this;
+    }
+
     /** Number of items in search result that should be skipped. This parameter used for paging through large set of search result. */
     public int getSkipCount() {
         return skipCount;
@@ -68,14 +95,42 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Optional opaque position in search result that is provided by searcher in query expression for retrieving next page of
+     * result. If cursor is still valid searcher continues search from this position instead of skipping {@link #getSkipCount()}
+     * items, otherwise skip count is used.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public QueryExpression setCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
+    /** If {@code true} then positions of matched text are included in search result. Positions are available only for text search. */
+    public boolean isIncludePositions() {
+        return includePositions;
+    }
+
+    public QueryExpression setIncludePositions(boolean includePositions) {
+        this.includePositions = includePositions;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
                "text='" + text + '\'' +
+               ", pattern='" + pattern + '\'' +
+               ", regex=" + regex +
                ", name='" + name + '\'' +
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", cursor='" + cursor + '\'' +
+               ", includePositions=" + includePositions +
                '}';
     }
 }
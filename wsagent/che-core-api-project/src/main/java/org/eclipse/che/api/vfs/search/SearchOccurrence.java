@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Position of text that matches the search criteria in file.
+ */
+public class SearchOccurrence {
+    private final int    lineNumber;
+    private final int    startColumn;
+    private final int    endColumn;
+    private final int    startOffset;
+    private final int    endOffset;
+    private final String lineContent;
+
+    public SearchOccurrence(int lineNumber, int startColumn, int endColumn, int startOffset, int endOffset, String lineContent) {
+        this.lineNumber = lineNumber;
+        this.startColumn = startColumn;
+        this.endColumn = endColumn;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.lineContent = lineContent;
+    }
+
+    /** Number of line that contains matched text, starting from 1. */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /** Position of first character of matched text in line, starting from 0. */
+    public int getStartColumn() {
+        return startColumn;
+    }
+
+    /** Position next after last character of matched text in line. */
+    public int getEndColumn() {
+        return endColumn;
+    }
+
+    /** Position of first character of matched text in file, starting from 0. */
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    /** Position next after last character of matched text in file. */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /** Content of line that contains matched text. Content of very long line is truncated around matched text. */
+    public String getLineContent() {
+        return lineContent;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchOccurrence{" +
+               "lineNumber=" + lineNumber +
+               ", startColumn=" + startColumn +
+               ", endColumn=" + endColumn +
+               ", startOffset=" + startOffset +
+               ", endOffset=" + endOffset +
+               ", lineContent='" + lineContent + '\'' +
+               '}';
+    }
+}
@@ -11,16 +11,21 @@
 package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.project.shared.dto.event.IndexingProgressEvent;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
+import org.eclipse.che.dto.server.DtoFactory;
 
 import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -33,19 +38,74 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
     protected final VirtualFileFilter fileIndexFilter;
     protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
     private final ExecutorService executor;
+    private final EventService    eventService;
+
+    private int     indexingThreads   = Runtime.getRuntime().availableProcessors();
+    private double  ramBufferSizeMB   = LuceneSearcher.DEFAULT_RAM_BUFFER_SIZE_MB;
+    private int     commitInterval    = LuceneSearcher.DEFAULT_COMMIT_INTERVAL;
+    private long    refreshIntervalMs = LuceneSearcher.DEFAULT_REFRESH_INTERVAL_MS;
+    private int     resultCacheSize   = LuceneSearcher.DEFAULT_RESULT_CACHE_SIZE;
+    private int     maxUnindexedPatternCandidates = LuceneSearcher.DEFAULT_MAX_UNINDEXED_PATTERN_CANDIDATES;
+    private boolean codeAware;
 
     /**
      * @param fileIndexFilters
      *         set filter for files that should not be indexed
      */
     protected AbstractLuceneSearcherProvider(Set<VirtualFileFilter> fileIndexFilters) {
+        this(fileIndexFilters, null);
+    }
+
+    /**
+     * @param fileIndexFilters
+     *         set filter for files that should not be indexed
+     * @param eventService
+     *         if not {@code null} progress of initial indexing is published as {@link IndexingProgressEvent}s
+     */
+    protected AbstractLuceneSearcherProvider(Set<VirtualFileFilter> fileIndexFilters, EventService eventService) {
         this.fileIndexFilter = mergeFileIndexFilters(fileIndexFilters);
+        this.eventService = eventService;
         executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
                                                              .setDaemon(true)
                                                              .setNameFormat("LuceneSearcherInitThread")
                                                              .build());
     }
 
+    @Inject(optional = true)
+    public void setIndexingThreads(@Named("vfs.index.threads") int indexingThreads) {
+        this.indexingThreads = indexingThreads;
+    }
+
+    @Inject(optional = true)
+    public void setRamBufferSizeMB(@Named("vfs.index.ram_buffer_mb") double ramBufferSizeMB) {
+        this.ramBufferSizeMB = ramBufferSizeMB;
+    }
+
+    @Inject(optional = true)
+    public void setCommitInterval(@Named("vfs.index.commit_interval") int commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+
+    @Inject(optional = true)
+    public void setRefreshIntervalMs(@Named("vfs.index.refresh_interval_ms") long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    @Inject(optional = true)
+    public void setResultCacheSize(@Named("vfs.search.result_cache_size") int resultCacheSize) {
+        this.resultCacheSize = resultCacheSize;
+    }
+
+    @Inject(optional = true)
+    public void setCodeAware(@Named("vfs.index.code_aware") boolean codeAware) {
+        this.codeAware = codeAware;
+    }
+
+    @Inject(optional = true)
+    public void setMaxUnindexedPatternCandidates(@Named("vfs.search.max_unindexed_pattern_candidates") int maxCandidates) {
+        this.maxUnindexedPatternCandidates = maxCandidates;
+    }
+
     private VirtualFileFilter mergeFileIndexFilters(Set<VirtualFileFilter> fileIndexFilters) {
         final VirtualFileFilter filter;
         if (fileIndexFilters.isEmpty()) {
@@ -63,6 +123,16 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
         Searcher cachedSearcher = searcherReference.get();
         if (cachedSearcher == null && create) {
             LuceneSearcher searcher = createLuceneSearcher(() -> searcherReference.set(null));
+            searcher.setIndexingThreads(indexingThreads);
+            searcher.setRamBufferSizeMB(ramBufferSizeMB);
+            searcher.setCommitInterval(commitInterval);
+            searcher.setRefreshIntervalMs(refreshIntervalMs);
+            searcher.setResultCacheSize(resultCacheSize);
+            searcher.setCodeAware(codeAware);
+            searcher.setMaxUnindexedPatternCandidates(maxUnindexedPatternCandidates);
+            if (eventService != null) {
+                searcher.setIndexingProgressListener(this::publishIndexingProgress);
+            }
             if (searcherReference.compareAndSet(null, searcher)) {
                 searcher.initAsynchronously(executor, virtualFileSystem);
             }
@@ -71,6 +141,16 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
         return cachedSearcher;
     }
 
+    private void publishIndexingProgress(IndexingProgress progress) {
+        eventService.publish(DtoFactory.newDto(IndexingProgressEvent.class)
+                                       .withDiscoveredFiles(progress.getDiscoveredFiles())
+                                       .withIndexedFiles(progress.getIndexedFiles())
+                                       .withQueueDepth(progress.getQueueDepth())
+                                       .withFilesPerSecond(progress.getFilesPerSecond())
+                                       .withDiscoveryCompleted(progress.isDiscoveryCompleted())
+                                       .withCompleted(progress.isCompleted()));
+    }
+
     @PreDestroy
     void stop() {
         executor.shutdownNow();
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.LowerCaseFilter;
+import org.apache.lucene.analysis.miscellaneous.WordDelimiterFilter;
+import org.apache.lucene.analysis.util.CharTokenizer;
+
+import static org.apache.lucene.analysis.miscellaneous.WordDelimiterFilter.GENERATE_NUMBER_PARTS;
+import static org.apache.lucene.analysis.miscellaneous.WordDelimiterFilter.GENERATE_WORD_PARTS;
+import static org.apache.lucene.analysis.miscellaneous.WordDelimiterFilter.PRESERVE_ORIGINAL;
+import static org.apache.lucene.analysis.miscellaneous.WordDelimiterFilter.SPLIT_ON_CASE_CHANGE;
+
+/**
+ * Analyzer for source code. Text is split in identifiers on any character that may not be part of identifier, e.g.
+ * {@code foo.getChildren()} gives {@code foo} and {@code getChildren}. If splitting of identifiers is enabled then each
+ * identifier is additionally split in parts by case changes and underscores, e.g. {@code getChildren} gives
+ * {@code getchildren}, {@code get} and {@code children}, {@code MAX_VALUE} gives {@code max_value}, {@code max} and
+ * {@code value}. Splitting is used for indexing, queries are analyzed without it to match whole identifiers or their parts.
+ */
+class CodeAnalyzer extends Analyzer {
+    private static final int WORD_DELIMITER_FLAGS = GENERATE_WORD_PARTS | GENERATE_NUMBER_PARTS | SPLIT_ON_CASE_CHANGE | PRESERVE_ORIGINAL;
+
+    private final boolean splitIdentifiers;
+
+    CodeAnalyzer(boolean splitIdentifiers) {
+        this.splitIdentifiers = splitIdentifiers;
+    }
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        final Tokenizer tokenizer = new IdentifierTokenizer();
+        TokenStream filter = tokenizer;
+        if (splitIdentifiers) {
+            filter = new WordDelimiterFilter(filter, WORD_DELIMITER_FLAGS, null);
+        }
+        return new TokenStreamComponents(tokenizer, new LowerCaseFilter(filter));
+    }
+
+    private static class IdentifierTokenizer extends CharTokenizer {
+        @Override
+        protected boolean isTokenChar(int c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+        }
+    }
+}
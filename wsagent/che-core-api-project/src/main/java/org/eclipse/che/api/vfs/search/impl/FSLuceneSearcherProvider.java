@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 
 import javax.inject.Inject;
@@ -35,10 +36,24 @@ public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
      *         set filter for files that should not be indexed
      * @see LuceneSearcher
      */
+    public FSLuceneSearcherProvider(File indexRootDirectory, Set<PathMatcher> excludePatterns) throws IOException {
+        this(indexRootDirectory, excludePatterns, null);
+    }
+
+    /**
+     * @param indexRootDirectory
+     *         root directory for creation index
+     * @param excludePatterns
+     *         set filter for files that should not be indexed
+     * @param eventService
+     *         used for publishing progress of initial indexing
+     * @see LuceneSearcher
+     */
     @Inject
     public FSLuceneSearcherProvider(@Named("vfs.local.fs_index_root_dir") File indexRootDirectory,
-                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns) throws IOException {
-        super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)));
+                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
+                                    EventService eventService) throws IOException {
+        super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)), eventService);
         this.indexRootDirectory = indexRootDirectory;
         Files.createDirectories(indexRootDirectory.toPath());
     }
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexableField;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+
+/**
+ * Modification date and length of file at the moment when file was added in index. Stored together with indexed document
+ * and used for finding files that were changed while index was not updated, e.g. when agent was stopped.
+ */
+final class FileFingerprint {
+    static final String MODIFIED_FIELD = "modified";
+    static final String LENGTH_FIELD   = "length";
+
+    static FileFingerprint of(VirtualFile virtualFile) throws ServerException {
+        return new FileFingerprint(virtualFile.getLastModificationDate(), virtualFile.getLength());
+    }
+
+    /** Returns fingerprint stored in {@code document} or {@code null} if document was indexed without fingerprint. */
+    static FileFingerprint of(Document document) {
+        final IndexableField modified = document.getField(MODIFIED_FIELD);
+        final IndexableField length = document.getField(LENGTH_FIELD);
+        if (modified == null || length == null) {
+            return null;
+        }
+        return new FileFingerprint(modified.numericValue().longValue(), length.numericValue().longValue());
+    }
+
+    private final long lastModified;
+    private final long length;
+
+    FileFingerprint(long lastModified, long length) {
+        this.lastModified = lastModified;
+        this.length = length;
+    }
+
+    long getLastModified() {
+        return lastModified;
+    }
+
+    long getLength() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FileFingerprint)) {
+            return false;
+        }
+        FileFingerprint other = (FileFingerprint)o;
+        return lastModified == other.lastModified && length == other.length;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + Long.hashCode(lastModified);
+        hash = 31 * hash + Long.hashCode(length);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "FileFingerprint{" +
+               "lastModified=" + lastModified +
+               ", length=" + length +
+               '}';
+    }
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+/** Snapshot of state of indexing of tree of files, see {@link ParallelTreeIndexer}. */
+public class IndexingProgress {
+    private final int     discoveredFiles;
+    private final int     indexedFiles;
+    private final int     queueDepth;
+    private final double  filesPerSecond;
+    private final boolean discoveryCompleted;
+    private final boolean completed;
+
+    IndexingProgress(int discoveredFiles,
+                     int indexedFiles,
+                     int queueDepth,
+                     double filesPerSecond,
+                     boolean discoveryCompleted,
+                     boolean completed) {
+        this.discoveredFiles = discoveredFiles;
+        this.indexedFiles = indexedFiles;
+        this.queueDepth = queueDepth;
+        this.filesPerSecond = filesPerSecond;
+        this.discoveryCompleted = discoveryCompleted;
+        this.completed = completed;
+    }
+
+    public int getDiscoveredFiles() {
+        return discoveredFiles;
+    }
+
+    public int getIndexedFiles() {
+        return indexedFiles;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public double getFilesPerSecond() {
+        return filesPerSecond;
+    }
+
+    public boolean isDiscoveryCompleted() {
+        return discoveryCompleted;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexingProgress{" +
+               "discoveredFiles=" + discoveredFiles +
+               ", indexedFiles=" + indexedFiles +
+               ", queueDepth=" + queueDepth +
+               ", filesPerSecond=" + filesPerSecond +
+               ", discoveryCompleted=" + discoveryCompleted +
+               ", completed=" + completed +
+               '}';
+    }
+}
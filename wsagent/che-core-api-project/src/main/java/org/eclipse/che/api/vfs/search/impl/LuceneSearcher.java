@@ -10,23 +10,41 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.CharStreams;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexFormatTooNewException;
+import org.apache.lucene.index.IndexFormatTooOldException;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TrackingIndexWriter;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
@@ -35,15 +53,18 @@ import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -54,12 +75,28 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.api.vfs.search.impl.FileFingerprint.LENGTH_FIELD;
+import static org.eclipse.che.api.vfs.search.impl.FileFingerprint.MODIFIED_FIELD;
 
 /**
  * Lucene based searcher.
@@ -71,14 +108,81 @@ public abstract class LuceneSearcher implements Searcher {
 
     private static final int RESULT_LIMIT = 1000;
 
+    /** Max time that search waits for refreshing of index reader after changes in index. */
+    private static final int MAX_REFRESH_WAIT_MS = 1000;
+
+    /** Max time between two refreshes of index reader in background. */
+    static final long DEFAULT_REFRESH_INTERVAL_MS = 1000;
+
+    /** Max number of pages of search result that are cached by searcher. */
+    static final int DEFAULT_RESULT_CACHE_SIZE = 100;
+
+    /** Number of indexed files between two commits of index during initial indexing. */
+    static final int DEFAULT_COMMIT_INTERVAL = 10000;
+
+    /** Memory for buffering of added documents, bigger than lucene default to flush less segments during initial indexing. */
+    static final double DEFAULT_RAM_BUFFER_SIZE_MB = 64;
+
+    /** Max number of files which content is matched with pattern that has no literal text to look up in index. */
+    static final int DEFAULT_MAX_UNINDEXED_PATTERN_CANDIDATES = 10000;
+
+    /**
+     * Version of structure of indexed documents, it is saved with each commit of index. Existed index is cleared if its version
+     * doesn't match to this one. Must be changed each time when structure of document or analyzer is changed.
+     */
+    static final String INDEX_FORMAT_VERSION = "2";
+    static final String INDEX_FORMAT_KEY     = "che.index.format";
+    static final String CODE_AWARE_FORMAT    = "-code";
+
+    private static final Set<String> FINGERPRINT_FIELDS = newHashSet("path", MODIFIED_FIELD, LENGTH_FIELD);
+
+    /** Content of file is indexed with term vectors that contain offsets of terms, they are used for finding matched text. */
+    private static final FieldType TEXT_FIELD_TYPE = new FieldType(TextField.TYPE_NOT_STORED);
+
+    static {
+        TEXT_FIELD_TYPE.setStoreTermVectors(true);
+        TEXT_FIELD_TYPE.setStoreTermVectorOffsets(true);
+        TEXT_FIELD_TYPE.freeze();
+    }
+
+    /** Trigrams are used only for finding candidates for matching with pattern, frequencies and positions are not needed. */
+    private static final FieldType TRIGRAM_FIELD_TYPE = new FieldType();
+
+    static {
+        TRIGRAM_FIELD_TYPE.setIndexOptions(IndexOptions.DOCS);
+        TRIGRAM_FIELD_TYPE.setTokenized(true);
+        TRIGRAM_FIELD_TYPE.setOmitNorms(true);
+        TRIGRAM_FIELD_TYPE.freeze();
+    }
+
+    /** Receives progress of initial indexing. */
+    public interface IndexingProgressListener {
+        void onProgress(IndexingProgress progress);
+    }
+
     private final List<VirtualFileFilter>                      indexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
 
-    private IndexWriter     luceneIndexWriter;
-    private SearcherManager searcherManager;
+    private final AtomicLong lastChangeGeneration = new AtomicLong();
+
+    private IndexWriter                                   luceneIndexWriter;
+    private TrackingIndexWriter                           trackingIndexWriter;
+    private SearcherManager                               searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private Cache<SearchPageKey, SearchPage>              resultCache;
+    private volatile VirtualFileSystem                    virtualFileSystem;
 
     private boolean closed = true;
 
+    private int                      indexingThreads  = Runtime.getRuntime().availableProcessors();
+    private double                   ramBufferSizeMB  = DEFAULT_RAM_BUFFER_SIZE_MB;
+    private int                      commitInterval   = DEFAULT_COMMIT_INTERVAL;
+    private IndexingProgressListener progressListener;
+    private long                     refreshIntervalMs = DEFAULT_REFRESH_INTERVAL_MS;
+    private int                      resultCacheSize   = DEFAULT_RESULT_CACHE_SIZE;
+    private int                      maxUnindexedPatternCandidates = DEFAULT_MAX_UNINDEXED_PATTERN_CANDIDATES;
+    private boolean                  codeAware;
+
     protected LuceneSearcher() {
         this(new MediaTypeFilter(), null);
     }
@@ -109,6 +213,9 @@ public abstract class LuceneSearcher implements Searcher {
     }
 
     protected Analyzer makeAnalyzer() {
+        if (codeAware) {
+            return new PerFieldAnalyzerWrapper(new CodeAnalyzer(true), singletonMap(Trigrams.FIELD, Trigrams.createAnalyzer()));
+        }
         return new Analyzer() {
             @Override
             protected TokenStreamComponents createComponents(String fieldName) {
@@ -119,10 +226,82 @@ public abstract class LuceneSearcher implements Searcher {
         };
     }
 
+    /** Analyzer for text of queries. By default it is the same analyzer that is used for indexing. */
+    protected Analyzer makeQueryAnalyzer() {
+        if (codeAware) {
+            return new CodeAnalyzer(false);
+        }
+        return makeAnalyzer();
+    }
+
     protected abstract Directory makeDirectory() throws ServerException;
 
+    /** Sets number of threads used for initial indexing. Must be called before initialization of searcher. */
+    public void setIndexingThreads(int indexingThreads) {
+        if (indexingThreads < 1) {
+            throw new IllegalArgumentException(String.format("Invalid number of indexing threads: %d", indexingThreads));
+        }
+        this.indexingThreads = indexingThreads;
+    }
+
+    /**
+     * Sets amount of memory that may be used for buffering of added documents before they are flushed to the index
+     * directory. Must be called before initialization of searcher.
+     */
+    public void setRamBufferSizeMB(double ramBufferSizeMB) {
+        this.ramBufferSizeMB = ramBufferSizeMB;
+    }
+
+    /**
+     * Sets number of files indexed between two commits of index during initial indexing, {@code 0} disables intermediate
+     * commits. Must be called before initialization of searcher.
+     */
+    public void setCommitInterval(int commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+
+    /** Sets listener for progress of initial indexing. Must be called before initialization of searcher. */
+    public void setIndexingProgressListener(IndexingProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Sets max time between two refreshes of index reader, index reader is refreshed in background. Search waits for refreshing
+     * of reader only if index was changed since last refresh. Must be called before initialization of searcher.
+     */
+    public void setRefreshIntervalMs(long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
     /**
-     * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual filesystem and add to index.
+     * Sets max number of pages of search result that are cached, {@code 0} disables caching. Cached pages are bound to version
+     * of index and are not used after any change in index. Must be called before initialization of searcher.
+     */
+    public void setResultCacheSize(int resultCacheSize) {
+        this.resultCacheSize = resultCacheSize;
+    }
+
+    /**
+     * Enables code-aware indexing. Identifiers in content of files are additionally split in parts by case changes and
+     * underscores, so text query finds {@code getChildren} in {@code foo.getChildren()} and by {@code children}. Content of files
+     * is also indexed as set of trigrams which speeds up search by {@link QueryExpression#getPattern() pattern}. Changing of
+     * this mode causes re-indexing of all files. Must be called before initialization of searcher.
+     */
+    public void setCodeAware(boolean codeAware) {
+        this.codeAware = codeAware;
+    }
+
+    /**
+     * Sets max number of files which content may be matched with {@link QueryExpression#getPattern() pattern} that has no literal
+     * text to look up in index, search by such pattern fails if it isn't narrowed to this number of files by name or path.
+     */
+    public void setMaxUnindexedPatternCandidates(int maxUnindexedPatternCandidates) {
+        this.maxUnindexedPatternCandidates = maxUnindexedPatternCandidates;
+    }
+
+    /**
+     * Init lucene index. Scan all files in virtual filesystem and add to index. If index directory contains index created
+     * before then only files that were added, changed or removed since last update of index are re-indexed.
      *
      * @param virtualFileSystem
      *         VirtualFileSystem
@@ -130,16 +309,18 @@ public abstract class LuceneSearcher implements Searcher {
      *         if any virtual filesystem error occurs
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        addTreeInParallel(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.addTreeInParallel(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -149,18 +330,47 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            luceneIndexWriter = openIndexWriter(makeDirectory());
+            final String indexFormat = codeAware ? INDEX_FORMAT_VERSION + CODE_AWARE_FORMAT : INDEX_FORMAT_VERSION;
+            if (!indexFormat.equals(luceneIndexWriter.getCommitData().get(INDEX_FORMAT_KEY))) {
+                // Documents in index created by other version of searcher may be incompatible with current one.
+                luceneIndexWriter.deleteAll();
+            }
+            luceneIndexWriter.setCommitData(singletonMap(INDEX_FORMAT_KEY, indexFormat));
+            trackingIndexWriter = new TrackingIndexWriter(luceneIndexWriter);
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+            // Searches that wait for changes in index force immediate refresh.
+            reopenThread = new ControlledRealTimeReopenThread<>(trackingIndexWriter, searcherManager, refreshIntervalMs / 1000.0, 0.0);
+            reopenThread.setName("LuceneSearcherReopenThread");
+            reopenThread.setDaemon(true);
+            reopenThread.start();
+            if (resultCacheSize > 0) {
+                resultCache = CacheBuilder.newBuilder().maximumSize(resultCacheSize).build();
+            }
             closed = false;
         } catch (IOException e) {
             throw new ServerException(e);
         }
     }
 
+    private IndexWriter openIndexWriter(Directory directory) throws IOException {
+        try {
+            return new IndexWriter(directory, new IndexWriterConfig(makeAnalyzer()).setRAMBufferSizeMB(ramBufferSizeMB));
+        } catch (CorruptIndexException | IndexFormatTooOldException | IndexFormatTooNewException e) {
+            LOG.warn("Unable open existed index, it is going to be re-created. {}", e.getMessage());
+            final IndexWriterConfig indexWriterConfig = new IndexWriterConfig(makeAnalyzer()).setRAMBufferSizeMB(ramBufferSizeMB)
+                                                                                             .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+            return new IndexWriter(directory, indexWriterConfig);
+        }
+    }
+
     public final synchronized void close() {
         if (!closed) {
             try {
-                IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
+                if (resultCache != null) {
+                    resultCache.invalidateAll();
+                }
+                IOUtils.close(reopenThread, getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
                 afterClose();
             } catch (IOException e) {
                 LOG.error(e.getMessage(), e);
@@ -184,44 +394,50 @@ public abstract class LuceneSearcher implements Searcher {
         return luceneIndexWriter;
     }
 
+    /** Commits all pending changes to the index directory. */
+    public void commit() throws ServerException {
+        try {
+            getIndexWriter().commit();
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public SearchResult search(QueryExpression query) throws ServerException {
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
-            searcherManager.maybeRefresh();
+            waitForIndexChanges();
             luceneSearcher = searcherManager.acquire();
 
-            Query luceneQuery = createLuceneQuery(query);
-
-            ScoreDoc after = null;
+            final long readerVersion = ((DirectoryReader)luceneSearcher.getIndexReader()).getVersion();
             final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
-                after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
-            }
-
             final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
-            TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
-            final int totalHitsNum = topDocs.totalHits;
 
-            List<SearchResultEntry> results = newArrayList();
-            for (int i = 0; i < topDocs.scoreDocs.length; i++) {
-                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
-                String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
-                results.add(new SearchResultEntry(filePath));
+            final SearchPageKey pageKey = new SearchPageKey(query, numSkipDocs, numDocs, readerVersion);
+            SearchPage page = resultCache == null ? null : resultCache.getIfPresent(pageKey);
+            if (page == null) {
+                page = searchPage(luceneSearcher, query, numSkipDocs, numDocs, readerVersion);
+                if (resultCache != null) {
+                    resultCache.put(pageKey, page);
+                }
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+            boolean hasMoreToRetrieve = numSkipDocs + page.results.size() + 1 < page.totalHits;
             QueryExpression nextPageQueryExpression = null;
             if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + page.results.size(), page.nextPageCursor);
             }
 
             return SearchResult.aSearchResult()
-                               .withResults(results)
-                               .withTotalHits(totalHitsNum)
+                               .withResults(page.results)
+                               .withTotalHits(page.totalHits)
                                .withNextPageQueryExpression(nextPageQueryExpression)
                                .withElapsedTimeMillis(elapsedTimeMillis)
                                .build();
@@ -236,6 +452,173 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /** Waits until index reader sees all changes that were made in index before this method was called. */
+    private void waitForIndexChanges() {
+        try {
+            if (!reopenThread.waitForGeneration(lastChangeGeneration.get(), MAX_REFRESH_WAIT_MS)) {
+                LOG.debug("Index reader is not refreshed in {} ms, search over stale index", MAX_REFRESH_WAIT_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void trackChange(long generation) {
+        lastChangeGeneration.accumulateAndGet(generation, Math::max);
+    }
+
+    private SearchPage searchPage(IndexSearcher luceneSearcher,
+                                  QueryExpression query,
+                                  int numSkipDocs,
+                                  int numDocs,
+                                  long readerVersion) throws ServerException, IOException {
+        if (query.getPattern() != null) {
+            return searchPageByPattern(luceneSearcher, query, numSkipDocs, numDocs);
+        }
+        Query luceneQuery = createLuceneQuery(query);
+
+        ScoreDoc after = null;
+        final SearchCursor cursor = SearchCursor.parse(query.getCursor());
+        if (cursor != null && cursor.getReaderVersion() == readerVersion) {
+            after = cursor.getScoreDoc();
+        } else if (numSkipDocs > 0) {
+            after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+        }
+
+        TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
+        Set<Term> matchedTerms = null;
+        if (query.isIncludePositions() && query.getText() != null) {
+            matchedTerms = new HashSet<>();
+            luceneSearcher.createNormalizedWeight(luceneQuery, false).extractTerms(matchedTerms);
+        }
+        List<SearchResultEntry> results = newArrayList();
+        for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+            String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
+            if (matchedTerms == null) {
+                results.add(new SearchResultEntry(filePath));
+            } else {
+                results.add(new SearchResultEntry(filePath,
+                                                  findOccurrences(luceneSearcher.getIndexReader(), scoreDoc.doc, filePath, matchedTerms)));
+            }
+        }
+
+        final ScoreDoc last = topDocs.scoreDocs.length > 0 ? topDocs.scoreDocs[topDocs.scoreDocs.length - 1] : after;
+        return new SearchPage(results, topDocs.totalHits, last == null ? null : new SearchCursor(readerVersion, last));
+    }
+
+    /**
+     * Finds files which content matches pattern. Candidates are found in index, with trigrams if code-aware mode is enabled,
+     * then content of each candidate is matched with pattern. Since total number of matched files is known only after checking
+     * of all candidates, all candidates are checked and cursor is not provided for such queries.
+     */
+    private SearchPage searchPageByPattern(IndexSearcher luceneSearcher,
+                                           QueryExpression query,
+                                           int numSkipDocs,
+                                           int numDocs) throws ServerException, IOException {
+        final Pattern pattern;
+        try {
+            pattern = query.isRegex() ? Pattern.compile(query.getPattern()) : Pattern.compile(query.getPattern(), Pattern.LITERAL);
+        } catch (PatternSyntaxException e) {
+            throw new ServerException(String.format("Invalid regular expression '%s'. %s", query.getPattern(), e.getDescription()));
+        }
+        final Query luceneQuery = createLuceneQuery(query);
+        if (createPatternQuery(query) == null) {
+            final int candidates = luceneSearcher.search(luceneQuery, 1).totalHits;
+            if (candidates > maxUnindexedPatternCandidates) {
+                throw new ServerException(String.format("Pattern '%s' has no literal text to look up in index and must be matched " +
+                                                        "with content of %d files, narrow search by file name or path",
+                                                        query.getPattern(), candidates));
+            }
+        }
+        final List<SearchResultEntry> results = newArrayList();
+        int matchedFiles = 0;
+        ScoreDoc after = null;
+        TopDocs topDocs;
+        do {
+            topDocs = luceneSearcher.searchAfter(after, luceneQuery, RESULT_LIMIT);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                final String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
+                final boolean inPage = matchedFiles >= numSkipDocs && results.size() < numDocs;
+                final List<SearchOccurrence> occurrences = matchPattern(filePath, pattern, inPage && query.isIncludePositions());
+                if (occurrences != null) {
+                    if (inPage) {
+                        results.add(new SearchResultEntry(filePath, occurrences));
+                    }
+                    matchedFiles++;
+                }
+            }
+            if (topDocs.scoreDocs.length > 0) {
+                after = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
+            }
+        } while (topDocs.scoreDocs.length == RESULT_LIMIT);
+        return new SearchPage(results, matchedFiles, null);
+    }
+
+    /**
+     * Matches content of file with pattern.
+     *
+     * @return {@code null} if file doesn't match pattern, otherwise positions of matched text or empty list if positions are not
+     * requested
+     */
+    private List<SearchOccurrence> matchPattern(String filePath, Pattern pattern, boolean includePositions) throws IOException {
+        final VirtualFile file = getIndexedFile(filePath);
+        if (file == null || !shouldIndexContent(file)) {
+            return null;
+        }
+        final String content;
+        try (Reader contentReader = new BufferedReader(new InputStreamReader(file.getContent()))) {
+            content = CharStreams.toString(contentReader);
+        } catch (ServerException | ForbiddenException e) {
+            LOG.warn("Unable read content of file '{}'. {}", filePath, e.getMessage());
+            return null;
+        }
+        final Matcher matcher = pattern.matcher(content);
+        if (!matcher.find()) {
+            return null;
+        }
+        if (!includePositions) {
+            return Collections.emptyList();
+        }
+        final List<int[]> offsets = new ArrayList<>();
+        do {
+            offsets.add(new int[]{matcher.start(), matcher.end()});
+        } while (offsets.size() < SearchOccurrences.MAX_OCCURRENCES_PER_FILE && matcher.find());
+        return SearchOccurrences.resolve(new StringReader(content), offsets);
+    }
+
+    private List<SearchOccurrence> findOccurrences(IndexReader reader, int docId, String filePath, Set<Term> terms)
+            throws IOException {
+        final List<int[]> offsets = SearchOccurrences.readOffsets(reader, docId, "text", terms);
+        if (offsets.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final VirtualFile file = getIndexedFile(filePath);
+        if (file == null) {
+            return Collections.emptyList();
+        }
+        try (Reader contentReader = new BufferedReader(new InputStreamReader(file.getContent()))) {
+            return SearchOccurrences.resolve(contentReader, offsets);
+        } catch (ServerException | ForbiddenException e) {
+            LOG.warn("Unable find occurrences in file '{}'. {}", filePath, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /** Returns indexed file or {@code null} if it doesn't exist anymore or searcher is not initialized with virtual filesystem. */
+    private VirtualFile getIndexedFile(String filePath) {
+        final VirtualFileSystem fileSystem = virtualFileSystem;
+        if (fileSystem == null) {
+            return null;
+        }
+        try {
+            final VirtualFile file = fileSystem.getRoot().getChild(Path.of(filePath));
+            return file != null && file.isFile() ? file : null;
+        } catch (ServerException e) {
+            LOG.warn("Unable get file '{}'. {}", filePath, e.getMessage());
+            return null;
+        }
+    }
+
     private Query createLuceneQuery(QueryExpression query) throws ServerException {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
@@ -248,16 +631,37 @@ public abstract class LuceneSearcher implements Searcher {
             luceneQuery.add(new WildcardQuery(new Term("name", name)), BooleanClause.Occur.MUST);
         }
         if (text != null) {
-            QueryParser qParser = new QueryParser("text", makeAnalyzer());
+            QueryParser qParser = new QueryParser("text", makeQueryAnalyzer());
             try {
                 luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
             } catch (ParseException e) {
                 throw new ServerException(e.getMessage());
             }
         }
+        if (query.getPattern() != null) {
+            final Query patternQuery = createPatternQuery(query);
+            if (patternQuery != null) {
+                luceneQuery.add(patternQuery, BooleanClause.Occur.MUST);
+            } else if (luceneQuery.clauses().isEmpty()) {
+                // Nothing to narrow the search, all indexed files must be checked.
+                return new MatchAllDocsQuery();
+            }
+        }
         return luceneQuery;
     }
 
+    /**
+     * Returns query for candidates which content may match pattern, trigrams are used in code-aware mode and words of
+     * content otherwise, or {@code null} if pattern has no literal text to look up in index.
+     */
+    private Query createPatternQuery(QueryExpression query) {
+        if (query.getPattern() == null) {
+            return null;
+        }
+        return codeAware ? Trigrams.createQuery(query.getPattern(), query.isRegex())
+                         : Words.createQuery(query.getPattern(), query.isRegex());
+    }
+
     private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
         ScoreDoc scoreDoc = null;
@@ -279,12 +683,16 @@ public abstract class LuceneSearcher implements Searcher {
         return scoreDoc;
     }
 
-    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount, SearchCursor cursor) {
         return new QueryExpression().setText(originalQuery.getText())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
+                                    .setPattern(originalQuery.getPattern())
+                                    .setRegex(originalQuery.isRegex())
+                                    .setIncludePositions(originalQuery.isIncludePositions())
                                     .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setCursor(cursor == null ? null : cursor.toString());
     }
 
     @Override
@@ -322,13 +730,43 @@ public abstract class LuceneSearcher implements Searcher {
         LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
     }
 
+    /**
+     * Indexes all files in {@code tree} with {@link ParallelTreeIndexer}. Used for initial indexing of whole file system, files
+     * which are already indexed and not changed since are skipped, documents of files that are not found in {@code tree} are
+     * removed from index.
+     */
+    protected void addTreeInParallel(VirtualFile tree) throws ServerException {
+        new ParallelTreeIndexer(this, indexingThreads, commitInterval, progressListener, readIndexedFingerprints()).index(tree);
+    }
+
+    /** Reads paths and fingerprints of all documents in index. Fingerprint is {@code null} if document doesn't contain it. */
+    private Map<String, FileFingerprint> readIndexedFingerprints() throws ServerException {
+        final Map<String, FileFingerprint> fingerprints = new HashMap<>();
+        try (DirectoryReader reader = DirectoryReader.open(getIndexWriter(), true)) {
+            for (LeafReaderContext leaf : reader.leaves()) {
+                final LeafReader leafReader = leaf.reader();
+                final Bits liveDocs = leafReader.getLiveDocs();
+                for (int i = 0; i < leafReader.maxDoc(); i++) {
+                    if (liveDocs == null || liveDocs.get(i)) {
+                        final Document document = leafReader.document(i, FINGERPRINT_FIELDS);
+                        fingerprints.put(document.get("path"), FileFingerprint.of(document));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        LOG.debug("Found {} files in existed index", fingerprints.size());
+        return fingerprints;
+    }
+
     protected void addFile(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.exists()) {
             try (Reader fContentReader = shouldIndexContent(virtualFile)
                                          ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
                                          : null) {
-                getIndexWriter()
-                        .updateDocument(new Term("path", virtualFile.getPath().toString()), createDocument(virtualFile, fContentReader));
+                trackChange(trackingIndexWriter.updateDocument(new Term("path", virtualFile.getPath().toString()),
+                                                               createDocument(virtualFile, fContentReader)));
             } catch (OutOfMemoryError oome) {
                 close();
                 throw oome;
@@ -345,10 +783,10 @@ public abstract class LuceneSearcher implements Searcher {
         try {
             if (isFile) {
                 Term term = new Term("path", path);
-                getIndexWriter().deleteDocuments(term);
+                trackChange(trackingIndexWriter.deleteDocuments(term));
             } else {
                 Term term = new Term("path", path + "/");
-                getIndexWriter().deleteDocuments(new PrefixQuery(term));
+                trackChange(trackingIndexWriter.deleteDocuments(new PrefixQuery(term)));
             }
         } catch (OutOfMemoryError oome) {
             close();
@@ -367,7 +805,7 @@ public abstract class LuceneSearcher implements Searcher {
         try (Reader fContentReader = shouldIndexContent(virtualFile)
                                      ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
                                      : null) {
-            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+            trackChange(trackingIndexWriter.updateDocument(deleteTerm, createDocument(virtualFile, fContentReader)));
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
@@ -382,8 +820,22 @@ public abstract class LuceneSearcher implements Searcher {
         final Document doc = new Document();
         doc.add(new StringField("path", virtualFile.getPath().toString(), Field.Store.YES));
         doc.add(new StringField("name", virtualFile.getName(), Field.Store.YES));
+        doc.add(new StoredField(MODIFIED_FIELD, virtualFile.getLastModificationDate()));
+        doc.add(new StoredField(LENGTH_FIELD, virtualFile.getLength()));
         if (reader != null) {
-            doc.add(new TextField("text", reader));
+            if (codeAware) {
+                // Content is needed for two fields but reader may be read only once.
+                final String content;
+                try {
+                    content = CharStreams.toString(reader);
+                } catch (IOException e) {
+                    throw new ServerException(e.getMessage(), e);
+                }
+                doc.add(new Field("text", content, TEXT_FIELD_TYPE));
+                doc.add(new Field(Trigrams.FIELD, content, TRIGRAM_FIELD_TYPE));
+            } else {
+                doc.add(new Field("text", reader, TEXT_FIELD_TYPE));
+            }
         }
         return doc;
     }
@@ -396,4 +848,70 @@ public abstract class LuceneSearcher implements Searcher {
         }
         return true;
     }
+
+    /** Key of cached page of search result. */
+    private static final class SearchPageKey {
+        private final String  text;
+        private final String  name;
+        private final String  path;
+        private final String  cursor;
+        private final int     skipCount;
+        private final int     maxItems;
+        private final String  pattern;
+        private final boolean regex;
+        private final boolean includePositions;
+        private final long    readerVersion;
+
+        SearchPageKey(QueryExpression query, int skipCount, int maxItems, long readerVersion) {
+            this.text = query.getText() == null ? null : query.getText().trim();
+            this.name = query.getName();
+            this.path = query.getPath();
+            this.cursor = query.getCursor();
+            this.skipCount = skipCount;
+            this.maxItems = maxItems;
+            this.pattern = query.getPattern();
+            this.regex = query.isRegex();
+            this.includePositions = query.isIncludePositions();
+            this.readerVersion = readerVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SearchPageKey)) {
+                return false;
+            }
+            SearchPageKey other = (SearchPageKey)o;
+            return skipCount == other.skipCount
+                   && maxItems == other.maxItems
+                   && regex == other.regex
+                   && includePositions == other.includePositions
+                   && readerVersion == other.readerVersion
+                   && Objects.equals(text, other.text)
+                   && Objects.equals(name, other.name)
+                   && Objects.equals(path, other.path)
+                   && Objects.equals(cursor, other.cursor)
+                   && Objects.equals(pattern, other.pattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, name, path, cursor, pattern, regex, skipCount, maxItems, includePositions, readerVersion);
+        }
+    }
+
+    /** Page of search result. */
+    private static final class SearchPage {
+        private final List<SearchResultEntry> results;
+        private final int                     totalHits;
+        private final SearchCursor            nextPageCursor;
+
+        SearchPage(List<SearchResultEntry> results, int totalHits, SearchCursor nextPageCursor) {
+            this.results = results;
+            this.totalHits = totalHits;
+            this.nextPageCursor = nextPageCursor;
+        }
+    }
 }
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Indexes tree of files with few threads. Calling thread traverses tree and puts found files in queue, files from queue are
+ * read, analyzed and added in index by worker threads. {@link org.apache.lucene.index.IndexWriter} buffers documents added
+ * from all threads in memory and flushes them in batches, index is committed after each {@code commitInterval} files.
+ * <p>
+ * If fingerprints of already indexed files are provided then indexer reconciles index with file tree: files which fingerprint
+ * is not changed are skipped, changed and new files are re-indexed and documents of files that don't exist any more are
+ * removed from index.
+ */
+class ParallelTreeIndexer {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelTreeIndexer.class);
+
+    private static final int  QUEUE_CAPACITY_PER_THREAD   = 1000;
+    private static final long QUEUE_POLL_TIMEOUT_MS       = 100;
+    private static final long PROGRESS_REPORT_INTERVAL_MS = 1000;
+
+    private final LuceneSearcher                          searcher;
+    private final int                                     threads;
+    private final int                                     commitInterval;
+    private final LuceneSearcher.IndexingProgressListener progressListener;
+    private final Map<String, FileFingerprint>            indexedFingerprints;
+    private final BlockingQueue<VirtualFile>              queue;
+    private final AtomicInteger                           discoveredFiles;
+    private final AtomicInteger                           indexedFiles;
+    private final AtomicInteger                           uncommittedFiles;
+    private final AtomicLong                              lastProgressReportTime;
+
+    private volatile boolean   discoveryCompleted;
+    private volatile Throwable failure;
+    private          long      startTime;
+    private          int       unchangedFiles;
+
+    /**
+     * @param threads
+     *         number of threads that read and index files
+     * @param commitInterval
+     *         number of files indexed between two commits, {@code 0} disables intermediate commits
+     * @param progressListener
+     *         optional listener that is notified about indexing progress
+     */
+    ParallelTreeIndexer(LuceneSearcher searcher,
+                        int threads,
+                        int commitInterval,
+                        LuceneSearcher.IndexingProgressListener progressListener) {
+        this(searcher, threads, commitInterval, progressListener, Collections.emptyMap());
+    }
+
+    /**
+     * @param threads
+     *         number of threads that read and index files
+     * @param commitInterval
+     *         number of files indexed between two commits, {@code 0} disables intermediate commits
+     * @param progressListener
+     *         optional listener that is notified about indexing progress
+     * @param indexedFingerprints
+     *         fingerprints of files that are already present in index, map is modified by indexer
+     */
+    ParallelTreeIndexer(LuceneSearcher searcher,
+                        int threads,
+                        int commitInterval,
+                        LuceneSearcher.IndexingProgressListener progressListener,
+                        Map<String, FileFingerprint> indexedFingerprints) {
+        if (threads < 1) {
+            throw new IllegalArgumentException(String.format("Invalid number of indexing threads: %d", threads));
+        }
+        this.searcher = searcher;
+        this.threads = threads;
+        this.commitInterval = commitInterval;
+        this.progressListener = progressListener;
+        this.indexedFingerprints = indexedFingerprints;
+        queue = new ArrayBlockingQueue<>(threads * QUEUE_CAPACITY_PER_THREAD);
+        discoveredFiles = new AtomicInteger();
+        indexedFiles = new AtomicInteger();
+        uncommittedFiles = new AtomicInteger();
+        lastProgressReportTime = new AtomicLong();
+    }
+
+    /**
+     * Indexes all files in {@code tree}. Method may be called only once per instance.
+     *
+     * @return number of files in index after indexing
+     * @throws ServerException
+     *         if indexing fails
+     */
+    int index(VirtualFile tree) throws ServerException {
+        startTime = System.currentTimeMillis();
+        final ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("LuceneIndexer-%d").build();
+        final ExecutorService workers = Executors.newFixedThreadPool(threads, threadFactory);
+        try {
+            for (int i = 0; i < threads; i++) {
+                workers.execute(this::indexQueuedFiles);
+            }
+            discoverFiles(tree);
+        } catch (InterruptedException e) {
+            failure = e;
+        } finally {
+            discoveryCompleted = true;
+            workers.shutdown();
+        }
+
+        try {
+            while (!workers.awaitTermination(PROGRESS_REPORT_INTERVAL_MS, MILLISECONDS)) {
+                reportProgress(false, false);
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+            workers.shutdownNow();
+        }
+
+        if (failure != null) {
+            if (failure instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure instanceof Error) {
+                throw (Error)failure;
+            }
+            throw new ServerException(String.format("Unable index '%s'. %s", tree.getPath(), failure.getMessage()), failure);
+        }
+
+        // Files that are in index but were not found in tree.
+        for (String path : indexedFingerprints.keySet()) {
+            searcher.delete(path, true);
+        }
+
+        searcher.commit();
+        reportProgress(true, true);
+        LOG.debug("Indexed {} files from {} in {} threads, {} files are not changed, {} files are removed from index, time: {} ms",
+                  indexedFiles.get() - unchangedFiles, tree.getPath(), threads, unchangedFiles, indexedFingerprints.size(),
+                  System.currentTimeMillis() - startTime);
+        return indexedFiles.get();
+    }
+
+    private void discoverFiles(VirtualFile tree) throws ServerException, InterruptedException {
+        final LinkedList<VirtualFile> folders = new LinkedList<>();
+        folders.add(tree);
+        while (!folders.isEmpty() && failure == null) {
+            final VirtualFile folder = folders.pop();
+            if (folder.exists()) {
+                for (VirtualFile child : folder.getChildren()) {
+                    if (child.isFolder()) {
+                        folders.push(child);
+                    } else if (isUnchanged(child)) {
+                        unchangedFiles++;
+                        discoveredFiles.incrementAndGet();
+                        indexedFiles.incrementAndGet();
+                    } else {
+                        enqueue(child);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isUnchanged(VirtualFile file) throws ServerException {
+        if (indexedFingerprints.isEmpty()) {
+            return false;
+        }
+        final FileFingerprint indexed = indexedFingerprints.remove(file.getPath().toString());
+        return indexed != null && indexed.equals(FileFingerprint.of(file));
+    }
+
+    private void enqueue(VirtualFile file) throws InterruptedException {
+        // Don't block forever if all workers are stopped because of error.
+        while (failure == null) {
+            if (queue.offer(file, QUEUE_POLL_TIMEOUT_MS, MILLISECONDS)) {
+                discoveredFiles.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void indexQueuedFiles() {
+        try {
+            while (failure == null && !(discoveryCompleted && queue.isEmpty())) {
+                final VirtualFile file = queue.poll(QUEUE_POLL_TIMEOUT_MS, MILLISECONDS);
+                if (file == null) {
+                    continue;
+                }
+                try {
+                    searcher.addFile(file);
+                } catch (ServerException e) {
+                    LOG.warn("Unable index file '{}'. {}", file.getPath(), e.getMessage());
+                }
+                indexedFiles.incrementAndGet();
+                if (commitInterval > 0 && uncommittedFiles.incrementAndGet() % commitInterval == 0) {
+                    searcher.commit();
+                }
+                reportProgress(false, false);
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+        } catch (Throwable e) {
+            // Usually searcher is closed or OutOfMemoryError occurred, there is no sense to continue.
+            LOG.error(e.getMessage(), e);
+            failure = e;
+        }
+    }
+
+    private void reportProgress(boolean force, boolean completed) {
+        if (progressListener == null) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final long lastReportTime = lastProgressReportTime.get();
+        final boolean reportTime = now - lastReportTime >= PROGRESS_REPORT_INTERVAL_MS
+                                   && lastProgressReportTime.compareAndSet(lastReportTime, now);
+        if (force || reportTime) {
+            final int indexed = indexedFiles.get();
+            final long elapsed = Math.max(1, now - startTime);
+            try {
+                progressListener.onProgress(new IndexingProgress(discoveredFiles.get(),
+                                                                 indexed,
+                                                                 queue.size(),
+                                                                 indexed * 1000.0 / elapsed,
+                                                                 discoveryCompleted,
+                                                                 completed));
+            } catch (RuntimeException e) {
+                LOG.warn(e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.search.ScoreDoc;
+
+/**
+ * Position in result of search. Cursor may be used for retrieving next page of search result without re-executing query for
+ * skipped documents but only if index was not changed since cursor was created, since internal ids of documents may be changed
+ * after any update of index.
+ */
+final class SearchCursor {
+    private static final char SEPARATOR = '.';
+
+    /** Parses string representation of cursor. Returns {@code null} if {@code cursor} is {@code null} or has invalid format. */
+    static SearchCursor parse(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        final String[] parts = cursor.split("\\" + SEPARATOR);
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new SearchCursor(Long.parseLong(parts[0], 16),
+                                    new ScoreDoc(Integer.parseInt(parts[1], 16),
+                                                 Float.intBitsToFloat(Integer.parseUnsignedInt(parts[2], 16))));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private final long     readerVersion;
+    private final ScoreDoc scoreDoc;
+
+    SearchCursor(long readerVersion, ScoreDoc scoreDoc) {
+        this.readerVersion = readerVersion;
+        this.scoreDoc = scoreDoc;
+    }
+
+    /** Version of index reader that was used for search. */
+    long getReaderVersion() {
+        return readerVersion;
+    }
+
+    /** Last document in page of search result. */
+    ScoreDoc getScoreDoc() {
+        return scoreDoc;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toHexString(readerVersion) + SEPARATOR
+               + Integer.toHexString(scoreDoc.doc) + SEPARATOR
+               + Integer.toHexString(Float.floatToIntBits(scoreDoc.score));
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Comparator.comparingInt;
+
+/**
+ * Finds positions of matched text in indexed files. Offsets of matched terms are read from term vectors stored in index, line
+ * numbers and content of lines are resolved with single pass over content of file that stops after the last match.
+ */
+class SearchOccurrences {
+    /** Max number of occurrences that are returned for single file. */
+    static final int MAX_OCCURRENCES_PER_FILE = 100;
+    /** Max length of content of line in occurrence, content of longer lines is truncated around matched text. */
+    static final int MAX_LINE_CONTENT_LENGTH  = 256;
+
+    private SearchOccurrences() {
+    }
+
+    /**
+     * Reads offsets of {@code terms} in document from its term vector.
+     *
+     * @return sorted list of start and end offsets of matched terms or empty list if document has no term vector with offsets
+     */
+    static List<int[]> readOffsets(IndexReader reader, int docId, String field, Set<Term> terms) throws IOException {
+        final Terms termVector = reader.getTermVector(docId, field);
+        if (termVector == null || !termVector.hasOffsets()) {
+            return Collections.emptyList();
+        }
+        final List<int[]> offsets = new ArrayList<>();
+        final TermsEnum termsEnum = termVector.iterator();
+        PostingsEnum postings = null;
+        for (Term term : terms) {
+            if (field.equals(term.field()) && termsEnum.seekExact(term.bytes())) {
+                postings = termsEnum.postings(null, postings, PostingsEnum.OFFSETS);
+                if (postings.nextDoc() != DocIdSetIterator.NO_MORE_DOCS) {
+                    for (int i = 0, freq = postings.freq(); i < freq; i++) {
+                        postings.nextPosition();
+                        offsets.add(new int[]{postings.startOffset(), postings.endOffset()});
+                    }
+                }
+            }
+        }
+        offsets.sort(comparingInt(offset -> offset[0]));
+        return offsets.size() > MAX_OCCURRENCES_PER_FILE ? offsets.subList(0, MAX_OCCURRENCES_PER_FILE) : offsets;
+    }
+
+    /**
+     * Resolves line numbers, columns and content of lines for sorted list of {@code offsets}. Content of file must be read in
+     * the same way as it was read for indexing, otherwise offsets don't match.
+     */
+    static List<SearchOccurrence> resolve(Reader content, List<int[]> offsets) throws IOException {
+        final List<SearchOccurrence> occurrences = new ArrayList<>(offsets.size());
+        final StringBuilder line = new StringBuilder();
+        int lineNumber = 1;
+        int lineStart = 0;
+        int position = 0;
+        int next = 0;
+        while (next < offsets.size()) {
+            final int c = content.read();
+            if (c == -1 || c == '\n') {
+                for (; next < offsets.size() && offsets.get(next)[0] < position; next++) {
+                    occurrences.add(createOccurrence(lineNumber, lineStart, line, offsets.get(next)));
+                }
+                if (c == -1) {
+                    break;
+                }
+                line.setLength(0);
+                lineNumber++;
+                lineStart = position + 1;
+            } else if (c != '\r') {
+                line.append((char)c);
+            }
+            position++;
+        }
+        return occurrences;
+    }
+
+    private static SearchOccurrence createOccurrence(int lineNumber, int lineStart, CharSequence line, int[] offset) {
+        final int startColumn = offset[0] - lineStart;
+        final int endColumn = Math.min(offset[1] - lineStart, line.length());
+        final String lineContent;
+        if (line.length() > MAX_LINE_CONTENT_LENGTH) {
+            final int from = Math.max(0, Math.min(startColumn - MAX_LINE_CONTENT_LENGTH / 2, line.length() - MAX_LINE_CONTENT_LENGTH));
+            lineContent = line.subSequence(from, from + MAX_LINE_CONTENT_LENGTH).toString();
+        } else {
+            lineContent = line.toString();
+        }
+        return new SearchOccurrence(lineNumber, startColumn, endColumn, offset[0], offset[1], lineContent);
+    }
+}
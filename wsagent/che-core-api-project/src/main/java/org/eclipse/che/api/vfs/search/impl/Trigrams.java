@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.LowerCaseFilter;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram index of content of files. Each file is indexed as set of all its lower-cased three-character sequences. Query for
+ * substring or regular expression is converted to query that requires all trigrams of literal text that any match must contain,
+ * such query finds superset of matched files and each found file must be verified against its content.
+ */
+final class Trigrams {
+    static final String FIELD = "trigrams";
+
+    /** Number of trigrams in query is limited since each of them adds clause in boolean query. */
+    private static final int MAX_TRIGRAMS_IN_QUERY = 64;
+
+    private static final Pattern COMMENTS_FLAG = Pattern.compile("\\(\\?[a-zA-Z-]*x");
+
+    private Trigrams() {
+    }
+
+    static Analyzer createAnalyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                final Tokenizer tokenizer = new NGramTokenizer(3, 3);
+                return new TokenStreamComponents(tokenizer, new LowerCaseFilter(tokenizer));
+            }
+        };
+    }
+
+    /**
+     * Creates query that finds files which may contain text that matches {@code pattern}.
+     *
+     * @param pattern
+     *         substring or regular expression
+     * @param regex
+     *         {@code true} if {@code pattern} is regular expression
+     * @return query or {@code null} if {@code pattern} doesn't contain enough literal text for using trigram index
+     */
+    static Query createQuery(String pattern, boolean regex) {
+        final Set<String> trigrams = new LinkedHashSet<>();
+        for (String literal : regex ? extractLiterals(pattern) : Collections.singletonList(pattern)) {
+            final int[] codePoints = literal.codePoints().map(Character::toLowerCase).toArray();
+            for (int i = 0; i + 3 <= codePoints.length; i++) {
+                trigrams.add(new String(codePoints, i, 3));
+            }
+        }
+        if (trigrams.isEmpty()) {
+            return null;
+        }
+        final BooleanQuery query = new BooleanQuery();
+        for (String trigram : trigrams) {
+            query.add(new TermQuery(new Term(FIELD, trigram)), BooleanClause.Occur.MUST);
+            if (query.clauses().size() == MAX_TRIGRAMS_IN_QUERY) {
+                break;
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Extracts fragments of literal text that must be present in any text matched by regular expression. Extraction is
+     * conservative: groups, character classes, optional characters and escape sequences are skipped and expression with
+     * alternation at top level or in comments mode gives no literals.
+     */
+    static List<String> extractLiterals(String regex) {
+        if (COMMENTS_FLAG.matcher(regex).find()) {
+            return Collections.emptyList();
+        }
+        final List<String> literals = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            switch (c) {
+                case '|':
+                    return Collections.emptyList();
+                case '\\':
+                    if (i + 1 < regex.length() && !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                        literal.append(regex.charAt(++i));
+                    } else {
+                        flush(literal, literals);
+                        i++;
+                    }
+                    break;
+                case '*':
+                case '?':
+                case '{':
+                    // Previous character is optional.
+                    if (literal.length() > 0) {
+                        literal.setLength(literal.length() - 1);
+                    }
+                    flush(literal, literals);
+                    if (c == '{') {
+                        final int end = regex.indexOf('}', i);
+                        i = end < 0 ? regex.length() : end;
+                    }
+                    break;
+                case '+':
+                case '.':
+                case '^':
+                case '$':
+                    flush(literal, literals);
+                    break;
+                case '(':
+                    flush(literal, literals);
+                    i = skipGroup(regex, i);
+                    break;
+                case '[':
+                    flush(literal, literals);
+                    i = skipCharacterClass(regex, i);
+                    break;
+                default:
+                    literal.append(c);
+            }
+        }
+        flush(literal, literals);
+        return literals;
+    }
+
+    private static void flush(StringBuilder literal, List<String> literals) {
+        if (literal.length() > 0) {
+            literals.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i);
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return regex.length();
+    }
+
+    private static int skipCharacterClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        // Closing bracket right after opening one is part of class.
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        for (; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i);
+            } else if (c == ']') {
+                return i;
+            }
+        }
+        return regex.length();
+    }
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds candidates for matching with pattern in text field which is split to lower-cased words by whitespaces, it is the way
+ * content of files is indexed when code-aware mode is disabled. Word of literal text which is surrounded by whitespaces must be
+ * present in index as is, word at the end of literal is prefix of indexed word, word at the start of literal is its suffix
+ * and literal without whitespaces is part of indexed word. Such query finds superset of matched files and each found file must
+ * be verified against its content.
+ */
+final class Words {
+    static final String FIELD = "text";
+
+    /** Number of words in query is limited since each of them adds clause in boolean query. */
+    private static final int MAX_WORDS_IN_QUERY = 16;
+
+    /** Longer words are split by tokenizer, so they can't be found in index as is. */
+    private static final int MAX_WORD_LENGTH = 255;
+
+    private Words() {
+    }
+
+    /**
+     * Creates query that finds files which may contain text that matches {@code pattern}.
+     *
+     * @param pattern
+     *         substring or regular expression
+     * @param regex
+     *         {@code true} if {@code pattern} is regular expression
+     * @return query or {@code null} if {@code pattern} doesn't contain literal text
+     */
+    static Query createQuery(String pattern, boolean regex) {
+        final List<Query> exact = new ArrayList<>();
+        final List<Query> partial = new ArrayList<>();
+        for (String literal : regex ? Trigrams.extractLiterals(pattern) : Collections.singletonList(pattern)) {
+            final int[] codePoints = literal.codePoints().map(Character::toLowerCase).toArray();
+            int start = 0;
+            while (start < codePoints.length) {
+                int end = start;
+                while (end < codePoints.length && !Character.isWhitespace(codePoints[end])) {
+                    end++;
+                }
+                if (end > start && end - start <= MAX_WORD_LENGTH) {
+                    final String word = new String(codePoints, start, end - start);
+                    final boolean hasStart = start > 0;
+                    final boolean hasEnd = end < codePoints.length;
+                    if (hasStart && hasEnd) {
+                        exact.add(new TermQuery(new Term(FIELD, word)));
+                    } else if (hasStart) {
+                        exact.add(new PrefixQuery(new Term(FIELD, word)));
+                    } else {
+                        // leading wildcard enumerates all the words of index, it is used only if there is nothing better
+                        partial.add(new WildcardQuery(new Term(FIELD, '*' + escape(word) + (hasEnd ? "" : "*"))));
+                    }
+                }
+                start = end + 1;
+            }
+        }
+        final List<Query> clauses = exact.isEmpty() ? partial : exact;
+        if (clauses.isEmpty()) {
+            return null;
+        }
+        final BooleanQuery query = new BooleanQuery();
+        for (Query clause : clauses) {
+            query.add(clause, BooleanClause.Occur.MUST);
+            if (query.clauses().size() == MAX_WORDS_IN_QUERY) {
+                break;
+            }
+        }
+        return query;
+    }
+
+    private static String escape(String word) {
+        final StringBuilder escaped = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            final char c = word.charAt(i);
+            if (c == WildcardQuery.WILDCARD_STRING || c == WildcardQuery.WILDCARD_CHAR || c == WildcardQuery.WILDCARD_ESCAPE) {
+                escaped.append(WildcardQuery.WILDCARD_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -121,6 +121,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertEqualsNoOrder;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 
 /**
  * @author andrew00x
@@ -356,6 +357,38 @@ public class ProjectServiceTest {
         validateProjectLinks(result);
     }
 
+    @Test
+    public void testGetProjectNotModified() throws Exception {
+        ContainerResponse response =
+                launcher.service(GET, "http://localhost:8080/api/project/my_project",
+                                 "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", singletonList(response.getHttpHeaders().getFirst("ETag").toString()));
+
+        response = launcher.service(GET, "http://localhost:8080/api/project/my_project",
+                                    "http://localhost:8080/api", headers, null, null);
+
+        assertEquals(response.getStatus(), 304);
+        assertNull(response.getEntity());
+    }
+
+    @Test
+    public void testGetProjectModifiedAfterItsTypeIsChanged() throws Exception {
+        ContainerResponse response =
+                launcher.service(GET, "http://localhost:8080/api/project/my_project",
+                                 "http://localhost:8080/api", null, null, null);
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", singletonList(response.getHttpHeaders().getFirst("ETag").toString()));
+        projectRegistry.setProjectType("my_project", "my_project_type", false);
+
+        response = launcher.service(GET, "http://localhost:8080/api/project/my_project",
+                                    "http://localhost:8080/api", headers, null, null);
+
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        assertEquals(((ProjectConfigDto)response.getEntity()).getType(), "my_project_type");
+    }
+
     @Test
     public void testGetNotValidProject() throws Exception {
         //MountPoint mountPoint = pm.getProjectsRoot(workspace).getVirtualFile().getMountPoint();
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.project.ProjectConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests of {@link WorkspaceProjectsSyncer}.
+ */
+public class WorkspaceProjectsSyncerTest {
+
+    private ProjectRegistry   projectRegistry;
+    private RecordingSyncer   syncer;
+    private RegisteredProject updated;
+    private RegisteredProject added;
+    private RegisteredProject unchanged;
+
+    @Before
+    public void setUp() throws Exception {
+        projectRegistry = mock(ProjectRegistry.class);
+        updated = mockProject("/updated", false);
+        added = mockProject("/added", false);
+        unchanged = mockProject("/unchanged", true);
+        when(projectRegistry.getProjects()).thenReturn(asList(updated, added, unchanged));
+        for (RegisteredProject project : asList(updated, added, unchanged)) {
+            when(projectRegistry.getProject(project.getPath())).thenReturn(project);
+        }
+        syncer = new RecordingSyncer(asList(new NewProjectConfig("/updated", "updated", "blank", null),
+                                            new NewProjectConfig("/unchanged", "unchanged", "blank", null),
+                                            new NewProjectConfig("/removed", "removed", "blank", null)));
+    }
+
+    @Test
+    public void shouldApplyAllChangesAtOnce() throws Exception {
+        syncer.sync(projectRegistry);
+
+        assertEquals(1, syncer.applied.size());
+        assertEquals(singletonList("/added"), paths(syncer.applied.get(0)[0]));
+        assertEquals(singletonList("/updated"), paths(syncer.applied.get(0)[1]));
+        assertEquals(singletonList("/removed"), paths(syncer.applied.get(0)[2]));
+        verify(updated).setSync();
+        verify(added).setSync();
+        verify(unchanged, never()).setSync();
+    }
+
+    @Test
+    public void shouldNotApplyChangesWhenProjectsAreSynchronized() throws Exception {
+        when(projectRegistry.getProjects()).thenReturn(singletonList(unchanged));
+        syncer = new RecordingSyncer(singletonList(new NewProjectConfig("/unchanged", "unchanged", "blank", null)));
+
+        syncer.sync(projectRegistry);
+
+        assertTrue(syncer.applied.isEmpty());
+    }
+
+    @Test
+    public void shouldCoalesceConcurrentSynchronizations() throws Exception {
+        final CountDownLatch firstSyncStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirstSync = new CountDownLatch(1);
+        syncer.onGetProjects = () -> {
+            firstSyncStarted.countDown();
+            releaseFirstSync.await();
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> {
+                syncer.sync(projectRegistry);
+                return null;
+            }));
+            assertTrue(firstSyncStarted.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(() -> {
+                    syncer.sync(projectRegistry);
+                    return null;
+                }));
+            }
+            // let other synchronizations wait for the first one
+            Thread.sleep(200);
+            releaseFirstSync.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, syncer.getProjectsCalls.get());
+    }
+
+    private static RegisteredProject mockProject(String path, boolean synced) {
+        final RegisteredProject project = mock(RegisteredProject.class);
+        when(project.getPath()).thenReturn(path);
+        when(project.getType()).thenReturn("blank");
+        when(project.isSynced()).thenReturn(synced);
+        return project;
+    }
+
+    private static List<String> paths(List<ProjectConfig> projects) {
+        return projects.stream().map(ProjectConfig::getPath).collect(toList());
+    }
+
+    private interface Callback {
+        void call() throws Exception;
+    }
+
+    private static class RecordingSyncer extends WorkspaceProjectsSyncer {
+        final List<List<ProjectConfig>[]> applied          = new ArrayList<>();
+        final AtomicInteger               getProjectsCalls = new AtomicInteger();
+        final List<ProjectConfig>         remote;
+
+        volatile Callback onGetProjects;
+
+        RecordingSyncer(List<ProjectConfig> remote) {
+            this.remote = remote;
+        }
+
+        @Override
+        public List<? extends ProjectConfig> getProjects() throws ServerException {
+            getProjectsCalls.incrementAndGet();
+            final Callback callback = onGetProjects;
+            if (callback != null) {
+                onGetProjects = null;
+                try {
+                    callback.call();
+                } catch (Exception e) {
+                    throw new ServerException(e);
+                }
+            }
+            return remote;
+        }
+
+        @Override
+        public String getWorkspaceId() {
+            return "ws";
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void applyChanges(List<ProjectConfig> added,
+                                    List<ProjectConfig> updated,
+                                    List<ProjectConfig> removed) throws ServerException {
+            applied.add(new List[] {added, updated, removed});
+        }
+
+        @Override
+        protected void addProject(ProjectConfig project) throws ServerException {
+            throw new ServerException("Changes must be applied at once");
+        }
+
+        @Override
+        protected void updateProject(ProjectConfig project) throws ServerException {
+            throw new ServerException("Changes must be applied at once");
+        }
+
+        @Override
+        protected void removeProject(ProjectConfig project) throws ServerException {
+            throw new ServerException("Changes must be applied at once");
+        }
+    }
+}
@@ -12,9 +12,16 @@ package org.eclipse.che.api.vfs;
 
 import junit.framework.TestCase;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -22,6 +29,8 @@ import java.util.concurrent.atomic.AtomicInteger;
  * @author <a href="mailto:andrew00x@gmail.com">Andrey Parfonov</a>
  */
 public class PathLockFactoryTest extends TestCase {
+    private static final Logger LOG = LoggerFactory.getLogger(PathLockFactoryTest.class);
+
     private final int  maxThreads = 3;
     private final Path path       = Path.of("/a/b/c"); // Path not need to be real path on file system
 
@@ -236,4 +245,101 @@ public class PathLockFactoryTest extends TestCase {
         waiter.await();
         assertEquals(2, acquired.get());
     }
+
+    public void testSharedLocksForParentAndChild() throws Exception {
+        PathLockFactory.PathLock parentLock = pathLockFactory.getLock(path.getParent(), false).acquire();
+        try {
+            assertTrue(acquireInOtherThread(pathLockFactory.getLock(path, false), 1000));
+        } finally {
+            parentLock.release();
+        }
+    }
+
+    public void testExclusiveLocksForSiblings() throws Exception {
+        PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true).acquire();
+        try {
+            assertTrue(acquireInOtherThread(pathLockFactory.getLock(path.getParent().newPath("d"), true), 1000));
+        } finally {
+            lock.release();
+        }
+    }
+
+    public void testChildLockBlocksExclusiveParentLock() throws Exception {
+        PathLockFactory.PathLock lock = pathLockFactory.getLock(path, false).acquire();
+        try {
+            assertFalse(acquireInOtherThread(pathLockFactory.getLock(Path.ROOT, true), 100));
+        } finally {
+            lock.release();
+        }
+        assertTrue(acquireInOtherThread(pathLockFactory.getLock(Path.ROOT, true), 1000));
+    }
+
+    public void testFailedLockDoesNotBlockParent() throws Exception {
+        PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true).acquire();
+        try {
+            // Timed out attempt must not leave intention lock for parent.
+            assertFalse(acquireInOtherThread(pathLockFactory.getLock(path, false), 100));
+            assertTrue(acquireInOtherThread(pathLockFactory.getLock(path.getParent().newPath("d"), true), 1000));
+        } finally {
+            lock.release();
+        }
+        assertTrue(acquireInOtherThread(pathLockFactory.getLock(Path.ROOT, true), 1000));
+    }
+
+    /**
+     * Many threads lock files in own folders and from time to time lock one shared file. Locks are held for some time, like
+     * while file is read or written. Throughput is logged, it is not checked by test.
+     */
+    public void testContention() throws Exception {
+        final PathLockFactory lockFactory = new PathLockFactory(1024);
+        final int threads = 32;
+        final int iterations = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>(threads);
+            long start = System.nanoTime();
+            for (int i = 0; i < threads; i++) {
+                final Path folder = Path.of("/project/folder" + i);
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < iterations; j++) {
+                        Path lockPath = j % 50 == 0 ? Path.of("/project/shared") : folder.newPath("file" + (j % 10));
+                        PathLockFactory.PathLock lock = lockFactory.getLock(lockPath, j % 3 == 0).acquire(30000);
+                        try {
+                            long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(20);
+                            while (System.nanoTime() < end) {
+                                // Emulate access to file.
+                            }
+                        } finally {
+                            lock.release();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            LOG.debug("{} lock/unlock operations in {} ms", threads * iterations, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean acquireInOtherThread(final PathLockFactory.PathLock lock, final long timeout) throws Exception {
+        final AtomicBoolean acquired = new AtomicBoolean(false);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    lock.acquire(timeout);
+                    acquired.set(true);
+                    lock.release();
+                } catch (RuntimeException ignored) {
+                }
+            }
+        };
+        t.start();
+        t.join();
+        return acquired.get();
+    }
 }
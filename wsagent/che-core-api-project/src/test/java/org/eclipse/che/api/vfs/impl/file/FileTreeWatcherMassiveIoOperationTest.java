@@ -35,10 +35,13 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class FileTreeWatcherMassiveIoOperationTest {
+    private static final int EVENTS_TIMEOUT_MS = 60_000;
+
     private FileTreeWatcher     fileTreeWatcher;
     private File                testDirectory;
     private FileWatcherTestTree fileWatcherTestTree;
@@ -206,6 +209,40 @@ public class FileTreeWatcherMassiveIoOperationTest {
         assertThatCollectionsContainsSameItemsOrFailWithDiff(eventsCaptor.getAllValues(), created);
     }
 
+    @Test
+    public void watchesCreationAndDeletionOfManyFilesInSingleDirectory() throws Exception {
+        String directory = fileWatcherTestTree.createDirectory("");
+        Thread.sleep(100);
+
+        FileWatcherNotificationHandler notificationListener = aNotificationListener();
+        fileTreeWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationListener, 200);
+        fileTreeWatcher.startup();
+        Thread.sleep(500);
+
+        List<String> created = newArrayList();
+        for (int i = 0; i < 10000; i++) {
+            created.add(fileWatcherTestTree.createFile(directory));
+        }
+
+        // waits until all the events arrive instead of sleeping for fixed time
+        ArgumentCaptor<String> createdEvents = ArgumentCaptor.forClass(String.class);
+        verify(notificationListener, timeout(EVENTS_TIMEOUT_MS).times(created.size()))
+                .handleFileWatcherEvent(eq(CREATED), eq(testDirectory), createdEvents.capture(), anyBoolean());
+        assertThatCollectionsContainsSameItemsOrFailWithDiff(createdEvents.getAllValues(), created);
+
+        for (String file : created) {
+            fileWatcherTestTree.delete(file);
+        }
+
+        ArgumentCaptor<String> deletedEvents = ArgumentCaptor.forClass(String.class);
+        verify(notificationListener, timeout(EVENTS_TIMEOUT_MS).times(created.size()))
+                .handleFileWatcherEvent(eq(DELETED), eq(testDirectory), deletedEvents.capture(), anyBoolean());
+        assertThatCollectionsContainsSameItemsOrFailWithDiff(deletedEvents.getAllValues(), created);
+
+        verify(notificationListener, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        verify(notificationListener, never()).handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), anyString(), anyBoolean());
+    }
+
     private FileWatcherNotificationHandler aNotificationListener() {
         return mock(FileWatcherNotificationHandler.class);
     }
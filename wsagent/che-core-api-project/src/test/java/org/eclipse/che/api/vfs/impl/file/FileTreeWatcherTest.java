@@ -87,6 +87,30 @@ public class FileTreeWatcherTest {
         assertEquals(newHashSet(created), newHashSet(createdEvents.getAllValues()));
     }
 
+    @Test
+    public void watchesCreateWithJavaNioBackend() throws Exception {
+        fileWatcherTestTree.createDirectory("", "watched");
+
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler, JavaNioFileWatcherBackend::new, 500);
+        fileWatcher.startup();
+
+        Thread.sleep(500);
+
+        Set<String> created = newHashSet(fileWatcherTestTree.createDirectory(""),
+                                         fileWatcherTestTree.createFile(""),
+                                         fileWatcherTestTree.createDirectory("watched"),
+                                         fileWatcherTestTree.createFile("watched"));
+
+        Thread.sleep(5000);
+
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+
+        ArgumentCaptor<String> createdEvents = ArgumentCaptor.forClass(String.class);
+        verify(notificationHandler, times(4)).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), createdEvents.capture(), anyBoolean());
+        assertEquals(newHashSet(created), newHashSet(createdEvents.getAllValues()));
+    }
+
     @Test
     public void watchesCreateDirectoryStructure() throws Exception {
         FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class InotifyFileWatcherBackendTest {
+    private File                      testDirectory;
+    private InotifyFileWatcherBackend backend;
+
+    @Before
+    public void setUp() throws Exception {
+        assumeTrue(InotifyFileWatcherBackend.isSupported());
+        File targetDir = new File(Thread.currentThread().getContextClassLoader().getResource(".").getPath()).getParentFile();
+        testDirectory = new File(targetDir, NameGenerator.generate("inotify-", 4));
+        assertTrue(testDirectory.mkdir());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (backend != null) {
+            backend.close();
+        }
+        if (testDirectory != null) {
+            IoUtil.deleteRecursive(testDirectory);
+        }
+    }
+
+    @Test
+    public void notifiesWhenContentOfWatchedDirectoryChanged() throws Exception {
+        backend = new InotifyFileWatcherBackend(10);
+        Path directory = testDirectory.toPath();
+        assertTrue(backend.watch(directory));
+
+        Files.createFile(directory.resolve("file"));
+
+        FileWatcherBackend.Event event = backend.poll(1, SECONDS);
+        assertNotNull(event);
+        assertEquals(directory, event.getDirectory());
+        assertFalse(event.isOverflow());
+    }
+
+    @Test
+    public void doesNotNotifyWhenDirectoryIsNotWatchedAnyMore() throws Exception {
+        backend = new InotifyFileWatcherBackend(10);
+        Path directory = testDirectory.toPath();
+        assertTrue(backend.watch(directory));
+        backend.unwatch(directory);
+
+        Files.createFile(directory.resolve("file"));
+
+        assertNull(backend.poll(1, SECONDS));
+        assertEquals(0, backend.getNumberOfWatchedDirectories());
+    }
+
+    @Test
+    public void doesNotWatchMoreDirectoriesThanAllowedByBudget() throws Exception {
+        backend = new InotifyFileWatcherBackend(2);
+        Path directory = testDirectory.toPath();
+
+        assertTrue(backend.watch(Files.createDirectory(directory.resolve("a"))));
+        assertTrue(backend.watch(Files.createDirectory(directory.resolve("b"))));
+        assertFalse(backend.watch(Files.createDirectory(directory.resolve("c"))));
+        assertEquals(2, backend.getNumberOfWatchedDirectories());
+    }
+
+    @Test
+    public void releasesWatchWhenWatchedDirectoryIsRemoved() throws Exception {
+        backend = new InotifyFileWatcherBackend(10);
+        Path directory = Files.createDirectory(testDirectory.toPath().resolve("a"));
+        assertTrue(backend.watch(directory));
+
+        Files.delete(directory);
+
+        FileWatcherBackend.Event event = backend.poll(1, SECONDS);
+        assertNotNull(event);
+        assertEquals(directory, event.getDirectory());
+        while (backend.poll(1, SECONDS) != null) {
+            // drain all events
+        }
+        assertEquals(0, backend.getNumberOfWatchedDirectories());
+    }
+}
@@ -13,6 +13,7 @@ package org.eclipse.che.api.vfs.impl.file;
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -22,6 +23,15 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.eq;
@@ -64,4 +74,33 @@ public class LocalVirtualFileSystemTest {
         fileSystem.close();
         verify(searcher).close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void listsChildrenConcurrently() throws Exception {
+        assertTrue(testDirectory.mkdirs());
+        LocalVirtualFile root = fileSystem.getRoot();
+        for (int i = 0; i < 100; i++) {
+            root.createFolder("folder" + i);
+            root.createFile("file" + i, "content");
+        }
+        List<VirtualFile> expected = root.getChildren();
+        assertEquals(200, expected.size());
+        assertTrue(expected.get(0).isFolder());
+        assertTrue(expected.get(199).isFile());
+
+        for (int callers : new int[]{1, 8, 32}) {
+            ExecutorService executor = Executors.newFixedThreadPool(callers);
+            try {
+                List<Callable<List<VirtualFile>>> tasks = newArrayList();
+                for (int i = 0; i < callers * 10; i++) {
+                    tasks.add(root::getChildren);
+                }
+                for (Future<List<VirtualFile>> future : executor.invokeAll(tasks)) {
+                    assertEquals(expected, future.get());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
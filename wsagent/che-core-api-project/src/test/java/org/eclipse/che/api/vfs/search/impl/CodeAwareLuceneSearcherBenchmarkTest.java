@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Compares size of index and latency of queries with default analyzer and with code-aware one, see
+ * {@link CodeAwareLuceneSearcherTest} for tests of code-aware search.
+ */
+public class CodeAwareLuceneSearcherBenchmarkTest {
+    private static final Logger LOG = LoggerFactory.getLogger(CodeAwareLuceneSearcherBenchmarkTest.class);
+
+    /** Results are only logged, it is not a performance assertion. */
+    @Test(groups = "benchmark")
+    public void comparesDefaultAndCodeAwareIndexes() throws Exception {
+        VirtualFileFilter filter = mock(VirtualFileFilter.class);
+        when(filter.accept(any(VirtualFile.class))).thenReturn(true);
+        VirtualFileSystem corpus = new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
+        for (int i = 0; i < 20; i++) {
+            VirtualFile folder = corpus.getRoot().createFolder("package" + i);
+            for (int j = 0; j < 50; j++) {
+                StringBuilder content = new StringBuilder();
+                for (int k = 0; k < 50; k++) {
+                    content.append(String.format("    private int field%dValue%d = compute_value_%d(getChildren(%d));\n", j, k, i, k));
+                }
+                folder.createFile(String.format("Class%d.java", j), content.toString());
+            }
+        }
+        for (boolean codeAware : new boolean[]{false, true}) {
+            File directory = createIndexDirectory();
+            FSLuceneSearcher benchmarked = new FSLuceneSearcher(directory, filter,
+                                                                mock(AbstractLuceneSearcherProvider.CloseCallback.class));
+            benchmarked.setCodeAware(codeAware);
+            benchmarked.setResultCacheSize(0);
+            try {
+                long start = System.nanoTime();
+                benchmarked.init(corpus);
+                long indexingTime = System.nanoTime() - start;
+                long textQueryTime = measure(benchmarked, new QueryExpression().setText("compute_value_7"));
+                long patternQueryTime = measure(benchmarked, new QueryExpression().setPattern("field7Value3 = compute_value_12"));
+                LOG.debug("Code-aware: {}, index size: {} bytes, indexing: {} ms, text query: {} us, substring query: {} us",
+                          codeAware, directorySize(directory), indexingTime / 1000000, textQueryTime / 1000,
+                          patternQueryTime / 1000);
+            } finally {
+                benchmarked.close();
+                IoUtil.deleteRecursive(directory);
+            }
+        }
+    }
+
+    private long measure(FSLuceneSearcher benchmarked, QueryExpression query) throws Exception {
+        final int iterations = 20;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            benchmarked.search(query);
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    private long directorySize(File directory) {
+        long size = 0;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                size += file.length();
+            }
+        }
+        return size;
+    }
+
+    private File createIndexDirectory() {
+        File targetDir = new File(Thread.currentThread().getContextClassLoader().getResource(".").getPath()).getParentFile();
+        File directory = new File(targetDir, NameGenerator.generate("index-", 4));
+        assertTrue(directory.mkdir());
+        return directory;
+    }
+}
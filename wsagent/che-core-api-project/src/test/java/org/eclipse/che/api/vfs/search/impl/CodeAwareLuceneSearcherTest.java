@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+import org.eclipse.che.api.vfs.search.SearchResult;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CodeAwareLuceneSearcherTest {
+    private static final String[] TEST_CONTENT = {
+            "List<VirtualFile> children = folder.getChildren();",
+            "private static final int MAX_ITEMS_COUNT = 100;",
+            "String name = file.getName(); // children are not used here",
+            "int childCount = 0;"
+    };
+
+    private File              indexDirectory;
+    private VirtualFileFilter filter;
+    private FSLuceneSearcher  searcher;
+    private VirtualFileSystem virtualFileSystem;
+
+    @Before
+    public void setUp() throws Exception {
+        indexDirectory = createIndexDirectory();
+        filter = mock(VirtualFileFilter.class);
+        when(filter.accept(any(VirtualFile.class))).thenReturn(true);
+
+        searcher = new FSLuceneSearcher(indexDirectory, filter, mock(AbstractLuceneSearcherProvider.CloseCallback.class));
+        searcher.setCodeAware(true);
+
+        virtualFileSystem = new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        for (int i = 0; i < TEST_CONTENT.length; i++) {
+            folder.createFile(String.format("file%d.java", i), TEST_CONTENT[i]);
+        }
+        searcher.init(virtualFileSystem);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        searcher.close();
+        IoUtil.deleteRecursive(indexDirectory);
+    }
+
+    @Test
+    public void searchesByPartOfCamelCaseIdentifier() throws Exception {
+        List<String> paths = searcher.search(new QueryExpression().setText("Children")).getFilePaths();
+        assertEquals(newHashSet("/folder/file0.java", "/folder/file2.java"), newHashSet(paths));
+    }
+
+    @Test
+    public void searchesByWholeIdentifier() throws Exception {
+        List<String> paths = searcher.search(new QueryExpression().setText("getChildren")).getFilePaths();
+        assertEquals(newArrayList("/folder/file0.java"), paths);
+    }
+
+    @Test
+    public void searchesByPartOfSnakeCaseIdentifier() throws Exception {
+        List<String> paths = searcher.search(new QueryExpression().setText("items")).getFilePaths();
+        assertEquals(newArrayList("/folder/file1.java"), paths);
+    }
+
+    @Test
+    public void searchesBySubstring() throws Exception {
+        List<String> paths = searcher.search(new QueryExpression().setPattern("hildCou")).getFilePaths();
+        assertEquals(newArrayList("/folder/file3.java"), paths);
+    }
+
+    @Test
+    public void searchesBySubstringThatContainsPunctuation() throws Exception {
+        List<String> paths = searcher.search(new QueryExpression().setPattern("folder.getChildren()")).getFilePaths();
+        assertEquals(newArrayList("/folder/file0.java"), paths);
+    }
+
+    @Test
+    public void searchesByRegularExpression() throws Exception {
+        // Trigrams of literal 'children' are found in file0.java and file2.java but only file0.java matches whole expression.
+        List<String> paths = searcher.search(new QueryExpression().setPattern("children\\s*=\\s*\\w+\\.get").setRegex(true))
+                                     .getFilePaths();
+        assertEquals(newArrayList("/folder/file0.java"), paths);
+    }
+
+    @Test
+    public void searchesByRegularExpressionWithoutLiterals() throws Exception {
+        List<String> paths = searcher.search(new QueryExpression().setPattern("\\d{3}").setRegex(true)).getFilePaths();
+        assertEquals(newArrayList("/folder/file1.java"), paths);
+    }
+
+    @Test
+    public void includesPositionsOfMatchedPattern() throws Exception {
+        SearchResult result = searcher.search(new QueryExpression().setPattern("getName()").setIncludePositions(true));
+
+        assertEquals(1, result.getResults().size());
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(1, occurrences.size());
+        assertEquals(1, occurrences.get(0).getLineNumber());
+        assertEquals(19, occurrences.get(0).getStartColumn());
+        assertEquals(28, occurrences.get(0).getEndColumn());
+    }
+
+    @Test
+    public void pagesResultsOfPatternSearch() throws Exception {
+        QueryExpression query = new QueryExpression().setPattern("=").setMaxItems(2);
+        SearchResult firstPage = searcher.search(query);
+        assertEquals(2, firstPage.getFilePaths().size());
+        assertEquals(4, firstPage.getTotalHits());
+        assertTrue(firstPage.getNextPageQueryExpression().isPresent());
+
+        SearchResult secondPage = searcher.search(firstPage.getNextPageQueryExpression().get());
+        assertEquals(2, secondPage.getFilePaths().size());
+    }
+
+    @Test
+    public void extractsLiteralsFromRegularExpression() throws Exception {
+        assertEquals(newArrayList("children", "=", ".get"), Trigrams.extractLiterals("children\\s*=\\s*\\w+\\.get"));
+        assertEquals(newArrayList("fo", "bar"), Trigrams.extractLiterals("foo?bar"));
+        assertTrue(Trigrams.extractLiterals("foo|bar").isEmpty());
+    }
+
+    private File createIndexDirectory() {
+        File targetDir = new File(Thread.currentThread().getContextClassLoader().getResource(".").getPath()).getParentFile();
+        File directory = new File(targetDir, NameGenerator.generate("index-", 4));
+        assertTrue(directory.mkdir());
+        return directory;
+    }
+}
@@ -12,12 +12,14 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
 
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
@@ -29,14 +31,19 @@ import org.mockito.ArgumentMatcher;
 import java.io.File;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -84,6 +91,56 @@ public class FSLuceneSearcherTest {
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
     }
 
+    @Test
+    public void initializesIndexForExistedFilesInParallel() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder" + i);
+            for (int j = 0; j < 50; j++) {
+                folder.createFile(String.format("file%d.txt", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+        }
+        List<IndexingProgress> progress = new CopyOnWriteArrayList<>();
+        searcher.setIndexingThreads(4);
+        searcher.setCommitInterval(100);
+        searcher.setIndexingProgressListener(progress::add);
+
+        searcher.init(virtualFileSystem);
+
+        QueryExpression query = new QueryExpression().setText("think").setMaxItems(1000);
+        assertEquals(130, searcher.search(query).getFilePaths().size());
+        IndexingProgress last = progress.get(progress.size() - 1);
+        assertTrue(last.isCompleted());
+        assertEquals(500, last.getDiscoveredFiles());
+        assertEquals(500, last.getIndexedFiles());
+    }
+
+    @Test
+    public void reindexesOnlyChangedFilesWhenExistedIndexIsOpened() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile changed = folder.createFile("yyy.txt", TEST_CONTENT[0]);
+        VirtualFile removed = folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+        searcher.close();
+
+        changed.updateContent(TEST_CONTENT[3]);
+        removed.delete();
+        folder.createFile("aaa.txt", TEST_CONTENT[1]);
+        reset(filter);
+        when(filter.accept(any(VirtualFile.class))).thenReturn(true);
+
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+        searcher.init(virtualFileSystem);
+
+        verify(filter, never()).accept(withName("xxx.txt"));
+        assertEquals(newArrayList("/folder/xxx.txt"), searcher.search(new QueryExpression().setText("be")).getFilePaths());
+        assertEquals(newArrayList("/folder/yyy.txt"), searcher.search(new QueryExpression().setText("nasa")).getFilePaths());
+        assertTrue(searcher.search(new QueryExpression().setText("spaceflight")).getFilePaths().isEmpty());
+        assertEquals(newArrayList("/folder/aaa.txt"), searcher.search(new QueryExpression().setText("think")).getFilePaths());
+    }
+
     @Test
     public void addsSingleFileInIndex() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -294,6 +351,153 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void retrievesAllPagesOfSearchResultWithCursor() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = newArrayList();
+        SearchResult page = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(5));
+        paths.addAll(page.getFilePaths());
+        while (page.getNextPageQueryExpression().isPresent()) {
+            QueryExpression nextPageQueryExpression = page.getNextPageQueryExpression().get();
+            assertNotNull(nextPageQueryExpression.getCursor());
+            page = searcher.search(nextPageQueryExpression);
+            paths.addAll(page.getFilePaths());
+        }
+
+        assertEquals(25, paths.size());
+        assertEquals(25, newHashSet(paths).size());
+    }
+
+    @Test
+    public void fallsBackToSkipCountWhenCursorIsCreatedForChangedIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 20; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[0]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(5));
+        searcher.add(virtualFileSystem.getRoot().createFile("other", TEST_CONTENT[1]));
+        SearchResult secondPage = searcher.search(firstPage.getNextPageQueryExpression().get());
+
+        assertEquals(5, secondPage.getFilePaths().size());
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), secondPage.getFilePaths()));
+    }
+
+    @Test
+    public void doesNotReturnCachedSearchResultAfterIndexIsChanged() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+        QueryExpression query = new QueryExpression().setText("be");
+        assertEquals(newArrayList("/folder/xxx.txt"), searcher.search(query).getFilePaths());
+
+        searcher.add(folder.createFile("yyy.txt", TEST_CONTENT[2]));
+
+        assertEquals(newHashSet("/folder/xxx.txt", "/folder/yyy.txt"), newHashSet(searcher.search(query).getFilePaths()));
+    }
+
+    @Test
+    public void includesPositionsOfMatchedTextInSearchResult() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0] + "\r\n" + TEST_CONTENT[2] + "\n" + TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be").setIncludePositions(true));
+
+        assertEquals(1, result.getResults().size());
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(2, occurrences.size());
+        int lineOffset = TEST_CONTENT[0].length() + 2;
+        assertOccurrence(occurrences.get(0), 2, 3, 5, lineOffset + 3, TEST_CONTENT[2]);
+        assertOccurrence(occurrences.get(1), 2, 16, 18, lineOffset + 16, TEST_CONTENT[2]);
+    }
+
+    @Test
+    public void doesNotIncludePositionsOfMatchedTextInSearchResultIfTheyAreNotRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be"));
+
+        assertEquals(1, result.getResults().size());
+        assertTrue(result.getResults().get(0).getOccurrences().isEmpty());
+    }
+
+    @Test
+    public void searchesByPatternUsingWordsOfIndexedContent() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        for (int i = 0; i < TEST_CONTENT.length; i++) {
+            folder.createFile(String.format("file%d.txt", i), TEST_CONTENT[i]);
+        }
+        searcher.init(virtualFileSystem);
+
+        assertEquals(newArrayList("/folder/file0.txt"),
+                     searcher.search(new QueryExpression().setPattern("several major hum")).getFilePaths());
+        assertEquals(newArrayList("/folder/file1.txt"),
+                     searcher.search(new QueryExpression().setPattern("ink twi")).getFilePaths());
+        assertEquals(newArrayList("/folder/file3.txt"),
+                     searcher.search(new QueryExpression().setPattern("19\\d+, direct").setRegex(true)).getFilePaths());
+        assertTrue(searcher.search(new QueryExpression().setPattern("twice think")).getFilePaths().isEmpty());
+    }
+
+    @Test
+    public void createsQueryForWordsOfPattern() throws Exception {
+        assertEquals("+text:several +text:major +text:hum*", Words.createQuery("al several major hum", false).toString());
+        assertEquals("+text:*ink*", Words.createQuery("ink", false).toString());
+        assertEquals("+text:direct*", Words.createQuery("19\\d+, direct", true).toString());
+        assertEquals(null, Words.createQuery("\\d{3}|\\w+", true));
+    }
+
+    @Test(expected = ServerException.class)
+    public void rejectsPatternWithoutLiteralsIfTooManyFilesMustBeMatched() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        for (int i = 0; i < TEST_CONTENT.length; i++) {
+            folder.createFile(String.format("file%d.txt", i), TEST_CONTENT[i]);
+        }
+        searcher.setMaxUnindexedPatternCandidates(TEST_CONTENT.length - 1);
+        searcher.init(virtualFileSystem);
+
+        searcher.search(new QueryExpression().setPattern("\\d{4}").setRegex(true));
+    }
+
+    @Test
+    public void searchesByPatternWithoutLiteralsIfFilesAreNarrowedByName() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        for (int i = 0; i < TEST_CONTENT.length; i++) {
+            folder.createFile(String.format("file%d.txt", i), TEST_CONTENT[i]);
+        }
+        searcher.setMaxUnindexedPatternCandidates(1);
+        searcher.init(virtualFileSystem);
+
+        QueryExpression query = new QueryExpression().setPattern("\\d{4}").setRegex(true).setName("file3.txt");
+        assertEquals(newArrayList("/folder/file3.txt"), searcher.search(query).getFilePaths());
+    }
+
+    private static void assertOccurrence(SearchOccurrence occurrence,
+                                         int lineNumber,
+                                         int startColumn,
+                                         int endColumn,
+                                         int startOffset,
+                                         String lineContent) {
+        assertEquals(lineNumber, occurrence.getLineNumber());
+        assertEquals(startColumn, occurrence.getStartColumn());
+        assertEquals(endColumn, occurrence.getEndColumn());
+        assertEquals(startOffset, occurrence.getStartOffset());
+        assertEquals(lineContent, occurrence.getLineContent());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
@@ -23,6 +23,7 @@ import org.eclipse.che.api.core.ErrorCodes;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.CommittersCache;
 import org.eclipse.che.api.git.Config;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.DiffPage;
@@ -92,6 +93,7 @@ import org.eclipse.jgit.api.RebaseResult;
 import org.eclipse.jgit.api.ResetCommand;
 import org.eclipse.jgit.api.ResetCommand.ResetType;
 import org.eclipse.jgit.api.RmCommand;
+import org.eclipse.jgit.api.StatusCommand;
 import org.eclipse.jgit.api.TagCommand;
 import org.eclipse.jgit.api.TransportCommand;
 import org.eclipse.jgit.api.TransportConfigCallback;
@@ -100,6 +102,7 @@ import org.eclipse.jgit.api.errors.DetachedHeadException;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.api.errors.TransportException;
 import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.errors.MissingObjectException;
 import org.eclipse.jgit.lib.ConfigConstants;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
@@ -212,14 +215,21 @@ class JGitConnection implements GitConnection {
     private final SshKeyProvider    sshKeyProvider;
     private final GitUserResolver   userResolver;
     private final Repository        repository;
+    private final CommittersCache   committersCache;
 
     @Inject
     JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
                    GitUserResolver userResolver) {
+        this(repository, credentialsLoader, sshKeyProvider, userResolver, new CommittersCache(repository.getDirectory()));
+    }
+
+    JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
+                   GitUserResolver userResolver, CommittersCache committersCache) {
         this.repository = repository;
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.committersCache = committersCache;
     }
 
     @Override
@@ -633,11 +643,31 @@ class JGitConnection implements GitConnection {
             setRevisionRange(logCommand, request);
 
             request.getFileFilter().forEach(logCommand::addPath);
+            final String afterCommit = request.getAfterCommit();
+            if (afterCommit == null) {
+                if (request.getSkip() > 0) {
+                    logCommand.setSkip(request.getSkip());
+                }
+                if (request.getMaxCount() > 0) {
+                    logCommand.setMaxCount(request.getMaxCount());
+                }
+            }
 
             Iterator<RevCommit> revIterator = logCommand.call().iterator();
             List<Revision> commits = new ArrayList<>();
 
-            while (revIterator.hasNext()) {
+            if (afterCommit != null) {
+                // commits before the cursor are only walked, revisions are created for requested page only
+                boolean found = false;
+                while (!found && revIterator.hasNext()) {
+                    found = afterCommit.equals(revIterator.next().getId().getName());
+                }
+                for (int i = 0; i < request.getSkip() && revIterator.hasNext(); i++) {
+                    revIterator.next();
+                }
+            }
+
+            while (revIterator.hasNext() && (request.getMaxCount() <= 0 || commits.size() < request.getMaxCount())) {
                 RevCommit commit = revIterator.next();
                 PersonIdent committerIdentity = commit.getCommitterIdent();
 
@@ -674,22 +704,47 @@ class JGitConnection implements GitConnection {
 
     @Override
     public List<GitUser> getCommiters() throws GitException {
-        List<GitUser> gitUsers = new ArrayList<>();
+        final ObjectId head;
         try {
-            LogCommand logCommand = getGit().log();
-            for (RevCommit commit : logCommand.call()) {
-                PersonIdent committerIdentity = commit.getCommitterIdent();
-                GitUser gitUser = newDto(GitUser.class).withName(committerIdentity.getName())
-                                                       .withEmail(committerIdentity.getEmailAddress());
-                if (!gitUsers.contains(gitUser)) {
-                    gitUsers.add(gitUser);
-                }
-            }
-        } catch (GitAPIException exception) {
+            head = repository.resolve(Constants.HEAD);
+        } catch (IOException exception) {
             throw new GitException(exception.getMessage(), exception);
         }
+        if (head == null) {
+            throw new GitException(ERROR_NO_HEAD_EXISTS);
+        }
+        return committersCache.getCommitters(head.getName(), new CommittersCache.History() {
+            @Override
+            public List<GitUser> getCommitters(String head, String excluded) throws GitException {
+                try (RevWalk walk = new RevWalk(repository)) {
+                    walk.markStart(walk.parseCommit(repository.resolve(head)));
+                    if (excluded != null) {
+                        walk.markUninteresting(walk.parseCommit(repository.resolve(excluded)));
+                    }
+                    final List<GitUser> committers = new ArrayList<>();
+                    for (RevCommit commit : walk) {
+                        final PersonIdent committer = commit.getCommitterIdent();
+                        committers.add(newDto(GitUser.class).withName(committer.getName())
+                                                            .withEmail(committer.getEmailAddress()));
+                    }
+                    return committers;
+                } catch (IOException exception) {
+                    throw new GitException(exception.getMessage(), exception);
+                }
+            }
 
-        return gitUsers;
+            @Override
+            public boolean isAncestor(String commit, String head) throws GitException {
+                try (RevWalk walk = new RevWalk(repository)) {
+                    return walk.isMergedInto(walk.parseCommit(ObjectId.fromString(commit)),
+                                             walk.parseCommit(ObjectId.fromString(head)));
+                } catch (MissingObjectException exception) {
+                    return false;
+                } catch (IOException exception) {
+                    throw new GitException(exception.getMessage(), exception);
+                }
+            }
+        });
     }
 
     @Override
@@ -1258,6 +1313,16 @@ class JGitConnection implements GitConnection {
         return new JGitStatusImpl(branchName, getGit().status(), format);
     }
 
+    @Override
+    public Status status(StatusFormat format, List<String> filter) throws GitException {
+        if (!RepositoryCache.FileKey.isGitRepository(getRepository().getDirectory(), FS.DETECTED)) {
+            throw new GitException("Not a git repository");
+        }
+        StatusCommand statusCommand = getGit().status();
+        filter.forEach(statusCommand::addPath);
+        return new JGitStatusImpl(getCurrentBranch(), statusCommand, format);
+    }
+
     @Override
     public Tag tagCreate(TagCreateRequest request) throws GitException {
         String commit = request.getCommit();
@@ -11,7 +11,10 @@
  *******************************************************************************/
 package org.eclipse.che.git.impl.jgit;
 
+import com.google.inject.Inject;
+
 import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.CommittersCache;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.GitException;
@@ -20,33 +23,62 @@ import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
 import org.eclipse.jgit.internal.storage.file.FileRepository;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryCache;
+import org.eclipse.jgit.util.FS;
 
-import javax.inject.Inject;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * JGit implementation for GitConnectionFactory
- * 
+ * <p/>
+ * Handles of existing repositories are pooled, so config, refs and pack files aren't read again each time connection is
+ * opened. Pooled handle is dropped when its {@code .git} directory is removed or replaced.
+ *
  * @author Tareq Sharafy (tareq.sha@gmail.com)
  */
+@Singleton
 public class JGitConnectionFactory extends GitConnectionFactory {
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
+    private static final int DEFAULT_REPOSITORY_POOL_SIZE = 64;
+
+    private final CredentialsLoader           credentialsLoader;
+    private final SshKeyProvider              sshKeyProvider;
+    private final GitUserResolver             userResolver;
+    private final Map<File, PooledRepository> repositories;
+
+    private int repositoryPoolSize = DEFAULT_REPOSITORY_POOL_SIZE;
 
     @Inject
     public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver) throws GitException {
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.repositories = new LinkedHashMap<File, PooledRepository>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<File, PooledRepository> eldest) {
+                if (size() > repositoryPoolSize) {
+                    eldest.getValue().repository.close();
+                    return true;
+                }
+                return false;
+            }
+        };
 
         // Install the all-trusting trust manager
         try {
@@ -72,24 +104,89 @@ public class JGitConnectionFactory extends GitConnectionFactory {
         }
     }
 
+    /** Sets max number of repository handles which are kept open between connections. */
+    @Inject(optional = true)
+    public void setRepositoryPoolSize(@Named("che.git.jgit.repository_pool_size") int repositoryPoolSize) {
+        this.repositoryPoolSize = repositoryPoolSize;
+    }
+
     @Override
     public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException {
-        Repository gitRepo = createRepository(workDir);
-        JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver);
+        PooledRepository gitRepo = getRepository(new File(workDir, Constants.DOT_GIT));
+        JGitConnection conn = new JGitConnection(gitRepo.repository, credentialsLoader, sshKeyProvider, userResolver,
+                                                 gitRepo.committersCache);
         conn.setOutputLineConsumerFactory(outputPublisherFactory);
         return conn;
     }
 
-    private static Repository createRepository(File workDir) throws GitException {
+    /**
+     * Gets repository handle from pool or opens new one. Each returned handle must be closed, pooled handle is released when
+     * it is closed by all connections and removed from pool.
+     */
+    private PooledRepository getRepository(File gitDir) throws GitException {
+        final Object directoryKey = RepositoryCache.FileKey.isGitRepository(gitDir, FS.DETECTED) ? getDirectoryKey(gitDir) : null;
+        synchronized (repositories) {
+            PooledRepository pooled = repositories.get(gitDir);
+            if (pooled != null && !pooled.directoryKey.equals(directoryKey)) {
+                repositories.remove(gitDir);
+                pooled.repository.close();
+                pooled = null;
+            }
+            if (directoryKey == null) {
+                // repository doesn't exist yet, e.g. connection is opened for init or clone, don't pool it
+                return new PooledRepository(createRepository(gitDir), null);
+            }
+            if (pooled == null) {
+                pooled = new PooledRepository(createRepository(gitDir), directoryKey);
+                repositories.put(gitDir, pooled);
+            }
+            pooled.repository.incrementOpen();
+            return pooled;
+        }
+    }
+
+    private static Object getDirectoryKey(File gitDir) {
         try {
-            return new FileRepository(new File(workDir, Constants.DOT_GIT));
+            final BasicFileAttributes attributes = Files.readAttributes(gitDir.toPath(), BasicFileAttributes.class);
+            return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Repository createRepository(File gitDir) throws GitException {
+        try {
+            return new FileRepository(gitDir);
         } catch (IOException e) {
             throw new GitException(e.getMessage(), e);
         }
     }
 
+    /** Releases all pooled repository handles. */
+    @PreDestroy
+    public void stop() {
+        final List<PooledRepository> pooled;
+        synchronized (repositories) {
+            pooled = new ArrayList<>(repositories.values());
+            repositories.clear();
+        }
+        pooled.forEach(p -> p.repository.close());
+    }
+
     @Override
     public CredentialsLoader getCredentialsLoader() {
         return credentialsLoader;
     }
+
+    private static class PooledRepository {
+        final Repository      repository;
+        final Object          directoryKey;
+        final CommittersCache committersCache;
+
+        PooledRepository(Repository repository, Object directoryKey) {
+            this.repository = repository;
+            this.directoryKey = directoryKey;
+            this.committersCache = new CommittersCache(repository.getDirectory());
+        }
+    }
 }
@@ -17,6 +17,7 @@ import org.eclipse.che.api.core.ErrorCodes;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.CommittersCache;
 import org.eclipse.che.api.git.Config;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.DiffPage;
@@ -91,9 +92,10 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static org.eclipse.che.api.git.shared.ProviderInfo.AUTHENTICATE_URL;
 import static org.eclipse.che.api.git.shared.ProviderInfo.PROVIDER_NAME;
@@ -411,7 +413,21 @@ public class NativeGitConnection implements GitConnection {
     @Override
     public LogPage log(LogRequest request) throws GitException {
         try {
-            return new LogPage(nativeGit.createLogCommand().setFileFilter(request.getFileFilter()).execute());
+            int skip = request.getSkip();
+            if (request.getAfterCommit() != null) {
+                // only ids of commits before the cursor are listed, revisions are read for requested page only
+                final int cursor = indexInLog(request, request.getAfterCommit());
+                if (cursor < 0) {
+                    return new LogPage(Collections.emptyList());
+                }
+                skip += cursor + 1;
+            }
+            return new LogPage(nativeGit.createLogCommand()
+                                        .setFileFilter(request.getFileFilter())
+                                        .setRevisionRange(request.getRevisionRangeSince(), request.getRevisionRangeUntil())
+                                        .setSkip(skip)
+                                        .setCount(request.getMaxCount())
+                                        .execute());
         } catch (ServerException exception) {
             if (noInitCommitWhenLogErrorPattern.matcher(exception.getMessage()).find()) {
                 throw new GitException(exception.getMessage(), ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED);
@@ -552,6 +568,11 @@ public class NativeGitConnection implements GitConnection {
         return new NativeGitStatusImpl(getCurrentBranch(), nativeGit, format);
     }
 
+    @Override
+    public Status status(final StatusFormat format, List<String> filter) throws GitException {
+        return new NativeGitStatusImpl(getCurrentBranch(), nativeGit, format, filter);
+    }
+
     @Override
     public Tag tagCreate(TagCreateRequest request) throws GitException {
         return nativeGit.createTagCreateCommand().setName(request.getName())
@@ -574,12 +595,42 @@ public class NativeGitConnection implements GitConnection {
 
     @Override
     public List<GitUser> getCommiters() throws GitException {
-        List<GitUser> users = new LinkedList<>();
-        List<Revision> revList = nativeGit.createLogCommand().execute();
-        for (Revision rev : revList) {
-            users.add(rev.getCommitter());
+        final EmptyGitCommand revParse = nativeGit.createEmptyGitCommand().setNextParameter("rev-parse")
+                                                  .setNextParameter("--git-dir")
+                                                  .setNextParameter("HEAD");
+        revParse.execute();
+        final List<String> lines = revParse.getLines();
+        File gitDir = new File(lines.get(0));
+        if (!gitDir.isAbsolute()) {
+            gitDir = new File(getWorkingDir(), lines.get(0));
         }
-        return users;
+        return new CommittersCache(gitDir).getCommitters(lines.get(1), new CommittersCache.History() {
+            @Override
+            public List<GitUser> getCommitters(String head, String excluded) throws GitException {
+                final LogCommand logCommand = nativeGit.createLogCommand();
+                if (excluded != null) {
+                    logCommand.setRevisionRange(excluded, head);
+                } else {
+                    logCommand.setBranch(head);
+                }
+                return logCommand.execute().stream().map(Revision::getCommitter).collect(Collectors.toList());
+            }
+
+            @Override
+            public boolean isAncestor(String commit, String head) {
+                try {
+                    nativeGit.createEmptyGitCommand().setNextParameter("merge-base")
+                             .setNextParameter("--is-ancestor")
+                             .setNextParameter(commit)
+                             .setNextParameter(head)
+                             .execute();
+                    return true;
+                } catch (GitException e) {
+                    // non-zero exit code means that commit isn't an ancestor or doesn't exist any more
+                    return false;
+                }
+            }
+        });
     }
 
     @Override
@@ -597,6 +648,26 @@ public class NativeGitConnection implements GitConnection {
         nativeGit.setOutputLineConsumerFactory(gitOutputPublisherFactory);
     }
 
+    /**
+     * Finds position of commit in log which is requested with the same revision range and file filter.
+     *
+     * @return position of commit or {@code -1} if log doesn't contain it
+     */
+    private int indexInLog(LogRequest request, String commitId) throws GitException {
+        final EmptyGitCommand revList = nativeGit.createEmptyGitCommand().setNextParameter("rev-list");
+        if (request.getRevisionRangeSince() != null && request.getRevisionRangeUntil() != null) {
+            revList.setNextParameter(request.getRevisionRangeSince() + ".." + request.getRevisionRangeUntil());
+        } else {
+            revList.setNextParameter("HEAD");
+        }
+        if (!request.getFileFilter().isEmpty()) {
+            revList.setNextParameter("--");
+            request.getFileFilter().forEach(revList::setNextParameter);
+        }
+        revList.execute();
+        return revList.getLines().indexOf(commitId);
+    }
+
     /**
      * Gets current branch name.
      *
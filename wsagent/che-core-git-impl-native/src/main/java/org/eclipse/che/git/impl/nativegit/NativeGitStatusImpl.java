@@ -54,6 +54,8 @@ public class NativeGitStatusImpl implements Status, InfoPage {
     
     private String repositoryState;
 
+    private List<String> filter;
+
     /**
      * @param branchName
      *         current repository branch name
@@ -65,16 +67,33 @@ public class NativeGitStatusImpl implements Status, InfoPage {
      *         when any error occurs
      */
     public NativeGitStatusImpl(String branchName, NativeGit nativeGit, StatusFormat format) throws GitException {
+        this(branchName, nativeGit, format, null);
+    }
+
+    /**
+     * @param branchName
+     *         current repository branch name
+     * @param nativeGit
+     *         git commands factory
+     * @param format
+     *         the output format for the status
+     * @param filter
+     *         paths to get status for, status of whole working tree is loaded if {@code null} or empty
+     * @throws GitException
+     *         when any error occurs
+     */
+    public NativeGitStatusImpl(String branchName, NativeGit nativeGit, StatusFormat format, List<String> filter) throws GitException {
         this.branchName = branchName;
         this.format = format;
         this.nativeGit = nativeGit;
+        this.filter = filter;
         load();
     }
 
     /** @see InfoPage#writeTo(java.io.OutputStream) */
     @Override
     public void writeTo(OutputStream out) throws IOException {
-        StatusCommand status = nativeGit.createStatusCommand().setFormat(format);
+        StatusCommand status = nativeGit.createStatusCommand().setFormat(format).setFilter(filter);
         try {
             status.execute();
             out.write(status.getText().getBytes());
@@ -258,7 +277,7 @@ public class NativeGitStatusImpl implements Status, InfoPage {
      *         when it is not possible to get status information
      */
     public void load() throws GitException {
-        StatusCommand status = nativeGit.createStatusCommand().setFormat(StatusFormat.PORCELAIN);
+        StatusCommand status = nativeGit.createStatusCommand().setFormat(StatusFormat.PORCELAIN).setFilter(filter);
         List<String> statusOutput = status.execute();
         setClean(statusOutput.size() == 0);
         if (!isClean()) {
@@ -27,7 +27,10 @@ import java.util.List;
 public class LogCommand extends GitCommand<List<Revision>> {
 
     private int          count;
+    private int          skip;
     private String       branch;
+    private String       revisionRangeSince;
+    private String       revisionRangeUntil;
     private List<String> fileFilter;
 
     public LogCommand(File place) {
@@ -44,6 +47,12 @@ public class LogCommand extends GitCommand<List<Revision>> {
         if (branch != null) {
             commandLine.add(branch);
         }
+        if (revisionRangeSince != null && revisionRangeUntil != null) {
+            commandLine.add(revisionRangeSince + ".." + revisionRangeUntil);
+        }
+        if (skip > 0) {
+            commandLine.add("--skip=" + skip);
+        }
         if (count > 0) {
             commandLine.add("-" + count);
         }
@@ -80,6 +89,29 @@ public class LogCommand extends GitCommand<List<Revision>> {
         return this;
     }
 
+    /**
+     * @param skip
+     *         number of log objects to skip
+     * @return LogCommand with established number of skipped log objects
+     */
+    public LogCommand setSkip(int skip) {
+        this.skip = skip;
+        return this;
+    }
+
+    /**
+     * @param revisionRangeSince
+     *         beginning of revision range, exclusive
+     * @param revisionRangeUntil
+     *         end of revision range, inclusive
+     * @return LogCommand with established revision range
+     */
+    public LogCommand setRevisionRange(String revisionRangeSince, String revisionRangeUntil) {
+        this.revisionRangeSince = revisionRangeSince;
+        this.revisionRangeUntil = revisionRangeUntil;
+        return this;
+    }
+
     /**
      * @param branch
      *         branch
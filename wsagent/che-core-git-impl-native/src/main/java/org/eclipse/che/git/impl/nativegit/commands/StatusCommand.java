@@ -24,6 +24,7 @@ import java.util.List;
 public class StatusCommand extends GitCommand<List<String>> {
 
     private StatusFormat format;
+    private List<String> filter;
 
     public StatusCommand(File repository) {
         super(repository);
@@ -48,6 +49,10 @@ public class StatusCommand extends GitCommand<List<String>> {
                 default:
             }
         }
+        if (filter != null && !filter.isEmpty()) {
+            commandLine.add("--");
+            commandLine.add(filter);
+        }
         start();
         return getLines();
     }
@@ -63,4 +68,16 @@ public class StatusCommand extends GitCommand<List<String>> {
         this.format = format;
         return this;
     }
+
+    /**
+     * Limits status to the specified paths.
+     *
+     * @param filter
+     *         paths of files or folders relative to working tree
+     * @return StatusCommand with the established filter
+     */
+    public StatusCommand setFilter(final List<String> filter) {
+        this.filter = filter;
+        return this;
+    }
 }
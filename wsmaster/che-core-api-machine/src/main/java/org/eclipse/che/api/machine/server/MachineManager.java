@@ -309,8 +309,8 @@ public class MachineManager {
             throw new BadRequestException("Invalid machine name " + machineConfig.getName());
         }
 
-        for (MachineImpl machine : machineRegistry.getMachines()) {
-            if (machine.getWorkspaceId().equals(workspaceId) && machine.getConfig().getName().equals(machineConfig.getName())) {
+        for (MachineImpl machine : machineRegistry.getMachines(workspaceId)) {
+            if (machine.getConfig().getName().equals(machineConfig.getName())) {
                 throw new ConflictException("Machine with name " + machineConfig.getName() + " already exists");
             }
         }
@@ -451,10 +451,9 @@ public class MachineManager {
     public List<MachineImpl> getMachines(String owner, String workspaceId) throws MachineException, BadRequestException {
         requiredNotNull(owner, "Owner");
 
-        return machineRegistry.getMachines()
+        return machineRegistry.getMachines(workspaceId)
                               .stream()
-                              .filter(machine -> owner.equals(machine.getOwner())
-                                                 && machine.getWorkspaceId().equals(workspaceId))
+                              .filter(machine -> owner.equals(machine.getOwner()))
                               .collect(Collectors.toList());
     }
 
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.machine.server;
 
+import com.google.common.util.concurrent.Striped;
+
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.machine.server.exception.MachineException;
@@ -19,41 +21,81 @@ import org.eclipse.che.api.machine.server.spi.Instance;
 import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
 /**
- * Holds active machines
+ * Holds active machines.
+ *
+ * <p>Machines are kept in concurrent maps and indexed by workspace id and by owner,
+ * so lookups don't scan all the machines and don't block each other. Modifications
+ * are guarded by the lock of the workspace the machine belongs to.
  *
  * @author Alexander Garagatyi
  */
 @Singleton
 public class MachineRegistry {
-    // TODO add locks per workspace or machine
-    private final HashMap<String, Instance>    instances;
-    private final HashMap<String, MachineImpl> machines;
+    private static final int LOCKS_STRIPES = 256;
+
+    private final Map<String, Instance>    instances;
+    private final Map<String, MachineImpl> machines;
+    private final Map<String, Set<String>> workspaceMachines;
+    private final Map<String, Set<String>> ownerMachines;
+    private final Map<String, String>      devMachines;
+    private final Striped<Lock>            workspaceLocks;
 
     public MachineRegistry() {
-        instances = new HashMap<>();
-        machines = new HashMap<>();
+        instances = new ConcurrentHashMap<>();
+        machines = new ConcurrentHashMap<>();
+        workspaceMachines = new ConcurrentHashMap<>();
+        ownerMachines = new ConcurrentHashMap<>();
+        devMachines = new ConcurrentHashMap<>();
+        // lazy weak locks are created on demand and garbage collected when not used anymore
+        workspaceLocks = Striped.lazyWeakLock(LOCKS_STRIPES);
     }
 
-    //TODO return unmodifiable lists
-
     /**
      * Get all active machines
      *
      * @throws MachineException
      *         if any error occurs
      */
-    public synchronized List<MachineImpl> getMachines() throws MachineException {
+    public List<MachineImpl> getMachines() throws MachineException {
         final List<MachineImpl> list = new ArrayList<>(machines.size() + instances.size());
-        list.addAll(machines.values());
         list.addAll(instances.values().stream().map(this::toMachine).collect(Collectors.toList()));
+        // machine may be replaced with the instance while this method is executed
+        machines.values().stream().filter(machine -> !instances.containsKey(machine.getId())).forEach(list::add);
         return Collections.unmodifiableList(list);
     }
 
+    /**
+     * Get active machines of specific workspace
+     *
+     * @param workspaceId
+     *         id of workspace
+     * @throws MachineException
+     *         if any error occurs
+     */
+    public List<MachineImpl> getMachines(String workspaceId) throws MachineException {
+        return getMachines(workspaceMachines.get(workspaceId));
+    }
+
+    /**
+     * Get active machines of specific user
+     *
+     * @param owner
+     *         id of the owner of machines
+     * @throws MachineException
+     *         if any error occurs
+     */
+    public List<MachineImpl> getMachinesByOwner(String owner) throws MachineException {
+        return getMachines(ownerMachines.get(owner));
+    }
+
     /**
      * Get machine by ID, machine can be in running or not
      *
@@ -64,16 +106,20 @@ public class MachineRegistry {
      * @throws MachineException
      *         if other error occurs
      */
-    public synchronized MachineImpl getMachine(String machineId) throws NotFoundException, MachineException {
-        MachineImpl machine = machines.get(machineId);
+    public MachineImpl getMachine(String machineId) throws NotFoundException, MachineException {
+        final Instance instance = instances.get(machineId);
+        if (instance != null) {
+            return toMachine(instance);
+        }
+        final MachineImpl machine = machines.get(machineId);
         if (machine == null) {
-            final Instance instance = instances.get(machineId);
-            if (instance == null) {
+            // machine may be replaced with the instance after the first check
+            final Instance updated = instances.get(machineId);
+            if (updated == null) {
                 throw new NotFoundException("Machine " + machineId + " is not found");
             }
-            machine = toMachine(instance);
+            return toMachine(updated);
         }
-
         return machine;
     }
 
@@ -83,7 +129,7 @@ public class MachineRegistry {
      * @param machineId
      *         unique machine identifier
      */
-    public synchronized boolean isExist(String machineId) {
+    public boolean isExist(String machineId) {
         return machines.containsKey(machineId) || instances.containsKey(machineId);
     }
 
@@ -97,14 +143,13 @@ public class MachineRegistry {
      * @throws MachineException
      *         if other error occurs
      */
-    public synchronized MachineImpl getDevMachine(String workspaceId) throws NotFoundException, MachineException {
-        for (Instance instance : instances.values()) {
-            if (instance.getWorkspaceId().equals(workspaceId) && instance.getConfig().isDev()) {
-                return toMachine(instance);
-            }
+    public MachineImpl getDevMachine(String workspaceId) throws NotFoundException, MachineException {
+        final String devMachineId = devMachines.get(workspaceId);
+        final Instance instance = devMachineId == null ? null : instances.get(devMachineId);
+        if (instance == null) {
+            throw new NotFoundException("Dev machine of workspace " + workspaceId + " is not running.");
         }
-
-        throw new NotFoundException("Dev machine of workspace " + workspaceId + " is not running.");
+        return toMachine(instance);
     }
 
     /**
@@ -118,7 +163,7 @@ public class MachineRegistry {
      * @throws MachineException
      *         if other error occurs
      */
-    public synchronized Instance getInstance(String machineId) throws NotFoundException, MachineException {
+    public Instance getInstance(String machineId) throws NotFoundException, MachineException {
         final Instance instance = instances.get(machineId);
         if (instance == null) {
             throw new NotFoundException("Machine " + machineId + " is not found");
@@ -137,11 +182,18 @@ public class MachineRegistry {
      * @throws MachineException
      *         if any other error occurs
      */
-    public synchronized void addMachine(MachineImpl machine) throws MachineException, ConflictException {
-        if (machines.containsKey(machine.getId())) {
-            throw new ConflictException("Machine with id " + machine.getId() + " is already exist");
+    public void addMachine(MachineImpl machine) throws MachineException, ConflictException {
+        final Lock lock = workspaceLocks.get(machine.getWorkspaceId());
+        lock.lock();
+        try {
+            if (machines.putIfAbsent(machine.getId(), machine) != null) {
+                throw new ConflictException("Machine with id " + machine.getId() + " is already exist");
+            }
+            index(workspaceMachines, machine.getWorkspaceId(), machine.getId());
+            index(ownerMachines, machine.getOwner(), machine.getId());
+        } finally {
+            lock.unlock();
         }
-        machines.put(machine.getId(), machine);
     }
 
     /**
@@ -154,12 +206,23 @@ public class MachineRegistry {
      * @throws MachineException
      *         if any other error occurs
      */
-    public synchronized void update(Instance instance) throws NotFoundException, MachineException {
-        if (!instances.containsKey(instance.getId()) && !machines.containsKey(instance.getId())) {
-            throw new NotFoundException("Machine " + instance.getId() + " not found");
-        } else {
-            instances.put(instance.getId(), instance);
-            machines.remove(instance.getId());
+    public void update(Instance instance) throws NotFoundException, MachineException {
+        final Lock lock = workspaceLocks.get(instance.getWorkspaceId());
+        lock.lock();
+        try {
+            if (!instances.containsKey(instance.getId()) && !machines.containsKey(instance.getId())) {
+                throw new NotFoundException("Machine " + instance.getId() + " not found");
+            } else {
+                instances.put(instance.getId(), instance);
+                machines.remove(instance.getId());
+                index(workspaceMachines, instance.getWorkspaceId(), instance.getId());
+                index(ownerMachines, instance.getOwner(), instance.getId());
+                if (instance.getConfig().isDev()) {
+                    devMachines.put(instance.getWorkspaceId(), instance.getId());
+                }
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -171,12 +234,66 @@ public class MachineRegistry {
      * @throws NotFoundException
      *         if machine with specified id not found
      */
-    public synchronized void remove(String machineId) throws NotFoundException {
-        final Instance instance = instances.remove(machineId);
-        final MachineImpl machine = machines.remove(machineId);
-        if (null == instance && null == machine) {
+    public void remove(String machineId) throws NotFoundException {
+        final String workspaceId;
+        try {
+            workspaceId = getMachine(machineId).getWorkspaceId();
+        } catch (MachineException e) {
             throw new NotFoundException("Machine " + machineId + " is not found");
         }
+        final Lock lock = workspaceLocks.get(workspaceId);
+        lock.lock();
+        try {
+            final Instance instance = instances.remove(machineId);
+            final MachineImpl machine = machines.remove(machineId);
+            if (null == instance && null == machine) {
+                throw new NotFoundException("Machine " + machineId + " is not found");
+            }
+            unindex(workspaceMachines, workspaceId, machineId);
+            unindex(ownerMachines, instance != null ? instance.getOwner() : machine.getOwner(), machineId);
+            devMachines.remove(workspaceId, machineId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<MachineImpl> getMachines(Set<String> machineIds) {
+        if (machineIds == null) {
+            return Collections.emptyList();
+        }
+        final List<MachineImpl> list = new ArrayList<>(machineIds.size());
+        for (String machineId : machineIds) {
+            final Instance instance = instances.get(machineId);
+            if (instance != null) {
+                list.add(toMachine(instance));
+            } else {
+                final MachineImpl machine = machines.get(machineId);
+                if (machine != null) {
+                    list.add(machine);
+                }
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    private static void index(Map<String, Set<String>> index, String key, String machineId) {
+        if (key != null) {
+            // machines of the same owner may be added and removed under locks of different workspaces
+            index.compute(key, (k, machineIds) -> {
+                final Set<String> ids = machineIds == null ? ConcurrentHashMap.newKeySet() : machineIds;
+                ids.add(machineId);
+                return ids;
+            });
+        }
+    }
+
+    private static void unindex(Map<String, Set<String>> index, String key, String machineId) {
+        if (key != null) {
+            index.computeIfPresent(key, (k, machineIds) -> {
+                machineIds.remove(machineId);
+                return machineIds.isEmpty() ? null : machineIds;
+            });
+        }
     }
 
     private MachineImpl toMachine(Instance instance) {
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
+import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MachineRegistry}.
+ */
+public class MachineRegistryTest {
+
+    private MachineRegistry registry;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        registry = new MachineRegistry();
+    }
+
+    @Test
+    public void shouldReturnMachinesOfWorkspace() throws Exception {
+        registry.addMachine(machine("machine1", "ws1", "user1", true));
+        registry.addMachine(machine("machine2", "ws1", "user1", false));
+        registry.addMachine(machine("machine3", "ws2", "user1", true));
+
+        assertEquals(ids(registry.getMachines("ws1")), asList("machine1", "machine2"));
+        assertEquals(ids(registry.getMachines("ws2")), singletonList("machine3"));
+        assertTrue(registry.getMachines("ws3").isEmpty());
+    }
+
+    @Test
+    public void shouldReturnMachinesOfOwner() throws Exception {
+        registry.addMachine(machine("machine1", "ws1", "user1", true));
+        registry.addMachine(machine("machine2", "ws2", "user2", true));
+        registry.update(instance("machine1", "ws1", "user1", true));
+
+        assertEquals(ids(registry.getMachinesByOwner("user1")), singletonList("machine1"));
+        assertEquals(ids(registry.getMachinesByOwner("user2")), singletonList("machine2"));
+    }
+
+    @Test
+    public void shouldReturnRunningDevMachineOfWorkspace() throws Exception {
+        registry.addMachine(machine("machine1", "ws1", "user1", false));
+        registry.addMachine(machine("machine2", "ws1", "user1", true));
+        registry.update(instance("machine1", "ws1", "user1", false));
+        registry.update(instance("machine2", "ws1", "user1", true));
+
+        assertEquals(registry.getDevMachine("ws1").getId(), "machine2");
+    }
+
+    @Test(expectedExceptions = NotFoundException.class,
+          expectedExceptionsMessageRegExp = "Dev machine of workspace ws1 is not running.")
+    public void shouldNotReturnDevMachineWhichIsNotRunning() throws Exception {
+        registry.addMachine(machine("machine1", "ws1", "user1", true));
+
+        registry.getDevMachine("ws1");
+    }
+
+    @Test
+    public void shouldNotReturnMachineTwiceWhenItIsReplacedWithInstance() throws Exception {
+        registry.addMachine(machine("machine1", "ws1", "user1", true));
+
+        registry.update(instance("machine1", "ws1", "user1", true));
+
+        assertEquals(ids(registry.getMachines()), singletonList("machine1"));
+        assertEquals(ids(registry.getMachines("ws1")), singletonList("machine1"));
+        assertEquals(registry.getInstance("machine1").getId(), "machine1");
+    }
+
+    @Test
+    public void shouldRemoveMachineFromIndexes() throws Exception {
+        registry.addMachine(machine("machine1", "ws1", "user1", true));
+        registry.update(instance("machine1", "ws1", "user1", true));
+
+        registry.remove("machine1");
+
+        assertFalse(registry.isExist("machine1"));
+        assertTrue(registry.getMachines().isEmpty());
+        assertTrue(registry.getMachines("ws1").isEmpty());
+        assertTrue(registry.getMachinesByOwner("user1").isEmpty());
+        try {
+            registry.getDevMachine("ws1");
+        } catch (NotFoundException expected) {
+            return;
+        }
+        throw new AssertionError("Dev machine of removed workspace is found");
+    }
+
+    @Test(expectedExceptions = ConflictException.class)
+    public void shouldNotAddMachineWithTheSameIdTwice() throws Exception {
+        registry.addMachine(machine("machine1", "ws1", "user1", true));
+        registry.addMachine(machine("machine1", "ws1", "user1", true));
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void shouldThrowNotFoundExceptionWhenRemovingUnknownMachine() throws Exception {
+        registry.remove("machine1");
+    }
+
+    private static List<String> ids(List<MachineImpl> machines) {
+        return machines.stream().map(MachineImpl::getId).sorted().collect(Collectors.toList());
+    }
+
+    private static MachineImpl machine(String id, String workspaceId, String owner, boolean isDev) {
+        return MachineImpl.builder()
+                          .setId(id)
+                          .setWorkspaceId(workspaceId)
+                          .setOwner(owner)
+                          .setConfig(MachineConfigImpl.builder().setDev(isDev).setName(id).build())
+                          .build();
+    }
+
+    private static Instance instance(String id, String workspaceId, String owner, boolean isDev) {
+        final Instance instance = mock(Instance.class);
+        final MachineConfigImpl config = MachineConfigImpl.builder().setDev(isDev).setName(id).build();
+        when(instance.getId()).thenReturn(id);
+        when(instance.getWorkspaceId()).thenReturn(workspaceId);
+        when(instance.getOwner()).thenReturn(owner);
+        when(instance.getConfig()).thenReturn(config);
+        return instance;
+    }
+}
@@ -32,12 +32,13 @@ public final class Constants {
     public static final String LINK_REL_IDE_URL               = "ide url";
     public static final String LIN_REL_GET_WORKSPACE          = "get workspace";
 
-    public static final String LINK_REL_CREATE_STACK          = "create stack";
-    public static final String LINK_REL_UPDATE_STACK          = "update stack";
-    public static final String LINK_REL_REMOVE_STACK          = "remove stack";
-    public static final String LINK_REL_GET_STACK_BY_ID       = "get stack by id";
-    public static final String LINK_REL_GET_STACKS_BY_CREATOR = "get stacks by creator";
-    public static final String LINK_REL_SEARCH_STACKS         = "search stacks";
+    public static final String LINK_REL_CREATE_STACK           = "create stack";
+    public static final String LINK_REL_UPDATE_STACK           = "update stack";
+    public static final String LINK_REL_REMOVE_STACK           = "remove stack";
+    public static final String LINK_REL_GET_STACK_BY_ID        = "get stack by id";
+    public static final String LINK_REL_GET_STACKS_BY_CREATOR  = "get stacks by creator";
+    public static final String LINK_REL_SEARCH_STACKS          = "search stacks";
+    public static final String LINK_REL_SEARCH_STACK_SUMMARIES = "search stack summaries";
 
     public static final String LINK_REL_GET_ICON    = "get icon link";
     public static final String LINK_REL_UPLOAD_ICON = "upload icon link";
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Changes of workspace projects which are applied at once.
+ *
+ * <p>Updated projects replace projects with the same paths or are added to the workspace,
+ * removed projects are identified by their paths.
+ */
+@DTO
+public interface ProjectsDeltaDto {
+
+    /** Returns projects which should be added or replace projects with the same paths. */
+    List<ProjectConfigDto> getUpdated();
+
+    void setUpdated(List<ProjectConfigDto> updated);
+
+    ProjectsDeltaDto withUpdated(List<ProjectConfigDto> updated);
+
+    /** Returns paths of projects which should be removed. */
+    List<String> getRemoved();
+
+    void setRemoved(List<String> removed);
+
+    ProjectsDeltaDto withRemoved(List<String> removed);
+}
@@ -13,6 +13,8 @@ package org.eclipse.che.api.workspace.shared.dto.event;
 import org.eclipse.che.api.core.notification.EventOrigin;
 import org.eclipse.che.dto.shared.DTO;
 
+import java.util.Map;
+
 /**
  * Describes changes of state of a workspace.
  *
@@ -42,4 +44,15 @@ public interface WorkspaceStatusEvent {
     void setError(String error);
 
     WorkspaceStatusEvent withError(String error);
+
+    /**
+     * Returns the time in milliseconds spent on start of each machine
+     * which is started by the moment of the event, the key is the name of the machine.
+     * Provided with {@link EventType#RUNNING} event.
+     */
+    Map<String, Long> getMachineStartTimes();
+
+    void setMachineStartTimes(Map<String, Long> machineStartTimes);
+
+    WorkspaceStatusEvent withMachineStartTimes(Map<String, Long> machineStartTimes);
 }
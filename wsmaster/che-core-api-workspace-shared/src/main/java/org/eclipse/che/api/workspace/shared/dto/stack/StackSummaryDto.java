@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.shared.dto.stack;
+
+import org.eclipse.che.api.core.rest.shared.dto.Hyperlinks;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Short description of the stack, which is enough for listing stacks in catalog.
+ * Unlike {@link StackDto} it doesn't contain workspace config and source of the stack.
+ */
+@DTO
+public interface StackSummaryDto extends Hyperlinks {
+
+    String getId();
+
+    void setId(String id);
+
+    StackSummaryDto withId(String id);
+
+    String getName();
+
+    void setName(String name);
+
+    StackSummaryDto withName(String name);
+
+    String getDescription();
+
+    void setDescription(String description);
+
+    StackSummaryDto withDescription(String description);
+
+    String getScope();
+
+    void setScope(String scope);
+
+    StackSummaryDto withScope(String scope);
+
+    String getCreator();
+
+    void setCreator(String creator);
+
+    StackSummaryDto withCreator(String creator);
+
+    List<String> getTags();
+
+    void setTags(List<String> tags);
+
+    StackSummaryDto withTags(List<String> tags);
+
+    List<StackComponentDto> getComponents();
+
+    void setComponents(List<StackComponentDto> components);
+
+    StackSummaryDto withComponents(List<StackComponentDto> components);
+
+    StackSummaryDto withLinks(List<Link> links);
+}
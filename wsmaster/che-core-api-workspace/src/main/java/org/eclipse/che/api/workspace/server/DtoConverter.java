@@ -31,7 +31,9 @@ import org.eclipse.che.api.workspace.shared.dto.WorkspaceRuntimeDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackComponentDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackSourceDto;
+import org.eclipse.che.api.workspace.shared.dto.stack.StackSummaryDto;
 import org.eclipse.che.api.workspace.shared.stack.Stack;
+import org.eclipse.che.api.workspace.shared.stack.StackComponent;
 import org.eclipse.che.api.workspace.shared.stack.StackSource;
 
 import java.util.List;
@@ -101,26 +103,38 @@ public final class DtoConverter {
             stackSourceDto = newDto(StackSourceDto.class).withType(source.getType()).withOrigin(source.getOrigin());
         }
 
-        List<StackComponentDto> componentsDto = null;
-        if (stack.getComponents() != null) {
-            componentsDto = stack.getComponents()
-                                 .stream()
-                                 .map(component -> newDto(StackComponentDto.class).withName(component.getName())
-                                                                                  .withVersion(component.getVersion()))
-                                 .collect(toList());
-        }
-
         return newDto(StackDto.class).withId(stack.getId())
                                      .withName(stack.getName())
                                      .withDescription(stack.getDescription())
                                      .withCreator(stack.getCreator())
                                      .withScope(stack.getScope())
                                      .withTags(stack.getTags())
-                                     .withComponents(componentsDto)
+                                     .withComponents(asDto(stack.getComponents()))
                                      .withWorkspaceConfig(workspaceConfigDto)
                                      .withSource(stackSourceDto);
     }
 
+    /** Converts {@link Stack} to {@link StackSummaryDto}, workspace config and source of the stack are omitted. */
+    public static StackSummaryDto asSummaryDto(Stack stack) {
+        return newDto(StackSummaryDto.class).withId(stack.getId())
+                                            .withName(stack.getName())
+                                            .withDescription(stack.getDescription())
+                                            .withCreator(stack.getCreator())
+                                            .withScope(stack.getScope())
+                                            .withTags(stack.getTags())
+                                            .withComponents(asDto(stack.getComponents()));
+    }
+
+    private static List<StackComponentDto> asDto(List<? extends StackComponent> components) {
+        if (components == null) {
+            return null;
+        }
+        return components.stream()
+                         .map(component -> newDto(StackComponentDto.class).withName(component.getName())
+                                                                          .withVersion(component.getVersion()))
+                         .collect(toList());
+    }
+
     /** Converts {@link ProjectConfig} to {@link ProjectConfigDto}. */
     public static ProjectConfigDto asDto(ProjectConfig projectCfg) {
         final ProjectConfigDto projectConfigDto = newDto(ProjectConfigDto.class).withName(projectCfg.getName())
@@ -23,9 +23,12 @@ import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.core.util.ModificationStamps;
 import org.eclipse.che.api.machine.server.MachineManager;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
+import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.api.user.server.UserManager;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes.RuntimeDescriptor;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
@@ -44,6 +47,7 @@ import org.eclipse.che.commons.subject.Subject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.List;
@@ -83,14 +87,15 @@ public class WorkspaceManager {
     /** This attribute describes time when workspace was last update or started/stopped/recovered. */
     public static final String UPDATED_ATTRIBUTE_NAME = "updated";
 
-    private final WorkspaceDao      workspaceDao;
-    private final WorkspaceRuntimes runtimes;
-    private final EventService      eventService;
-    private final ExecutorService   executor;
-    private final MachineManager    machineManager;
-    private final UserManager       userManager;
-    private final boolean           defaultAutoSnapshot;
-    private final boolean           defaultAutoRestore;
+    private final WorkspaceDao       workspaceDao;
+    private final WorkspaceRuntimes  runtimes;
+    private final EventService       eventService;
+    private final ExecutorService    executor;
+    private final MachineManager     machineManager;
+    private final UserManager        userManager;
+    private final boolean            defaultAutoSnapshot;
+    private final boolean            defaultAutoRestore;
+    private final ModificationStamps stamps;
 
     private WorkspaceHooks hooks = new NoopWorkspaceHooks();
 
@@ -109,6 +114,7 @@ public class WorkspaceManager {
         this.userManager = userManager;
         this.defaultAutoSnapshot = defaultAutoSnapshot;
         this.defaultAutoRestore = defaultAutoRestore;
+        this.stamps = new ModificationStamps();
 
         executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("WorkspaceManager-%d")
                                                                            .setDaemon(true)
@@ -120,6 +126,23 @@ public class WorkspaceManager {
         this.hooks = hooks;
     }
 
+    /** Changes modification stamps of workspaces when their status or runtime machines are changed. */
+    @PostConstruct
+    public void subscribe() {
+        eventService.subscribe(new EventSubscriber<WorkspaceStatusEvent>() {
+            @Override
+            public void onEvent(WorkspaceStatusEvent event) {
+                stamps.update(event.getWorkspaceId());
+            }
+        });
+        eventService.subscribe(new EventSubscriber<MachineStatusEvent>() {
+            @Override
+            public void onEvent(MachineStatusEvent event) {
+                stamps.update(event.getWorkspaceId());
+            }
+        });
+    }
+
     /**
      * Creates a new {@link WorkspaceImpl} instance based on the given configuration.
      *
@@ -245,6 +268,21 @@ public class WorkspaceManager {
         return normalizeState(workspaceDao.get(name, namespace));
     }
 
+    /**
+     * Gets modification stamp of the workspace. It is changed each time when the workspace is updated or removed and when
+     * its status or runtime is changed, so it may be used instead of comparing of workspace representations.
+     *
+     * <p>Stamp must be got before getting of the workspace, otherwise change which happens in between may be missed.
+     *
+     * @param workspaceId
+     *         the id of the workspace, stamp of workspace which doesn't exist is returned as well
+     * @return modification stamp of the workspace
+     */
+    public String getModificationStamp(String workspaceId) {
+        requireNonNull(workspaceId, "Required non-null workspace id");
+        return stamps.get(workspaceId);
+    }
+
     /**
      * Gets list of workspaces which user can read
      *
@@ -293,7 +331,9 @@ public class WorkspaceManager {
         workspace.setConfig(new WorkspaceConfigImpl(update.getConfig()));
         update.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
         workspace.setAttributes(update.getAttributes());
-        return normalizeState(workspaceDao.update(workspace));
+        final WorkspaceImpl updated = workspaceDao.update(workspace);
+        stamps.update(id);
+        return normalizeState(updated);
     }
 
     /**
@@ -319,6 +359,7 @@ public class WorkspaceManager {
             throw new ConflictException("The workspace '" + workspaceId + "' is currently running and cannot be removed.");
         }
         workspaceDao.remove(workspaceId);
+        stamps.update(workspaceId);
         hooks.afterRemove(workspaceId);
         eventService.publish(new WorkspaceRemovedEvent(workspaceId));
         LOG.info("Workspace '{}' removed by user '{}'", workspaceId, sessionUserNameOr("undefined"));
@@ -525,6 +566,7 @@ public class WorkspaceManager {
 
         workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
         workspaceDao.update(workspace);
+        stamps.update(workspace.getId());
 
         executor.execute(ThreadLocalPropagateContext.wrap(() -> {
             try {
@@ -582,6 +624,7 @@ public class WorkspaceManager {
                     workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
                     workspaceDao.update(workspace);
                 }
+                stamps.update(workspace.getId());
                 LOG.info("Workspace '{}:{}' with id '{}' stopped by user '{}'",
                          workspace.getNamespace(),
                          workspace.getConfig().getName(),
@@ -12,6 +12,9 @@ package org.eclipse.che.api.workspace.server;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Predicate;
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
@@ -36,19 +39,32 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
@@ -58,11 +74,19 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
  *
  * <p>All the operations performed by this component are synchronous.
  *
- * <p>The implementation is thread-safe and guarded by {@link ReentrantReadWriteLock rwLock}.
+ * <p>The implementation is thread-safe, the state of each workspace runtime is guarded
+ * by its own {@link ReadWriteLock lock}, so operations on different workspaces
+ * don't block each other.
  *
  * <p>The implementation doesn't validate parameters.
  * Parameters should be validated by caller of methods of this class.
  *
+ * <p>By default machines of the environment are started one by one, dev-machine first.
+ * If parallel start is enabled, machines are started at the same time, each machine
+ * starts after the machines listed in its {@value #DEPENDS_ON_VARIABLE} environment
+ * variable (comma separated machine names). The number of machines which are being
+ * started at the same time on this node is limited by the start concurrency.
+ *
  * @author Yevhenii Voevodin
  * @author Alexander Garagatyi
  */
@@ -71,7 +95,14 @@ public class WorkspaceRuntimes {
 
     private static final Logger LOG = LoggerFactory.getLogger(WorkspaceRuntimes.class);
 
-    private final ReadWriteLock                         rwLock;
+    /** Machine environment variable which contains comma separated names of machines it depends on. */
+    public static final String DEPENDS_ON_VARIABLE = "CHE_MACHINE_DEPENDS_ON";
+
+    static final int DEFAULT_START_CONCURRENCY = 5;
+
+    private static final int LOCKS_STRIPES = 1024;
+
+    private final Striped<ReadWriteLock>                locks;
     private final Map<String, RuntimeDescriptor>        descriptors;
     private final Map<String, Queue<MachineConfigImpl>> startQueues;
     private final MachineManager                        machineManager;
@@ -79,13 +110,37 @@ public class WorkspaceRuntimes {
 
     private volatile boolean isPreDestroyInvoked;
 
+    private boolean         parallelStart;
+    private int             startConcurrency;
+    private ExecutorService startExecutor;
+
     @Inject
     public WorkspaceRuntimes(MachineManager machineManager, EventService eventService) {
         this.machineManager = machineManager;
         this.eventService = eventService;
-        this.descriptors = new HashMap<>();
-        this.startQueues = new HashMap<>();
-        this.rwLock = new ReentrantReadWriteLock();
+        this.descriptors = new ConcurrentHashMap<>();
+        this.startQueues = new ConcurrentHashMap<>();
+        // lazy weak locks are created on demand and garbage collected when not used anymore
+        this.locks = Striped.lazyWeakReadWriteLock(LOCKS_STRIPES);
+        this.startConcurrency = DEFAULT_START_CONCURRENCY;
+    }
+
+    /**
+     * Enables start of the machines of an environment at the same time,
+     * with respect to the dependencies between them.
+     */
+    @com.google.inject.Inject(optional = true)
+    public void setParallelStart(@Named("workspace.runtime.parallel_start") boolean parallelStart) {
+        this.parallelStart = parallelStart;
+    }
+
+    /**
+     * Sets the maximum number of machines which are being started at the same time on this node,
+     * used only when parallel start is enabled.
+     */
+    @com.google.inject.Inject(optional = true)
+    public void setStartConcurrency(@Named("workspace.runtime.start_concurrency") int startConcurrency) {
+        this.startConcurrency = Math.max(1, startConcurrency);
     }
 
     /**
@@ -106,7 +161,8 @@ public class WorkspaceRuntimes {
      *         when workspace with given {@code workspaceId} doesn't have runtime
      */
     public RuntimeDescriptor get(String workspaceId) throws NotFoundException {
-        rwLock.readLock().lock();
+        final ReadWriteLock lock = locks.get(workspaceId);
+        lock.readLock().lock();
         try {
             final RuntimeDescriptor descriptor = descriptors.get(workspaceId);
             if (descriptor == null) {
@@ -114,7 +170,7 @@ public class WorkspaceRuntimes {
             }
             return new RuntimeDescriptor(descriptor);
         } finally {
-            rwLock.readLock().unlock();
+            lock.readLock().unlock();
         }
     }
 
@@ -127,6 +183,10 @@ public class WorkspaceRuntimes {
      * {@link ServerException}. During the start of the workspace its
      * runtime is visible with {@link WorkspaceStatus#STARTING} status.
      *
+     * <p>If parallel start is enabled then machines are started at the same time
+     * and dev-machine starts after the machines it depends on. If dev-machine start
+     * failed then the machines which are already started are destroyed.
+     *
      * <p>If {@link #stop} method executed after dev machine is started but
      * another machines haven't been started yet then {@link ConflictException}
      * will be thrown and start process will be interrupted.
@@ -159,7 +219,8 @@ public class WorkspaceRuntimes {
                                                                                                     NotFoundException {
         final EnvironmentImpl activeEnv = new EnvironmentImpl(workspace.getConfig().getEnvironment(envName).get());
         ensurePreDestroyIsNotExecuted();
-        rwLock.writeLock().lock();
+        final ReadWriteLock lock = locks.get(workspace.getId());
+        lock.writeLock().lock();
         try {
             ensurePreDestroyIsNotExecuted();
             final RuntimeDescriptor descriptor = descriptors.get(workspace.getId());
@@ -175,9 +236,13 @@ public class WorkspaceRuntimes {
             machineConfigs.add(0, devCfg);
             startQueues.put(workspace.getId(), new ArrayDeque<>(machineConfigs));
         } finally {
-            rwLock.writeLock().unlock();
+            lock.writeLock().unlock();
+        }
+        if (parallelStart) {
+            startInParallel(workspace.getId(), activeEnv.getName(), recover, activeEnv.getMachineConfigs());
+        } else {
+            startQueue(workspace.getId(), activeEnv.getName(), recover);
         }
-        startQueue(workspace.getId(), activeEnv.getName(), recover);
         return get(workspace.getId());
     }
 
@@ -220,7 +285,8 @@ public class WorkspaceRuntimes {
      */
     public void stop(String workspaceId) throws NotFoundException, ServerException, ConflictException {
         ensurePreDestroyIsNotExecuted();
-        rwLock.writeLock().lock();
+        final ReadWriteLock lock = locks.get(workspaceId);
+        lock.writeLock().lock();
         final WorkspaceRuntimeImpl runtime;
         try {
             ensurePreDestroyIsNotExecuted();
@@ -239,7 +305,7 @@ public class WorkspaceRuntimes {
             startQueues.remove(workspaceId);
             runtime = descriptor.getRuntime();
         } finally {
-            rwLock.writeLock().unlock();
+            lock.writeLock().unlock();
         }
         destroyRuntime(workspaceId, runtime);
     }
@@ -271,12 +337,7 @@ public class WorkspaceRuntimes {
      * @return true if workspace is running, otherwise false
      */
     public boolean hasRuntime(String workspaceId) {
-        rwLock.readLock().lock();
-        try {
-            return descriptors.containsKey(workspaceId);
-        } finally {
-            rwLock.readLock().unlock();
-        }
+        return descriptors.containsKey(workspaceId);
     }
 
     /**
@@ -287,41 +348,51 @@ public class WorkspaceRuntimes {
     @VisibleForTesting
     void cleanup() {
         isPreDestroyInvoked = true;
-        rwLock.writeLock().lock();
-        try {
-            descriptors.clear();
-            startQueues.clear();
-        } finally {
-            rwLock.writeLock().unlock();
+        // queues go first, so starting machines which are not yet added
+        // are seen as interrupted and never look up removed descriptor
+        startQueues.clear();
+        descriptors.clear();
+        synchronized (this) {
+            if (startExecutor != null) {
+                startExecutor.shutdown();
+            }
         }
     }
 
     @VisibleForTesting
     void publishEvent(EventType type, String workspaceId, String error) {
+        publishEvent(type, workspaceId, error, null);
+    }
+
+    @VisibleForTesting
+    void publishEvent(EventType type, String workspaceId, String error, Map<String, Long> machineStartTimes) {
         eventService.publish(newDto(WorkspaceStatusEvent.class)
                                      .withEventType(type)
                                      .withWorkspaceId(workspaceId)
-                                     .withError(error));
+                                     .withError(error)
+                                     .withMachineStartTimes(machineStartTimes));
     }
 
     @VisibleForTesting
     void cleanupStartResources(String workspaceId) {
-        rwLock.writeLock().lock();
+        final ReadWriteLock lock = locks.get(workspaceId);
+        lock.writeLock().lock();
         try {
             descriptors.remove(workspaceId);
             startQueues.remove(workspaceId);
         } finally {
-            rwLock.writeLock().unlock();
+            lock.writeLock().unlock();
         }
     }
 
     @VisibleForTesting
     void removeRuntime(String wsId) {
-        rwLock.writeLock().lock();
+        final ReadWriteLock lock = locks.get(wsId);
+        lock.writeLock().lock();
         try {
             descriptors.remove(wsId);
         } finally {
-            rwLock.writeLock().unlock();
+            lock.writeLock().unlock();
         }
     }
 
@@ -333,18 +404,7 @@ public class WorkspaceRuntimes {
         final List<MachineImpl> machines = new ArrayList<>(workspace.getMachines());
         final MachineImpl devMachine = rmFirst(machines, m -> m.getConfig().isDev());
         // destroying all non-dev machines
-        for (MachineImpl machine : machines) {
-            try {
-                machineManager.destroy(machine.getId(), false);
-            } catch (NotFoundException ignore) {
-                // it is ok, machine has been already destroyed
-            } catch (RuntimeException | MachineException ex) {
-                LOG.error(format("Could not destroy machine '%s' of workspace '%s'",
-                                 machine.getId(),
-                                 machine.getWorkspaceId()),
-                          ex);
-            }
-        }
+        destroyMachines(machines);
         // destroying dev-machine
         try {
             machineManager.destroy(devMachine.getId(), false);
@@ -359,6 +419,24 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Destroys given machines, errors are logged but not propagated.
+     */
+    private void destroyMachines(Collection<MachineImpl> machines) {
+        for (MachineImpl machine : machines) {
+            try {
+                machineManager.destroy(machine.getId(), false);
+            } catch (NotFoundException ignore) {
+                // it is ok, machine has been already destroyed
+            } catch (RuntimeException | MachineException ex) {
+                LOG.error(format("Could not destroy machine '%s' of workspace '%s'",
+                                 machine.getId(),
+                                 machine.getWorkspaceId()),
+                          ex);
+            }
+        }
+    }
+
     private void startQueue(String wsId, String envName, boolean recover) throws ServerException,
                                                                                  NotFoundException,
                                                                                  ConflictException {
@@ -368,23 +446,245 @@ public class WorkspaceRuntimes {
             startMachine(config, wsId, envName, recover);
             config = getPeekConfig(wsId);
         }
+        removeStartQueue(wsId);
+    }
+
+    /**
+     * Starts machines at the same time, each machine is started when all the machines
+     * it depends on are either started or failed to start. Failure of non-dev machine
+     * doesn't prevent start of the other machines. If dev-machine start fails or the
+     * workspace is stopped then the start is interrupted, machines which are being
+     * started are awaited and destroyed, if dev-machine failed then the machines of
+     * the runtime are destroyed as well and the runtime is removed.
+     */
+    private void startInParallel(String wsId,
+                                 String envName,
+                                 boolean recover,
+                                 List<MachineConfigImpl> configs) throws ServerException,
+                                                                         NotFoundException,
+                                                                         ConflictException {
+        publishEvent(EventType.STARTING, wsId, null);
+        final Map<MachineConfigImpl, Set<MachineConfigImpl>> waiting = new HashMap<>();
+        final Map<MachineConfigImpl, List<MachineConfigImpl>> dependents = new HashMap<>();
+        final Queue<MachineConfigImpl> ready = new ArrayDeque<>();
+        for (MachineConfigImpl config : configs) {
+            final Set<MachineConfigImpl> dependencies = findDependencies(config, configs, wsId);
+            if (dependencies.isEmpty()) {
+                ready.add(config);
+            } else {
+                waiting.put(config, dependencies);
+                dependencies.forEach(dependency -> dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(config));
+            }
+        }
+
+        final CompletionService<MachineImpl> completionService = new ExecutorCompletionService<>(getStartExecutor());
+        final Map<Future<MachineImpl>, MachineConfigImpl> starting = new HashMap<>();
+        // machine start time is recorded by the task, so the time spent in executor queue is not counted
+        final Map<MachineConfigImpl, Long> startTimes = new ConcurrentHashMap<>();
+        final List<MachineImpl> orphans = new ArrayList<>();
+        Exception failure = null;
+        // whether the runtime must be removed, e.g. when dev-machine failed to start
+        boolean rollback = false;
+        boolean interrupted = false;
+        while (failure == null && (!ready.isEmpty() || !starting.isEmpty() || !waiting.isEmpty())) {
+            while (!ready.isEmpty()) {
+                final MachineConfigImpl config = ready.poll();
+                starting.put(completionService.submit(() -> {
+                    startTimes.put(config, System.nanoTime());
+                    return createMachine(config, wsId, envName, recover);
+                }), config);
+            }
+            if (starting.isEmpty()) {
+                // machines depend on each other, nothing to wait for
+                ready.addAll(waiting.keySet());
+                waiting.clear();
+                continue;
+            }
+
+            final Future<MachineImpl> future;
+            try {
+                future = completionService.take();
+            } catch (InterruptedException ex) {
+                // the flag is restored when the starting machines are awaited and destroyed
+                interrupted = true;
+                rollback = true;
+                failure = new ServerException(format("Start of workspace '%s' was interrupted", wsId));
+                break;
+            }
+            final MachineConfigImpl config = starting.remove(future);
+            final long startTime = NANOSECONDS.toMillis(System.nanoTime() - startTimes.get(config));
+            MachineImpl machine = null;
+            try {
+                machine = getMachine(future);
+            } catch (RuntimeException | ServerException | NotFoundException | ConflictException ex) {
+                if (config.isDev()) {
+                    rollback = true;
+                    failure = ex;
+                    break;
+                }
+                LOG.error(format("Error while creating non-dev machine '%s' in workspace '%s', environment '%s'",
+                                 config.getName(),
+                                 wsId,
+                                 envName),
+                          ex);
+            }
+            try {
+                if (!addMachine(wsId, config, machine, startTime)) {
+                    if (machine != null) {
+                        orphans.add(machine);
+                    }
+                    failure = new ConflictException(format("Workspace '%s' start interrupted. " +
+                                                           "Workspace was stopped before all its machines were started",
+                                                           wsId));
+                    break;
+                }
+            } catch (ServerException ex) {
+                // application server is stopping, machines are destroyed by the machine manager
+                failure = ex;
+                break;
+            }
+            for (MachineConfigImpl dependent : dependents.getOrDefault(config, Collections.emptyList())) {
+                final Set<MachineConfigImpl> dependencies = waiting.get(dependent);
+                if (dependencies != null && dependencies.remove(config) && dependencies.isEmpty()) {
+                    waiting.remove(dependent);
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (failure == null) {
+            removeStartQueue(wsId);
+            return;
+        }
+
+        // waiting for the machines which are still starting, they are not added to the runtime
+        for (Future<MachineImpl> future : starting.keySet()) {
+            try {
+                final MachineImpl machine = Uninterruptibles.getUninterruptibly(future);
+                if (machine != null) {
+                    orphans.add(machine);
+                }
+            } catch (Exception ignored) {
+                // machine is not created, nothing to destroy
+            }
+        }
+        if (!isPreDestroyInvoked) {
+            if (rollback) {
+                final ReadWriteLock lock = locks.get(wsId);
+                lock.readLock().lock();
+                try {
+                    final RuntimeDescriptor descriptor = descriptors.get(wsId);
+                    if (descriptor != null) {
+                        orphans.addAll(descriptor.getRuntime().getMachines());
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+            destroyMachines(orphans);
+        }
+        if (rollback) {
+            publishEvent(EventType.ERROR, wsId, failure.getLocalizedMessage());
+            cleanupStartResources(wsId);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        throwFailure(failure);
+    }
 
+    /**
+     * Returns the set of configs of machines which given machine depends on,
+     * dependencies on machines which are not the part of the environment are ignored.
+     */
+    private Set<MachineConfigImpl> findDependencies(MachineConfigImpl config, List<MachineConfigImpl> configs, String wsId) {
+        final Set<MachineConfigImpl> dependencies = new HashSet<>();
+        final String dependsOn = config.getEnvVariables() == null ? null : config.getEnvVariables().get(DEPENDS_ON_VARIABLE);
+        if (dependsOn == null) {
+            return dependencies;
+        }
+        for (String name : dependsOn.split(",")) {
+            final String machineName = name.trim();
+            if (machineName.isEmpty() || machineName.equals(config.getName())) {
+                continue;
+            }
+            final Optional<MachineConfigImpl> dependency = configs.stream()
+                                                                  .filter(cfg -> machineName.equals(cfg.getName()))
+                                                                  .findAny();
+            if (dependency.isPresent()) {
+                dependencies.add(dependency.get());
+            } else {
+                LOG.warn("Machine '{}' of workspace '{}' depends on machine '{}' which is not present in the environment",
+                         config.getName(),
+                         wsId,
+                         machineName);
+            }
+        }
+        return dependencies;
+    }
+
+    private synchronized ExecutorService getStartExecutor() {
+        if (startExecutor == null) {
+            startExecutor = Executors.newFixedThreadPool(startConcurrency,
+                                                         new ThreadFactoryBuilder().setNameFormat("WorkspaceRuntimes-%d")
+                                                                                   .setDaemon(true)
+                                                                                   .build());
+        }
+        return startExecutor;
+    }
+
+    private static MachineImpl getMachine(Future<MachineImpl> future) throws ServerException,
+                                                                             NotFoundException,
+                                                                             ConflictException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServerException(ex.getLocalizedMessage(), ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof Exception) {
+                throwFailure((Exception)cause);
+            }
+            throw new ServerException(cause.getLocalizedMessage(), cause);
+        }
+    }
+
+    private static void throwFailure(Exception ex) throws ServerException, NotFoundException, ConflictException {
+        if (ex instanceof ServerException) {
+            throw (ServerException)ex;
+        }
+        if (ex instanceof NotFoundException) {
+            throw (NotFoundException)ex;
+        }
+        if (ex instanceof ConflictException) {
+            throw (ConflictException)ex;
+        }
+        if (ex instanceof RuntimeException) {
+            throw (RuntimeException)ex;
+        }
+        throw new ServerException(ex.getLocalizedMessage(), ex);
+    }
+
+    private void removeStartQueue(String wsId) {
         // Clean up the start queue when all the machines successfully started
-        rwLock.writeLock().lock();
+        final ReadWriteLock lock = locks.get(wsId);
+        lock.writeLock().lock();
         try {
             final Queue<MachineConfigImpl> queue = startQueues.get(wsId);
             if (queue != null && queue.isEmpty()) {
                 startQueues.remove(wsId);
             }
         } finally {
-            rwLock.writeLock().unlock();
+            lock.writeLock().unlock();
         }
     }
 
     private MachineConfigImpl getPeekConfig(String wsId) throws ConflictException, ServerException {
         // Trying to get machine to start. If queue doesn't exist then workspace
         // start was interrupted either by the stop method, or by the cleanup
-        rwLock.readLock().lock();
+        final ReadWriteLock lock = locks.get(wsId);
+        lock.readLock().lock();
         try {
             ensurePreDestroyIsNotExecuted();
             final Queue<MachineConfigImpl> queue = startQueues.get(wsId);
@@ -395,7 +695,7 @@ public class WorkspaceRuntimes {
             }
             return queue.peek();
         } finally {
-            rwLock.readLock().unlock();
+            lock.readLock().unlock();
         }
     }
 
@@ -407,6 +707,7 @@ public class WorkspaceRuntimes {
                                                       ConflictException {
         // Trying to start machine from the given configuration
         MachineImpl machine = null;
+        final long start = System.nanoTime();
         try {
             machine = createMachine(config, wsId, envName, recover);
         } catch (RuntimeException | MachineException | NotFoundException | SnapshotException | ConflictException ex) {
@@ -422,36 +723,10 @@ public class WorkspaceRuntimes {
                       ex);
         }
 
-        // Machine destroying is an expensive operation which must be
-        // performed outside of the lock, this section checks if
-        // the workspace wasn't stopped while it is starting and sets
-        // polled flag to true if the workspace wasn't stopped plus
-        // polls the proceeded machine configuration from the queue
-        boolean queuePolled = false;
-        rwLock.readLock().lock();
-        try {
-            ensurePreDestroyIsNotExecuted();
-            final Queue<MachineConfigImpl> queue = startQueues.get(wsId);
-            if (queue != null) {
-                queue.poll();
-                queuePolled = true;
-                if (machine != null) {
-                    final WorkspaceRuntimeImpl runtime = descriptors.get(wsId).getRuntime();
-                    if (config.isDev()) {
-                        runtime.setDevMachine(machine);
-                        publishEvent(EventType.RUNNING, wsId, null);
-                    }
-                    runtime.getMachines().add(machine);
-                }
-            }
-        } finally {
-            rwLock.readLock().unlock();
-        }
-
         // If machine config is not polled from the queue
         // then stop method was executed and the machine which
         // has been just created must be destroyed
-        if (!queuePolled) {
+        if (!addMachine(wsId, config, machine, NANOSECONDS.toMillis(System.nanoTime() - start))) {
             if (machine != null) {
                 machineManager.destroy(machine.getId(), false);
             }
@@ -461,6 +736,46 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Machine destroying is an expensive operation which must be
+     * performed outside of the lock, this method checks if
+     * the workspace wasn't stopped while it is starting and returns
+     * true if the workspace wasn't stopped plus removes the proceeded
+     * machine configuration from the queue and adds the machine to the runtime.
+     */
+    private boolean addMachine(String wsId,
+                               MachineConfigImpl config,
+                               MachineImpl machine,
+                               long startTime) throws ServerException {
+        final ReadWriteLock lock = locks.get(wsId);
+        lock.writeLock().lock();
+        try {
+            ensurePreDestroyIsNotExecuted();
+            final Queue<MachineConfigImpl> queue = startQueues.get(wsId);
+            if (queue == null) {
+                return false;
+            }
+            final RuntimeDescriptor descriptor = descriptors.get(wsId);
+            if (descriptor == null) {
+                // runtimes are cleaned up by the application server stop
+                return false;
+            }
+            queue.remove(config);
+            if (machine != null) {
+                descriptor.machineStartTimes.put(config.getName(), startTime);
+                final WorkspaceRuntimeImpl runtime = descriptor.getRuntime();
+                if (config.isDev()) {
+                    runtime.setDevMachine(machine);
+                    publishEvent(EventType.RUNNING, wsId, null, new LinkedHashMap<>(descriptor.machineStartTimes));
+                }
+                runtime.getMachines().add(machine);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     private <T> T rmFirst(List<? extends T> elements, Predicate<T> predicate) {
         T element = null;
         for (final Iterator<? extends T> it = elements.iterator(); it.hasNext() && element == null; ) {
@@ -509,16 +824,20 @@ public class WorkspaceRuntimes {
      */
     public static class RuntimeDescriptor {
 
+        private final Map<String, Long> machineStartTimes;
+
         private WorkspaceRuntimeImpl runtime;
         private boolean              isStopping;
 
         private RuntimeDescriptor(WorkspaceRuntimeImpl runtime) {
             this.runtime = runtime;
+            this.machineStartTimes = new LinkedHashMap<>();
         }
 
         private RuntimeDescriptor(RuntimeDescriptor descriptor) {
             this(new WorkspaceRuntimeImpl(descriptor.runtime));
             this.isStopping = descriptor.isStopping;
+            this.machineStartTimes.putAll(descriptor.machineStartTimes);
         }
 
         /**
@@ -546,6 +865,14 @@ public class WorkspaceRuntimes {
             return WorkspaceStatus.RUNNING;
         }
 
+        /**
+         * Returns the time in milliseconds spent on start of each started machine,
+         * the key is the name of the machine, entries are ordered as machines were started.
+         */
+        public Map<String, Long> getMachineStartTimes() {
+            return Collections.unmodifiableMap(machineStartTimes);
+        }
+
         private void setStopping() {
             isStopping = true;
         }
@@ -39,6 +39,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsDeltaDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -56,11 +57,16 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static java.lang.String.format;
@@ -157,22 +163,36 @@ public class WorkspaceService extends Service {
     @RolesAllowed("user")
     @ApiOperation(value = "Get the workspace by the composite key",
                   notes = "Composite key can be just workspace ID or in the " +
-                          "namespace:workspace_name form, where namespace is optional (e.g :workspace_name is valid key too.")
+                          "namespace:workspace_name form, where namespace is optional (e.g :workspace_name is valid key too.",
+                  response = WorkspaceDto.class)
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains requested workspace entity"),
+                   @ApiResponse(code = 304, message = "The workspace is not modified since it was requested with the same ETag"),
                    @ApiResponse(code = 404, message = "The workspace with specified id does not exist"),
                    @ApiResponse(code = 403, message = "The user is not workspace owner"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
-    public WorkspaceDto getByKey(@ApiParam(value = "Composite key",
-                                           examples = @Example({@ExampleProperty("workspace12345678"),
-                                                                @ExampleProperty("namespace:workspace_name"),
-                                                                @ExampleProperty(":workspace_name")}))
-                                 @PathParam("key") String key) throws NotFoundException,
-                                                                      ServerException,
-                                                                      ForbiddenException,
-                                                                      BadRequestException {
+    public Response getByKey(@ApiParam(value = "Composite key",
+                                       examples = @Example({@ExampleProperty("workspace12345678"),
+                                                            @ExampleProperty("namespace:workspace_name"),
+                                                            @ExampleProperty(":workspace_name")}))
+                             @PathParam("key") String key,
+                             @Context Request request) throws NotFoundException,
+                                                              ServerException,
+                                                              ForbiddenException,
+                                                              BadRequestException {
         validateKey(key);
+        // workspace which is got by name may be renamed, so only workspace which is got by id may be tagged with its stamp
+        EntityTag tag = null;
+        if (!key.contains(":")) {
+            tag = createEntityTag(workspaceManager.getModificationStamp(key));
+            final Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+            if (notModified != null) {
+                return notModified.tag(tag).build();
+            }
+        }
         final WorkspaceImpl workspace = workspaceManager.getWorkspace(key);
-        return linksInjector.injectLinks(asDto(workspace), getServiceContext());
+        return Response.ok(linksInjector.injectLinks(asDto(workspace), getServiceContext()))
+                       .tag(tag)
+                       .build();
     }
 
     @GET
@@ -649,7 +669,7 @@ public class WorkspaceService extends Service {
         requiredNotNull(update, "Project config");
         final WorkspaceImpl workspace = workspaceManager.getWorkspace(id);
         final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
-        final String normalizedPath = path.startsWith("/") ? path : '/' + path;
+        final String normalizedPath = normalizeProjectPath(path);
         if (!projects.removeIf(project -> project.getPath().equals(normalizedPath))) {
             throw new NotFoundException(format("Workspace '%s' doesn't contain project with path '%s'",
                                                id,
@@ -660,6 +680,50 @@ public class WorkspaceService extends Service {
         return linksInjector.injectLinks(asDto(workspaceManager.updateWorkspace(id, workspace)), getServiceContext());
     }
 
+    @PUT
+    @Path("/{id}/project")
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON)
+    @RolesAllowed("user")
+    @ApiOperation(value = "Update the workspace projects by applying the changes at once",
+                  notes = "Updated projects replace projects with the same paths or are added to the workspace. " +
+                          "This operation can be performed only by the workspace owner")
+    @ApiResponses({@ApiResponse(code = 200, message = "The projects successfully updated"),
+                   @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+                   @ApiResponse(code = 403, message = "The user does not have access to update the projects"),
+                   @ApiResponse(code = 404, message = "The workspace not found"),
+                   @ApiResponse(code = 409, message = "Any conflict error occurs"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public WorkspaceDto updateProjects(@ApiParam("The workspace id")
+                                       @PathParam("id")
+                                       String id,
+                                       @ApiParam(value = "The projects changes", required = true)
+                                       ProjectsDeltaDto delta) throws ServerException,
+                                                                      BadRequestException,
+                                                                      NotFoundException,
+                                                                      ConflictException,
+                                                                      ForbiddenException {
+        requiredNotNull(delta, "Projects changes");
+        final WorkspaceImpl workspace = workspaceManager.getWorkspace(id);
+        final Set<String> changedPaths = new HashSet<>();
+        for (String path : delta.getRemoved()) {
+            changedPaths.add(normalizeProjectPath(path));
+        }
+        final List<ProjectConfigImpl> updated = new ArrayList<>(delta.getUpdated().size());
+        for (ProjectConfigDto update : delta.getUpdated()) {
+            requiredNotNull(update.getPath(), "Project path");
+            final ProjectConfigImpl project = new ProjectConfigImpl(update);
+            project.setPath(normalizeProjectPath(update.getPath()));
+            changedPaths.add(project.getPath());
+            updated.add(project);
+        }
+        final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
+        projects.removeIf(project -> changedPaths.contains(project.getPath()));
+        projects.addAll(updated);
+        validator.validateConfig(workspace.getConfig());
+        return linksInjector.injectLinks(asDto(workspaceManager.updateWorkspace(id, workspace)), getServiceContext());
+    }
+
     @DELETE
     @Path("/{id}/project/{path:.*}")
     @RolesAllowed("user")
@@ -680,7 +744,7 @@ public class WorkspaceService extends Service {
                                                   ConflictException,
                                                   ForbiddenException {
         final WorkspaceImpl workspace = workspaceManager.getWorkspace(id);
-        final String normalizedPath = path.startsWith("/") ? path : '/' + path;
+        final String normalizedPath = normalizeProjectPath(path);
         if (workspace.getConfig().getProjects().removeIf(project -> project.getPath().equals(normalizedPath))) {
             workspaceManager.updateWorkspace(id, workspace);
         }
@@ -746,6 +810,11 @@ public class WorkspaceService extends Service {
         return res;
     }
 
+    /** Project paths are stored with leading slash, clients may send them without it. */
+    private static String normalizeProjectPath(String path) {
+        return path.startsWith("/") ? path : '/' + path;
+    }
+
     private static String getCurrentUserId() {
         return EnvironmentContext.getCurrent().getSubject().getUserId();
     }
@@ -112,4 +112,29 @@ public interface StackDao {
      *         when {@code skipCount} or {@code maxItems} is negative
      */
     List<StackImpl> searchStacks(String user, @Nullable List<String> tags, int skipCount, int maxItems) throws ServerException;
+
+    /**
+     * Searches for stacks like {@link #searchStacks(String, List, int, int)} does, but also by the {@code text}.
+     * Stack matches the text when each word of the text is a beginning of a word of the stack name,
+     * of the stack tags or of the names and versions of the stack components, case is ignored.
+     *
+     * @param user
+     *         user id for permission checking
+     * @param tags
+     *         stack tags to search stacks, may be {@code null}
+     * @param text
+     *         text to search stacks, may be {@code null}
+     * @param skipCount
+     *         count of items which should be skipped
+     * @param maxItems
+     *         max count of items to fetch, {@code 0} means all the found items
+     * @return list stacks which contains all of specified {@code tags} and match the {@code text}
+     * @throws ServerException
+     *         when any error occurs
+     */
+    List<StackImpl> searchStacks(String user,
+                                 @Nullable List<String> tags,
+                                 @Nullable String text,
+                                 int skipCount,
+                                 int maxItems) throws ServerException;
 }
@@ -0,0 +1,23 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.stack;
+
+import org.eclipse.che.api.core.util.ModificationStamps;
+
+import javax.inject.Singleton;
+
+/**
+ * Modification stamps of stacks, {@link StackService} is created per request so stamps are kept by this singleton.
+ * Stacks are changed only through {@link StackService} after they are loaded by {@link StackLoader}.
+ */
+@Singleton
+public class StackModificationStamps extends ModificationStamps {
+}
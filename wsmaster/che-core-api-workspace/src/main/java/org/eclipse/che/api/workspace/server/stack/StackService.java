@@ -31,6 +31,7 @@ import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackDto;
+import org.eclipse.che.api.workspace.shared.dto.stack.StackSummaryDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
 import javax.annotation.security.RolesAllowed;
@@ -45,6 +46,10 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import java.util.ArrayList;
@@ -58,12 +63,14 @@ import static javax.ws.rs.core.MediaType.MULTIPART_FORM_DATA;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 import static javax.ws.rs.core.Response.Status.CREATED;
 import static org.eclipse.che.api.workspace.server.DtoConverter.asDto;
+import static org.eclipse.che.api.workspace.server.DtoConverter.asSummaryDto;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_CREATE_STACK;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_DELETE_ICON;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_GET_ICON;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_GET_STACK_BY_ID;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_REMOVE_STACK;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_SEARCH_STACKS;
+import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_SEARCH_STACK_SUMMARIES;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_UPDATE_STACK;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_UPLOAD_ICON;
 
@@ -76,11 +83,16 @@ import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_UPLOAD_ICO
 @Path("/stack")
 public class StackService extends Service {
 
-    private final StackDao stackDao;
+    /** Icons requested by versioned links are cached for a year. */
+    private static final int ICON_MAX_AGE = 365 * 24 * 60 * 60;
+
+    private final StackDao                stackDao;
+    private final StackModificationStamps stamps;
 
     @Inject
-    public StackService(StackDao stackDao) {
+    public StackService(StackDao stackDao, StackModificationStamps stamps) {
         this.stackDao = stackDao;
+        this.stamps = stamps;
     }
 
     @POST
@@ -119,6 +131,7 @@ public class StackService extends Service {
                                       .build();
 
         stackDao.create(newStack);
+        stamps.update(newStack.getId());
 
         return Response.status(CREATED)
                        .entity(asStackDto(newStack))
@@ -131,13 +144,23 @@ public class StackService extends Service {
     @GenerateLink(rel = LINK_REL_GET_STACK_BY_ID)
     @RolesAllowed("user")
     @ApiOperation(value = "Get the stack by id",
-                  notes = "This operation can be performed for stack owner, or for predefined stacks")
+                  notes = "This operation can be performed for stack owner, or for predefined stacks",
+                  response = StackDto.class)
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains requested stack entity"),
+                   @ApiResponse(code = 304, message = "The stack is not modified since it was requested with the same ETag"),
                    @ApiResponse(code = 404, message = "The requested stack was not found"),
                    @ApiResponse(code = 403, message = "The user has not permission get requested stack"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
-    public StackDto getStack(@ApiParam("The stack id") @PathParam("id") final String id) throws ApiException {
-        return asStackDto(stackDao.getById(id));
+    public Response getStack(@ApiParam("The stack id") @PathParam("id") final String id,
+                             @Context final Request request) throws ApiException {
+        final EntityTag tag = createEntityTag(stamps.get(id));
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.tag(tag).build();
+        }
+        return Response.ok(asStackDto(stackDao.getById(id)))
+                       .tag(tag)
+                       .build();
     }
 
     @PUT
@@ -180,7 +203,9 @@ public class StackService extends Service {
                                             .setComponents(updateDto.getComponents())
                                             .build();
 
-        return asStackDto(stackDao.update(stackForUpdate));
+        final StackImpl updated = stackDao.update(stackForUpdate);
+        stamps.update(id);
+        return asStackDto(updated);
     }
 
     @DELETE
@@ -195,6 +220,7 @@ public class StackService extends Service {
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
     public void removeStack(@ApiParam("The stack id") @PathParam("id") final String id) throws ApiException {
         stackDao.remove(id);
+        stamps.update(id);
     }
 
     @GET
@@ -211,6 +237,10 @@ public class StackService extends Service {
     public List<StackDto> searchStacks(@ApiParam("List tags for search")
                                        @QueryParam("tags")
                                        final List<String> tags,
+                                       @ApiParam("Text for search, each of its words must be a beginning of " +
+                                                 "a word of the stack name, tags or components")
+                                       @QueryParam("text")
+                                       final String text,
                                        @ApiParam(value = "The number of the items to skip")
                                        @DefaultValue("0")
                                        @QueryParam("skipCount")
@@ -220,12 +250,48 @@ public class StackService extends Service {
                                        @QueryParam("maxItems")
                                        final Integer maxItems) throws ServerException {
         final String currentUser = EnvironmentContext.getCurrent().getSubject().getUserId();
-        return stackDao.searchStacks(currentUser, tags, skipCount, maxItems)
+        return stackDao.searchStacks(currentUser, tags, text, skipCount, maxItems)
                        .stream()
                        .map(this::asStackDto)
                        .collect(Collectors.toList());
     }
 
+    @GET
+    @Path("/summary")
+    @Produces(APPLICATION_JSON)
+    @GenerateLink(rel = LINK_REL_SEARCH_STACK_SUMMARIES)
+    @RolesAllowed("user")
+    @ApiOperation(value = "Get the list of stack summaries with required tags and text",
+                  notes = "Summaries don't contain workspace configs and sources of stacks, " +
+                          "so this operation is preferable for listing of stacks. " +
+                          "This operation can be performed only by authorized user",
+                  response = StackSummaryDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains requested list of stack summaries"),
+                   @ApiResponse(code = 403, message = "The user does not have access to get stack summaries"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public List<StackSummaryDto> searchStackSummaries(@ApiParam("List tags for search")
+                                                      @QueryParam("tags")
+                                                      final List<String> tags,
+                                                      @ApiParam("Text for search, each of its words must be a beginning of " +
+                                                                "a word of the stack name, tags or components")
+                                                      @QueryParam("text")
+                                                      final String text,
+                                                      @ApiParam(value = "The number of the items to skip")
+                                                      @DefaultValue("0")
+                                                      @QueryParam("skipCount")
+                                                      final Integer skipCount,
+                                                      @ApiParam("The limit of the items in the response, default is 30")
+                                                      @DefaultValue("30")
+                                                      @QueryParam("maxItems")
+                                                      final Integer maxItems) throws ServerException {
+        final String currentUser = EnvironmentContext.getCurrent().getSubject().getUserId();
+        return stackDao.searchStacks(currentUser, tags, text, skipCount, maxItems)
+                       .stream()
+                       .map(stack -> asSummaryDto(stack).withLinks(createLinks(stack)))
+                       .collect(Collectors.toList());
+    }
+
     @GET
     @Path("/{id}/icon")
     @Produces("image/*")
@@ -235,9 +301,15 @@ public class StackService extends Service {
                   notes = "This operation can be performed only by authorized user",
                   response = byte[].class)
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains requested image entity"),
+                   @ApiResponse(code = 304, message = "The image is not modified"),
                    @ApiResponse(code = 403, message = "The user does not have access to get image entity"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
-    public Response getIcon(@ApiParam("The stack id") @PathParam("id") final String id)
+    public Response getIcon(@ApiParam("The stack id") @PathParam("id") final String id,
+                            @ApiParam("The version of the image, links to the icon contain it")
+                            @QueryParam("v")
+                            final String version,
+                            @Context
+                            final Request request)
             throws NotFoundException, ServerException, BadRequestException {
         StackImpl stack = stackDao.getById(id);
 
@@ -250,7 +322,20 @@ public class StackService extends Service {
         if (image == null) {
             throw new NotFoundException("Image for stack with id '" + id + "' was not found.");
         }
-        return Response.ok(image.getData(), image.getMediaType()).build();
+
+        // icon is changed only by upload which changes its digest and therefore links to it,
+        // so response to the versioned link may be cached forever, otherwise it must be revalidated
+        final EntityTag tag = new EntityTag(image.getDigest());
+        final String cacheControl = tag.getValue().equals(version) ? "private, max-age=" + ICON_MAX_AGE : "private, no-cache";
+
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.header(HttpHeaders.CACHE_CONTROL, cacheControl).build();
+        }
+        return Response.ok(image.getData(), image.getMediaType())
+                       .tag(tag)
+                       .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                       .build();
     }
 
     @POST
@@ -280,6 +365,7 @@ public class StackService extends Service {
 
             stack.setStackIcon(stackIcon);
             stackDao.update(stack);
+            stamps.update(id);
         }
         return Response.ok().build();
     }
@@ -302,9 +388,14 @@ public class StackService extends Service {
         StackImpl stack = stackDao.getById(id);
         stack.setStackIcon(null);
         stackDao.update(stack);
+        stamps.update(id);
     }
 
     private StackDto asStackDto(StackImpl stack) {
+        return asDto(stack).withLinks(createLinks(stack));
+    }
+
+    private List<Link> createLinks(StackImpl stack) {
         final UriBuilder builder = getServiceContext().getServiceUriBuilder();
 
         List<Link> links = new ArrayList<>();
@@ -336,6 +427,7 @@ public class StackService extends Service {
             Link getIconLink = LinksHelper.createLink("GET",
                                                       builder.clone()
                                                              .path(getClass(), "getIcon")
+                                                             .queryParam("v", stackIcon.getDigest())
                                                              .build(stack.getId())
                                                              .toString(),
                                                       stackIcon.getMediaType(),
@@ -343,7 +435,7 @@ public class StackService extends Service {
             links.add(deleteIcon);
             links.add(getIconLink);
         }
-        return asDto(stack).withLinks(links);
+        return links;
     }
 
     private void requireNonNull(Object object, String message) throws BadRequestException {
@@ -11,6 +11,7 @@
 package org.eclipse.che.api.workspace.server.stack.image;
 
 import com.google.common.base.Objects;
+import com.google.common.hash.Hashing;
 
 import org.eclipse.che.commons.annotation.Nullable;
 
@@ -35,6 +36,9 @@ public class StackIcon {
     private String mediaType;
     private byte[] data;
 
+    /** Hash of the icon data, it is computed once since icon is not changed. */
+    private transient String digest;
+
     public StackIcon(String name, String mediaType, @Nullable byte[] data) {
         if (data != null) {
             if (data.length == 0) {
@@ -68,6 +72,18 @@ public class StackIcon {
         return data;
     }
 
+    /**
+     * Returns hash of the icon data which may be used as entity tag of the icon
+     * or as version of the link to the icon, {@code null} when icon has no data.
+     */
+    public String getDigest() {
+        if (digest == null && data != null) {
+            // doesn't need cryptographic hash, use the fast one
+            digest = Hashing.murmur3_128().hashBytes(data).toString();
+        }
+        return digest;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -69,6 +69,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.AssertJUnit.assertTrue;
 
@@ -286,6 +287,29 @@ public class WorkspaceManagerTest {
         assertEquals(updated.getStatus(), STARTING);
     }
 
+    @Test
+    public void shouldChangeModificationStampWhenWorkspaceIsUpdated() throws Exception {
+        final WorkspaceImpl workspace = workspaceManager.createWorkspace(createConfig(), "user123", "account");
+        when(workspaceDao.get(workspace.getId())).thenReturn(workspace);
+        when(runtimes.get(any())).thenThrow(new NotFoundException(""));
+        final String stamp = workspaceManager.getModificationStamp(workspace.getId());
+
+        workspaceManager.updateWorkspace(workspace.getId(), workspace);
+
+        assertNotEquals(workspaceManager.getModificationStamp(workspace.getId()), stamp);
+    }
+
+    @Test
+    public void shouldChangeModificationStampWhenWorkspaceIsRemoved() throws Exception {
+        final WorkspaceImpl workspace = workspaceManager.createWorkspace(createConfig(), "user123", "account");
+        when(workspaceDao.get(workspace.getId())).thenReturn(workspace);
+        final String stamp = workspaceManager.getModificationStamp(workspace.getId());
+
+        workspaceManager.removeWorkspace(workspace.getId());
+
+        assertNotEquals(workspaceManager.getModificationStamp(workspace.getId()), stamp);
+    }
+
     @Test
     public void shouldRemoveWorkspace() throws Exception {
         final WorkspaceImpl workspace = workspaceManager.createWorkspace(createConfig(), "user123", "account");
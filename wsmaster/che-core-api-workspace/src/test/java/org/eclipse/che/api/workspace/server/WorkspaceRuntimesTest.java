@@ -30,19 +30,39 @@ import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.Event
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyMapOf;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -54,6 +74,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Yevhenii Voevodin
@@ -61,6 +82,8 @@ import static org.testng.Assert.assertNotNull;
 @Listeners(value = {MockitoTestNGListener.class})
 public class WorkspaceRuntimesTest {
 
+    private static final Logger LOG = LoggerFactory.getLogger(WorkspaceRuntimesTest.class);
+
     private static final String WORKSPACE_ID = "workspace123";
 
     @Mock
@@ -71,7 +94,7 @@ public class WorkspaceRuntimesTest {
 
     private WorkspaceRuntimes runtimes;
 
-    @BeforeMethod
+    @BeforeMethod(alwaysRun = true)
     public void setUp() throws Exception {
         when(machineManagerMock.createMachineSync(any(), any(), any()))
                 .thenAnswer(invocation -> createMachine((MachineConfig)invocation.getArguments()[0]));
@@ -313,11 +336,13 @@ public class WorkspaceRuntimesTest {
         final WorkspaceImpl workspace = createWorkspace();
         runtimes = spy(new WorkspaceRuntimes(machineManagerMock, eventService));
         doNothing().when(runtimes).publishEvent(any(), any(), any());
+        doNothing().when(runtimes).publishEvent(any(), any(), any(), any());
 
         doAnswer(invocation -> {
             final MachineConfig cfg = (MachineConfig)invocation.getArguments()[0];
             if (!cfg.isDev()) {
-                verify(runtimes).publishEvent(EventType.RUNNING, workspace.getId(), null);
+                verify(runtimes).publishEvent(eq(EventType.RUNNING), eq(workspace.getId()), isNull(String.class), anyMapOf(String.class,
+                                                                                                                        Long.class));
             }
             return createMachine(cfg);
         }).when(machineManagerMock).createMachineSync(any(), any(), any());
@@ -406,6 +431,322 @@ public class WorkspaceRuntimesTest {
         }
     }
 
+    @Test
+    public void shouldProvideStartTimeOfEachStartedMachine() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+
+        final RuntimeDescriptor descriptor = runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+
+        assertEquals(descriptor.getMachineStartTimes().keySet(), asList("dev-machine", "non-dev"));
+    }
+
+    @Test
+    public void parallelStartShouldStartMachinesAfterMachinesTheyDependOn() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(machineConfig("dev-machine", true, "app"),
+                                                        machineConfig("app", false, "db, cache"),
+                                                        machineConfig("cache", false, null),
+                                                        machineConfig("db", false, null));
+        final List<String> startOrder = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            final MachineConfig cfg = (MachineConfig)invocation.getArguments()[0];
+            startOrder.add(cfg.getName());
+            return createMachine(cfg);
+        }).when(machineManagerMock).createMachineSync(any(), any(), any());
+        runtimes.setParallelStart(true);
+
+        final RuntimeDescriptor descriptor = runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+
+        assertEquals(startOrder.size(), 4);
+        assertTrue(startOrder.indexOf("app") > startOrder.indexOf("db"));
+        assertTrue(startOrder.indexOf("app") > startOrder.indexOf("cache"));
+        assertEquals(startOrder.get(3), "dev-machine");
+        assertEquals(descriptor.getRuntimeStatus(), RUNNING);
+        assertEquals(descriptor.getRuntime().getMachines().size(), 4);
+        assertEquals(descriptor.getMachineStartTimes().size(), 4);
+    }
+
+    @Test(timeOut = 10_000)
+    public void parallelStartShouldStartIndependentMachinesConcurrently() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(machineConfig("dev-machine", true, null),
+                                                        machineConfig("db", false, null));
+        final CountDownLatch bothStarting = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothStarting.countDown();
+            assertTrue(bothStarting.await(5, TimeUnit.SECONDS));
+            return createMachine((MachineConfig)invocation.getArguments()[0]);
+        }).when(machineManagerMock).createMachineSync(any(), any(), any());
+        runtimes.setParallelStart(true);
+
+        final RuntimeDescriptor descriptor = runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+
+        assertEquals(descriptor.getRuntime().getMachines().size(), 2);
+    }
+
+    @Test
+    public void parallelStartShouldNotExceedStartConcurrency() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(machineConfig("dev-machine", true, null),
+                                                        machineConfig("db", false, null),
+                                                        machineConfig("cache", false, null));
+        final AtomicInteger starting = new AtomicInteger();
+        final AtomicInteger maxStarting = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxStarting.accumulateAndGet(starting.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            starting.decrementAndGet();
+            return createMachine((MachineConfig)invocation.getArguments()[0]);
+        }).when(machineManagerMock).createMachineSync(any(), any(), any());
+        runtimes.setParallelStart(true);
+        runtimes.setStartConcurrency(1);
+
+        runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+
+        assertEquals(maxStarting.get(), 1);
+        verify(machineManagerMock, times(3)).createMachineSync(any(), any(), any());
+    }
+
+    @Test
+    public void parallelStartShouldDestroyStartedMachinesIfDevMachineFailedToStart() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(machineConfig("dev-machine", true, "db"),
+                                                        machineConfig("db", false, null));
+        runtimes = spy(new WorkspaceRuntimes(machineManagerMock, eventService));
+        doNothing().when(runtimes).publishEvent(any(), any(), any());
+        final List<String> created = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            final MachineConfig cfg = (MachineConfig)invocation.getArguments()[0];
+            if (cfg.isDev()) {
+                throw new MachineException("Start error");
+            }
+            final MachineImpl machine = createMachine(cfg);
+            created.add(machine.getId());
+            return machine;
+        }).when(machineManagerMock).createMachineSync(any(), any(), any());
+        runtimes.setParallelStart(true);
+
+        try {
+            runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+        } catch (MachineException ex) {
+            assertEquals(ex.getMessage(), "Start error");
+        }
+
+        assertFalse(runtimes.hasRuntime(workspace.getId()));
+        verify(machineManagerMock).destroy(created.get(0), false);
+        verify(runtimes).publishEvent(EventType.ERROR, workspace.getId(), "Start error");
+    }
+
+    @Test
+    public void parallelStartShouldIgnoreFailedToStartNonDevMachine() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(machineConfig("dev-machine", true, "db"),
+                                                        machineConfig("db", false, null));
+        doAnswer(invocation -> {
+            final MachineConfig cfg = (MachineConfig)invocation.getArguments()[0];
+            if (!cfg.isDev()) {
+                throw new MachineException("Failed to start");
+            }
+            return createMachine(cfg);
+        }).when(machineManagerMock).createMachineSync(any(), any(), any());
+        runtimes.setParallelStart(true);
+
+        final RuntimeDescriptor descriptor = runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+
+        assertEquals(descriptor.getRuntimeStatus(), RUNNING);
+        assertEquals(descriptor.getRuntime().getMachines().size(), 1);
+        assertEquals(descriptor.getMachineStartTimes().keySet(), singletonList("dev-machine"));
+    }
+
+    @Test
+    public void parallelStartShouldDestroyMachineWhichIsStartedAfterWorkspaceWasStopped() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(machineConfig("dev-machine", true, null),
+                                                        machineConfig("db", false, "dev-machine"));
+        doAnswer(invocation -> {
+            final MachineConfig machineCfg = (MachineConfig)invocation.getArguments()[0];
+            if (!machineCfg.isDev()) {
+                runtimes.stop(workspace.getId());
+            }
+            return createMachine(machineCfg);
+        }).when(machineManagerMock).createMachineSync(any(), anyString(), anyString());
+        runtimes.setParallelStart(true);
+
+        try {
+            runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+        } catch (ConflictException ex) {
+            assertEquals(ex.getMessage(), "Workspace '" + workspace.getId() + "' start interrupted. " +
+                                          "Workspace was stopped before all its machines were started");
+        }
+        assertFalse(runtimes.hasRuntime(workspace.getId()));
+        verify(machineManagerMock, times(2)).destroy(any(), anyBoolean());
+    }
+
+    @Test(timeOut = 10_000)
+    public void parallelStartShouldDestroyStartingMachinesIfStartIsInterrupted() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(machineConfig("dev-machine", true, null),
+                                                        machineConfig("db", false, null));
+        final CountDownLatch bothStarting = new CountDownLatch(2);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            bothStarting.countDown();
+            interrupted.await();
+            return createMachine((MachineConfig)invocation.getArguments()[0]);
+        }).when(machineManagerMock).createMachineSync(any(), any(), any());
+        runtimes.setParallelStart(true);
+        final AtomicBoolean interruptedAfterStart = new AtomicBoolean();
+        final Thread starter = new Thread(() -> {
+            try {
+                runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+            } catch (Exception ignored) {
+                // start is interrupted
+            }
+            interruptedAfterStart.set(Thread.currentThread().isInterrupted());
+        });
+
+        starter.start();
+        assertTrue(bothStarting.await(5, TimeUnit.SECONDS));
+        starter.interrupt();
+        interrupted.countDown();
+        starter.join();
+
+        assertTrue(interruptedAfterStart.get());
+        assertFalse(runtimes.hasRuntime(workspace.getId()));
+        verify(machineManagerMock, times(2)).destroy(any(), anyBoolean());
+    }
+
+    @Test(timeOut = 10_000)
+    public void shouldStartEachWorkspaceOnceWhenDifferentWorkspacesAreStartedConcurrently() throws Exception {
+        final int workspaces = 4;
+        final int startsPerWorkspace = 2;
+        final List<WorkspaceImpl> wss = new ArrayList<>();
+        for (int i = 0; i < workspaces; i++) {
+            wss.add(createWorkspace("workspace" + i, machineConfig("dev-machine", true, null), machineConfig("db", false, null)));
+        }
+        final AtomicInteger started = new AtomicInteger();
+        final AtomicInteger conflicts = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(workspaces * startsPerWorkspace);
+        try {
+            final CountDownLatch ready = new CountDownLatch(workspaces * startsPerWorkspace);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (WorkspaceImpl workspace : wss) {
+                for (int i = 0; i < startsPerWorkspace; i++) {
+                    futures.add(executor.submit(() -> {
+                        ready.countDown();
+                        ready.await();
+                        try {
+                            runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+                            started.incrementAndGet();
+                        } catch (ConflictException expected) {
+                            // workspace is started by another thread
+                            conflicts.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            assertEquals(started.get(), workspaces);
+            assertEquals(conflicts.get(), workspaces * (startsPerWorkspace - 1));
+            for (WorkspaceImpl workspace : wss) {
+                assertEquals(runtimes.get(workspace.getId()).getRuntimeStatus(), RUNNING);
+            }
+            verify(machineManagerMock, times(workspaces * 2)).createMachineSync(any(), any(), any());
+
+            futures.clear();
+            for (WorkspaceImpl workspace : wss) {
+                futures.add(executor.submit(() -> {
+                    runtimes.stop(workspace.getId());
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (WorkspaceImpl workspace : wss) {
+            assertFalse(runtimes.hasRuntime(workspace.getId()));
+        }
+    }
+
+    /**
+     * Simulates start/stop/get storms over many workspaces from concurrent threads.
+     * Latencies are logged, they are not checked by the test.
+     */
+    @Test(groups = "benchmark", timeOut = 60_000)
+    public void shouldHandleConcurrentOperationsOnDifferentWorkspaces() throws Exception {
+        final int threads = 16;
+        final int workspaces = 64;
+        final int operationsPerThread = 500;
+        doAnswer(invocation -> {
+            Thread.sleep(1);
+            return createMachine((MachineConfig)invocation.getArguments()[0]);
+        }).when(machineManagerMock).createMachineSync(any(), any(), any());
+        final List<WorkspaceImpl> wss = new ArrayList<>();
+        for (int i = 0; i < workspaces; i++) {
+            wss.add(createWorkspace("workspace" + i, machineConfig("dev-machine", true, null), machineConfig("db", false, null)));
+        }
+        final List<Long> startLatencies = new CopyOnWriteArrayList<>();
+        final List<Long> stopLatencies = new CopyOnWriteArrayList<>();
+        final List<Long> getLatencies = new CopyOnWriteArrayList<>();
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch ready = new CountDownLatch(threads);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final Random random = new Random(t);
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        final WorkspaceImpl workspace = wss.get(random.nextInt(workspaces));
+                        final int operation = random.nextInt(10);
+                        final long start = System.nanoTime();
+                        try {
+                            if (operation < 2) {
+                                runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+                                startLatencies.add(System.nanoTime() - start);
+                            } else if (operation < 4) {
+                                runtimes.stop(workspace.getId());
+                                stopLatencies.add(System.nanoTime() - start);
+                            } else {
+                                runtimes.get(workspace.getId());
+                                getLatencies.add(System.nanoTime() - start);
+                            }
+                        } catch (ConflictException | NotFoundException expected) {
+                            // workspace is in another state
+                        } catch (Exception ex) {
+                            errors.add(ex);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(errors.isEmpty(), "Unexpected errors: " + errors);
+        LOG.debug("{} threads, {} workspaces: start p99 {} us ({} ops), stop p99 {} us ({} ops), get p99 {} us ({} ops)",
+                  threads, workspaces,
+                  p99(startLatencies), startLatencies.size(),
+                  p99(stopLatencies), stopLatencies.size(),
+                  p99(getLatencies), getLatencies.size());
+    }
+
+    private static long p99(List<Long> latencies) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        final List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return NANOSECONDS.toMicros(sorted.get((int)Math.ceil(sorted.size() * 0.99) - 1));
+    }
+
     private static MachineImpl createMachine(MachineConfig cfg) {
         return MachineImpl.builder()
                           .setId(NameGenerator.generate("machine", 10))
@@ -414,6 +755,33 @@ public class WorkspaceRuntimesTest {
                           .build();
     }
 
+    private static MachineConfigImpl machineConfig(String name, boolean isDev, String dependsOn) {
+        final MachineConfigImpl.MachineConfigImplBuilder builder = MachineConfigImpl.builder()
+                                                                                    .setDev(isDev)
+                                                                                    .setType("docker")
+                                                                                    .setLimits(new LimitsImpl(1024))
+                                                                                    .setSource(new MachineSourceImpl("git", "location"))
+                                                                                    .setName(name);
+        if (dependsOn != null) {
+            builder.setEnvVariables(singletonMap(WorkspaceRuntimes.DEPENDS_ON_VARIABLE, dependsOn));
+        }
+        return builder.build();
+    }
+
+    private static WorkspaceImpl createWorkspace(MachineConfigImpl... machineConfigs) {
+        return createWorkspace(WORKSPACE_ID, machineConfigs);
+    }
+
+    private static WorkspaceImpl createWorkspace(String id, MachineConfigImpl... machineConfigs) {
+        final EnvironmentImpl environment = new EnvironmentImpl("dev-env", new RecipeImpl(), asList(machineConfigs));
+        final WorkspaceConfigImpl wsConfig = WorkspaceConfigImpl.builder()
+                                                                .setName("test workspace")
+                                                                .setEnvironments(singletonList(environment))
+                                                                .setDefaultEnv(environment.getName())
+                                                                .build();
+        return new WorkspaceImpl(id, "user123", wsConfig);
+    }
+
     private static WorkspaceImpl createWorkspace() {
         final MachineConfigImpl devCfg = MachineConfigImpl.builder()
                                                           .setDev(true)
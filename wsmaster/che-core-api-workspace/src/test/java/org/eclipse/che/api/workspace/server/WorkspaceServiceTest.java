@@ -33,11 +33,13 @@ import org.eclipse.che.api.machine.server.model.impl.ServerImpl;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.shared.dto.CommandDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsDeltaDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
@@ -127,6 +129,8 @@ public class WorkspaceServiceTest {
 
     @BeforeMethod
     public void setup() {
+        // manager provides stamp for any id, as well as for the id of not existing workspace
+        when(wsManager.getModificationStamp(anyString())).thenReturn("stamp");
         service = new WorkspaceService(wsManager, machineManager, validator, new WorkspaceServiceLinksInjector(IDE_CONTEXT));
     }
 
@@ -225,6 +229,64 @@ public class WorkspaceServiceTest {
         assertEquals(new WorkspaceImpl(unwrapDto(response, WorkspaceDto.class)), workspace);
     }
 
+    @Test
+    public void shouldTagWorkspaceWithItsModificationStamp() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getModificationStamp(workspace.getId())).thenReturn("stamp-1");
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/" + workspace.getId());
+
+        assertEquals(response.getStatusCode(), 200);
+        assertTrue(response.getHeader("ETag").contains("stamp-1-"));
+    }
+
+    @Test
+    public void shouldNotGetWorkspaceWhenItsModificationStampIsNotChanged() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getModificationStamp(workspace.getId())).thenReturn("stamp-1");
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+        final String etag = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .when()
+                                   .get(SECURE_PATH + "/workspace/" + workspace.getId())
+                                   .getHeader("ETag");
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .header("If-None-Match", etag)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/" + workspace.getId());
+
+        assertEquals(response.getStatusCode(), 304);
+        verify(wsManager).getWorkspace(workspace.getId());
+    }
+
+    @Test
+    public void shouldGetWorkspaceWhenItsModificationStampIsChanged() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getModificationStamp(workspace.getId())).thenReturn("stamp-1");
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+        final String etag = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .when()
+                                   .get(SECURE_PATH + "/workspace/" + workspace.getId())
+                                   .getHeader("ETag");
+        when(wsManager.getModificationStamp(workspace.getId())).thenReturn("stamp-2");
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .header("If-None-Match", etag)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/" + workspace.getId());
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(new WorkspaceImpl(unwrapDto(response, WorkspaceDto.class)), workspace);
+    }
+
     @Test
     public void shouldGetWorkspaces() throws Exception {
         final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
@@ -614,6 +676,32 @@ public class WorkspaceServiceTest {
         verify(wsManager).updateWorkspace(any(), any());
     }
 
+    @Test
+    public void shouldUpdateProjectsAtOnce() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+        when(wsManager.updateWorkspace(any(), any())).thenReturn(workspace);
+        final ProjectConfigDto updated = createProjectDto().withPath("project/path").withDescription("Updated project");
+        final ProjectConfigDto added = createProjectDto().withPath("added");
+        final ProjectsDeltaDto delta = newDto(ProjectsDeltaDto.class).withUpdated(asList(updated, added))
+                                                                     .withRemoved(singletonList("removed"));
+        workspace.getConfig().getProjects().add(new ProjectConfigImpl(createProjectDto().withPath("/removed")));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .contentType("application/json")
+                                         .body(delta)
+                                         .when()
+                                         .put(SECURE_PATH + "/workspace/" + workspace.getId() + "/project");
+
+        assertEquals(response.getStatusCode(), 200);
+        final List<ProjectConfigImpl> projects = new WorkspaceImpl(unwrapDto(response, WorkspaceDto.class)).getConfig().getProjects();
+        assertEquals(projects.stream().map(ProjectConfigImpl::getPath).collect(toList()), asList("/project/path", "/added"));
+        assertEquals(projects.get(0).getDescription(), "Updated project");
+        verify(validator).validateConfig(workspace.getConfig());
+        verify(wsManager).updateWorkspace(any(), any());
+    }
+
     @Test
     public void testWorkspaceLinks() throws Exception {
         // given
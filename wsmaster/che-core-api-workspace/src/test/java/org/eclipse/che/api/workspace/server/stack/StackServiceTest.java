@@ -33,6 +33,7 @@ import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackComponentDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackSourceDto;
+import org.eclipse.che.api.workspace.shared.dto.stack.StackSummaryDto;
 import org.eclipse.che.api.workspace.shared.stack.StackComponent;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
@@ -44,6 +45,7 @@ import org.everrest.core.RequestFilter;
 import org.everrest.core.impl.uri.UriBuilderImpl;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
@@ -67,6 +69,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.MULTIPART_FORM_DATA;
+import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_GET_ICON;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_GET_STACK_BY_ID;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_REMOVE_STACK;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
@@ -78,9 +81,11 @@ import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
 
 /**
  * Test for {@link @StackService}
@@ -148,6 +153,9 @@ public class StackServiceTest {
     @Mock
     StackComponentImpl stackComponent;
 
+    @Spy
+    StackModificationStamps stamps;
+
     @InjectMocks
     StackService service;
 
@@ -381,6 +389,48 @@ public class StackServiceTest {
         assertEquals(result.getCreator(), stackImpl.getCreator());
     }
 
+    @Test
+    public void shouldNotReturnStackWhenItIsNotModified() throws NotFoundException, ServerException {
+        when(stackDao.getById(STACK_ID)).thenReturn(stackImpl);
+        final String etag = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .when()
+                                   .get(SECURE_PATH + "/stack/" + STACK_ID)
+                                   .getHeader("ETag");
+
+        Response response = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .header("If-None-Match", etag)
+                                   .when()
+                                   .get(SECURE_PATH + "/stack/" + STACK_ID);
+
+        assertEquals(response.getStatusCode(), 304);
+        verify(stackDao).getById(STACK_ID);
+    }
+
+    @Test
+    public void shouldReturnStackWhenItIsRemovedAndCreatedAgain() throws NotFoundException, ServerException {
+        when(stackDao.getById(STACK_ID)).thenReturn(stackImpl);
+        final String etag = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .when()
+                                   .get(SECURE_PATH + "/stack/" + STACK_ID)
+                                   .getHeader("ETag");
+        given().auth()
+               .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+               .when()
+               .delete(SECURE_PATH + "/stack/" + STACK_ID);
+
+        Response response = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .header("If-None-Match", etag)
+                                   .when()
+                                   .get(SECURE_PATH + "/stack/" + STACK_ID);
+
+        assertEquals(response.getStatusCode(), 200);
+        assertNotEquals(response.getHeader("ETag"), etag);
+    }
+
     /** Update stack */
 
     @Test
@@ -506,7 +556,7 @@ public class StackServiceTest {
         StackImpl stack2 = new StackImpl(stackImpl);
         stack2.setTags(singletonList("subversion"));
         List<StackImpl> stacks = asList(stackImpl, stack2);
-        when(stackDao.searchStacks(anyString(), anyList(), anyInt(), anyInt())).thenReturn(stacks);
+        when(stackDao.searchStacks(anyString(), anyList(), isNull(String.class), anyInt(), anyInt())).thenReturn(stacks);
 
         Response response = given().auth()
                                    .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
@@ -514,7 +564,7 @@ public class StackServiceTest {
                                    .get(SECURE_PATH + "/stack");
 
         assertEquals(response.getStatusCode(), 200);
-        verify(stackDao).searchStacks(anyString(), anyList(), anyInt(), anyInt());
+        verify(stackDao).searchStacks(anyString(), anyList(), isNull(String.class), anyInt(), anyInt());
 
         List<StackDto> result = unwrapListDto(response, StackDto.class);
         assertEquals(result.size(), 2);
@@ -526,7 +576,7 @@ public class StackServiceTest {
     public void shouldReturnsStackByTagList() throws ServerException {
         StackImpl stack2 = new StackImpl(stackImpl);
         stack2.setTags(singletonList("Subversion"));
-        when(stackDao.searchStacks(anyString(), eq(singletonList("Subversion")), anyInt(), anyInt())).thenReturn(singletonList(stack2));
+        when(stackDao.searchStacks(anyString(), eq(singletonList("Subversion")), isNull(String.class), anyInt(), anyInt())).thenReturn(singletonList(stack2));
 
         Response response = given().auth()
                                    .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
@@ -534,13 +584,55 @@ public class StackServiceTest {
                                    .get(SECURE_PATH + "/stack?tags=Subversion");
 
         assertEquals(response.getStatusCode(), 200);
-        verify(stackDao).searchStacks(anyString(), eq(singletonList("Subversion")), anyInt(), anyInt());
+        verify(stackDao).searchStacks(anyString(), eq(singletonList("Subversion")), isNull(String.class), anyInt(), anyInt());
 
         List<StackDto> result = unwrapListDto(response, StackDto.class);
         assertEquals(result.size(), 1);
         assertEquals(result.get(0).getName(), stack2.getName());
     }
 
+    @Test
+    public void shouldSearchStacksByText() throws ServerException {
+        when(stackDao.searchStacks(anyString(), anyList(), eq("java 1.8"), anyInt(), anyInt())).thenReturn(singletonList(stackImpl));
+
+        Response response = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .queryParam("text", "java 1.8")
+                                   .when()
+                                   .get(SECURE_PATH + "/stack");
+
+        assertEquals(response.getStatusCode(), 200);
+        verify(stackDao).searchStacks(anyString(), anyList(), eq("java 1.8"), anyInt(), anyInt());
+        List<StackDto> result = unwrapListDto(response, StackDto.class);
+        assertEquals(result.size(), 1);
+        assertEquals(result.get(0).getId(), stackImpl.getId());
+    }
+
+    /** Search stack summaries */
+    @Test
+    public void shouldReturnStackSummaries() throws ServerException {
+        when(stackDao.searchStacks(anyString(), eq(tags), eq("tomcat"), eq(10), eq(5))).thenReturn(singletonList(stackImpl));
+
+        Response response = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .when()
+                                   .get(SECURE_PATH + "/stack/summary?tags=java&tags=maven&text=tomcat&skipCount=10&maxItems=5");
+
+        assertEquals(response.getStatusCode(), 200);
+        verify(stackDao).searchStacks(anyString(), eq(tags), eq("tomcat"), eq(10), eq(5));
+        List<StackSummaryDto> result = unwrapListDto(response, StackSummaryDto.class);
+        assertEquals(result.size(), 1);
+        StackSummaryDto summary = result.get(0);
+        assertEquals(summary.getId(), stackImpl.getId());
+        assertEquals(summary.getName(), stackImpl.getName());
+        assertEquals(summary.getDescription(), stackImpl.getDescription());
+        assertEquals(summary.getScope(), stackImpl.getScope());
+        assertEquals(summary.getCreator(), stackImpl.getCreator());
+        assertEquals(summary.getTags(), stackImpl.getTags());
+        assertEquals(summary.getComponents(), componentsDto);
+        assertEquals(summary.getLink(LINK_REL_GET_ICON).getHref().endsWith("/icon?v=" + stackIcon.getDigest()), true);
+    }
+
     /** Get icon by stack id */
     @Test
     public void shouldReturnIconByStackId() throws NotFoundException, ServerException {
@@ -551,10 +643,40 @@ public class StackServiceTest {
                                    .when()
                                    .get(SECURE_PATH + "/stack/" + stackImpl.getId() + "/icon");
         assertEquals(response.getStatusCode(), 200);
+        assertEquals(response.getHeader("ETag"), '"' + stackIcon.getDigest() + '"');
+        assertEquals(response.getHeader("Cache-Control").contains("no-cache"), true);
 
         verify(stackDao).getById(stackImpl.getId());
     }
 
+    @Test
+    public void shouldAllowToCacheIconRequestedByVersionedLink() throws NotFoundException, ServerException {
+        when(stackDao.getById(stackImpl.getId())).thenReturn(stackImpl);
+
+        Response response = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .when()
+                                   .get(SECURE_PATH + "/stack/" + stackImpl.getId() + "/icon?v=" + stackIcon.getDigest());
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(response.getHeader("Cache-Control").contains("max-age=31536000"), true);
+        assertEquals(response.getBody().asByteArray(), stackIcon.getData());
+    }
+
+    @Test
+    public void shouldNotReturnIconWhenItIsNotModified() throws NotFoundException, ServerException {
+        when(stackDao.getById(stackImpl.getId())).thenReturn(stackImpl);
+
+        Response response = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .header("If-None-Match", '"' + stackIcon.getDigest() + '"')
+                                   .when()
+                                   .get(SECURE_PATH + "/stack/" + stackImpl.getId() + "/icon");
+
+        assertEquals(response.getStatusCode(), 304);
+        assertEquals(response.getBody().asByteArray().length, 0);
+    }
+
     @Test
     public void shouldThrowNotFoundExceptionWhenIconStackWasNotFound() throws NotFoundException, ServerException {
         Response response = given().auth()
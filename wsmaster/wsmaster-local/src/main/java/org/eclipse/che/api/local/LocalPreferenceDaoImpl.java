@@ -28,11 +28,18 @@ import javax.inject.Singleton;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Pattern;
 
 /**
+ * In memory based implementation of {@link PreferenceDao}.
+ *
+ * <p>Preferences file is rewritten on each update, unlike the other local DAOs this one
+ * doesn't use a journal, as the file may also be read and changed by someone else while
+ * component is running. Changed preferences are reloaded from it.
+ *
  * @author Eugene Voevodin
  * @author Dmitry Shnurenko
  * @author Anton Korneta
@@ -47,28 +54,45 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
     private final ReadWriteLock                    lock;
     private final LocalStorage                     preferenceStorage;
 
+    /** Content of the preferences file as it was when it was loaded or stored last time. */
+    private          Map<String, Map<String, String>> snapshot;
+    private volatile long                             snapshotModified;
+
     @Inject
     public LocalPreferenceDaoImpl(LocalStorageFactory localStorageFactory) throws IOException {
         preferences = new HashMap<>();
         lock = new ReentrantReadWriteLock();
         preferenceStorage = localStorageFactory.create("preferences.json");
+        snapshot = new HashMap<>();
     }
 
     @PostConstruct
     private void start() {
-        preferences.putAll(preferenceStorage.loadMap(new TypeToken<Map<String, Map<String, String>>>() {}));
-        // Add default entry if file doesn't exist or invalid or empty.
-        if (preferences.isEmpty()) {
-            final Map<String, String> newPreferences = new HashMap<>(4);
-            newPreferences.put("preference1", "value");
-            newPreferences.put("preference2", "value");
-            preferences.put("codenvy", newPreferences);
+        lock.writeLock().lock();
+        try {
+            snapshotModified = preferenceStorage.lastModified();
+            snapshot = new HashMap<>(preferenceStorage.loadMap(new TypeToken<Map<String, Map<String, String>>>() {}));
+            preferences.putAll(snapshot);
+            // Add default entry if file doesn't exist or invalid or empty.
+            if (preferences.isEmpty()) {
+                final Map<String, String> newPreferences = new HashMap<>(4);
+                newPreferences.put("preference1", "value");
+                newPreferences.put("preference2", "value");
+                preferences.put("codenvy", newPreferences);
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
     @PreDestroy
     private void stop() throws IOException {
-        preferenceStorage.store(preferences);
+        lock.writeLock().lock();
+        try {
+            store();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
@@ -76,7 +100,7 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
         lock.writeLock().lock();
         try {
             preferences.put(userId, new HashMap<>(prefs));
-            preferenceStorage.store(preferences);
+            store();
         } catch (IOException e) {
             LOG.warn("Impossible to store preferences");
         } finally {
@@ -86,10 +110,10 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
 
     @Override
     public Map<String, String> getPreferences(String userId) throws ServerException {
+        //Need read all new preferences without restarting dev-machine. It is needed for  IDEX-2180
+        reloadIfModified();
         lock.readLock().lock();
         try {
-            //Need read all new preferences without restarting dev-machine. It is needed for  IDEX-2180
-            preferences.putAll(preferenceStorage.loadMap(new TypeToken<Map<String, Map<String, String>>>() {}));
             final Map<String, String> prefs = new HashMap<>();
             if (preferences.containsKey(userId)) {
                 prefs.putAll(preferences.get(userId));
@@ -102,12 +126,7 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
 
     @Override
     public Map<String, String> getPreferences(String userId, String filter) throws ServerException {
-        lock.readLock().lock();
-        try {
-            return filter(getPreferences(userId), filter);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return filter(getPreferences(userId), filter);
     }
 
     private Map<String, String> filter(Map<String, String> prefs, String filter) {
@@ -125,9 +144,48 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
     public void remove(String userId) throws ServerException {
         lock.writeLock().lock();
         try {
-            preferences.remove(userId);
+            if (preferences.remove(userId) != null) {
+                store();
+            }
+        } catch (IOException e) {
+            LOG.warn("Impossible to store preferences");
         } finally {
             lock.writeLock().unlock();
         }
     }
+
+    /**
+     * Applies preferences which were changed in the preferences file by someone else,
+     * file is read only when its modification time differs from the one of the last load or store.
+     */
+    private void reloadIfModified() throws ServerException {
+        if (preferenceStorage.lastModified() == snapshotModified) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            final long modified = preferenceStorage.lastModified();
+            if (modified == snapshotModified) {
+                return;
+            }
+            final Map<String, Map<String, String>> loaded =
+                    preferenceStorage.loadMap(new TypeToken<Map<String, Map<String, String>>>() {});
+            for (Map.Entry<String, Map<String, String>> entry : loaded.entrySet()) {
+                // preferences changed since the last store are newer than the ones which weren't changed in the file
+                if (!Objects.equals(entry.getValue(), snapshot.get(entry.getKey()))) {
+                    preferences.put(entry.getKey(), entry.getValue());
+                }
+            }
+            snapshot = new HashMap<>(loaded);
+            snapshotModified = modified;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void store() throws IOException {
+        preferenceStorage.store(preferences);
+        snapshot = new HashMap<>(preferences);
+        snapshotModified = preferenceStorage.lastModified();
+    }
 }
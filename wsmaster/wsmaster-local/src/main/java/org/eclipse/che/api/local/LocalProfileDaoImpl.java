@@ -14,10 +14,15 @@ package org.eclipse.che.api.local;
 import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.user.server.dao.Profile;
 import org.eclipse.che.api.user.server.dao.UserProfileDao;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -31,78 +36,106 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
+ * In memory based implementation of {@link UserProfileDao}.
+ *
+ * <p>Profiles are stored to the filesystem when component stops, changes made in between
+ * are written to the {@link LocalJournal journal}.
+ *
  * @author Anton Korneta
  */
 @Singleton
 public class LocalProfileDaoImpl implements UserProfileDao {
 
-    private final Map<String, Profile> profiles;
-    private final ReadWriteLock        lock;
-    private final LocalStorage         profileStorage;
+    private static final Logger LOG = LoggerFactory.getLogger(LocalProfileDaoImpl.class);
+
+    private final Map<String, Profile>  profiles;
+    private final ReadWriteLock         lock;
+    private final LocalStorage          profileStorage;
+    private final LocalJournal<Profile> journal;
 
     @Inject
     public LocalProfileDaoImpl(LocalStorageFactory storageFactory) throws IOException {
         profiles = new HashMap<>();
         lock = new ReentrantReadWriteLock();
         profileStorage = storageFactory.create("profiles.json");
+        journal = storageFactory.createJournal("profiles.journal", TypeToken.of(Profile.class));
     }
 
     @PostConstruct
     private void start() {
-        profiles.putAll(profileStorage.loadMap(new TypeToken<Map<String, Profile>>() {}));
-        // Add default entry if file doesn't exist or invalid or empty.
-        if (profiles.isEmpty()) {
-            final Map<String, String> attributes = new HashMap<>(2);
-            attributes.put("firstName", "Che");
-            attributes.put("lastName", "Codenvy");
-            Profile profile = new Profile().withId("che")
-                                           .withUserId("che")
-                                           .withAttributes(attributes);
-            profiles.put(profile.getId(), profile);
+        lock.writeLock().lock();
+        try {
+            profiles.putAll(profileStorage.loadMap(new TypeToken<Map<String, Profile>>() {}));
+            journal.replay(profiles);
+            // Add default entry if file doesn't exist or invalid or empty.
+            if (profiles.isEmpty()) {
+                final Map<String, String> attributes = new HashMap<>(2);
+                attributes.put("firstName", "Che");
+                attributes.put("lastName", "Codenvy");
+                Profile profile = new Profile().withId("che")
+                                               .withUserId("che")
+                                               .withAttributes(attributes);
+                profiles.put(profile.getId(), profile);
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
     @PreDestroy
     private void stop() throws IOException {
-        profileStorage.store(profiles);
+        lock.writeLock().lock();
+        try {
+            compact();
+            journal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
-    public void create(Profile profile) {
+    public void create(Profile profile) throws ServerException {
         lock.writeLock().lock();
         try {
             // just replace existed profile
-            final Profile copy = new Profile().withId(profile.getId()).withUserId(profile.getUserId())
-                                              .withAttributes(new LinkedHashMap<>(profile.getAttributes()));
+            final Profile copy = copy(profile);
+            writeJournal(copy.getId(), copy);
             profiles.put(copy.getId(), copy);
+            compactIfNeeded();
         } finally {
             lock.writeLock().unlock();
         }
     }
 
     @Override
-    public void update(Profile profile) throws NotFoundException {
+    public void update(Profile profile) throws NotFoundException, ServerException {
         lock.writeLock().lock();
         try {
             final Profile myProfile = profiles.get(profile.getId());
             if (myProfile == null) {
                 throw new NotFoundException(String.format("Profile not found %s", profile.getId()));
             }
-            myProfile.getAttributes().clear();
-            myProfile.getAttributes().putAll(profile.getAttributes());
+            final Profile updated = new Profile().withId(myProfile.getId())
+                                                 .withUserId(myProfile.getUserId())
+                                                 .withAttributes(new LinkedHashMap<>(profile.getAttributes()));
+            writeJournal(updated.getId(), updated);
+            profiles.put(updated.getId(), updated);
+            compactIfNeeded();
         } finally {
             lock.writeLock().unlock();
         }
     }
 
     @Override
-    public void remove(String id) throws NotFoundException {
+    public void remove(String id) throws NotFoundException, ServerException {
         lock.writeLock().lock();
         try {
-            final Profile profile = profiles.remove(id);
-            if (profile == null) {
+            if (!profiles.containsKey(id)) {
                 throw new NotFoundException(String.format("Profile not found %s", id));
             }
+            writeJournal(id, null);
+            profiles.remove(id);
+            compactIfNeeded();
         } finally {
             lock.writeLock().unlock();
         }
@@ -116,10 +149,43 @@ public class LocalProfileDaoImpl implements UserProfileDao {
             if (profile == null) {
                 throw new NotFoundException(String.format("Profile not found %s", id));
             }
-            return new Profile().withId(profile.getId()).withUserId(profile.getUserId())
-                                .withAttributes(new LinkedHashMap<>(profile.getAttributes()));
+            return copy(profile);
         } finally {
             lock.readLock().unlock();
         }
     }
+
+    private static Profile copy(Profile profile) {
+        return new Profile().withId(profile.getId()).withUserId(profile.getUserId())
+                            .withAttributes(new LinkedHashMap<>(profile.getAttributes()));
+    }
+
+    /** Writes the profile or its removal (when {@code profile} is null) to the journal. */
+    private void writeJournal(String id, @Nullable Profile profile) throws ServerException {
+        try {
+            if (profile == null) {
+                journal.remove(id);
+            } else {
+                journal.put(id, profile);
+            }
+        } catch (IOException ex) {
+            throw new ServerException(String.format("Impossible to store profile %s: %s", id, ex.getMessage()), ex);
+        }
+    }
+
+    /** Stores all the profiles and truncates the journal when it grows too big. */
+    private void compactIfNeeded() {
+        if (journal.shouldCompact()) {
+            try {
+                compact();
+            } catch (IOException ex) {
+                LOG.error("Impossible to compact profiles journal", ex);
+            }
+        }
+    }
+
+    private void compact() throws IOException {
+        profileStorage.store(profiles);
+        journal.truncate();
+    }
 }
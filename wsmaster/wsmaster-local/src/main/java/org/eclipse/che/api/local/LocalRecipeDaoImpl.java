@@ -16,18 +16,26 @@ import com.google.inject.Inject;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.dao.RecipeDao;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -36,54 +44,87 @@ import java.util.stream.Stream;
 import static java.lang.String.format;
 
 /**
+ * In memory based implementation of {@link RecipeDao}.
+ *
+ * <p>Recipes are stored to the filesystem when component stops, changes made in between
+ * are written to the {@link LocalJournal journal}. Recipes are indexed by tags.
+ *
  * @author Eugene Voevodin
  * @author Anton Korneta
  */
 @Singleton
 public class LocalRecipeDaoImpl implements RecipeDao {
 
-    private final Map<String, RecipeImpl> recipes;
-    private final ReadWriteLock           lock;
-    private final LocalStorage            recipeStorage;
+    private static final Logger LOG = LoggerFactory.getLogger(LocalRecipeDaoImpl.class);
+
+    private final Map<String, RecipeImpl>   recipes;
+    private final Map<String, Set<String>>  idsByTag;
+    private final Map<String, List<String>> indexedTags;
+    private final ReadWriteLock             lock;
+    private final LocalStorage              recipeStorage;
+    private final LocalJournal<RecipeImpl>  journal;
 
     @Inject
     public LocalRecipeDaoImpl(LocalStorageFactory storageFactory) throws IOException {
         this.recipeStorage = storageFactory.create("recipes.json");
+        this.journal = storageFactory.createJournal("recipes.journal", TypeToken.of(RecipeImpl.class));
         this.recipes = new HashMap<>();
+        this.idsByTag = new HashMap<>();
+        this.indexedTags = new HashMap<>();
         this.lock = new ReentrantReadWriteLock();
     }
 
     @PostConstruct
     public void loadRecipes() {
-        recipes.putAll(recipeStorage.loadMap(new TypeToken<Map<String, RecipeImpl>>() {}));
+        lock.writeLock().lock();
+        try {
+            recipes.putAll(recipeStorage.loadMap(new TypeToken<Map<String, RecipeImpl>>() {}));
+            journal.replay(recipes);
+            idsByTag.clear();
+            indexedTags.clear();
+            recipes.values().forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @PreDestroy
     public void saveRecipes() throws IOException {
-        recipeStorage.store(recipes);
+        lock.writeLock().lock();
+        try {
+            compact();
+            journal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
-    public void create(RecipeImpl recipe) throws ConflictException {
+    public void create(RecipeImpl recipe) throws ConflictException, ServerException {
         lock.writeLock().lock();
         try {
             if (recipes.containsKey(recipe.getId())) {
                 throw new ConflictException(format("Recipe with id %s already exists", recipe.getId()));
             }
-            recipes.put(recipe.getId(), recipe);
+            final RecipeImpl copy = new RecipeImpl(recipe);
+            writeJournal(copy.getId(), copy);
+            recipes.put(copy.getId(), copy);
+            index(copy);
+            compactIfNeeded();
         } finally {
             lock.writeLock().unlock();
         }
     }
 
     @Override
-    public RecipeImpl update(RecipeImpl update) throws NotFoundException {
+    public RecipeImpl update(RecipeImpl update) throws NotFoundException, ServerException {
         lock.writeLock().lock();
         try {
-            final RecipeImpl target = recipes.get(update.getId());
-            if (target == null) {
+            final RecipeImpl existing = recipes.get(update.getId());
+            if (existing == null) {
                 throw new NotFoundException(format("Recipe with id '%s' was not found", update.getId()));
             }
+            final RecipeImpl target = new RecipeImpl(existing);
             if (update.getType() != null) {
                 target.setType(update.getType());
             }
@@ -102,6 +143,11 @@ public class LocalRecipeDaoImpl implements RecipeDao {
             if (update.getAcl() != null && !update.getAcl().isEmpty()) {
                 target.setAcl(update.getAcl());
             }
+            writeJournal(target.getId(), target);
+            unindex(target.getId());
+            recipes.put(target.getId(), target);
+            index(target);
+            compactIfNeeded();
 
             return new RecipeImpl(target);
         } finally {
@@ -110,10 +156,15 @@ public class LocalRecipeDaoImpl implements RecipeDao {
     }
 
     @Override
-    public void remove(String id) {
+    public void remove(String id) throws ServerException {
         lock.writeLock().lock();
         try {
-            recipes.remove(id);
+            if (recipes.containsKey(id)) {
+                writeJournal(id, null);
+                recipes.remove(id);
+                unindex(id);
+                compactIfNeeded();
+            }
         } finally {
             lock.writeLock().unlock();
         }
@@ -137,17 +188,80 @@ public class LocalRecipeDaoImpl implements RecipeDao {
     public List<RecipeImpl> search(String user, List<String> tags, String type, int skipCount, int maxItems) throws ServerException {
         lock.readLock().lock();
         try {
-            Stream<RecipeImpl> recipesStream = recipes.values()
-                                                      .stream()
-                                                      .filter(recipe -> (tags == null || recipe.getTags().containsAll(tags))
-                                                                        && (type == null || type.equals(recipe.getType())))
-                                                      .skip(skipCount);
+            Stream<RecipeImpl> recipesStream = candidates(tags).filter(recipe -> (tags == null || recipe.getTags().containsAll(tags))
+                                                                                 && (type == null || type.equals(recipe.getType())))
+                                                               .skip(skipCount);
             if (maxItems != 0) {
                 recipesStream = recipesStream.limit(maxItems);
             }
-            return recipesStream.collect(Collectors.toList());
+            return recipesStream.map(RecipeImpl::new).collect(Collectors.toList());
         } finally {
             lock.readLock().unlock();
         }
     }
+
+    /** Returns recipes which have the rarest of the given tags, or all the recipes if there are no tags. */
+    private Stream<RecipeImpl> candidates(@Nullable List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return recipes.values().stream();
+        }
+        Set<String> rarest = null;
+        for (String tag : tags) {
+            final Set<String> ids = idsByTag.getOrDefault(tag, Collections.emptySet());
+            if (rarest == null || ids.size() < rarest.size()) {
+                rarest = ids;
+            }
+        }
+        return rarest.stream().map(recipes::get);
+    }
+
+    private void index(RecipeImpl recipe) {
+        // tags list may be shared with the caller, so remember which tags the recipe is indexed by
+        final List<String> tags = new ArrayList<>(recipe.getTags());
+        indexedTags.put(recipe.getId(), tags);
+        for (String tag : tags) {
+            idsByTag.computeIfAbsent(tag, key -> new LinkedHashSet<>()).add(recipe.getId());
+        }
+    }
+
+    private void unindex(String id) {
+        final List<String> tags = indexedTags.remove(id);
+        if (tags != null) {
+            for (String tag : tags) {
+                final Set<String> ids = idsByTag.get(tag);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    idsByTag.remove(tag);
+                }
+            }
+        }
+    }
+
+    /** Writes the recipe or its removal (when {@code recipe} is null) to the journal. */
+    private void writeJournal(String id, @Nullable RecipeImpl recipe) throws ServerException {
+        try {
+            if (recipe == null) {
+                journal.remove(id);
+            } else {
+                journal.put(id, recipe);
+            }
+        } catch (IOException ex) {
+            throw new ServerException(format("Impossible to store recipe %s: %s", id, ex.getMessage()), ex);
+        }
+    }
+
+    /** Stores all the recipes and truncates the journal when it grows too big. */
+    private void compactIfNeeded() {
+        if (journal.shouldCompact()) {
+            try {
+                compact();
+            } catch (IOException ex) {
+                LOG.error("Impossible to compact recipes journal", ex);
+            }
+        }
+    }
+
+    private void compact() throws IOException {
+        recipeStorage.store(recipes);
+        journal.truncate();
+    }
 }
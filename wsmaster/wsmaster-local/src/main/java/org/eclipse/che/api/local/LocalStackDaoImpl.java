@@ -15,11 +15,14 @@ import com.google.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.stack.StackLocalStorage;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.api.workspace.shared.stack.Stack;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -39,34 +42,54 @@ import static java.util.stream.Collectors.toList;
 /**
  * Implementation local storage for {@link Stack}
  *
+ * <p>Stacks are stored to the {@link StackLocalStorage} when component stops, changes made in between
+ * are written to its {@link StackLocalStorage#getJournal() journal}. Stacks are kept in the {@link StackIndex},
+ * so {@link #searchStacks(String, List, String, int, int)} doesn't look through all the stacks.
+ *
  * @author Alexander Andrienko
  */
 @Singleton
 public class LocalStackDaoImpl implements StackDao {
 
-    private final StackLocalStorage      stackStorage;
-    private final Map<String, StackImpl> stacks;
-    private final ReadWriteLock          lock;
+    private static final Logger LOG = LoggerFactory.getLogger(LocalStackDaoImpl.class);
+
+    private final StackLocalStorage       stackStorage;
+    private final LocalJournal<StackImpl> journal;
+    private final Map<String, StackImpl>  stacks;
+    private final StackIndex              index;
+    private final ReadWriteLock           lock;
 
     @Inject
     public LocalStackDaoImpl(StackLocalStorage stackLocalStorage) throws IOException {
         this.stackStorage = stackLocalStorage;
+        this.journal = stackLocalStorage.getJournal();
         this.stacks = new LinkedHashMap<>();
+        this.index = new StackIndex();
         this.lock = new ReentrantReadWriteLock();
     }
 
     @PostConstruct
     public void start() {
-        lock.readLock().lock();
-        stacks.putAll(stackStorage.loadMap());
-        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+            stacks.putAll(stackStorage.loadMap());
+            journal.replay(stacks);
+            index.clear();
+            stacks.values().forEach(index::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @PreDestroy
     public void stop() throws IOException {
         lock.writeLock().lock();
-        stackStorage.store(stacks);
-        lock.writeLock().unlock();
+        try {
+            stackStorage.store(stacks);
+            journal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
@@ -77,7 +100,11 @@ public class LocalStackDaoImpl implements StackDao {
             if (stacks.containsKey(stack.getId())) {
                 throw new ConflictException(format("Stack with id %s is already exist", stack.getId()));
             }
-            stacks.put(stack.getId(), stack);
+            final StackImpl copy = new StackImpl(stack);
+            writeJournal(copy.getId(), copy);
+            stacks.put(copy.getId(), copy);
+            index.put(copy);
+            compactIfNeeded();
         } finally {
             lock.writeLock().unlock();
         }
@@ -103,7 +130,12 @@ public class LocalStackDaoImpl implements StackDao {
         requireNonNull(id, "Stack id required");
         lock.writeLock().lock();
         try {
-            stacks.remove(id);
+            if (stacks.containsKey(id)) {
+                writeJournal(id, null);
+                stacks.remove(id);
+                index.remove(id);
+                compactIfNeeded();
+            }
         } finally {
             lock.writeLock().unlock();
         }
@@ -119,7 +151,11 @@ public class LocalStackDaoImpl implements StackDao {
             if (!stacks.containsKey(updateId)) {
                 throw new NotFoundException(format("Stack with id %s was not found", updateId));
             }
-            stacks.replace(updateId, update);
+            final StackImpl copy = new StackImpl(update);
+            writeJournal(updateId, copy);
+            stacks.replace(updateId, copy);
+            index.put(copy);
+            compactIfNeeded();
             return new StackImpl(update);
         } finally {
             lock.writeLock().unlock();
@@ -128,21 +164,51 @@ public class LocalStackDaoImpl implements StackDao {
 
     @Override
     public List<StackImpl> searchStacks(String user, @Nullable List<String> tags, int skipCount, int maxItems) {
+        return searchStacks(user, tags, null, skipCount, maxItems);
+    }
+
+    @Override
+    public List<StackImpl> searchStacks(String user,
+                                        @Nullable List<String> tags,
+                                        @Nullable String text,
+                                        int skipCount,
+                                        int maxItems) {
         lock.readLock().lock();
         try {
-            Stream<StackImpl> stacksStream = stacks.values()
-                                                   .stream()
-                                                   .skip(skipCount)
-                                                   .filter(decoratedStack -> tags == null ||
-                                                                             decoratedStack.getTags().containsAll(tags));
+            Stream<String> idsStream = index.search(tags, text).stream().skip(skipCount);
             if (maxItems != 0) {
-                stacksStream = stacksStream.limit(maxItems);
+                idsStream = idsStream.limit(maxItems);
             }
 
-            return stacksStream.map(StackImpl::new)
-                               .collect(toList());
+            return idsStream.map(stacks::get)
+                            .map(StackImpl::new)
+                            .collect(toList());
         } finally {
             lock.readLock().unlock();
         }
     }
+
+    /** Writes the stack or its removal (when {@code stack} is null) to the journal. */
+    private void writeJournal(String id, @Nullable StackImpl stack) throws ServerException {
+        try {
+            if (stack == null) {
+                journal.remove(id);
+            } else {
+                journal.put(id, stack);
+            }
+        } catch (IOException ex) {
+            throw new ServerException(format("Impossible to store stack %s: %s", id, ex.getMessage()), ex);
+        }
+    }
+
+    /** Stores all the stacks and truncates the journal when it grows too big. */
+    private void compactIfNeeded() {
+        if (journal.shouldCompact()) {
+            try {
+                stackStorage.store(stacks);
+            } catch (IOException ex) {
+                LOG.error("Impossible to compact stacks journal", ex);
+            }
+        }
+    }
 }
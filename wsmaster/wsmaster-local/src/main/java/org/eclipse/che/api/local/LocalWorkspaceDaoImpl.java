@@ -10,7 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.api.local;
 
+import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Table;
 import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.ConflictException;
@@ -19,11 +21,15 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.Recipe;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.recipe.adapters.RecipeTypeAdapter;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -31,10 +37,10 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
@@ -43,7 +49,11 @@ import static java.util.stream.Collectors.toList;
  * In memory based implementation of {@link WorkspaceDao}.
  *
  * <p>{@link #loadWorkspaces() Loads} & {@link #saveWorkspaces() stores} in memory workspaces
- * to/from filesystem, when component starts/stops.
+ * to/from filesystem, when component starts/stops. Changes made in between are written
+ * to the {@link LocalJournal journal}, which is replayed on load.
+ *
+ * <p>Workspaces are indexed by namespace and name, so neither {@link #get(String, String)}
+ * nor {@link #getByNamespace(String)} scans all the workspaces.
  *
  * @implNote it is thread-safe, guarded by <i>this</i> instance
  *
@@ -54,28 +64,38 @@ import static java.util.stream.Collectors.toList;
 @Singleton
 public class LocalWorkspaceDaoImpl implements WorkspaceDao {
 
-    private final Map<String, WorkspaceImpl> workspaces;
-    private final LocalStorage               localStorage;
+    private static final Logger LOG = LoggerFactory.getLogger(LocalWorkspaceDaoImpl.class);
+
+    private final Map<String, WorkspaceImpl>    workspaces;
+    private final Table<String, String, String> idsByNamespaceAndName;
+    private final LocalStorage                  localStorage;
+    private final LocalJournal<WorkspaceImpl>   journal;
 
     @Inject
     public LocalWorkspaceDaoImpl(LocalStorageFactory factory) throws IOException {
         final Map<Class<?>, Object> adapters = ImmutableMap.of(Recipe.class, new RecipeTypeAdapter(),
                                                                ProjectConfig.class, new ProjectConfigAdapter());
         this.localStorage = factory.create("workspaces.json", adapters);
+        this.journal = factory.createJournal("workspaces.journal", TypeToken.of(WorkspaceImpl.class), adapters);
         this.workspaces = new HashMap<>();
+        this.idsByNamespaceAndName = HashBasedTable.create();
     }
 
     @PostConstruct
     public synchronized void loadWorkspaces() {
         workspaces.putAll(localStorage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {}));
+        journal.replay(workspaces);
+        idsByNamespaceAndName.clear();
         for (WorkspaceImpl workspace : workspaces.values()) {
             workspace.setRuntime(null);
+            index(workspace);
         }
     }
 
     @PreDestroy
     public synchronized void saveWorkspaces() throws IOException {
-        localStorage.store(workspaces);
+        compact();
+        journal.close();
     }
 
     @Override
@@ -83,32 +103,54 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
         if (workspaces.containsKey(workspace.getId())) {
             throw new ConflictException("Workspace with id " + workspace.getId() + " already exists");
         }
-        if (find(workspace.getConfig().getName(), workspace.getNamespace()).isPresent()) {
+        if (findId(workspace.getConfig().getName(), workspace.getNamespace()) != null) {
             throw new ConflictException(format("Workspace with name %s and owner %s already exists",
                                                workspace.getConfig().getName(),
                                                workspace.getNamespace()));
         }
         workspace.setRuntime(null);
         workspace.setStatus(WorkspaceStatus.STOPPED);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace));
+        final WorkspaceImpl copy = new WorkspaceImpl(workspace);
+        writeJournal(copy.getId(), copy);
+        workspaces.put(copy.getId(), copy);
+        index(copy);
+        compactIfNeeded();
         return workspace;
     }
 
     @Override
     public synchronized WorkspaceImpl update(WorkspaceImpl workspace)
             throws NotFoundException, ConflictException, ServerException {
-        if (!workspaces.containsKey(workspace.getId())) {
+        final WorkspaceImpl existing = workspaces.get(workspace.getId());
+        if (existing == null) {
             throw new NotFoundException("Workspace with id " + workspace.getId() + " was not found");
         }
+        final String sameNameId = findId(workspace.getConfig().getName(), workspace.getNamespace());
+        if (sameNameId != null && !sameNameId.equals(workspace.getId())) {
+            throw new ConflictException(format("Workspace with name %s and owner %s already exists",
+                                               workspace.getConfig().getName(),
+                                               workspace.getNamespace()));
+        }
         workspace.setStatus(null);
         workspace.setRuntime(null);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace));
+        final WorkspaceImpl copy = new WorkspaceImpl(workspace);
+        writeJournal(copy.getId(), copy);
+        unindex(existing);
+        workspaces.put(copy.getId(), copy);
+        index(copy);
+        compactIfNeeded();
         return workspace;
     }
 
     @Override
     public synchronized void remove(String id) throws ConflictException, ServerException {
-        workspaces.remove(id);
+        final WorkspaceImpl existing = workspaces.get(id);
+        if (existing != null) {
+            writeJournal(id, null);
+            workspaces.remove(id);
+            unindex(existing);
+            compactIfNeeded();
+        }
     }
 
     @Override
@@ -122,20 +164,23 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
 
     @Override
     public synchronized WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
-        final Optional<WorkspaceImpl> wsOpt = find(name, namespace);
-        if (!wsOpt.isPresent()) {
+        final String id = findId(name, namespace);
+        if (id == null) {
             throw new NotFoundException(format("Workspace with name %s and owner %s was not found", name, namespace));
         }
-        return new WorkspaceImpl(wsOpt.get());
+        return new WorkspaceImpl(workspaces.get(id));
     }
 
     @Override
     public synchronized List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
-        return workspaces.values()
-                         .stream()
-                         .filter(ws -> ws.getNamespace().equals(namespace))
-                         .map(WorkspaceImpl::new)
-                         .collect(toList());
+        if (namespace == null) {
+            return Collections.emptyList();
+        }
+        return idsByNamespaceAndName.row(namespace)
+                                    .values()
+                                    .stream()
+                                    .map(id -> new WorkspaceImpl(workspaces.get(id)))
+                                    .collect(toList());
     }
 
     @Override
@@ -143,10 +188,48 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
         return new ArrayList<>(workspaces.values());
     }
 
-    private Optional<WorkspaceImpl> find(String name, String owner) {
-        return workspaces.values()
-                         .stream()
-                         .filter(ws -> ws.getConfig().getName().equals(name) && ws.getNamespace().equals(owner))
-                         .findFirst();
+    private String findId(String name, String namespace) {
+        return idsByNamespaceAndName.get(namespace, name);
+    }
+
+    private void index(WorkspaceImpl workspace) {
+        if (workspace.getNamespace() != null && workspace.getConfig() != null && workspace.getConfig().getName() != null) {
+            idsByNamespaceAndName.put(workspace.getNamespace(), workspace.getConfig().getName(), workspace.getId());
+        }
+    }
+
+    private void unindex(WorkspaceImpl workspace) {
+        if (workspace.getNamespace() != null && workspace.getConfig() != null && workspace.getConfig().getName() != null) {
+            idsByNamespaceAndName.remove(workspace.getNamespace(), workspace.getConfig().getName());
+        }
+    }
+
+    /** Writes the workspace or its removal (when {@code workspace} is null) to the journal. */
+    private void writeJournal(String id, @Nullable WorkspaceImpl workspace) throws ServerException {
+        try {
+            if (workspace == null) {
+                journal.remove(id);
+            } else {
+                journal.put(id, workspace);
+            }
+        } catch (IOException ex) {
+            throw new ServerException(format("Impossible to store workspace %s: %s", id, ex.getMessage()), ex);
+        }
+    }
+
+    /** Stores all the workspaces and truncates the journal when it grows too big. */
+    private void compactIfNeeded() {
+        if (journal.shouldCompact()) {
+            try {
+                compact();
+            } catch (IOException ex) {
+                LOG.error("Impossible to compact workspaces journal", ex);
+            }
+        }
+    }
+
+    private void compact() throws IOException {
+        localStorage.store(workspaces);
+        journal.truncate();
     }
 }
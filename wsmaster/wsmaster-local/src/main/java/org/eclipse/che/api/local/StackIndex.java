@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.shared.stack.StackComponent;
+import org.eclipse.che.commons.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index of stacks, maps stack tags and words of stack names and components to the ids of stacks.
+ *
+ * <p>Search by tags matches stacks which have all the given tags. Search by text matches stacks for which
+ * each word of the text is a beginning of one of their words, words are compared ignoring case.
+ * Found ids are returned in the order stacks were added to the index, updating of a stack doesn't change its position.
+ *
+ * @implNote it is not thread-safe, access must be guarded by the owner
+ */
+class StackIndex {
+
+    /** Letters and digits, possibly separated by dots, e.g. "tomcat" or "1.8.0". */
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+(\\.[\\p{L}\\p{N}]+)*");
+
+    private final Map<String, Set<String>>          idsByTag;
+    private final NavigableMap<String, Set<String>> idsByWord;
+    private final Map<String, Entry>                entries;
+    private final NavigableMap<Long, String>        idsByPosition;
+
+    private long nextPosition;
+
+    StackIndex() {
+        idsByTag = new HashMap<>();
+        idsByWord = new TreeMap<>();
+        entries = new HashMap<>();
+        idsByPosition = new TreeMap<>();
+    }
+
+    /** Adds the stack to the index or reindexes it if it is already indexed. */
+    void put(StackImpl stack) {
+        final Entry previous = unindex(stack.getId());
+        final Entry entry = new Entry(previous == null ? nextPosition++ : previous.position,
+                                      new ArrayList<>(stack.getTags()),
+                                      words(stack));
+        entries.put(stack.getId(), entry);
+        idsByPosition.put(entry.position, stack.getId());
+        entry.tags.forEach(tag -> idsByTag.computeIfAbsent(tag, key -> new HashSet<>()).add(stack.getId()));
+        entry.words.forEach(word -> idsByWord.computeIfAbsent(word, key -> new HashSet<>()).add(stack.getId()));
+    }
+
+    /** Removes the stack from the index. */
+    void remove(String id) {
+        unindex(id);
+    }
+
+    void clear() {
+        idsByTag.clear();
+        idsByWord.clear();
+        entries.clear();
+        idsByPosition.clear();
+        nextPosition = 0;
+    }
+
+    /**
+     * Finds stacks which have all the given tags and match the given text.
+     *
+     * @param tags
+     *         stack tags, {@code null} or empty list matches all the stacks
+     * @param text
+     *         text to search, {@code null} or text without words matches all the stacks
+     * @return ids of found stacks
+     */
+    List<String> search(@Nullable List<String> tags, @Nullable String text) {
+        final List<Set<String>> matches = new ArrayList<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                matches.add(idsByTag.getOrDefault(tag, Collections.emptySet()));
+            }
+        }
+        for (String word : split(text)) {
+            final Set<String> ids = new HashSet<>();
+            idsByWord.subMap(word, true, word + Character.MAX_VALUE, false).values().forEach(ids::addAll);
+            matches.add(ids);
+        }
+        if (matches.isEmpty()) {
+            return new ArrayList<>(idsByPosition.values());
+        }
+
+        matches.sort(Comparator.comparingInt(Set::size));
+        final List<String> found = new ArrayList<>();
+        for (String id : matches.get(0)) {
+            boolean matchesAll = true;
+            for (int i = 1; i < matches.size() && matchesAll; i++) {
+                matchesAll = matches.get(i).contains(id);
+            }
+            if (matchesAll) {
+                found.add(id);
+            }
+        }
+        found.sort(Comparator.comparingLong(id -> entries.get(id).position));
+        return found;
+    }
+
+    private Entry unindex(String id) {
+        final Entry entry = entries.remove(id);
+        if (entry != null) {
+            idsByPosition.remove(entry.position);
+            entry.tags.forEach(tag -> removeId(idsByTag, tag, id));
+            entry.words.forEach(word -> removeId(idsByWord, word, id));
+        }
+        return entry;
+    }
+
+    private static void removeId(Map<String, Set<String>> index, String key, String id) {
+        final Set<String> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static Set<String> words(StackImpl stack) {
+        final Set<String> words = new HashSet<>(split(stack.getName()));
+        for (String tag : stack.getTags()) {
+            words.addAll(split(tag));
+        }
+        for (StackComponent component : stack.getComponents()) {
+            words.addAll(split(component.getName()));
+            words.addAll(split(component.getVersion()));
+        }
+        return words;
+    }
+
+    private static List<String> split(@Nullable String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        final List<String> words = new ArrayList<>();
+        final Matcher matcher = WORD.matcher(text.toLowerCase());
+        while (matcher.find()) {
+            words.add(matcher.group());
+        }
+        return words;
+    }
+
+    private static class Entry {
+        final long         position;
+        final List<String> tags;
+        final Set<String>  words;
+
+        Entry(long position, List<String> tags, Set<String> words) {
+            this.position = position;
+            this.tags = tags;
+            this.words = words;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local.storage;
+
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Append-only journal of changes of the map of model objects which is stored by {@link LocalStorage}.
+ *
+ * <p>Each change is written to the journal file as a single json line at the moment it happens, so it survives
+ * the crash of the process. Journal file is synced to the disk periodically, so changes made during one
+ * {@link #SYNC_PERIOD_MS period} share a single {@code fsync}.
+ *
+ * <p>Owner of the journal {@link #replay(Map) replays} it over the map loaded from the {@link LocalStorage} when
+ * component starts, and compacts it when journal {@link #shouldCompact() grows too big} and when component stops,
+ * i.e. stores the whole map to the {@link LocalStorage} and {@link #truncate() truncates} the journal.
+ * Records are idempotent, so replaying journal over the snapshot which already contains its changes
+ * (if compaction was interrupted between these two steps) gives the same map.
+ *
+ * @implNote it is thread-safe, but it is up to the owner to keep order of records and order of changes of the map the same.
+ */
+public class LocalJournal<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalJournal.class);
+
+    /** Period of syncing journal files to the disk. */
+    public static final long SYNC_PERIOD_MS       = 200;
+    /** Number of records after which journal should be compacted. */
+    public static final int  COMPACTION_THRESHOLD = 10_000;
+
+    private static final String OP     = "op";
+    private static final String KEY    = "key";
+    private static final String VALUE  = "value";
+    private static final String PUT    = "put";
+    private static final String REMOVE = "remove";
+
+    private static final ScheduledExecutorService SYNC_EXECUTOR =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("LocalJournalSync")
+                                                                                  .setDaemon(true)
+                                                                                  .build());
+
+    private final Path         journalFile;
+    private final TypeToken<T> valueType;
+    private final Gson         gson;
+    private final int          compactionThreshold;
+
+    private FileChannel        channel;
+    private ScheduledFuture<?> syncTask;
+    private boolean            unsynced;
+    private int                records;
+
+    public LocalJournal(String rootDirPath, String fileName, TypeToken<T> valueType) {
+        this(rootDirPath, fileName, valueType, Collections.emptyMap(), COMPACTION_THRESHOLD);
+    }
+
+    public LocalJournal(String rootDirPath, String fileName, TypeToken<T> valueType, Map<Class<?>, Object> typeAdapters) {
+        this(rootDirPath, fileName, valueType, typeAdapters, COMPACTION_THRESHOLD);
+    }
+
+    LocalJournal(String rootDirPath, String fileName, TypeToken<T> valueType, Map<Class<?>, Object> typeAdapters,
+                 int compactionThreshold) {
+        this.journalFile = Paths.get(rootDirPath, fileName);
+        this.valueType = valueType;
+        this.compactionThreshold = compactionThreshold;
+        final GsonBuilder builder = new GsonBuilder();
+        for (Map.Entry<Class<?>, Object> adapter : typeAdapters.entrySet()) {
+            builder.registerTypeAdapter(adapter.getKey(), adapter.getValue());
+        }
+        this.gson = builder.create();
+    }
+
+    /**
+     * Applies all the records of the journal to the given map. Invalid records are skipped.
+     *
+     * @param target
+     *         map loaded from the snapshot
+     * @return number of applied records
+     */
+    public synchronized int replay(Map<String, T> target) {
+        if (!Files.exists(journalFile)) {
+            return 0;
+        }
+        final JsonParser parser = new JsonParser();
+        int lines = 0;
+        int applied = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journalFile, UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    final JsonObject record = parser.parse(line).getAsJsonObject();
+                    final String key = record.get(KEY).getAsString();
+                    if (PUT.equals(record.get(OP).getAsString())) {
+                        target.put(key, gson.fromJson(record.get(VALUE), valueType.getType()));
+                    } else {
+                        target.remove(key);
+                    }
+                    applied++;
+                } catch (JsonParseException | IllegalStateException | NullPointerException | UnsupportedOperationException ex) {
+                    LOG.warn("Skipping invalid record at line {} of {}", lines, journalFile.getFileName());
+                }
+            }
+        } catch (IOException ex) {
+            LOG.error("Impossible to read " + journalFile.getFileName(), ex);
+        }
+        records = lines;
+        return applied;
+    }
+
+    /**
+     * Appends record about storing of the {@code value} with the given {@code key}.
+     *
+     * @throws IOException
+     *         when record can't be written to the journal file
+     */
+    public synchronized void put(String key, T value) throws IOException {
+        final JsonObject record = new JsonObject();
+        record.addProperty(OP, PUT);
+        record.addProperty(KEY, key);
+        record.add(VALUE, gson.toJsonTree(value, valueType.getType()));
+        append(record);
+    }
+
+    /**
+     * Appends record about removal of the value with the given {@code key}.
+     *
+     * @throws IOException
+     *         when record can't be written to the journal file
+     */
+    public synchronized void remove(String key) throws IOException {
+        final JsonObject record = new JsonObject();
+        record.addProperty(OP, REMOVE);
+        record.addProperty(KEY, key);
+        append(record);
+    }
+
+    /** Returns true when journal contains more records than it is reasonable to replay at start. */
+    public synchronized boolean shouldCompact() {
+        return records >= compactionThreshold;
+    }
+
+    /**
+     * Removes all the records from the journal, must be called right after the map is stored to the snapshot.
+     *
+     * @throws IOException
+     *         when journal file can't be truncated
+     */
+    public synchronized void truncate() throws IOException {
+        open();
+        channel.truncate(0);
+        channel.force(true);
+        records = 0;
+        unsynced = false;
+    }
+
+    /** Forces all the appended records to the disk. */
+    public void sync() throws IOException {
+        final FileChannel toSync;
+        synchronized (this) {
+            if (channel == null || !unsynced) {
+                return;
+            }
+            toSync = channel;
+            unsynced = false;
+        }
+        // appending of new records doesn't wait for the disk
+        try {
+            toSync.force(false);
+        } catch (ClosedChannelException ignored) {
+            // journal is closed, it is synced on close
+        } catch (IOException ex) {
+            synchronized (this) {
+                unsynced = true;
+            }
+            throw ex;
+        }
+    }
+
+    /** Syncs and closes the journal file, journal is reopened by the next record. */
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        syncTask.cancel(false);
+        try {
+            if (unsynced) {
+                channel.force(false);
+            }
+            channel.close();
+        } catch (IOException ex) {
+            LOG.error("Impossible to close " + journalFile.getFileName(), ex);
+        }
+        channel = null;
+        unsynced = false;
+    }
+
+    private void append(JsonObject record) throws IOException {
+        open();
+        final ByteBuffer buffer = UTF_8.encode(gson.toJson(record) + '\n');
+        final long size = channel.size();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException ex) {
+            // don't leave a part of the record, otherwise the next one is lost too
+            try {
+                channel.truncate(size);
+            } catch (IOException ignored) {
+            }
+            throw ex;
+        }
+        records++;
+        unsynced = true;
+    }
+
+    private void open() throws IOException {
+        if (channel != null) {
+            return;
+        }
+        Files.createDirectories(journalFile.getParent());
+        truncateIncompleteRecord();
+        channel = FileChannel.open(journalFile, CREATE, WRITE, APPEND);
+        syncTask = SYNC_EXECUTOR.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (IOException ex) {
+                LOG.error("Impossible to sync " + journalFile.getFileName(), ex);
+            }
+        }, SYNC_PERIOD_MS, SYNC_PERIOD_MS, MILLISECONDS);
+    }
+
+    /** Cuts the record which was being written when the process crashed, so the next record starts from the new line. */
+    private void truncateIncompleteRecord() throws IOException {
+        if (!Files.exists(journalFile)) {
+            return;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(journalFile.toFile(), "rw")) {
+            final byte[] chunk = new byte[8192];
+            long end = file.length();
+            while (end > 0) {
+                final int length = (int)Math.min(chunk.length, end);
+                file.seek(end - length);
+                file.readFully(chunk, 0, length);
+                for (int i = length - 1; i >= 0; i--) {
+                    if (chunk[i] == '\n') {
+                        final long validLength = end - length + i + 1;
+                        if (validLength != file.length()) {
+                            LOG.warn("Truncating incomplete record at the end of {}", journalFile.getFileName());
+                            file.setLength(validLength);
+                        }
+                        return;
+                    }
+                }
+                end -= length;
+            }
+            if (file.length() != 0) {
+                LOG.warn("Truncating incomplete record at the end of {}", journalFile.getFileName());
+                file.setLength(0);
+            }
+        }
+    }
+}
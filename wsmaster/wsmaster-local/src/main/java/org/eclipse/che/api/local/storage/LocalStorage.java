@@ -21,7 +21,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.Charset;
@@ -29,6 +31,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
 /**
  * Implementation of file system storage for model objects.
  *
@@ -61,10 +66,26 @@ public class LocalStorage {
         gson = builder.setPrettyPrinting().create();
     }
 
+    /**
+     * Stores object to the json file. Content is written to the temporary file which then replaces
+     * the stored one, so the previous content stays untouched if the process crashes in the middle.
+     */
     public void store(Object storedObj) throws IOException {
-        try (Writer writer = Files.newWriter(storedFile, Charset.forName("UTF-8"))) {
+        final File tmpFile = new File(storedFile.getParentFile(), storedFile.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmpFile);
+             Writer writer = new OutputStreamWriter(out, Charset.forName("UTF-8"))) {
             gson.toJson(storedObj, writer);
+            writer.flush();
+            out.getFD().sync();
         }
+        java.nio.file.Files.move(tmpFile.toPath(), storedFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    /**
+     * @return time of the last modification of the json file or {@code 0L} if file doesn't exist.
+     */
+    public long lastModified() {
+        return storedFile.lastModified();
     }
 
     /**
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.local.storage;
 
+import com.google.common.reflect.TypeToken;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -56,4 +57,28 @@ public class LocalStorageFactory {
     public LocalStorage create(String fileName, Map<Class<?>, Object> typeAdapters) throws IOException {
         return new LocalStorage(pathToStorage, fileName, typeAdapters);
     }
-}
\ No newline at end of file
+
+    /**
+     * @param fileName
+     *         name of journal file in local storage.
+     * @param valueType
+     *         type of journaled values.
+     * @return instance of LocalJournal.
+     */
+    public <T> LocalJournal<T> createJournal(String fileName, TypeToken<T> valueType) {
+        return new LocalJournal<>(pathToStorage, fileName, valueType);
+    }
+
+    /**
+     * @param fileName
+     *         name of journal file in local storage.
+     * @param valueType
+     *         type of journaled values.
+     * @param typeAdapters
+     *         types and object adapters when need a special deserialization.
+     * @return instance of LocalJournal.
+     */
+    public <T> LocalJournal<T> createJournal(String fileName, TypeToken<T> valueType, Map<Class<?>, Object> typeAdapters) {
+        return new LocalJournal<>(pathToStorage, fileName, valueType, typeAdapters);
+    }
+}
@@ -14,6 +14,7 @@ import com.google.common.reflect.TypeToken;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
@@ -43,19 +44,30 @@ public class StackLocalStorage {
     private static final Logger LOG = LoggerFactory.getLogger(StackLocalStorage.class);
 
     private static final String STACK_STORAGE_FILE = "stacks.json";
+    private static final String STACK_JOURNAL_FILE = "stacks.journal";
     private static final String ICON_FOLDER_NAME   = "images";
 
-    private final LocalStorage localStorage;
-    private final Path         iconFolderPath;
+    private final LocalStorage            localStorage;
+    private final LocalJournal<StackImpl> journal;
+    private final Path                    iconFolderPath;
 
     @Inject
     public StackLocalStorage(@Named("che.conf.storage") String pathToStorage) throws IOException {
         this.localStorage = new LocalStorage(pathToStorage, STACK_STORAGE_FILE);
+        this.journal = new LocalJournal<>(pathToStorage, STACK_JOURNAL_FILE, TypeToken.of(StackImpl.class));
         this.iconFolderPath = Paths.get(pathToStorage, ICON_FOLDER_NAME);
     }
 
     /**
-     * Store map {@code stacks} to the local stack storage
+     * Returns journal of changes made to the stacks since they were {@link #store(Map) stored} last time.
+     * Journaled stacks keep their icon data in the journal itself.
+     */
+    public LocalJournal<StackImpl> getJournal() {
+        return journal;
+    }
+
+    /**
+     * Store map {@code stacks} to the local stack storage and truncate the {@link #getJournal() journal}
      *
      * @param stacks
      *         map, where key is id of the {@link StackImpl} and value is {@link StackImpl})
@@ -65,6 +77,7 @@ public class StackLocalStorage {
         localStorage.store(stacks);
         deleteDirectory(iconFolderPath.toFile());
         stacks.values().forEach(this::saveIcon);
+        journal.truncate();
     }
 
     /**
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import com.google.common.reflect.TypeToken;
+import com.google.gson.Gson;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.che.api.local.storage.LocalStorageFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import static java.util.Collections.singletonMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link LocalPreferenceDaoImpl}.
+ */
+public class LocalPreferenceDaoImplTest {
+
+    private LocalPreferenceDaoImpl preferenceDao;
+    private Path                   preferencesPath;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
+        assertNotNull(url);
+        final Path storageRoot = Paths.get(url.toURI()).getParent().resolve("preferences");
+        FileUtils.deleteDirectory(storageRoot.toFile());
+        preferencesPath = storageRoot.resolve("preferences.json");
+        preferenceDao = new LocalPreferenceDaoImpl(new LocalStorageFactory(storageRoot.toString()));
+    }
+
+    @Test
+    public void shouldStorePreferencesFileOnEachUpdate() throws Exception {
+        preferenceDao.setPreferences("user1", singletonMap("theme", "dark"));
+        preferenceDao.setPreferences("user2", singletonMap("theme", "light"));
+
+        assertEquals(readPreferencesFile().get("user1"), singletonMap("theme", "dark"));
+        assertEquals(readPreferencesFile().get("user2"), singletonMap("theme", "light"));
+
+        preferenceDao.remove("user1");
+
+        assertFalse(readPreferencesFile().containsKey("user1"));
+    }
+
+    @Test
+    public void shouldReadPreferencesChangedInFile() throws Exception {
+        preferenceDao.setPreferences("user1", singletonMap("theme", "dark"));
+        Files.write(preferencesPath, new Gson().toJson(singletonMap("user1", singletonMap("theme", "light"))).getBytes());
+        // modification time must differ from the one of the last store
+        assertTrue(preferencesPath.toFile().setLastModified(preferencesPath.toFile().lastModified() + 2000));
+
+        assertEquals(preferenceDao.getPreferences("user1"), singletonMap("theme", "light"));
+    }
+
+    private Map<String, Map<String, String>> readPreferencesFile() throws Exception {
+        return new Gson().fromJson(new String(Files.readAllBytes(preferencesPath)),
+                                   new TypeToken<Map<String, Map<String, String>>>() {}.getType());
+    }
+}
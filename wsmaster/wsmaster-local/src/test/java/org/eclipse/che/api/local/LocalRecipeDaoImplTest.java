@@ -13,6 +13,7 @@ package org.eclipse.che.api.local;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import org.apache.commons.io.FileUtils;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.acl.AclEntryImpl;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
@@ -37,6 +38,7 @@ import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Tests for {@link LocalRecipeDaoImpl}
@@ -49,8 +51,9 @@ public class LocalRecipeDaoImplTest {
     private static Gson GSON = new GsonBuilder().setPrettyPrinting()
                                                 .create();
 
-    private LocalRecipeDaoImpl recipeDao;
-    private Path               recipesPath;
+    private LocalRecipeDaoImpl  recipeDao;
+    private LocalStorageFactory storageFactory;
+    private Path                recipesPath;
 
     @BeforeMethod
     public void setUp() throws Exception {
@@ -58,8 +61,10 @@ public class LocalRecipeDaoImplTest {
         assertNotNull(url);
         final Path targetDir = Paths.get(url.toURI()).getParent();
         final Path storageRoot = targetDir.resolve("recipes");
+        FileUtils.deleteDirectory(storageRoot.toFile());
         recipesPath = storageRoot.resolve("recipes.json");
-        recipeDao = new LocalRecipeDaoImpl(new LocalStorageFactory(storageRoot.toString()));
+        storageFactory = new LocalStorageFactory(storageRoot.toString());
+        recipeDao = new LocalRecipeDaoImpl(storageFactory);
     }
 
     @Test
@@ -140,6 +145,29 @@ public class LocalRecipeDaoImplTest {
         assertEquals(search.get(0), toFind);
     }
 
+    @Test
+    public void shouldSearchRecipeByTagsChangedByUpdate() throws Exception {
+        recipeDao.create(createRecipe());
+        recipeDao.update(new RecipeImpl().withId("recipe123").withTags(singletonList("centos")));
+
+        assertTrue(recipeDao.search("creator", singletonList("java"), null, 0, 0).isEmpty());
+        assertEquals(recipeDao.search("creator", singletonList("centos"), null, 0, 0).get(0).getId(), "recipe123");
+    }
+
+    @Test
+    public void shouldRestoreRecipesChangedSinceLastStoreFromJournal() throws Exception {
+        recipeDao.create(createRecipe());
+        recipeDao.create(createRecipe().withId("recipe321"));
+        recipeDao.update(createRecipe().withDescription("new description"));
+        recipeDao.remove("recipe321");
+
+        final LocalRecipeDaoImpl restored = new LocalRecipeDaoImpl(storageFactory);
+        restored.loadRecipes();
+
+        assertEquals(restored.getById("recipe123"), createRecipe().withDescription("new description"));
+        assertEquals(restored.search("creator", singletonList("java"), null, 0, 0).size(), 1);
+    }
+
     private RecipeImpl createRecipe() {
         return new RecipeImpl("recipe123",
                               "Test Recipe",
@@ -22,6 +22,8 @@ import org.eclipse.che.api.workspace.server.model.impl.stack.StackSourceImpl;
 import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
 import org.eclipse.che.api.workspace.shared.stack.Stack;
 import org.eclipse.che.api.workspace.shared.stack.StackSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -38,6 +40,10 @@ import java.util.Map;
 import static java.nio.file.Files.readAllBytes;
 import static java.nio.file.Files.write;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
@@ -48,6 +54,8 @@ import static org.testng.Assert.assertNotNull;
  */
 public class LocalStackDaoTest {
 
+    private static final Logger LOG = LoggerFactory.getLogger(LocalStackDaoTest.class);
+
     private static final String SVG_ICON = "<svg height=\"50\" width=\"500\">\n" +
                                            "  <ellipse cx=\"210\" cy=\"100\" rx=\"110\" ry=\"60\"\n" +
                                            "  style=\"fill:green;stroke:purple;stroke-width:2\" />\n" +
@@ -62,7 +70,7 @@ public class LocalStackDaoTest {
     private Path              parentIconFolder;
     private Path              pathToIcon;
 
-    @BeforeMethod
+    @BeforeMethod(alwaysRun = true)
     public void setUp() throws Exception {
         final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
         assertNotNull(url);
@@ -74,7 +82,7 @@ public class LocalStackDaoTest {
         stackDao = new LocalStackDaoImpl(new StackLocalStorage(storageRoot.toString()));
     }
 
-    @AfterMethod
+    @AfterMethod(alwaysRun = true)
     public void cleanUp() throws IOException {
         FileUtils.deleteDirectory(storageRoot.toFile());
     }
@@ -104,6 +112,94 @@ public class LocalStackDaoTest {
         assertEquals(result, stack);
     }
 
+    @Test
+    public void shouldSearchStacksByTagsAndText() throws Exception {
+        stackDao.create(createStack("java", "Java", asList("java", "maven"), new StackComponentImpl("tomcat", "8.0.24")));
+        stackDao.create(createStack("spring", "Spring Boot", asList("java", "spring"), new StackComponentImpl("jdk", "1.8.0_45")));
+        stackDao.create(createStack("node", "Node", singletonList("javascript"), new StackComponentImpl("node", "5.4.1")));
+
+        assertEquals(ids(stackDao.searchStacks("user", singletonList("java"), null, 0, 0)), asList("java", "spring"));
+        assertEquals(ids(stackDao.searchStacks("user", null, "JAVA", 0, 0)), asList("java", "spring", "node"));
+        assertEquals(ids(stackDao.searchStacks("user", singletonList("java"), "tom", 0, 0)), singletonList("java"));
+        assertEquals(ids(stackDao.searchStacks("user", null, "boot 1.8", 0, 0)), singletonList("spring"));
+        assertEquals(ids(stackDao.searchStacks("user", asList("java", "javascript"), null, 0, 0)), emptyList());
+        assertEquals(ids(stackDao.searchStacks("user", null, null, 1, 1)), singletonList("spring"));
+    }
+
+    @Test
+    public void shouldReindexUpdatedStack() throws Exception {
+        stackDao.create(createStack("java", "Java", singletonList("java")));
+        stackDao.create(createStack("spring", "Spring", singletonList("java")));
+
+        stackDao.update(createStack("java", "Tomcat", singletonList("tomcat")));
+
+        assertEquals(ids(stackDao.searchStacks("user", singletonList("java"), null, 0, 0)), singletonList("spring"));
+        assertEquals(ids(stackDao.searchStacks("user", null, "java", 0, 0)), singletonList("spring"));
+        assertEquals(ids(stackDao.searchStacks("user", null, "tomcat", 0, 0)), singletonList("java"));
+        assertEquals(ids(stackDao.searchStacks("user", null, null, 0, 0)), asList("java", "spring"));
+    }
+
+    @Test
+    public void shouldNotFindRemovedStack() throws Exception {
+        stackDao.create(createStack("java", "Java", singletonList("java")));
+
+        stackDao.remove("java");
+
+        assertEquals(stackDao.searchStacks("user", singletonList("java"), "java", 0, 0), emptyList());
+    }
+
+    @Test
+    public void shouldSearchStacksByMultipleTagsAndComponent() throws Exception {
+        final int stacks = 500;
+        createStacks(stacks);
+
+        final List<String> result = ids(stackDao.searchStacks("user", asList("tag7", "tag17"), "component17 1.17", 0, 0));
+        assertEquals(result, asList("stack17", "stack117", "stack217", "stack317", "stack417"));
+        assertEquals(ids(stackDao.searchStacks("user", asList("tag7", "tag17"), "component17 1.17", 1, 2)),
+                     asList("stack117", "stack217"));
+    }
+
+    /** Search time is only logged, it is not a performance assertion. */
+    @Test(groups = "benchmark")
+    public void benchmarkSearchThroughThousandsOfStacks() throws Exception {
+        final int stacks = 5_000;
+        createStacks(stacks);
+
+        final int queries = 10_000;
+        int found = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            found += stackDao.searchStacks("user", singletonList("tag" + i % 100), "component" + i % 50, 0, 30).size();
+        }
+        LOG.debug("{} searches through {} stacks in {} ms, {} stacks found",
+                  queries, stacks, NANOSECONDS.toMillis(System.nanoTime() - start), found);
+    }
+
+    private void createStacks(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            stackDao.create(createStack("stack" + i,
+                                        "Stack " + i,
+                                        asList("tag" + i % 10, "tag" + i % 100),
+                                        new StackComponentImpl("component" + i % 50, "1." + i % 20)));
+        }
+    }
+
+    private static List<String> ids(List<StackImpl> stacks) {
+        return stacks.stream().map(StackImpl::getId).collect(toList());
+    }
+
+    private static StackImpl createStack(String id, String name, List<String> tags, StackComponentImpl... components) {
+        return StackImpl.builder()
+                        .setId(id)
+                        .setName(name)
+                        .setScope("general")
+                        .setCreator("user")
+                        .setTags(tags)
+                        .setSource(new StackSourceImpl("image", "codenvy/ubuntu_jdk8"))
+                        .setComponents(asList(components))
+                        .build();
+    }
+
     private void createStackIcon() throws IOException {
         Files.createDirectories(parentIconFolder);
         Files.write(pathToIcon, SVG_ICON.getBytes());
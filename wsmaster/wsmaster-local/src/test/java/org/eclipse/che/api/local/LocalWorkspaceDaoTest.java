@@ -13,6 +13,9 @@ package org.eclipse.che.api.local;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import org.apache.commons.io.FileUtils;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.model.impl.LimitsImpl;
@@ -46,6 +49,7 @@ import static java.util.Collections.singletonMap;
 import static org.eclipse.che.commons.lang.NameGenerator.generate;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.fail;
 
 /**
  * @author Eugene Voevodin
@@ -55,6 +59,7 @@ public class LocalWorkspaceDaoTest {
     static Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
     LocalWorkspaceDaoImpl workspaceDao;
+    LocalStorageFactory   storageFactory;
     Path                  workspacesPath;
 
     @BeforeMethod
@@ -63,8 +68,10 @@ public class LocalWorkspaceDaoTest {
         assertNotNull(url);
         final Path targetDir = Paths.get(url.toURI()).getParent();
         final Path storageRoot = targetDir.resolve("workspaces");
+        FileUtils.deleteDirectory(storageRoot.toFile());
         workspacesPath = storageRoot.resolve("workspaces.json");
-        workspaceDao = new LocalWorkspaceDaoImpl(new LocalStorageFactory(storageRoot.toString()));
+        storageFactory = new LocalStorageFactory(storageRoot.toString());
+        workspaceDao = new LocalWorkspaceDaoImpl(storageFactory);
     }
 
     @Test
@@ -88,6 +95,64 @@ public class LocalWorkspaceDaoTest {
         assertEquals(result, workspace);
     }
 
+    @Test
+    public void shouldFindWorkspacesByNameAndNamespace() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        final WorkspaceImpl other = new WorkspaceImpl(generate("workspace", 16), "user321", workspace.getConfig());
+        workspaceDao.create(workspace);
+        workspaceDao.create(other);
+
+        assertEquals(workspaceDao.get("test-workspace-name", "user123").getId(), workspace.getId());
+        assertEquals(workspaceDao.get("test-workspace-name", "user321").getId(), other.getId());
+        assertEquals(workspaceDao.getByNamespace("user123").size(), 1);
+        assertEquals(workspaceDao.getByNamespace("user123").get(0).getId(), workspace.getId());
+    }
+
+    @Test
+    public void shouldReindexWorkspaceWhenItIsRenamed() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        workspaceDao.create(workspace);
+
+        workspace.getConfig().setName("new-name");
+        workspaceDao.update(workspace);
+
+        assertEquals(workspaceDao.get("new-name", "user123").getId(), workspace.getId());
+        try {
+            workspaceDao.get("test-workspace-name", "user123");
+            fail("Workspace must not be found by the old name");
+        } catch (NotFoundException expected) {
+        }
+    }
+
+    @Test(expectedExceptions = ConflictException.class)
+    public void shouldNotRenameWorkspaceToNameOfAnotherWorkspace() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        final WorkspaceImpl other = createWorkspace();
+        other.getConfig().setName("other-name");
+        workspaceDao.create(workspace);
+        workspaceDao.create(other);
+
+        other.getConfig().setName("test-workspace-name");
+        workspaceDao.update(other);
+    }
+
+    @Test
+    public void shouldRestoreWorkspacesChangedSinceLastStoreFromJournal() throws Exception {
+        final WorkspaceImpl stored = createWorkspace();
+        workspaceDao.create(stored);
+        workspaceDao.saveWorkspaces();
+        final WorkspaceImpl created = createWorkspace();
+        created.getConfig().setName("created");
+        workspaceDao.create(created);
+        workspaceDao.remove(stored.getId());
+
+        final LocalWorkspaceDaoImpl restored = new LocalWorkspaceDaoImpl(storageFactory);
+        restored.loadWorkspaces();
+
+        assertEquals(restored.getByNamespace("user123").size(), 1);
+        assertEquals(restored.get("created", "user123"), created);
+    }
+
     private static WorkspaceImpl createWorkspace() {
         // environments
         final RecipeImpl recipe = new RecipeImpl();
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local.storage;
+
+import com.google.common.reflect.TypeToken;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link LocalJournal}.
+ */
+public class LocalJournalTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalJournalTest.class);
+
+    private static final TypeToken<Map<String, String>> VALUE_TYPE = new TypeToken<Map<String, String>>() {};
+
+    private Path                              storageRoot;
+    private LocalJournal<Map<String, String>> journal;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        storageRoot = Files.createTempDirectory("local-journal");
+        journal = new LocalJournal<>(storageRoot.toString(), "test.journal", VALUE_TYPE);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        journal.close();
+        FileUtils.deleteDirectory(storageRoot.toFile());
+    }
+
+    @Test
+    public void shouldReplayRecordsInOrderTheyWereAppended() throws Exception {
+        journal.put("first", Collections.singletonMap("key", "value1"));
+        journal.put("second", Collections.singletonMap("key", "value2"));
+        journal.put("first", Collections.singletonMap("key", "value3"));
+        journal.remove("second");
+        journal.close();
+
+        final Map<String, Map<String, String>> target = new HashMap<>();
+        target.put("second", Collections.emptyMap());
+        target.put("third", Collections.singletonMap("key", "value4"));
+        final int applied = journal.replay(target);
+
+        assertEquals(applied, 4);
+        assertEquals(target.size(), 2);
+        assertEquals(target.get("first"), Collections.singletonMap("key", "value3"));
+        assertEquals(target.get("third"), Collections.singletonMap("key", "value4"));
+    }
+
+    @Test
+    public void shouldSkipIncompleteRecordAndContinueFromTheNewLine() throws Exception {
+        journal.put("first", Collections.singletonMap("key", "value1"));
+        journal.close();
+        Files.write(storageRoot.resolve("test.journal"), "{\"op\":\"put\",\"key\":\"sec".getBytes(), APPEND);
+
+        final Map<String, Map<String, String>> target = new HashMap<>();
+        assertEquals(journal.replay(target), 1);
+        journal.put("third", Collections.singletonMap("key", "value3"));
+        journal.close();
+
+        target.clear();
+        assertEquals(journal.replay(target), 2);
+        assertEquals(target.keySet(), new HashSet<>(asList("first", "third")));
+    }
+
+    @Test
+    public void shouldNotReplayRecordsAfterTruncation() throws Exception {
+        journal.put("first", Collections.singletonMap("key", "value1"));
+        journal.truncate();
+        journal.put("second", Collections.singletonMap("key", "value2"));
+
+        final Map<String, Map<String, String>> target = new HashMap<>();
+        journal.replay(target);
+
+        assertEquals(target.keySet(), Collections.singleton("second"));
+    }
+
+    @Test
+    public void shouldRequestCompactionWhenJournalGrowsOverThreshold() throws Exception {
+        journal = new LocalJournal<>(storageRoot.toString(), "test.journal", VALUE_TYPE, Collections.emptyMap(), 3);
+        journal.put("first", Collections.singletonMap("key", "value1"));
+        journal.put("second", Collections.singletonMap("key", "value2"));
+        assertFalse(journal.shouldCompact());
+
+        journal.remove("first");
+        assertTrue(journal.shouldCompact());
+
+        journal.truncate();
+        assertFalse(journal.shouldCompact());
+    }
+
+    @Test
+    public void shouldReplayJournalOfCompactionThresholdSize() throws Exception {
+        final Map<String, String> value = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            value.put("preference" + i, "value" + i);
+        }
+        for (int i = 0; i < LocalJournal.COMPACTION_THRESHOLD; i++) {
+            journal.put("user" + (i % 1000), value);
+        }
+        journal.close();
+
+        final Map<String, Map<String, String>> target = new HashMap<>();
+        final long start = System.nanoTime();
+        journal.replay(target);
+        LOG.debug("{} records replayed in {} ms", LocalJournal.COMPACTION_THRESHOLD, NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        assertEquals(target.size(), 1000);
+        assertTrue(journal.shouldCompact());
+    }
+}